@@ -0,0 +1,144 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jenkins.extensions.ChangeBuildStatusTo;
+import com.synopsys.integration.jenkins.polaris.action.PolarisCliScanAction;
+import com.synopsys.integration.jenkins.polaris.action.PolarisIssueCheckAction;
+
+import hudson.AbortException;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.security.ACL;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+import hudson.util.StreamTaskListener;
+import jenkins.security.ImpersonatingExecutorService;
+
+/**
+ * Waits for Polaris jobs and counts issues on the controller after a freestyle build has finished with its executor. The check logs to its own file
+ * in the build directory, because the build log is closed by the time it runs, and records its outcome as a {@link PolarisIssueCheckAction}. Only
+ * checks that would not change the build status run here, since a finished build's status can no longer be changed.
+ */
+public class PolarisBackgroundIssueChecker {
+    public static final String LOG_FILE_NAME = "polaris-issue-check.log";
+    public static final String MAXIMUM_THREADS_PROPERTY = PolarisBackgroundIssueChecker.class.getName() + ".maximumThreads";
+    public static final int DEFAULT_MAXIMUM_THREADS = 10;
+
+    private static final Logger LOGGER = Logger.getLogger(PolarisBackgroundIssueChecker.class.getName());
+    // Waits are long and mostly asleep, so they get their own threads rather than occupying the shared jenkins.util.Timer pool. The threads are
+    // bounded, and checks beyond that wait their turn.
+    private static final ExecutorService EXECUTOR_SERVICE = new ImpersonatingExecutorService(createThreadPool(), ACL.SYSTEM);
+    private static final Map<String, Future<?>> CHECKS_BY_RUN_ID = new ConcurrentHashMap<>();
+
+    private final Run<?, ?> run;
+    private final IssueCheckerFactory issueCheckerFactory;
+
+    public PolarisBackgroundIssueChecker(Run<?, ?> run, IssueCheckerFactory issueCheckerFactory) {
+        this.run = run;
+        this.issueCheckerFactory = issueCheckerFactory;
+    }
+
+    public static boolean canCheckInBackground(ChangeBuildStatusTo buildStatusForIssues) {
+        return buildStatusForIssues == null || ChangeBuildStatusTo.SUCCESS == buildStatusForIssues;
+    }
+
+    public static boolean isChecking(Run<?, ?> run) {
+        String runId = run.getExternalizableId();
+        return runId != null && CHECKS_BY_RUN_ID.containsKey(runId);
+    }
+
+    // For builds that are deleted while their check still waits
+    public static void cancel(Run<?, ?> run) {
+        String runId = run.getExternalizableId();
+        Future<?> check = runId == null ? null : CHECKS_BY_RUN_ID.remove(runId);
+        if (check != null) {
+            check.cancel(true);
+        }
+    }
+
+    public void submit(PolarisCliScanAction recordedCliScan, Integer jobTimeoutInMinutes, ChangeBuildStatusTo buildStatusForIssues) {
+        if (!canCheckInBackground(buildStatusForIssues)) {
+            throw new IllegalArgumentException("Issue checks that change the build status to " + buildStatusForIssues.getDisplayName() + " cannot run after the build has finished");
+        }
+
+        String runId = run.getExternalizableId();
+        run.replaceAction(PolarisIssueCheckAction.waiting());
+        FutureTask<Void> check = new FutureTask<>(() -> {
+            try {
+                checkForIssues(runId, recordedCliScan, jobTimeoutInMinutes);
+            } finally {
+                CHECKS_BY_RUN_ID.remove(runId);
+            }
+        }, null);
+        CHECKS_BY_RUN_ID.put(runId, check);
+        EXECUTOR_SERVICE.execute(check);
+    }
+
+    public File getLogFile() {
+        return new File(run.getRootDir(), LOG_FILE_NAME);
+    }
+
+    private void checkForIssues(String runId, PolarisCliScanAction recordedCliScan, Integer jobTimeoutInMinutes) {
+        PolarisIssueCheckAction polarisIssueCheckAction;
+        try (StreamTaskListener listener = new StreamTaskListener(getLogFile())) {
+            try {
+                int issueCount = issueCheckerFactory.create(listener).getPolarisIssueCount(jobTimeoutInMinutes, recordedCliScan);
+                polarisIssueCheckAction = PolarisIssueCheckAction.completed(issueCount);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                polarisIssueCheckAction = PolarisIssueCheckAction.failed("The wait for Polaris jobs was interrupted");
+            } catch (IntegrationException | AbortException e) {
+                polarisIssueCheckAction = PolarisIssueCheckAction.failed(e.getMessage());
+            }
+            listener.getLogger().println(polarisIssueCheckAction.getMessage());
+        } catch (IOException e) {
+            polarisIssueCheckAction = PolarisIssueCheckAction.failed("Could not write " + LOG_FILE_NAME + ": " + e.getMessage());
+        }
+
+        if (!CHECKS_BY_RUN_ID.containsKey(runId)) {
+            // The build was deleted while the check waited, so there is nothing left to record the outcome on
+            return;
+        }
+
+        run.replaceAction(polarisIssueCheckAction);
+        try {
+            run.save();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not save the Polaris issue check result for " + run.getExternalizableId(), e);
+        }
+    }
+
+    private static ThreadPoolExecutor createThreadPool() {
+        int maximumThreads = Math.max(1, Integer.getInteger(MAXIMUM_THREADS_PROPERTY, DEFAULT_MAXIMUM_THREADS));
+        ThreadPoolExecutor threadPool = new ThreadPoolExecutor(maximumThreads, maximumThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            new NamingThreadFactory(new DaemonThreadFactory(), PolarisBackgroundIssueChecker.class.getSimpleName()));
+        threadPool.allowCoreThreadTimeOut(true);
+        return threadPool;
+    }
+
+    @FunctionalInterface
+    public interface IssueCheckerFactory {
+        PolarisIssueChecker create(TaskListener listener) throws AbortException;
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.synopsys.integration.jenkins.polaris.action.PolarisCliScanAction;
+import com.synopsys.integration.jenkins.polaris.action.PolarisTimingAction;
+import com.synopsys.integration.jenkins.polaris.extensions.freestyle.PolarisBuildStep;
+import com.synopsys.integration.jenkins.polaris.extensions.global.PolarisGlobalConfig;
+
+import hudson.model.Actionable;
+import hudson.model.Executor;
+import hudson.model.Job;
+import hudson.model.ParameterValue;
+import hudson.model.ParametersAction;
+import hudson.model.Project;
+import hudson.model.Queue;
+import hudson.model.Result;
+import hudson.model.Run;
+import jenkins.model.CauseOfInterruption;
+import jenkins.model.GlobalConfiguration;
+
+/**
+ * Collapses Polaris builds of the same job and branch into the newest one when {@link PolarisGlobalConfig#isSupersedeOlderBuilds()} is enabled.
+ * Older queued items are cancelled and older running builds are aborted, which in turn cancels any Polaris jobs they are waiting on.
+ */
+public class PolarisBuildSuperseder {
+    // Multibranch projects already have a job per branch, so these are only consulted for single jobs that take the branch as a parameter
+    public static final List<String> BRANCH_PARAMETER_NAMES = Arrays.asList("BRANCH_NAME", "GIT_BRANCH", "BRANCH");
+    // Running builds are always among the most recent, so there is no need to walk a job's whole history
+    public static final int MAXIMUM_BUILDS_TO_CHECK = 20;
+
+    private static final Logger LOGGER = Logger.getLogger(PolarisBuildSuperseder.class.getName());
+
+    private final Queue queue;
+
+    public PolarisBuildSuperseder(Queue queue) {
+        this.queue = queue;
+    }
+
+    public static boolean isEnabled() {
+        PolarisGlobalConfig polarisGlobalConfig = GlobalConfiguration.all().get(PolarisGlobalConfig.class);
+        return polarisGlobalConfig != null && polarisGlobalConfig.isSupersedeOlderBuilds();
+    }
+
+    public static boolean isPolarisJob(Job<?, ?> job) {
+        if (job instanceof Project) {
+            return ((Project<?, ?>) job).getBuildersList().get(PolarisBuildStep.class) != null;
+        }
+
+        // Pipelines do not declare their steps up front, so rely on the last build having run the Polaris CLI
+        Run<?, ?> lastCompletedBuild = job.getLastCompletedBuild();
+        return lastCompletedBuild != null && (lastCompletedBuild.getAction(PolarisTimingAction.class) != null || lastCompletedBuild.getAction(PolarisCliScanAction.class) != null);
+    }
+
+    public static Optional<String> getBranch(Actionable actionable) {
+        ParametersAction parametersAction = actionable.getAction(ParametersAction.class);
+        if (parametersAction == null) {
+            return Optional.empty();
+        }
+
+        return BRANCH_PARAMETER_NAMES.stream()
+                   .map(parametersAction::getParameter)
+                   .filter(Objects::nonNull)
+                   .map(ParameterValue::getValue)
+                   .filter(Objects::nonNull)
+                   .map(Object::toString)
+                   .findFirst();
+    }
+
+    public int cancelOlderQueuedItems(Queue.Item newestItem) {
+        Optional<String> branch = getBranch(newestItem);
+        int cancelled = 0;
+        for (Queue.Item item : queue.getItems(newestItem.task)) {
+            if (item.getId() < newestItem.getId() && branch.equals(getBranch(item)) && queue.cancel(item)) {
+                LOGGER.fine(() -> String.format("Cancelled queued item %d of %s, superseded by queued item %d", item.getId(), newestItem.task.getFullDisplayName(), newestItem.getId()));
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    public int abortOlderRunningBuilds(Job<?, ?> job, Optional<String> branch, int newerBuildNumber, CauseOfInterruption causeOfInterruption) {
+        int aborted = 0;
+        for (Run<?, ?> build : job.getBuilds().limit(MAXIMUM_BUILDS_TO_CHECK)) {
+            if (build.getNumber() >= newerBuildNumber || !build.isBuilding() || !branch.equals(getBranch(build))) {
+                continue;
+            }
+
+            Executor executor = build.getExecutor();
+            if (executor == null) {
+                continue;
+            }
+
+            try {
+                executor.interrupt(Result.ABORTED, causeOfInterruption);
+                LOGGER.fine(() -> String.format("Aborted %s: %s", build.getFullDisplayName(), causeOfInterruption.getShortDescription()));
+                aborted++;
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Could not abort superseded build " + build.getFullDisplayName(), e);
+            }
+        }
+        return aborted;
+    }
+
+    public static class SupersededByNewerBuild extends CauseOfInterruption {
+        private static final long serialVersionUID = -2406124795329102876L;
+
+        private final String newerBuildDescription;
+
+        public SupersededByNewerBuild(String newerBuildDescription) {
+            this.newerBuildDescription = newerBuildDescription;
+        }
+
+        public String getNewerBuildDescription() {
+            return newerBuildDescription;
+        }
+
+        @Override
+        public String getShortDescription() {
+            return "Superseded by " + newerBuildDescription + " of the same branch";
+        }
+
+    }
+
+}
@@ -15,9 +15,16 @@ import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.jenkins.exception.JenkinsUserFriendlyException;
+import com.synopsys.integration.jenkins.polaris.cache.PolarisIdirCache;
+import com.synopsys.integration.jenkins.polaris.cache.PolarisToolCache;
 import com.synopsys.integration.jenkins.polaris.extensions.global.PolarisGlobalConfig;
+import com.synopsys.integration.jenkins.polaris.extensions.tools.GetOperatingSystemType;
 import com.synopsys.integration.jenkins.polaris.extensions.tools.PolarisCli;
+import com.synopsys.integration.jenkins.polaris.extensions.tools.PolarisCliInstaller;
+import com.synopsys.integration.jenkins.polaris.extensions.tools.PolarisCliPrewarmer;
 import com.synopsys.integration.jenkins.polaris.service.GetPathToPolarisCli;
+import com.synopsys.integration.jenkins.polaris.service.GetPolarisCliVersion;
+import com.synopsys.integration.jenkins.polaris.service.GetPolarisToolsDirectory;
 import com.synopsys.integration.jenkins.polaris.service.PolarisCliArgumentService;
 import com.synopsys.integration.jenkins.polaris.service.PolarisEnvironmentService;
 import com.synopsys.integration.jenkins.polaris.service.PolarisPhoneHomeService;
@@ -30,6 +37,9 @@ import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.phonehome.PhoneHomeResponse;
 import com.synopsys.integration.polaris.common.configuration.PolarisServerConfigBuilder;
 import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
+import com.synopsys.integration.polaris.common.timing.PhaseSpan;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
+import com.synopsys.integration.polaris.common.timing.PolarisPhase;
 import com.synopsys.integration.util.IntEnvironmentVariables;
 import com.synopsys.integration.util.OperatingSystemType;
 
@@ -43,9 +53,29 @@ public class PolarisCliRunner {
     private final SynopsysCredentialsHelper credentialsHelper;
     private final JenkinsProxyHelper proxyHelper;
     private final JenkinsVersionHelper versionHelper;
+    private final PhaseTimer phaseTimer;
+    private final PolarisToolCache polarisToolCache;
+    private final PolarisIdirCache polarisIdirCache;
+    private final String nodeName;
 
     public PolarisCliRunner(IntLogger logger, PolarisCliArgumentService polarisCliArgumentService, PolarisEnvironmentService polarisEnvironmentService, PolarisPhoneHomeService polarisPhoneHomeService,
-        JenkinsRemotingService jenkinsRemotingService, JenkinsConfigService jenkinsConfigService, SynopsysCredentialsHelper credentialsHelper, JenkinsProxyHelper proxyHelper, JenkinsVersionHelper versionHelper) {
+        JenkinsRemotingService jenkinsRemotingService, JenkinsConfigService jenkinsConfigService, SynopsysCredentialsHelper credentialsHelper, JenkinsProxyHelper proxyHelper, JenkinsVersionHelper versionHelper, PhaseTimer phaseTimer) {
+        this(logger, polarisCliArgumentService, polarisEnvironmentService, polarisPhoneHomeService, jenkinsRemotingService, jenkinsConfigService, credentialsHelper, proxyHelper, versionHelper, phaseTimer, null, null);
+    }
+
+    public PolarisCliRunner(IntLogger logger, PolarisCliArgumentService polarisCliArgumentService, PolarisEnvironmentService polarisEnvironmentService, PolarisPhoneHomeService polarisPhoneHomeService,
+        JenkinsRemotingService jenkinsRemotingService, JenkinsConfigService jenkinsConfigService, SynopsysCredentialsHelper credentialsHelper, JenkinsProxyHelper proxyHelper, JenkinsVersionHelper versionHelper, PhaseTimer phaseTimer,
+        PolarisToolCache polarisToolCache, PolarisIdirCache polarisIdirCache) {
+        this(logger, polarisCliArgumentService, polarisEnvironmentService, polarisPhoneHomeService, jenkinsRemotingService, jenkinsConfigService, credentialsHelper, proxyHelper, versionHelper, phaseTimer,
+            polarisToolCache, polarisIdirCache, null);
+    }
+
+    /**
+     * @param nodeName the node the build runs on, used to wait for a prefetched install there, or null
+     */
+    public PolarisCliRunner(IntLogger logger, PolarisCliArgumentService polarisCliArgumentService, PolarisEnvironmentService polarisEnvironmentService, PolarisPhoneHomeService polarisPhoneHomeService,
+        JenkinsRemotingService jenkinsRemotingService, JenkinsConfigService jenkinsConfigService, SynopsysCredentialsHelper credentialsHelper, JenkinsProxyHelper proxyHelper, JenkinsVersionHelper versionHelper, PhaseTimer phaseTimer,
+        PolarisToolCache polarisToolCache, PolarisIdirCache polarisIdirCache, String nodeName) {
         this.logger = logger;
         this.polarisCliArgumentService = polarisCliArgumentService;
         this.polarisEnvironmentService = polarisEnvironmentService;
@@ -55,6 +85,10 @@ public class PolarisCliRunner {
         this.credentialsHelper = credentialsHelper;
         this.proxyHelper = proxyHelper;
         this.versionHelper = versionHelper;
+        this.phaseTimer = phaseTimer;
+        this.polarisToolCache = polarisToolCache;
+        this.polarisIdirCache = polarisIdirCache;
+        this.nodeName = nodeName;
     }
 
     public int runPolarisCli(String polarisCliName, String changeSetFileRemotePath, String polarisArgumentString) throws IOException, InterruptedException, IntegrationException {
@@ -66,7 +100,19 @@ public class PolarisCliRunner {
                                     .orElse("Running Polaris Software Integrity Platform for Jenkins");
             logger.info(logMessage);
 
-            Optional<PolarisCli> polarisCliWithName = jenkinsConfigService.getInstallationForNodeAndEnvironment(PolarisCli.DescriptorImpl.class, polarisCliName);
+            // Resolving the installation for the node runs the tool installers, so this is where the CLI gets downloaded
+            Optional<PolarisCli> polarisCliWithName;
+            try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.CLI_INSTALL)) {
+                if (nodeName != null) {
+                    PolarisCliPrewarmer.getDefault().awaitPrewarm(polarisCliName, nodeName);
+                }
+                PolarisCliInstaller.setBuildPhaseTimer(phaseTimer);
+                try {
+                    polarisCliWithName = jenkinsConfigService.getInstallationForNodeAndEnvironment(PolarisCli.DescriptorImpl.class, polarisCliName);
+                } finally {
+                    PolarisCliInstaller.setBuildPhaseTimer(null);
+                }
+            }
 
             if (!polarisCliWithName.isPresent()) {
                 throw new JenkinsUserFriendlyException("[ERROR] Polaris Software Integrity Platform cannot be executed: No Polaris CLI Installation with the name " + polarisCliName + " could be found in the global tool configuration.");
@@ -88,14 +134,53 @@ public class PolarisCliRunner {
                     "[ERROR] Polaris Software Integrity Platform cannot be executed: The Polaris CLI installation home could not be determined for the configured Polaris CLI. Please ensure that this installation is correctly configured in the global tool configuration.");
             }
 
-            String pathToPolarisCli = jenkinsRemotingService.call(new GetPathToPolarisCli(polarisCliHome));
+            List<String> polarisArguments;
+            OperatingSystemType operatingSystemType;
+            String cliVersion = null;
+            try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.REMOTING)) {
+                String pathToPolarisCli = jenkinsRemotingService.call(new GetPathToPolarisCli(polarisCliHome));
+                if (polarisIdirCache != null) {
+                    cliVersion = jenkinsRemotingService.call(new GetPolarisCliVersion(pathToPolarisCli));
+                }
+
+                operatingSystemType = jenkinsRemotingService.call(new GetOperatingSystemType());
+                List<String> tokenizedPolarisArguments = jenkinsRemotingService.tokenizeArgumentString(polarisArgumentString);
+                List<String> tokenizedResolvedArguments = jenkinsRemotingService.resolveEnvironmentVariables(intEnvironmentVariables, tokenizedPolarisArguments);
+                polarisArguments = polarisCliArgumentService.finalizePolarisCliArguments(operatingSystemType, pathToPolarisCli, tokenizedResolvedArguments);
+            }
 
-            OperatingSystemType operatingSystemType = jenkinsRemotingService.getRemoteOperatingSystemType();
-            List<String> tokenizedPolarisArguments = jenkinsRemotingService.tokenizeArgumentString(polarisArgumentString);
-            List<String> tokenizedResolvedArguments = jenkinsRemotingService.resolveEnvironmentVariables(intEnvironmentVariables, tokenizedPolarisArguments);
-            List<String> polarisArguments = polarisCliArgumentService.finalizePolarisCliArguments(operatingSystemType, pathToPolarisCli, tokenizedResolvedArguments);
+            String polarisHome = intEnvironmentVariables.getValue(GetPolarisToolsDirectory.POLARIS_HOME_ENVIRONMENT_VARIABLE);
+            if (polarisToolCache != null) {
+                try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.TOOL_CACHE)) {
+                    polarisToolCache.restore(polarisCliName, operatingSystemType, polarisHome);
+                }
+            }
+
+            if (polarisIdirCache != null) {
+                try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.IDIR_CACHE)) {
+                    polarisIdirCache.restore(cliVersion);
+                }
+            }
+
+            int exitCode;
+            try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.CLI_EXECUTION)) {
+                exitCode = jenkinsRemotingService.launch(intEnvironmentVariables, polarisArguments);
+            }
+
+            if (polarisIdirCache != null && exitCode == 0) {
+                try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.IDIR_CACHE)) {
+                    polarisIdirCache.save(cliVersion);
+                }
+            }
+
+            // Tools are only cached from the node's default Polaris home, never from the POLARIS_HOME the build sets
+            if (polarisToolCache != null && exitCode == 0) {
+                try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.TOOL_CACHE)) {
+                    polarisToolCache.save(polarisCliName, operatingSystemType);
+                }
+            }
 
-            return jenkinsRemotingService.launch(intEnvironmentVariables, polarisArguments);
+            return exitCode;
         } finally {
             successfulPhoneHomeResponse.ifPresent(PhoneHomeResponse::getImmediateResult);
         }
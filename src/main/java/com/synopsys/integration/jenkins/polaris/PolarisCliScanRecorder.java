@@ -0,0 +1,46 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.action.PolarisCliScanAction;
+import com.synopsys.integration.jenkins.polaris.service.GetPolarisCliResponseContent;
+import com.synopsys.integration.jenkins.service.JenkinsRemotingService;
+
+import hudson.model.Run;
+
+public class PolarisCliScanRecorder {
+    private final JenkinsIntLogger logger;
+    private final JenkinsRemotingService jenkinsRemotingService;
+    private final Run<?, ?> run;
+
+    public PolarisCliScanRecorder(JenkinsIntLogger logger, JenkinsRemotingService jenkinsRemotingService, Run<?, ?> run) {
+        this.logger = logger;
+        this.jenkinsRemotingService = jenkinsRemotingService;
+        this.run = run;
+    }
+
+    public void recordCliScan() throws InterruptedException {
+        try {
+            String cliScanJson = jenkinsRemotingService.call(new GetPolarisCliResponseContent(jenkinsRemotingService.getRemoteWorkspacePath()));
+            run.replaceAction(new PolarisCliScanAction(cliScanJson));
+        } catch (IOException | IntegrationException e) {
+            // Only a node-less polarisIssueCheck needs this, and it reports the missing scan itself
+            logger.debug("Could not record the cli-scan.json on the build: " + e.getMessage());
+        }
+    }
+
+    public Optional<PolarisCliScanAction> getRecordedCliScan() {
+        return Optional.ofNullable(run.getAction(PolarisCliScanAction.class));
+    }
+
+}
@@ -13,8 +13,10 @@ import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.jenkins.exception.JenkinsUserFriendlyException;
 import com.synopsys.integration.jenkins.extensions.ChangeBuildStatusTo;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.action.PolarisCliScanAction;
 import com.synopsys.integration.jenkins.polaris.extensions.freestyle.FreestyleCreateChangeSetFile;
 import com.synopsys.integration.jenkins.polaris.extensions.freestyle.WaitForIssues;
+import com.synopsys.integration.jenkins.polaris.service.PolarisTimingService;
 import com.synopsys.integration.jenkins.service.JenkinsBuildService;
 
 public class PolarisFreestyleCommands {
@@ -23,13 +25,25 @@ public class PolarisFreestyleCommands {
     private final ChangeSetFileCreator changeSetFileCreator;
     private final PolarisCliRunner polarisCliRunner;
     private final PolarisIssueChecker polarisIssueCounter;
+    private final PolarisTimingService polarisTimingService;
+    private final PolarisCliScanRecorder polarisCliScanRecorder;
+    private final PolarisBackgroundIssueChecker polarisBackgroundIssueChecker;
 
-    public PolarisFreestyleCommands(JenkinsIntLogger jenkinsIntLogger, JenkinsBuildService jenkinsBuildService, ChangeSetFileCreator changeSetFileCreator, PolarisCliRunner polarisCliRunner, PolarisIssueChecker polarisIssueCounter) {
+    public PolarisFreestyleCommands(JenkinsIntLogger jenkinsIntLogger, JenkinsBuildService jenkinsBuildService, ChangeSetFileCreator changeSetFileCreator, PolarisCliRunner polarisCliRunner, PolarisIssueChecker polarisIssueCounter,
+        PolarisTimingService polarisTimingService) {
+        this(jenkinsIntLogger, jenkinsBuildService, changeSetFileCreator, polarisCliRunner, polarisIssueCounter, polarisTimingService, null, null);
+    }
+
+    public PolarisFreestyleCommands(JenkinsIntLogger jenkinsIntLogger, JenkinsBuildService jenkinsBuildService, ChangeSetFileCreator changeSetFileCreator, PolarisCliRunner polarisCliRunner, PolarisIssueChecker polarisIssueCounter,
+        PolarisTimingService polarisTimingService, PolarisCliScanRecorder polarisCliScanRecorder, PolarisBackgroundIssueChecker polarisBackgroundIssueChecker) {
         this.logger = jenkinsIntLogger;
         this.jenkinsBuildService = jenkinsBuildService;
         this.changeSetFileCreator = changeSetFileCreator;
         this.polarisCliRunner = polarisCliRunner;
         this.polarisIssueCounter = polarisIssueCounter;
+        this.polarisTimingService = polarisTimingService;
+        this.polarisCliScanRecorder = polarisCliScanRecorder;
+        this.polarisBackgroundIssueChecker = polarisBackgroundIssueChecker;
     }
 
     public void runPolarisCliAndCheckForIssues(String polarisCliName, String polarisArgumentString, FreestyleCreateChangeSetFile createChangeSetFile, WaitForIssues waitForIssues) {
@@ -55,6 +69,14 @@ public class PolarisFreestyleCommands {
                 ChangeBuildStatusTo buildStatusToSet = Optional.ofNullable(waitForIssues.getBuildStatusForIssues())
                                                            .orElse(ChangeBuildStatusTo.SUCCESS);
 
+                if (Boolean.TRUE.equals(waitForIssues.getWaitInBackground()) && polarisCliScanRecorder != null && polarisBackgroundIssueChecker != null) {
+                    if (PolarisBackgroundIssueChecker.canCheckInBackground(buildStatusToSet)) {
+                        waitForIssuesInBackground(waitForIssues, buildStatusToSet);
+                        return;
+                    }
+                    logger.warn("Waiting for issues in the build instead of in the background, because the build status for issues (" + buildStatusToSet.getDisplayName() + ") could not be applied to a finished build.");
+                }
+
                 int issueCount = polarisIssueCounter.getPolarisIssueCount(waitForIssues.getJobTimeoutInMinutes());
 
                 logger.alwaysLog("Polaris Software Integrity Platform Issue Check");
@@ -74,6 +96,18 @@ public class PolarisFreestyleCommands {
             jenkinsBuildService.markBuildFailed(e);
         } catch (Exception e) {
             jenkinsBuildService.markBuildUnstable(e);
+        } finally {
+            polarisTimingService.publish();
         }
     }
+
+    private void waitForIssuesInBackground(WaitForIssues waitForIssues, ChangeBuildStatusTo buildStatusToSet) throws InterruptedException, JenkinsUserFriendlyException {
+        polarisCliScanRecorder.recordCliScan();
+        PolarisCliScanAction recordedCliScan = polarisCliScanRecorder.getRecordedCliScan()
+                                                   .orElseThrow(() -> new JenkinsUserFriendlyException("Polaris Software Integrity Platform for Jenkins could not read the cli-scan.json to wait for issues in the background."));
+
+        polarisBackgroundIssueChecker.submit(recordedCliScan, waitForIssues.getJobTimeoutInMinutes(), buildStatusToSet);
+        logger.alwaysLog("Waiting for Polaris jobs in the background. The issue count will be shown on the build page and logged to " + PolarisBackgroundIssueChecker.LOG_FILE_NAME + " in the build directory.");
+    }
+
 }
@@ -9,40 +9,84 @@ package com.synopsys.integration.jenkins.polaris;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.function.BiFunction;
 
 import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jenkins.polaris.action.PolarisCliScanAction;
 import com.synopsys.integration.jenkins.polaris.service.GetPolarisCliResponseContent;
+import com.synopsys.integration.jenkins.polaris.service.GetPolarisIssueCountSummary;
 import com.synopsys.integration.jenkins.polaris.service.PolarisCliIssueCountService;
 import com.synopsys.integration.jenkins.service.JenkinsRemotingService;
 import com.synopsys.integration.jenkins.wrapper.JenkinsVersionHelper;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.polaris.common.service.JobService;
+import com.synopsys.integration.polaris.common.timing.PhaseSpan;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
+import com.synopsys.integration.polaris.common.timing.PolarisPhase;
 
 public class PolarisIssueChecker {
     private final IntLogger logger;
     private final PolarisCliIssueCountService polarisCliIssueCountService;
     private final JenkinsRemotingService jenkinsRemotingService;
     private final JenkinsVersionHelper versionHelper;
+    private final PhaseTimer phaseTimer;
+    private final BiFunction<String, Long, GetPolarisIssueCountSummary> agentIssueCheckFactory;
 
-    public PolarisIssueChecker(IntLogger logger, PolarisCliIssueCountService polarisCliIssueCountService, JenkinsRemotingService jenkinsRemotingService, JenkinsVersionHelper versionHelper) {
+    public PolarisIssueChecker(IntLogger logger, PolarisCliIssueCountService polarisCliIssueCountService, JenkinsRemotingService jenkinsRemotingService, JenkinsVersionHelper versionHelper, PhaseTimer phaseTimer) {
+        this(logger, polarisCliIssueCountService, jenkinsRemotingService, versionHelper, phaseTimer, null);
+    }
+
+    /**
+     * @param agentIssueCheckFactory creates the check to run on the node from the remote workspace path and job timeout in seconds, or null to check
+     *                               from the controller
+     */
+    public PolarisIssueChecker(IntLogger logger, PolarisCliIssueCountService polarisCliIssueCountService, JenkinsRemotingService jenkinsRemotingService, JenkinsVersionHelper versionHelper, PhaseTimer phaseTimer,
+        BiFunction<String, Long, GetPolarisIssueCountSummary> agentIssueCheckFactory) {
         this.logger = logger;
         this.polarisCliIssueCountService = polarisCliIssueCountService;
         this.jenkinsRemotingService = jenkinsRemotingService;
         this.versionHelper = versionHelper;
+        this.phaseTimer = phaseTimer;
+        this.agentIssueCheckFactory = agentIssueCheckFactory;
     }
 
     public int getPolarisIssueCount(Integer jobTimeoutInMinutes) throws IOException, InterruptedException, IntegrationException {
+        logPluginVersion();
+
+        if (agentIssueCheckFactory != null) {
+            logger.info("Checking for issues from this node");
+            GetPolarisIssueCountSummary agentIssueCheck = agentIssueCheckFactory.apply(jenkinsRemotingService.getRemoteWorkspacePath(), toJobTimeoutInSeconds(jobTimeoutInMinutes));
+            // The node both polls the jobs and counts the issues, so the whole check is attributed to counting
+            try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.ISSUE_COUNTING)) {
+                return jenkinsRemotingService.call(agentIssueCheck).getTotalIssueCount();
+            }
+        }
+
+        String cliCommonResponseModelJson;
+        try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.REMOTING)) {
+            cliCommonResponseModelJson = jenkinsRemotingService.call(new GetPolarisCliResponseContent(jenkinsRemotingService.getRemoteWorkspacePath()));
+        }
+
+        return polarisCliIssueCountService.getIssueCount(toJobTimeoutInSeconds(jobTimeoutInMinutes), cliCommonResponseModelJson);
+    }
+
+    public int getPolarisIssueCount(Integer jobTimeoutInMinutes, PolarisCliScanAction recordedCliScan) throws InterruptedException, IntegrationException {
+        logPluginVersion();
+        logger.info("Using the cli-scan.json recorded by the last Polaris CLI execution in this build");
+
+        return polarisCliIssueCountService.getIssueCount(toJobTimeoutInSeconds(jobTimeoutInMinutes), recordedCliScan.getCliScanJson());
+    }
+
+    private void logPluginVersion() {
         String logMessage = versionHelper.getPluginVersion("synopsys-polaris")
                                 .map(version -> String.format("Running Polaris Software Integrity Platform for Jenkins version %s", version))
                                 .orElse("Running Polaris Software Integrity Platform for Jenkins");
         logger.info(logMessage);
+    }
 
-        Long jobTimeoutInSeconds = Optional.ofNullable(jobTimeoutInMinutes)
-                                       .map(value -> value * 60L)
-                                       .orElse(JobService.DEFAULT_TIMEOUT);
-
-        String cliCommonResponseModelJson = jenkinsRemotingService.call(new GetPolarisCliResponseContent(jenkinsRemotingService.getRemoteWorkspacePath()));
-
-        return polarisCliIssueCountService.getIssueCount(jobTimeoutInSeconds, cliCommonResponseModelJson);
+    private Long toJobTimeoutInSeconds(Integer jobTimeoutInMinutes) {
+        return Optional.ofNullable(jobTimeoutInMinutes)
+                   .map(value -> value * 60L)
+                   .orElse(JobService.DEFAULT_TIMEOUT);
     }
 }
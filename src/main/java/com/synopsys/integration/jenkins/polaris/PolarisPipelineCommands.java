@@ -8,11 +8,14 @@
 package com.synopsys.integration.jenkins.polaris;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.jenkins.exception.JenkinsUserFriendlyException;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.action.PolarisCliScanAction;
 import com.synopsys.integration.jenkins.polaris.extensions.pipeline.PipelineCreateChangeSetFile;
+import com.synopsys.integration.jenkins.polaris.service.PolarisTimingService;
 import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
 
 public class PolarisPipelineCommands {
@@ -20,12 +23,22 @@ public class PolarisPipelineCommands {
     private final ChangeSetFileCreator changeSetFileCreator;
     private final PolarisCliRunner polarisCliRunner;
     private final PolarisIssueChecker polarisIssueCounter;
+    private final PolarisTimingService polarisTimingService;
+    private final PolarisCliScanRecorder polarisCliScanRecorder;
 
-    public PolarisPipelineCommands(JenkinsIntLogger jenkinsIntLogger, ChangeSetFileCreator changeSetFileCreator, PolarisCliRunner polarisCliRunner, PolarisIssueChecker polarisIssueCounter) {
+    public PolarisPipelineCommands(JenkinsIntLogger jenkinsIntLogger, ChangeSetFileCreator changeSetFileCreator, PolarisCliRunner polarisCliRunner, PolarisIssueChecker polarisIssueCounter,
+        PolarisTimingService polarisTimingService) {
+        this(jenkinsIntLogger, changeSetFileCreator, polarisCliRunner, polarisIssueCounter, polarisTimingService, null);
+    }
+
+    public PolarisPipelineCommands(JenkinsIntLogger jenkinsIntLogger, ChangeSetFileCreator changeSetFileCreator, PolarisCliRunner polarisCliRunner, PolarisIssueChecker polarisIssueCounter,
+        PolarisTimingService polarisTimingService, PolarisCliScanRecorder polarisCliScanRecorder) {
         this.logger = jenkinsIntLogger;
         this.changeSetFileCreator = changeSetFileCreator;
         this.polarisCliRunner = polarisCliRunner;
         this.polarisIssueCounter = polarisIssueCounter;
+        this.polarisTimingService = polarisTimingService;
+        this.polarisCliScanRecorder = polarisCliScanRecorder;
     }
 
     public int runPolarisCli(String polarisCliName, String polarisCliArgumentString, Boolean returnStatus, PipelineCreateChangeSetFile createChangeSetFile) throws IntegrationException, InterruptedException, IOException {
@@ -43,7 +56,16 @@ public class PolarisPipelineCommands {
             }
         }
 
-        int exitCode = polarisCliRunner.runPolarisCli(polarisCliName, changeSetFilePath, polarisCliArgumentString);
+        int exitCode;
+        try {
+            exitCode = polarisCliRunner.runPolarisCli(polarisCliName, changeSetFilePath, polarisCliArgumentString);
+        } finally {
+            polarisTimingService.publish();
+        }
+
+        if (polarisCliScanRecorder != null) {
+            polarisCliScanRecorder.recordCliScan();
+        }
 
         if (exitCode > 0) {
             String errorMsg = "Polaris Software Integrity Platform failed with exit code: " + exitCode;
@@ -58,8 +80,33 @@ public class PolarisPipelineCommands {
     }
 
     public int checkForIssues(Integer jobTimeoutInMinutes, Boolean returnIssueCount) throws InterruptedException, IntegrationException, IOException {
-        int issueCount = polarisIssueCounter.getPolarisIssueCount(jobTimeoutInMinutes);
+        int issueCount;
+        try {
+            issueCount = polarisIssueCounter.getPolarisIssueCount(jobTimeoutInMinutes);
+        } finally {
+            polarisTimingService.publish();
+        }
+
+        return reportIssueCount(issueCount, returnIssueCount);
+    }
+
+    public int checkForRecordedIssues(Integer jobTimeoutInMinutes, Boolean returnIssueCount) throws InterruptedException, IntegrationException {
+        PolarisCliScanAction recordedCliScan = Optional.ofNullable(polarisCliScanRecorder)
+                                                   .flatMap(PolarisCliScanRecorder::getRecordedCliScan)
+                                                   .orElseThrow(() -> new JenkinsUserFriendlyException(
+                                                       "Polaris Software Integrity Platform for Jenkins cannot check for issues outside of a node: no earlier Polaris CLI execution in this build recorded a cli-scan.json."));
+
+        int issueCount;
+        try {
+            issueCount = polarisIssueCounter.getPolarisIssueCount(jobTimeoutInMinutes, recordedCliScan);
+        } finally {
+            polarisTimingService.publish();
+        }
+
+        return reportIssueCount(issueCount, returnIssueCount);
+    }
 
+    private int reportIssueCount(int issueCount, Boolean returnIssueCount) throws PolarisIntegrationException {
         String defectMessage = String.format("[Polaris] Found %s total issues.", issueCount);
         if (issueCount > 0) {
             if (Boolean.TRUE.equals(returnIssueCount)) {
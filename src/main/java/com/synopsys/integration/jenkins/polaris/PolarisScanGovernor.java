@@ -0,0 +1,130 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.model.Job;
+import hudson.model.Queue;
+import hudson.model.Run;
+import hudson.model.queue.CauseOfBlockage;
+
+/**
+ * Keeps Polaris builds waiting in the Jenkins queue once the configured number of scans is in flight against the Polaris server, so they do not
+ * hold executors while their analyses sit queued in Polaris. Builds of priority branches are let through ahead of the others.
+ */
+public class PolarisScanGovernor {
+    private static final PolarisScanGovernor DEFAULT_GOVERNOR = new PolarisScanGovernor();
+
+    private final Set<String> inFlightScans = ConcurrentHashMap.newKeySet();
+
+    public static PolarisScanGovernor getDefault() {
+        return DEFAULT_GOVERNOR;
+    }
+
+    public static List<String> parsePriorityBranches(String priorityBranches) {
+        if (StringUtils.isBlank(priorityBranches)) {
+            return Collections.emptyList();
+        }
+
+        return Arrays.stream(priorityBranches.split("[,\\s]+"))
+                   .filter(StringUtils::isNotBlank)
+                   .collect(Collectors.toList());
+    }
+
+    public static boolean isPriority(Queue.Item item, List<String> priorityBranches) {
+        if (!(item.task instanceof Job)) {
+            return false;
+        }
+
+        // Branch jobs of multibranch projects are named after their branch
+        String branch = PolarisBuildSuperseder.getBranch(item).orElse(((Job<?, ?>) item.task).getName());
+        return isPriorityBranch(branch, priorityBranches);
+    }
+
+    public static boolean isPriorityBranch(String branch, List<String> priorityBranches) {
+        // Git plugin branches carry their remote, such as origin/main
+        return branch != null && priorityBranches.stream().anyMatch(priorityBranch -> priorityBranch.equals(branch) || branch.endsWith("/" + priorityBranch));
+    }
+
+    public void scanStarted(Run<?, ?> run) {
+        inFlightScans.add(run.getExternalizableId());
+    }
+
+    public void scanFinished(Run<?, ?> run) {
+        inFlightScans.remove(run.getExternalizableId());
+    }
+
+    public int getInFlightScanCount() {
+        return inFlightScans.size();
+    }
+
+    public Optional<CauseOfBlockage> getCauseOfBlockage(Queue.Item item, int maximumConcurrentScans, List<String> priorityBranches, Collection<Queue.Item> waitingPolarisItems) {
+        return getCauseOfBlockage(item, maximumConcurrentScans, priorityBranches, waitingPolarisItems, Collections.emptyList());
+    }
+
+    /**
+     * @param startingPolarisItems Polaris items already let through that have not started yet (buildable or pending). They hold a slot just like
+     *                             running scans, otherwise a single queue maintenance could let through any number of items before the first starts.
+     */
+    public Optional<CauseOfBlockage> getCauseOfBlockage(Queue.Item item, int maximumConcurrentScans, List<String> priorityBranches, Collection<Queue.Item> waitingPolarisItems,
+        Collection<Queue.Item> startingPolarisItems) {
+        if (maximumConcurrentScans <= 0) {
+            return Optional.empty();
+        }
+
+        long startingItemCount = startingPolarisItems.stream()
+                                     .filter(startingItem -> startingItem.getId() != item.getId())
+                                     .count();
+        int inFlightScanCount = getInFlightScanCount() + (int) startingItemCount;
+        if (inFlightScanCount >= maximumConcurrentScans) {
+            return Optional.of(new PolarisScanLimitReached(inFlightScanCount, maximumConcurrentScans));
+        }
+
+        if (isPriority(item, priorityBranches)) {
+            return Optional.empty();
+        }
+
+        // Leave the remaining slots to waiting priority builds
+        long waitingPriorityItems = waitingPolarisItems.stream()
+                                        .filter(waitingItem -> waitingItem.getId() != item.getId())
+                                        .filter(waitingItem -> isPriority(waitingItem, priorityBranches))
+                                        .count();
+        if (waitingPriorityItems >= maximumConcurrentScans - inFlightScanCount) {
+            return Optional.of(new PolarisScanLimitReached(inFlightScanCount, maximumConcurrentScans));
+        }
+
+        return Optional.empty();
+    }
+
+    public static class PolarisScanLimitReached extends CauseOfBlockage {
+        private final int inFlightScanCount;
+        private final int maximumConcurrentScans;
+
+        public PolarisScanLimitReached(int inFlightScanCount, int maximumConcurrentScans) {
+            this.inFlightScanCount = inFlightScanCount;
+            this.maximumConcurrentScans = maximumConcurrentScans;
+        }
+
+        @Override
+        public String getShortDescription() {
+            return String.format("Waiting for a Polaris scan slot (%d of %d in use)", inFlightScanCount, maximumConcurrentScans);
+        }
+
+    }
+
+}
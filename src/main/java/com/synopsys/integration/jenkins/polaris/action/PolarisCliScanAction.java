@@ -0,0 +1,47 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.action;
+
+import javax.annotation.CheckForNull;
+
+import hudson.model.Action;
+
+/**
+ * Holds the cli-scan.json written by the last polaris step of a build, so that polarisIssueCheck can count issues from the controller without a
+ * node.
+ */
+public class PolarisCliScanAction implements Action {
+    private final String cliScanJson;
+
+    public PolarisCliScanAction(String cliScanJson) {
+        this.cliScanJson = cliScanJson;
+    }
+
+    public String getCliScanJson() {
+        return cliScanJson;
+    }
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @CheckForNull
+    @Override
+    public String getDisplayName() {
+        return "Polaris Software Integrity Platform CLI Scan";
+    }
+
+    @CheckForNull
+    @Override
+    public String getUrlName() {
+        return null;
+    }
+
+}
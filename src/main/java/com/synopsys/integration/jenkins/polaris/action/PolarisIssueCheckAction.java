@@ -0,0 +1,99 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.action;
+
+import javax.annotation.CheckForNull;
+
+import com.synopsys.integration.jenkins.polaris.PolarisBackgroundIssueChecker;
+
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+
+/**
+ * The outcome of an issue check that waited for Polaris jobs after its freestyle build had already released its executor. Such checks only run when
+ * issues leave the build result unchanged, so only the issue count is recorded.
+ */
+public class PolarisIssueCheckAction implements RunAction2 {
+    private State state;
+    private final Integer issueCount;
+    private String message;
+
+    private PolarisIssueCheckAction(State state, Integer issueCount, String message) {
+        this.state = state;
+        this.issueCount = issueCount;
+        this.message = message;
+    }
+
+    public static PolarisIssueCheckAction waiting() {
+        return new PolarisIssueCheckAction(State.WAITING, null, "Waiting for Polaris jobs to complete");
+    }
+
+    public static PolarisIssueCheckAction completed(int issueCount) {
+        return new PolarisIssueCheckAction(State.COMPLETED, issueCount, String.format("Found %s issues", issueCount));
+    }
+
+    public static PolarisIssueCheckAction failed(String message) {
+        return new PolarisIssueCheckAction(State.FAILED, null, message);
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> run) {
+        // Nothing to do until the build is loaded again
+    }
+
+    // A check that was still waiting when the controller stopped is not resumed, so it is reported as abandoned instead of waiting forever
+    @Override
+    public void onLoad(Run<?, ?> run) {
+        if (State.WAITING == state && !PolarisBackgroundIssueChecker.isChecking(run)) {
+            state = State.FAILED;
+            message = "The controller restarted before the Polaris jobs completed, so their issues were not counted";
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    @CheckForNull
+    public Integer getIssueCount() {
+        return issueCount;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean hasIssues() {
+        return issueCount != null && issueCount > 0;
+    }
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @CheckForNull
+    @Override
+    public String getDisplayName() {
+        return "Polaris Software Integrity Platform Issue Check";
+    }
+
+    @CheckForNull
+    @Override
+    public String getUrlName() {
+        return null;
+    }
+
+    public enum State {
+        WAITING,
+        COMPLETED,
+        FAILED
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.action;
+
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+
+import com.synopsys.integration.polaris.common.timing.PhaseTimings;
+
+import hudson.model.Action;
+
+public class PolarisTimingAction implements Action {
+    private final PhaseTimings phaseTimings;
+
+    public PolarisTimingAction(PhaseTimings phaseTimings) {
+        this.phaseTimings = phaseTimings;
+    }
+
+    public PhaseTimings getPhaseTimings() {
+        return phaseTimings;
+    }
+
+    public Map<String, PhaseTimings.PhaseTiming> getTimingsByPhase() {
+        return phaseTimings.getTimingsByPhase();
+    }
+
+    @CheckForNull
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @CheckForNull
+    @Override
+    public String getDisplayName() {
+        return "Polaris Software Integrity Platform Timing";
+    }
+
+    @CheckForNull
+    @Override
+    public String getUrlName() {
+        return null;
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.cache;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.credentials.CredentialsBuilder;
+import com.synopsys.integration.rest.proxy.ProxyInfoBuilder;
+import com.synopsys.integration.util.OperatingSystemType;
+
+/**
+ * Facts about the node that a build would otherwise rediscover every time, kept for the life of the JVM it runs in so that persistent agents only
+ * pay for them once. Resolved CLI paths are only trusted while the bin directory they were resolved from is unchanged, so installing or updating
+ * the CLI invalidates them.
+ */
+public class PolarisAgentCache {
+    private static final PolarisAgentCache defaultAgentCache = new PolarisAgentCache();
+
+    private final Map<String, ResolvedCliPath> resolvedCliPaths = new ConcurrentHashMap<>();
+    private final Map<String, ResolvedCliVersion> cliVersions = new ConcurrentHashMap<>();
+    private final Map<List<Object>, IntHttpClient> httpClients = new ConcurrentHashMap<>();
+    private volatile OperatingSystemType operatingSystemType = null;
+
+    /**
+     * @return the cache for the JVM this is called in, which is the agent's when called from a callable sent to it
+     */
+    public static PolarisAgentCache getDefault() {
+        return defaultAgentCache;
+    }
+
+    public OperatingSystemType getOperatingSystemType() {
+        if (operatingSystemType == null) {
+            operatingSystemType = OperatingSystemType.determineFromSystem();
+        }
+        return operatingSystemType;
+    }
+
+    public Optional<String> getCliPath(String polarisCliHome) {
+        ResolvedCliPath resolvedCliPath = resolvedCliPaths.get(polarisCliHome);
+        if (resolvedCliPath == null) {
+            return Optional.empty();
+        }
+
+        if (resolvedCliPath.binLastModified != getBinDirectory(polarisCliHome).lastModified()) {
+            resolvedCliPaths.remove(polarisCliHome, resolvedCliPath);
+            return Optional.empty();
+        }
+        return Optional.of(resolvedCliPath.cliPath);
+    }
+
+    public void putCliPath(String polarisCliHome, String cliPath) {
+        long binLastModified = getBinDirectory(polarisCliHome).lastModified();
+        if (binLastModified > 0L) {
+            resolvedCliPaths.put(polarisCliHome, new ResolvedCliPath(cliPath, binLastModified));
+        }
+    }
+
+    /**
+     * @return the version of the CLI at the given path, as long as the executable is unchanged since it was resolved
+     */
+    public Optional<String> getCliVersion(String cliPath) {
+        ResolvedCliVersion resolvedCliVersion = cliVersions.get(cliPath);
+        if (resolvedCliVersion == null) {
+            return Optional.empty();
+        }
+
+        if (resolvedCliVersion.cliLastModified != new File(cliPath).lastModified()) {
+            cliVersions.remove(cliPath, resolvedCliVersion);
+            return Optional.empty();
+        }
+        return Optional.of(resolvedCliVersion.version);
+    }
+
+    public void putCliVersion(String cliPath, String version) {
+        long cliLastModified = new File(cliPath).lastModified();
+        if (cliLastModified > 0L) {
+            cliVersions.put(cliPath, new ResolvedCliVersion(version, cliLastModified));
+        }
+    }
+
+    /**
+     * Returns a client shared by every download that uses the same connection settings. Because the client outlives the build that created it,
+     * it does not log to any build's console.
+     */
+    public IntHttpClient getHttpClient(int timeout, String proxyHost, int proxyPort, String proxyUsername, String proxyPassword, String proxyNtlmDomain, String proxyNtlmWorkstation) {
+        List<Object> connectionSettings = Arrays.asList(timeout, proxyHost, proxyPort, proxyUsername, proxyPassword, proxyNtlmDomain, proxyNtlmWorkstation);
+        return httpClients.computeIfAbsent(connectionSettings, ignored -> {
+            CredentialsBuilder credentialsBuilder = new CredentialsBuilder();
+            credentialsBuilder.setUsernameAndPassword(proxyUsername, proxyPassword);
+
+            ProxyInfoBuilder proxyInfoBuilder = new ProxyInfoBuilder();
+            proxyInfoBuilder.setCredentials(credentialsBuilder.build());
+            proxyInfoBuilder.setHost(proxyHost);
+            proxyInfoBuilder.setPort(proxyPort);
+            proxyInfoBuilder.setNtlmDomain(proxyNtlmDomain);
+            proxyInfoBuilder.setNtlmWorkstation(proxyNtlmWorkstation);
+
+            return new IntHttpClient(new SilentIntLogger(), timeout, false, proxyInfoBuilder.build());
+        });
+    }
+
+    private File getBinDirectory(String polarisCliHome) {
+        return new File(polarisCliHome, "bin");
+    }
+
+    private static class ResolvedCliPath {
+        private final String cliPath;
+        private final long binLastModified;
+
+        private ResolvedCliPath(String cliPath, long binLastModified) {
+            this.cliPath = cliPath;
+            this.binLastModified = binLastModified;
+        }
+    }
+
+    private static class ResolvedCliVersion {
+        private final String version;
+        private final long cliLastModified;
+
+        private ResolvedCliVersion(String version, long cliLastModified) {
+            this.version = version;
+            this.cliLastModified = cliLastModified;
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+public class PolarisCacheEntry {
+    private final String namespace;
+    private final String key;
+    private final String digest;
+    private final long sizeInBytes;
+    private final long lastUsed;
+    private final Map<String, String> metadata;
+
+    public PolarisCacheEntry(String namespace, String key, String digest, long sizeInBytes, long lastUsed, Map<String, String> metadata) {
+        this.namespace = namespace;
+        this.key = key;
+        this.digest = digest;
+        this.sizeInBytes = sizeInBytes;
+        this.lastUsed = lastUsed;
+        this.metadata = Collections.unmodifiableMap(metadata);
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    public Optional<String> getMetadata(String name) {
+        return Optional.ofNullable(metadata.get(name));
+    }
+
+}
@@ -0,0 +1,286 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+
+import hudson.FilePath;
+import hudson.util.DirScanner;
+import hudson.util.io.ArchiverFactory;
+import jenkins.model.Jenkins;
+
+/**
+ * A controller-side store for directories that are expensive to recreate on agents. Directories are archived as gzipped tarballs named by the
+ * SHA-256 of the files they contain rather than of the archive bytes, which embed modification times, so identical content is only kept once.
+ * Entries are small files that map a namespace and key to an archive. Archives are checked against their digest before they are restored, and
+ * the least recently used entries are dropped first when the store is over its size budget.
+ */
+public class PolarisCacheStore {
+    public static final String DEFAULT_DIRECTORY = "polaris/cache-store";
+    public static final String BLOBS_DIRECTORY = "blobs";
+    public static final String ENTRIES_DIRECTORY = "entries";
+    public static final String BLOB_EXTENSION = ".tar.gz";
+
+    private static final String KEY_PROPERTY = "key";
+    private static final String DIGEST_PROPERTY = "digest";
+    private static final String SIZE_PROPERTY = "size";
+    private static final String METADATA_PREFIX = "metadata.";
+
+    private static PolarisCacheStore defaultStore = null;
+
+    private final File blobsDirectory;
+    private final File entriesDirectory;
+
+    public PolarisCacheStore(File rootDirectory) {
+        this.blobsDirectory = new File(rootDirectory, BLOBS_DIRECTORY);
+        this.entriesDirectory = new File(rootDirectory, ENTRIES_DIRECTORY);
+    }
+
+    public static synchronized PolarisCacheStore getDefault(Jenkins jenkins) {
+        if (defaultStore == null) {
+            defaultStore = new PolarisCacheStore(new File(jenkins.getRootDir(), DEFAULT_DIRECTORY));
+        }
+        return defaultStore;
+    }
+
+    public Optional<PolarisCacheEntry> getEntry(String namespace, String key) throws IOException {
+        return readEntry(namespace, getEntryFile(namespace, key));
+    }
+
+    /**
+     * @return the entries of a namespace, most recently used first
+     */
+    public List<PolarisCacheEntry> getEntries(String namespace) throws IOException {
+        File[] entryFiles = new File(entriesDirectory, namespace).listFiles(File::isFile);
+        if (entryFiles == null) {
+            return new ArrayList<>();
+        }
+
+        List<PolarisCacheEntry> entries = new ArrayList<>();
+        for (File entryFile : entryFiles) {
+            readEntry(namespace, entryFile).ifPresent(entries::add);
+        }
+        entries.sort(Comparator.comparingLong(PolarisCacheEntry::getLastUsed).reversed());
+        return entries;
+    }
+
+    public PolarisCacheEntry put(String namespace, String key, FilePath directory, String excludes, Map<String, String> metadata) throws IOException, InterruptedException {
+        Files.createDirectories(blobsDirectory.toPath());
+        Path temporaryBlob = Files.createTempFile(blobsDirectory.toPath(), "incoming", ".tmp");
+        try {
+            // Archiving streams from the agent, so it happens before taking the lock
+            try (OutputStream outputStream = Files.newOutputStream(temporaryBlob)) {
+                directory.archive(ArchiverFactory.TARGZ, outputStream, new DirScanner.Glob("**", excludes));
+            }
+            String digest = digestContent(temporaryBlob);
+
+            synchronized (this) {
+                Path blob = getBlobFile(digest).toPath();
+                if (!Files.exists(blob)) {
+                    Files.move(temporaryBlob, blob, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return writeEntry(namespace, key, digest, Files.size(blob), metadata);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryBlob);
+        }
+    }
+
+    public void restore(PolarisCacheEntry entry, FilePath targetDirectory) throws IOException, InterruptedException {
+        File blob = getBlobFile(entry.getDigest());
+        if (!entry.getDigest().equals(digestContent(blob.toPath()))) {
+            throw new IOException("The archive of cache entry " + entry.getKey() + " does not match its digest");
+        }
+
+        targetDirectory.mkdirs();
+        try (InputStream inputStream = Files.newInputStream(blob.toPath())) {
+            targetDirectory.untarFrom(inputStream, FilePath.TarCompression.GZIP);
+        }
+
+        File entryFile = getEntryFile(entry.getNamespace(), entry.getKey());
+        if (!entryFile.setLastModified(System.currentTimeMillis())) {
+            throw new IOException("Could not mark cache entry " + entry.getKey() + " as used");
+        }
+    }
+
+    public synchronized void remove(String namespace, String key) throws IOException {
+        Files.deleteIfExists(getEntryFile(namespace, key).toPath());
+        deleteUnreferencedBlobs();
+    }
+
+    public long getSizeInBytes() {
+        File[] blobs = blobsDirectory.listFiles((dir, name) -> name.endsWith(BLOB_EXTENSION));
+        if (blobs == null) {
+            return 0L;
+        }
+        return Stream.of(blobs).mapToLong(File::length).sum();
+    }
+
+    /**
+     * Drops the least recently used entries of every namespace until the archives they reference fit in the given budget.
+     */
+    public synchronized void enforceRetention(long maximumSizeInBytes) throws IOException {
+        List<PolarisCacheEntry> entries = new ArrayList<>();
+        File[] namespaceDirectories = entriesDirectory.listFiles(File::isDirectory);
+        if (namespaceDirectories != null) {
+            for (File namespaceDirectory : namespaceDirectories) {
+                entries.addAll(getEntries(namespaceDirectory.getName()));
+            }
+        }
+        entries.sort(Comparator.comparingLong(PolarisCacheEntry::getLastUsed));
+
+        Map<String, Long> referencedSizes = new HashMap<>();
+        entries.forEach(entry -> referencedSizes.put(entry.getDigest(), entry.getSizeInBytes()));
+        long referencedSizeInBytes = referencedSizes.values().stream().mapToLong(Long::longValue).sum();
+
+        for (int i = 0; i < entries.size() && referencedSizeInBytes > maximumSizeInBytes; i++) {
+            PolarisCacheEntry entry = entries.get(i);
+            Files.deleteIfExists(getEntryFile(entry.getNamespace(), entry.getKey()).toPath());
+
+            String digest = entry.getDigest();
+            boolean stillReferenced = entries.subList(i + 1, entries.size()).stream().anyMatch(laterEntry -> digest.equals(laterEntry.getDigest()));
+            if (!stillReferenced) {
+                referencedSizeInBytes -= referencedSizes.getOrDefault(digest, 0L);
+            }
+        }
+
+        deleteUnreferencedBlobs();
+    }
+
+    private void deleteUnreferencedBlobs() throws IOException {
+        Set<String> referencedDigests = new HashSet<>();
+        File[] namespaceDirectories = entriesDirectory.listFiles(File::isDirectory);
+        if (namespaceDirectories != null) {
+            for (File namespaceDirectory : namespaceDirectories) {
+                referencedDigests.addAll(getEntries(namespaceDirectory.getName()).stream().map(PolarisCacheEntry::getDigest).collect(Collectors.toSet()));
+            }
+        }
+
+        File[] blobs = blobsDirectory.listFiles((dir, name) -> name.endsWith(BLOB_EXTENSION));
+        if (blobs == null) {
+            return;
+        }
+        for (File blob : blobs) {
+            String digest = blob.getName().substring(0, blob.getName().length() - BLOB_EXTENSION.length());
+            if (!referencedDigests.contains(digest)) {
+                Files.deleteIfExists(blob.toPath());
+            }
+        }
+    }
+
+    private PolarisCacheEntry writeEntry(String namespace, String key, String digest, long sizeInBytes, Map<String, String> metadata) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_PROPERTY, key);
+        properties.setProperty(DIGEST_PROPERTY, digest);
+        properties.setProperty(SIZE_PROPERTY, String.valueOf(sizeInBytes));
+        metadata.forEach((name, value) -> properties.setProperty(METADATA_PREFIX + name, value));
+
+        File entryFile = getEntryFile(namespace, key);
+        Files.createDirectories(entryFile.getParentFile().toPath());
+        Path temporaryEntry = Files.createTempFile(entryFile.getParentFile().toPath(), "incoming", ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryEntry, StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+            Files.move(temporaryEntry, entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryEntry);
+        }
+
+        return new PolarisCacheEntry(namespace, key, digest, sizeInBytes, entryFile.lastModified(), metadata);
+    }
+
+    private Optional<PolarisCacheEntry> readEntry(String namespace, File entryFile) throws IOException {
+        if (!entryFile.isFile() || !entryFile.getName().endsWith(".properties")) {
+            return Optional.empty();
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(entryFile.toPath(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        String key = properties.getProperty(KEY_PROPERTY);
+        String digest = properties.getProperty(DIGEST_PROPERTY);
+        if (key == null || digest == null || !getBlobFile(digest).isFile()) {
+            return Optional.empty();
+        }
+
+        Map<String, String> metadata = new HashMap<>();
+        for (String propertyName : properties.stringPropertyNames()) {
+            if (propertyName.startsWith(METADATA_PREFIX)) {
+                metadata.put(propertyName.substring(METADATA_PREFIX.length()), properties.getProperty(propertyName));
+            }
+        }
+        long sizeInBytes = Long.parseLong(properties.getProperty(SIZE_PROPERTY, "0"));
+
+        return Optional.of(new PolarisCacheEntry(namespace, key, digest, sizeInBytes, entryFile.lastModified(), metadata));
+    }
+
+    private File getBlobFile(String digest) {
+        return new File(blobsDirectory, digest + BLOB_EXTENSION);
+    }
+
+    private File getEntryFile(String namespace, String key) {
+        // Keys contain job and branch names, so they are hashed rather than trusted as file names
+        return new File(new File(entriesDirectory, namespace), DigestUtils.sha256Hex(key) + ".properties");
+    }
+
+    /**
+     * Digests the path, mode and content of every entry of an archive, in path order, leaving out the modification times the archive records.
+     */
+    private String digestContent(Path archive) throws IOException {
+        SortedMap<String, String> entryDigests = new TreeMap<>();
+        try (TarArchiveInputStream tarArchiveInputStream = new TarArchiveInputStream(new GZIPInputStream(Files.newInputStream(archive)))) {
+            TarArchiveEntry tarArchiveEntry;
+            while ((tarArchiveEntry = tarArchiveInputStream.getNextTarEntry()) != null) {
+                String content;
+                if (tarArchiveEntry.isDirectory()) {
+                    content = "directory";
+                } else if (tarArchiveEntry.isSymbolicLink()) {
+                    content = "link " + tarArchiveEntry.getLinkName();
+                } else {
+                    content = DigestUtils.sha256Hex(tarArchiveInputStream);
+                }
+                entryDigests.put(tarArchiveEntry.getName(), String.format("%o %s", tarArchiveEntry.getMode(), content));
+            }
+        }
+
+        StringBuilder manifest = new StringBuilder();
+        entryDigests.forEach((name, entryDigest) -> manifest.append(name).append('\0').append(entryDigest).append('\n'));
+        return DigestUtils.sha256Hex(manifest.toString());
+    }
+
+}
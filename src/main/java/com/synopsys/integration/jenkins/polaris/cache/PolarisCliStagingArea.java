@@ -0,0 +1,93 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.polaris.common.cli.PolarisDownloadUtility;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.util.CleanupZipExpander;
+import com.synopsys.integration.util.OperatingSystemType;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Polaris CLI archives kept on the controller, one per operating system that a node has installed the CLI on, so that nodes can install or update
+ * the CLI from the controller instead of each asking the Polaris server.
+ */
+public class PolarisCliStagingArea {
+    public static final String DEFAULT_DIRECTORY = "polaris/cli-staging";
+    public static final String ARCHIVE_NAME = "polaris_cli.zip";
+
+    private static PolarisCliStagingArea defaultStagingArea = null;
+
+    private final File rootDirectory;
+
+    public PolarisCliStagingArea(File rootDirectory) {
+        this.rootDirectory = rootDirectory;
+    }
+
+    public static synchronized PolarisCliStagingArea getDefault(Jenkins jenkins) {
+        if (defaultStagingArea == null) {
+            defaultStagingArea = new PolarisCliStagingArea(new File(jenkins.getRootDir(), DEFAULT_DIRECTORY));
+        }
+        return defaultStagingArea;
+    }
+
+    /**
+     * Records that a node runs the given operating system, so that the CLI for it is staged from now on.
+     */
+    public void requestOperatingSystem(OperatingSystemType operatingSystemType) throws IOException {
+        Files.createDirectories(getDirectory(operatingSystemType).toPath());
+    }
+
+    public List<OperatingSystemType> getRequestedOperatingSystems() {
+        List<OperatingSystemType> operatingSystemTypes = new ArrayList<>();
+        for (OperatingSystemType operatingSystemType : OperatingSystemType.values()) {
+            if (getDirectory(operatingSystemType).isDirectory()) {
+                operatingSystemTypes.add(operatingSystemType);
+            }
+        }
+        return operatingSystemTypes;
+    }
+
+    public Optional<File> getStagedArchive(OperatingSystemType operatingSystemType) {
+        File archive = new File(getDirectory(operatingSystemType), ARCHIVE_NAME);
+        if (archive.isFile() && archive.lastModified() > 0L) {
+            return Optional.of(archive);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return true if a different archive than the one already staged was downloaded
+     */
+    public synchronized boolean stage(IntLogger logger, OperatingSystemType operatingSystemType, IntHttpClient intHttpClient, HttpUrl polarisServerUrl) throws IOException, IntegrationException {
+        File directory = getDirectory(operatingSystemType);
+        File archive = new File(directory, ARCHIVE_NAME);
+        long previouslyStaged = archive.exists() ? archive.lastModified() : 0L;
+
+        PolarisDownloadUtility polarisDownloadUtility = new PolarisDownloadUtility(logger, operatingSystemType, intHttpClient, new CleanupZipExpander(logger), polarisServerUrl, directory);
+        Optional<Long> staged = polarisDownloadUtility.downloadArchiveIfModified(archive);
+
+        return staged.isPresent() && staged.get() != previouslyStaged;
+    }
+
+    private File getDirectory(OperatingSystemType operatingSystemType) {
+        return new File(rootDirectory, operatingSystemType.name());
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.cache;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.synopsys.integration.jenkins.polaris.PolarisScanGovernor;
+import com.synopsys.integration.log.IntLogger;
+
+import hudson.FilePath;
+
+/**
+ * Keeps the capture and intermediate data the Polaris CLI writes under the workspace's .synopsys/polaris directory in the controller's
+ * {@link PolarisCacheStore}, so that builds on clean workspaces can run incrementally. Data is saved per job, branch and CLI version after a
+ * successful scan, and a build restores its own branch's data, or failing that the most recently used data of a priority branch of the same job.
+ * Other branches, such as pull requests, never seed the data of another branch.
+ */
+public class PolarisIdirCache {
+    public static final String NAMESPACE = "idir";
+    public static final String POLARIS_DIRECTORY = ".synopsys/polaris";
+    // The scan results describe a single run; restoring them could pass off a failed run's results as its own
+    public static final String EXCLUDES = "cli-scan.json";
+    public static final String JOB_METADATA = "job";
+    public static final String BRANCH_METADATA = "branch";
+    public static final String CLI_VERSION_METADATA = "cliVersion";
+
+    private final IntLogger logger;
+    private final PolarisCacheStore polarisCacheStore;
+    private final FilePath workspace;
+    private final String jobName;
+    private final String branch;
+    private final List<String> priorityBranches;
+    private final long maximumSizeInBytes;
+
+    /**
+     * @param jobName the job, or for branch jobs the multibranch project, so that its branches can share data
+     */
+    public PolarisIdirCache(IntLogger logger, PolarisCacheStore polarisCacheStore, FilePath workspace, String jobName, String branch, List<String> priorityBranches, long maximumSizeInBytes) {
+        this.logger = logger;
+        this.polarisCacheStore = polarisCacheStore;
+        this.workspace = workspace;
+        this.jobName = jobName;
+        this.branch = branch;
+        this.priorityBranches = priorityBranches;
+        this.maximumSizeInBytes = maximumSizeInBytes;
+    }
+
+    public static String createKey(String jobName, String branch, String cliVersion) {
+        return String.join("|", jobName, branch, cliVersion);
+    }
+
+    public void restore(String cliVersion) throws InterruptedException {
+        try {
+            FilePath polarisDirectory = workspace.child(POLARIS_DIRECTORY);
+            if (polarisDirectory.isDirectory() && !polarisDirectory.listDirectories().isEmpty()) {
+                logger.debug("The workspace already has Polaris intermediate data, it will not be restored from the cache");
+                return;
+            }
+
+            Optional<PolarisCacheEntry> closestEntry = findClosestEntry(cliVersion);
+            if (!closestEntry.isPresent()) {
+                logger.debug(String.format("No Polaris intermediate data is cached for %s with CLI version %s", jobName, cliVersion));
+                return;
+            }
+
+            PolarisCacheEntry entry = closestEntry.get();
+            logger.info(String.format("Restoring Polaris intermediate data cached from branch '%s'", entry.getMetadata(BRANCH_METADATA).orElse("")));
+            polarisCacheStore.restore(entry, polarisDirectory);
+        } catch (IOException e) {
+            logger.warn("The cached Polaris intermediate data could not be restored, the Polaris CLI will run a full capture: " + e.getMessage());
+        }
+    }
+
+    public void save(String cliVersion) throws InterruptedException {
+        try {
+            FilePath polarisDirectory = workspace.child(POLARIS_DIRECTORY);
+            if (!polarisDirectory.isDirectory()) {
+                return;
+            }
+
+            Map<String, String> metadata = new HashMap<>();
+            metadata.put(JOB_METADATA, jobName);
+            metadata.put(BRANCH_METADATA, branch);
+            metadata.put(CLI_VERSION_METADATA, cliVersion);
+
+            logger.info("Caching Polaris intermediate data on the controller");
+            polarisCacheStore.put(NAMESPACE, createKey(jobName, branch, cliVersion), polarisDirectory, EXCLUDES, metadata);
+            polarisCacheStore.enforceRetention(maximumSizeInBytes);
+        } catch (IOException e) {
+            logger.warn("The Polaris intermediate data could not be cached: " + e.getMessage());
+        }
+    }
+
+    private Optional<PolarisCacheEntry> findClosestEntry(String cliVersion) throws IOException {
+        Optional<PolarisCacheEntry> branchEntry = polarisCacheStore.getEntry(NAMESPACE, createKey(jobName, branch, cliVersion));
+        if (branchEntry.isPresent()) {
+            return branchEntry;
+        }
+
+        // Intermediate data is only reusable by the CLI version that wrote it, but a priority branch of the same job is usually close enough
+        return polarisCacheStore.getEntries(NAMESPACE).stream()
+                   .filter(entry -> entry.getMetadata(JOB_METADATA).filter(jobName::equals).isPresent())
+                   .filter(entry -> entry.getMetadata(CLI_VERSION_METADATA).filter(cliVersion::equals).isPresent())
+                   .filter(entry -> entry.getMetadata(BRANCH_METADATA).filter(entryBranch -> PolarisScanGovernor.isPriorityBranch(entryBranch, priorityBranches)).isPresent())
+                   .findFirst();
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.synopsys.integration.jenkins.polaris.service.GetPolarisToolsDirectory;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.util.OperatingSystemType;
+
+import hudson.FilePath;
+
+/**
+ * Keeps the analysis tools the Polaris CLI downloads for itself in the controller's {@link PolarisCacheStore}, one entry per Polaris CLI
+ * installation, operating system and tool version. The tools are versioned by directory and never change once downloaded, so a node only
+ * restores the versions it lacks, and a version is only cached once: the digest recorded with its entry is the manifest every later restore is
+ * checked against.
+ * <p>
+ * Tools are only cached from the node's default Polaris home after a successful scan. POLARIS_HOME comes from the build's environment, so a job
+ * could point it at content of its own choosing.
+ */
+public class PolarisToolCache {
+    public static final String NAMESPACE = "tools";
+    public static final String INSTALLATION_METADATA = "installation";
+    public static final String OPERATING_SYSTEM_METADATA = "operatingSystem";
+    public static final String TOOL_VERSION_METADATA = "toolVersion";
+
+    private final IntLogger logger;
+    private final PolarisCacheStore polarisCacheStore;
+    private final FilePath workspace;
+    private final long maximumSizeInBytes;
+
+    public PolarisToolCache(IntLogger logger, PolarisCacheStore polarisCacheStore, FilePath workspace, long maximumSizeInBytes) {
+        this.logger = logger;
+        this.polarisCacheStore = polarisCacheStore;
+        this.workspace = workspace;
+        this.maximumSizeInBytes = maximumSizeInBytes;
+    }
+
+    public static String createKey(String polarisCliName, OperatingSystemType operatingSystemType, String toolVersion) {
+        return String.join("|", polarisCliName, operatingSystemType.name(), toolVersion);
+    }
+
+    /**
+     * @param polarisHome the POLARIS_HOME of the build, or null, which is where the Polaris CLI will look for its tools
+     */
+    public void restore(String polarisCliName, OperatingSystemType operatingSystemType, String polarisHome) throws InterruptedException {
+        try {
+            List<PolarisCacheEntry> cachedTools = polarisCacheStore.getEntries(NAMESPACE).stream()
+                                                      .filter(entry -> entry.getMetadata(INSTALLATION_METADATA).filter(polarisCliName::equals).isPresent())
+                                                      .filter(entry -> entry.getMetadata(OPERATING_SYSTEM_METADATA).filter(operatingSystemType.name()::equals).isPresent())
+                                                      .collect(Collectors.toList());
+            if (cachedTools.isEmpty()) {
+                logger.debug(String.format("No Polaris analysis tools are cached for %s on %s", polarisCliName, operatingSystemType.name()));
+                return;
+            }
+
+            FilePath toolsDirectory = getToolsDirectory(polarisHome);
+            List<String> toolVersions = listToolVersions(toolsDirectory);
+            for (PolarisCacheEntry cachedTool : cachedTools) {
+                String toolVersion = cachedTool.getMetadata(TOOL_VERSION_METADATA).orElse(null);
+                if (toolVersion == null || toolVersions.contains(toolVersion)) {
+                    continue;
+                }
+
+                logger.info(String.format("Restoring Polaris analysis tool %s to %s", toolVersion, toolsDirectory.getRemote()));
+                polarisCacheStore.restore(cachedTool, toolsDirectory.child(toolVersion));
+            }
+        } catch (IOException e) {
+            logger.warn("The cached Polaris analysis tools could not be restored, the Polaris CLI will download them: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Caches the tool versions of the node's default Polaris home that are not cached yet. Call only after the Polaris CLI exited successfully,
+     * since a failed run may leave a tool half downloaded.
+     */
+    public void save(String polarisCliName, OperatingSystemType operatingSystemType) throws InterruptedException {
+        try {
+            FilePath toolsDirectory = getToolsDirectory(null);
+            boolean saved = false;
+            for (String toolVersion : listToolVersions(toolsDirectory)) {
+                String key = createKey(polarisCliName, operatingSystemType, toolVersion);
+                if (polarisCacheStore.getEntry(NAMESPACE, key).isPresent()) {
+                    continue;
+                }
+
+                Map<String, String> metadata = new HashMap<>();
+                metadata.put(INSTALLATION_METADATA, polarisCliName);
+                metadata.put(OPERATING_SYSTEM_METADATA, operatingSystemType.name());
+                metadata.put(TOOL_VERSION_METADATA, toolVersion);
+
+                logger.info(String.format("Caching Polaris analysis tool %s on the controller", toolVersion));
+                polarisCacheStore.put(NAMESPACE, key, toolsDirectory.child(toolVersion), null, metadata);
+                saved = true;
+            }
+
+            if (saved) {
+                polarisCacheStore.enforceRetention(maximumSizeInBytes);
+            }
+        } catch (IOException e) {
+            logger.warn("The Polaris analysis tools could not be cached: " + e.getMessage());
+        }
+    }
+
+    private FilePath getToolsDirectory(String polarisHome) throws IOException, InterruptedException {
+        return new FilePath(workspace.getChannel(), workspace.act(new GetPolarisToolsDirectory(polarisHome)));
+    }
+
+    private List<String> listToolVersions(FilePath toolsDirectory) throws IOException, InterruptedException {
+        if (!toolsDirectory.isDirectory()) {
+            return new ArrayList<>();
+        }
+
+        return toolsDirectory.listDirectories().stream()
+                   .map(FilePath::getName)
+                   .sorted()
+                   .collect(Collectors.toList());
+    }
+
+}
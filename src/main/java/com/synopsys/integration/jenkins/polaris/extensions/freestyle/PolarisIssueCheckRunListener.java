@@ -0,0 +1,24 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.freestyle;
+
+import com.synopsys.integration.jenkins.polaris.PolarisBackgroundIssueChecker;
+
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+
+// A deleted build has nowhere to record its issue check, so there is no point in waiting on its Polaris jobs any longer
+@Extension
+public class PolarisIssueCheckRunListener extends RunListener<Run<?, ?>> {
+    @Override
+    public void onDeleted(Run<?, ?> run) {
+        PolarisBackgroundIssueChecker.cancel(run);
+    }
+
+}
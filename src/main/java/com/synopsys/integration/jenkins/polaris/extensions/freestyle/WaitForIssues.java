@@ -23,7 +23,8 @@ import hudson.util.ListBoxModel;
 
 public class WaitForIssues extends AbstractDescribableImpl<WaitForIssues> {
     @Nullable
-    @HelpMarkdown("The build status to set the project to if there are issues")
+    @HelpMarkdown("The build status to set the project to if there are issues. "
+                      + "The build log breaks the issues down by severity, and by tool when the Polaris CLI is executed without -w; with -w the counts by tool are omitted.")
     private ChangeBuildStatusTo buildStatusForIssues;
 
     // jobTimeoutInMinutes must be a Number to guarantee identical functionality between Freestyle and Pipeline StepWorkflows that use GetTotalIssueCount.
@@ -32,6 +33,12 @@ public class WaitForIssues extends AbstractDescribableImpl<WaitForIssues> {
     @HelpMarkdown("The maximum number of minutes to wait for jobs started by the Polaris CLI to complete when the Polaris CLI is executed without -w (nonblocking mode). Must be a positive integer, defaults to 30 minutes.")
     private Integer jobTimeoutInMinutes;
 
+    @Nullable
+    @HelpMarkdown("Check this box to finish the build once the Polaris CLI completes and wait for its jobs on the controller instead, without holding an executor. "
+                      + "The issue count is recorded on the build page. Jenkins cannot change the status of a finished build, so this only applies when issues do not change the build result, "
+                      + "that is when the build status for issues is Success or not set; otherwise the build still waits for its jobs. A wait that is cut short by a controller restart is recorded as not completed.")
+    private Boolean waitInBackground;
+
     @DataBoundConstructor
     public WaitForIssues() {
         // Nothing to do-- we generally want to only use DataBoundSetters if we can avoid it, but having no DataBoundConstructor can cause issues.
@@ -56,6 +63,19 @@ public class WaitForIssues extends AbstractDescribableImpl<WaitForIssues> {
         this.jobTimeoutInMinutes = jobTimeoutInMinutes;
     }
 
+    @Nullable
+    public Boolean getWaitInBackground() {
+        if (!Boolean.TRUE.equals(waitInBackground)) {
+            return null;
+        }
+        return waitInBackground;
+    }
+
+    @DataBoundSetter
+    public void setWaitInBackground(Boolean waitInBackground) {
+        this.waitInBackground = waitInBackground;
+    }
+
     @Override
     public DescriptorImpl getDescriptor() {
         return (DescriptorImpl) super.getDescriptor();
@@ -64,6 +64,8 @@ import jenkins.util.xml.XMLUtils;
 @Extension
 public class PolarisGlobalConfig extends GlobalConfiguration implements Serializable {
     private static final long serialVersionUID = 1903218683598310994L;
+    public static final String DEFAULT_PRIORITY_BRANCHES = "main, master";
+    public static final int DEFAULT_CACHE_SIZE_IN_GIGABYTES = 20;
 
     @HelpMarkdown("Provide the URL that lets you access the Polaris Software Integrity Platform.")
     private String polarisUrl;
@@ -74,6 +76,40 @@ public class PolarisGlobalConfig extends GlobalConfiguration implements Serializ
 
     private int polarisTimeout = 120;
 
+    @HelpMarkdown("If checked, a newer Polaris build of a job and branch cancels the older ones still in the queue and aborts the older ones still running.  \r\n"
+                      + "Aborted builds cancel the Polaris jobs they were waiting on.")
+    private boolean supersedeOlderBuilds = false;
+
+    @HelpMarkdown("The maximum number of Polaris builds that may run against the Polaris server at the same time. Further builds wait in the Jenkins queue without holding an executor.  \r\n"
+                      + "Pipelines do not declare their steps up front, so a pipeline only counts as a Polaris build once one of its completed builds has run the Polaris CLI; "
+                      + "the first Polaris build of a new pipeline is not held back and does not count against the limit.  \r\n"
+                      + "Set to 0 for no limit.")
+    private int maxConcurrentScans = 0;
+
+    @HelpMarkdown("Branches whose builds are let through ahead of other waiting Polaris builds when the concurrent scan limit is reached, separated by commas or spaces.")
+    private String priorityBranches = DEFAULT_PRIORITY_BRANCHES;
+
+    @HelpMarkdown("If checked, the analysis tools the Polaris CLI downloads are kept on the Jenkins controller and restored onto nodes that do not have them yet, such as freshly provisioned agents.  \r\n"
+                      + "Tools are cached per Polaris CLI installation and tool version after successful scans, and only from the node's default Polaris home, not from a POLARIS_HOME set by the build.")
+    private boolean cacheAnalysisTools = false;
+
+    @HelpMarkdown("If checked, the intermediate data the Polaris CLI writes to the workspace is kept on the Jenkins controller after each successful scan, per job, branch and CLI version.  \r\n"
+                      + "Builds whose workspace has no intermediate data restore it from their branch, or from a priority branch of the same job or multibranch project, so they do not have to run a full capture. "
+                      + "Data from other branches, such as pull requests, is only restored into builds of the same branch.")
+    private boolean cacheIntermediateDirectory = false;
+
+    @HelpMarkdown("The disk space, in gigabytes, that cached Polaris data may use on the Jenkins controller. The least recently used entries are removed first.")
+    private int cacheSizeInGigabytes = DEFAULT_CACHE_SIZE_IN_GIGABYTES;
+
+    @HelpMarkdown("Names of Polaris CLI installations, separated by commas, to start installing on a node as soon as a Polaris build is assigned to it.  \r\n"
+                      + "The install then runs alongside checkout and the rest of the build, and the Polaris step waits for it instead of installing the CLI itself. Leave empty to install only when the Polaris step runs.")
+    private String prefetchPolarisCliNames;
+
+    @HelpMarkdown("If checked, the issue check runs on the node the build runs on rather than on the Jenkins controller: the node polls the Polaris jobs, counts their issues and sends back only the counts.  \r\n"
+                      + "The node follows the request rate configured on the controller, but its requests are not shared with the other builds: they do not count against the controller's rate limit and cannot reuse the responses the controller has cached. "
+                      + "The node must be able to reach the Polaris Software Integrity Platform with the proxy settings of the controller.")
+    private boolean checkIssuesOnAgent = false;
+
     @DataBoundConstructor
     public PolarisGlobalConfig() {
         load();
@@ -109,6 +145,91 @@ public class PolarisGlobalConfig extends GlobalConfiguration implements Serializ
         save();
     }
 
+    public boolean isSupersedeOlderBuilds() {
+        return supersedeOlderBuilds;
+    }
+
+    @DataBoundSetter
+    public void setSupersedeOlderBuilds(boolean supersedeOlderBuilds) {
+        this.supersedeOlderBuilds = supersedeOlderBuilds;
+        save();
+    }
+
+    public int getMaxConcurrentScans() {
+        return maxConcurrentScans;
+    }
+
+    @DataBoundSetter
+    public void setMaxConcurrentScans(int maxConcurrentScans) {
+        this.maxConcurrentScans = Math.max(0, maxConcurrentScans);
+        save();
+    }
+
+    public String getPriorityBranches() {
+        // Configurations saved before priority branches existed load without the field
+        return priorityBranches == null ? DEFAULT_PRIORITY_BRANCHES : priorityBranches;
+    }
+
+    @DataBoundSetter
+    public void setPriorityBranches(String priorityBranches) {
+        this.priorityBranches = priorityBranches;
+        save();
+    }
+
+    public boolean isCacheAnalysisTools() {
+        return cacheAnalysisTools;
+    }
+
+    @DataBoundSetter
+    public void setCacheAnalysisTools(boolean cacheAnalysisTools) {
+        this.cacheAnalysisTools = cacheAnalysisTools;
+        save();
+    }
+
+    public boolean isCacheIntermediateDirectory() {
+        return cacheIntermediateDirectory;
+    }
+
+    @DataBoundSetter
+    public void setCacheIntermediateDirectory(boolean cacheIntermediateDirectory) {
+        this.cacheIntermediateDirectory = cacheIntermediateDirectory;
+        save();
+    }
+
+    public int getCacheSizeInGigabytes() {
+        return cacheSizeInGigabytes;
+    }
+
+    @DataBoundSetter
+    public void setCacheSizeInGigabytes(int cacheSizeInGigabytes) {
+        this.cacheSizeInGigabytes = Math.max(0, cacheSizeInGigabytes);
+        save();
+    }
+
+    public String getPrefetchPolarisCliNames() {
+        return prefetchPolarisCliNames;
+    }
+
+    @DataBoundSetter
+    public void setPrefetchPolarisCliNames(String prefetchPolarisCliNames) {
+        this.prefetchPolarisCliNames = prefetchPolarisCliNames;
+        save();
+    }
+
+    public boolean isCheckIssuesOnAgent() {
+        return checkIssuesOnAgent;
+    }
+
+    @DataBoundSetter
+    public void setCheckIssuesOnAgent(boolean checkIssuesOnAgent) {
+        this.checkIssuesOnAgent = checkIssuesOnAgent;
+        save();
+    }
+
+    public long getCacheSizeInBytes() {
+        return cacheSizeInGigabytes * 1024L * 1024L * 1024L;
+    }
+
     public PolarisServerConfig getPolarisServerConfig(SynopsysCredentialsHelper credentialsHelper, JenkinsProxyHelper jenkinsProxyHelper) throws IllegalArgumentException {
         return getPolarisServerConfigBuilder(credentialsHelper, jenkinsProxyHelper).build();
     }
@@ -220,10 +341,26 @@ public class PolarisGlobalConfig extends GlobalConfiguration implements Serializ
         String polarisUrl = getNodeValue(doc, "polarisUrl").orElse(StringUtils.EMPTY);
         String polarisCredentialsId = getNodeValue(doc, "polarisCredentialsId").orElse(StringUtils.EMPTY);
         int polarisTimeout = getNodeIntegerValue(doc, "polarisTimeout").orElse(120);
+        boolean supersedeOlderBuilds = getNodeValue(doc, "supersedeOlderBuilds").map(Boolean::parseBoolean).orElse(false);
+        int maxConcurrentScans = getNodeIntegerValue(doc, "maxConcurrentScans").orElse(0);
+        String priorityBranches = getNodeValue(doc, "priorityBranches").orElse(DEFAULT_PRIORITY_BRANCHES);
+        boolean cacheAnalysisTools = getNodeValue(doc, "cacheAnalysisTools").map(Boolean::parseBoolean).orElse(false);
+        boolean cacheIntermediateDirectory = getNodeValue(doc, "cacheIntermediateDirectory").map(Boolean::parseBoolean).orElse(false);
+        int cacheSizeInGigabytes = getNodeIntegerValue(doc, "cacheSizeInGigabytes").orElse(DEFAULT_CACHE_SIZE_IN_GIGABYTES);
+        String prefetchPolarisCliNames = getNodeValue(doc, "prefetchPolarisCliNames").orElse(StringUtils.EMPTY);
+        boolean checkIssuesOnAgent = getNodeValue(doc, "checkIssuesOnAgent").map(Boolean::parseBoolean).orElse(false);
 
         setPolarisUrl(polarisUrl);
         setPolarisCredentialsId(polarisCredentialsId);
         setPolarisTimeout(polarisTimeout);
+        setSupersedeOlderBuilds(supersedeOlderBuilds);
+        setMaxConcurrentScans(maxConcurrentScans);
+        setPriorityBranches(priorityBranches);
+        setCacheAnalysisTools(cacheAnalysisTools);
+        setCacheIntermediateDirectory(cacheIntermediateDirectory);
+        setCacheSizeInGigabytes(cacheSizeInGigabytes);
+        setPrefetchPolarisCliNames(prefetchPolarisCliNames);
+        setCheckIssuesOnAgent(checkIssuesOnAgent);
         save();
     }
 
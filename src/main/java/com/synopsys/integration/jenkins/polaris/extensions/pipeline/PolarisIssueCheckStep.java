@@ -26,6 +26,7 @@ import org.kohsuke.stapler.DataBoundConstructor;
 import org.kohsuke.stapler.DataBoundSetter;
 
 import com.synopsys.integration.jenkins.annotations.HelpMarkdown;
+import com.synopsys.integration.jenkins.polaris.PolarisPipelineCommands;
 import com.synopsys.integration.jenkins.polaris.service.PolarisCommandsFactory;
 
 import hudson.EnvVars;
@@ -42,7 +43,8 @@ public class PolarisIssueCheckStep extends Step implements Serializable {
     private static final long serialVersionUID = -2698425344634481146L;
 
     @Nullable
-    @HelpMarkdown("Check this box to return the issue count as an integer instead of throwing an exception")
+    @HelpMarkdown("Check this box to return the issue count as an integer instead of throwing an exception. "
+                      + "Either way the build log breaks the issues down by severity, and by tool when the Polaris CLI was executed without -w; with -w the counts by tool are omitted.")
     private Boolean returnIssueCount;
 
     @Nullable
@@ -93,7 +95,8 @@ public class PolarisIssueCheckStep extends Step implements Serializable {
 
         @Override
         public Set<? extends Class<?>> getRequiredContext() {
-            return new HashSet<>(Arrays.asList(TaskListener.class, EnvVars.class, FilePath.class, Launcher.class, Run.class, Node.class));
+            // Outside of a node the check uses the cli-scan.json recorded by the polaris step, so that the wait for Polaris jobs does not hold an executor
+            return new HashSet<>(Arrays.asList(TaskListener.class, EnvVars.class, Run.class));
         }
 
         @Override
@@ -130,8 +133,11 @@ public class PolarisIssueCheckStep extends Step implements Serializable {
 
         @Override
         protected Integer run() throws Exception {
-            return PolarisCommandsFactory.fromPipeline(listener, envVars, launcher, node, run, workspace)
-                       .checkForIssues(jobTimeoutInMinutes, returnIssueCount);
+            PolarisPipelineCommands polarisPipelineCommands = PolarisCommandsFactory.fromPipeline(listener, envVars, launcher, node, run, workspace);
+            if (workspace == null) {
+                return polarisPipelineCommands.checkForRecordedIssues(jobTimeoutInMinutes, returnIssueCount);
+            }
+            return polarisPipelineCommands.checkForIssues(jobTimeoutInMinutes, returnIssueCount);
         }
     }
 }
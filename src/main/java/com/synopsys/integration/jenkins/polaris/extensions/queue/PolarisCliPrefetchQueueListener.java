@@ -0,0 +1,69 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.queue;
+
+import java.util.List;
+
+import com.synopsys.integration.jenkins.polaris.PolarisBuildSuperseder;
+import com.synopsys.integration.jenkins.polaris.extensions.global.PolarisGlobalConfig;
+import com.synopsys.integration.jenkins.polaris.extensions.tools.PolarisCli;
+import com.synopsys.integration.jenkins.polaris.extensions.tools.PolarisCliPrewarmer;
+
+import hudson.Extension;
+import hudson.model.Computer;
+import hudson.model.Executor;
+import hudson.model.Job;
+import hudson.model.Node;
+import hudson.model.OneOffExecutor;
+import hudson.model.Queue;
+import hudson.model.queue.QueueListener;
+import hudson.model.queue.WorkUnit;
+import jenkins.model.GlobalConfiguration;
+import jenkins.model.Jenkins;
+
+/**
+ * Starts installing the configured Polaris CLIs as soon as a Polaris build, or a pipeline's node block, is assigned to a node, so that the install
+ * overlaps with checkout instead of starting when the Polaris step runs.
+ */
+@Extension
+public class PolarisCliPrefetchQueueListener extends QueueListener {
+    @Override
+    public void onLeft(Queue.LeftItem leftItem) {
+        if (leftItem.isCancelled() || leftItem.outcome == null) {
+            return;
+        }
+
+        PolarisGlobalConfig polarisGlobalConfig = GlobalConfiguration.all().get(PolarisGlobalConfig.class);
+        List<String> polarisCliNames = PolarisCliPrewarmer.parsePolarisCliNames(polarisGlobalConfig == null ? null : polarisGlobalConfig.getPrefetchPolarisCliNames());
+        // A pipeline's node block is its own task, owned by the pipeline job
+        Queue.Task ownerTask = leftItem.task.getOwnerTask();
+        if (polarisCliNames.isEmpty() || !(ownerTask instanceof Job) || !PolarisBuildSuperseder.isPolarisJob((Job<?, ?>) ownerTask)) {
+            return;
+        }
+
+        WorkUnit workUnit = leftItem.outcome.getPrimaryWorkUnit();
+        Executor executor = workUnit == null ? null : workUnit.getExecutor();
+        // Flyweight tasks, such as the pipeline itself, run on the controller without an executor slot and never run the Polaris CLI there
+        if (executor instanceof OneOffExecutor) {
+            return;
+        }
+        Computer computer = executor == null ? null : executor.getOwner();
+        Node node = computer == null ? null : computer.getNode();
+        if (node == null) {
+            return;
+        }
+
+        PolarisCli.DescriptorImpl polarisCliDescriptor = Jenkins.get().getDescriptorByType(PolarisCli.DescriptorImpl.class);
+        for (PolarisCli polarisCli : polarisCliDescriptor.getInstallations()) {
+            if (polarisCliNames.contains(polarisCli.getName())) {
+                PolarisCliPrewarmer.getDefault().prewarm(polarisCli, node);
+            }
+        }
+    }
+
+}
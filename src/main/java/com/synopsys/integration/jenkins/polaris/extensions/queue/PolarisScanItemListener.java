@@ -0,0 +1,34 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.queue;
+
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.listeners.ItemListener;
+import hudson.model.queue.QueueTaskDispatcher;
+
+@Extension
+public class PolarisScanItemListener extends ItemListener {
+    @Override
+    public void onDeleted(Item item) {
+        forgetJob(item.getFullName());
+    }
+
+    @Override
+    public void onLocationChanged(Item item, String oldFullName, String newFullName) {
+        forgetJob(oldFullName);
+    }
+
+    private void forgetJob(String fullName) {
+        PolarisScanQueueTaskDispatcher polarisScanQueueTaskDispatcher = QueueTaskDispatcher.all().get(PolarisScanQueueTaskDispatcher.class);
+        if (polarisScanQueueTaskDispatcher != null) {
+            polarisScanQueueTaskDispatcher.forgetJob(fullName);
+        }
+    }
+
+}
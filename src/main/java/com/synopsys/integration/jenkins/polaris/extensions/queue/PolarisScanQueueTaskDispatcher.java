@@ -0,0 +1,96 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.synopsys.integration.jenkins.polaris.PolarisBuildSuperseder;
+import com.synopsys.integration.jenkins.polaris.PolarisScanGovernor;
+import com.synopsys.integration.jenkins.polaris.extensions.global.PolarisGlobalConfig;
+
+import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.Queue;
+import hudson.model.queue.CauseOfBlockage;
+import hudson.model.queue.QueueTaskDispatcher;
+import jenkins.model.GlobalConfiguration;
+import jenkins.model.Jenkins;
+
+@Extension
+public class PolarisScanQueueTaskDispatcher extends QueueTaskDispatcher {
+    private static final long POLARIS_JOB_CACHE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    // canRun is called for every queue item under the queue lock and looks at every other item, so whether a job is a Polaris job
+    // (which may load its last build from disk) is worked out at most once a minute per job
+    private final Map<String, PolarisJobCheck> polarisJobChecks = new ConcurrentHashMap<>();
+
+    @Override
+    public CauseOfBlockage canRun(Queue.Item item) {
+        PolarisGlobalConfig polarisGlobalConfig = GlobalConfiguration.all().get(PolarisGlobalConfig.class);
+        if (polarisGlobalConfig == null || polarisGlobalConfig.getMaxConcurrentScans() <= 0 || !isPolarisItem(item)) {
+            return null;
+        }
+
+        List<Queue.Item> waitingPolarisItems = new ArrayList<>();
+        List<Queue.Item> startingPolarisItems = new ArrayList<>();
+        for (Queue.Item queueItem : Jenkins.get().getQueue().getItems()) {
+            if (isPolarisItem(queueItem)) {
+                // Buildable and pending items have already been let through
+                if (queueItem instanceof Queue.BuildableItem) {
+                    startingPolarisItems.add(queueItem);
+                } else {
+                    waitingPolarisItems.add(queueItem);
+                }
+            }
+        }
+
+        return PolarisScanGovernor.getDefault()
+                   .getCauseOfBlockage(item, polarisGlobalConfig.getMaxConcurrentScans(), PolarisScanGovernor.parsePriorityBranches(polarisGlobalConfig.getPriorityBranches()), waitingPolarisItems,
+                       startingPolarisItems)
+                   .orElse(null);
+    }
+
+    // Checks for a deleted or renamed job, and for the jobs inside it, would otherwise stay in the map for as long as Jenkins runs
+    void forgetJob(String fullName) {
+        String childPrefix = fullName + "/";
+        polarisJobChecks.keySet().removeIf(jobFullName -> jobFullName.equals(fullName) || jobFullName.startsWith(childPrefix));
+    }
+
+    private boolean isPolarisItem(Queue.Item item) {
+        // Only whole builds are governed; node blocks inside an already running pipeline must not be held back
+        if (!(item.task instanceof Job)) {
+            return false;
+        }
+
+        Job<?, ?> job = (Job<?, ?>) item.task;
+        long now = System.currentTimeMillis();
+        PolarisJobCheck polarisJobCheck = polarisJobChecks.get(job.getFullName());
+        if (polarisJobCheck == null || now - polarisJobCheck.checkedAt > POLARIS_JOB_CACHE_MILLIS) {
+            polarisJobCheck = new PolarisJobCheck(PolarisBuildSuperseder.isPolarisJob(job), now);
+            polarisJobChecks.put(job.getFullName(), polarisJobCheck);
+        }
+
+        return polarisJobCheck.polarisJob;
+    }
+
+    private static class PolarisJobCheck {
+        private final boolean polarisJob;
+        private final long checkedAt;
+
+        private PolarisJobCheck(boolean polarisJob, long checkedAt) {
+            this.polarisJob = polarisJob;
+            this.checkedAt = checkedAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.queue;
+
+import com.synopsys.integration.jenkins.polaris.PolarisBuildSuperseder;
+import com.synopsys.integration.jenkins.polaris.PolarisScanGovernor;
+
+import hudson.Extension;
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import jenkins.model.Jenkins;
+
+@Extension
+public class PolarisScanRunListener extends RunListener<Run<?, ?>> {
+    // Builds that survive a controller restart, such as resumed pipelines, are not started again, so they are counted once their jobs are loaded
+    @Initializer(after = InitMilestone.JOB_LOADED)
+    public static void countRunningScans() {
+        PolarisScanGovernor polarisScanGovernor = PolarisScanGovernor.getDefault();
+        for (Job<?, ?> job : Jenkins.get().getAllItems(Job.class)) {
+            if (!job.isBuilding() || !PolarisBuildSuperseder.isPolarisJob(job)) {
+                continue;
+            }
+
+            for (Run<?, ?> run = job.getLastBuild(); run != null; run = run.getPreviousBuildInProgress()) {
+                if (run.isBuilding()) {
+                    polarisScanGovernor.scanStarted(run);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onStarted(Run<?, ?> run, TaskListener listener) {
+        if (PolarisBuildSuperseder.isPolarisJob(run.getParent())) {
+            PolarisScanGovernor.getDefault().scanStarted(run);
+        }
+    }
+
+    @Override
+    public void onFinalized(Run<?, ?> run) {
+        PolarisScanGovernor.getDefault().scanFinished(run);
+        // A freed slot may unblock governed items before the queue would otherwise look at them again
+        Jenkins.get().getQueue().scheduleMaintenance();
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.queue;
+
+import java.util.Optional;
+
+import com.synopsys.integration.jenkins.polaris.PolarisBuildSuperseder;
+
+import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.Queue;
+import hudson.model.queue.QueueListener;
+import jenkins.model.Jenkins;
+import jenkins.util.Timer;
+
+@Extension
+public class PolarisSupersedeQueueListener extends QueueListener {
+    @Override
+    public void onEnterWaiting(Queue.WaitingItem waitingItem) {
+        if (!isSupersedingItem(waitingItem)) {
+            return;
+        }
+
+        PolarisBuildSuperseder polarisBuildSuperseder = new PolarisBuildSuperseder(Jenkins.get().getQueue());
+        polarisBuildSuperseder.cancelOlderQueuedItems(waitingItem);
+    }
+
+    // Running builds are only aborted once the newest item has left the quiet period, so an item that is cancelled while it waits
+    // does not take the scans of the builds it would have superseded down with it
+    @Override
+    public void onEnterBuildable(Queue.BuildableItem buildableItem) {
+        abortOlderRunningBuilds(buildableItem);
+    }
+
+    // Jobs that do not allow concurrent builds would otherwise keep the newest item blocked until the superseded build finishes
+    @Override
+    public void onEnterBlocked(Queue.BlockedItem blockedItem) {
+        abortOlderRunningBuilds(blockedItem);
+    }
+
+    private void abortOlderRunningBuilds(Queue.Item item) {
+        if (!isSupersedingItem(item)) {
+            return;
+        }
+
+        // Aborting takes executor locks, so it is done off the thread holding the queue lock
+        Job<?, ?> job = (Job<?, ?>) item.task;
+        Optional<String> branch = PolarisBuildSuperseder.getBranch(item);
+        PolarisBuildSuperseder polarisBuildSuperseder = new PolarisBuildSuperseder(Jenkins.get().getQueue());
+        PolarisBuildSuperseder.SupersededByNewerBuild causeOfInterruption = new PolarisBuildSuperseder.SupersededByNewerBuild("queued item " + item.getId());
+        Timer.get().submit(() -> polarisBuildSuperseder.abortOlderRunningBuilds(job, branch, Integer.MAX_VALUE, causeOfInterruption));
+    }
+
+    private boolean isSupersedingItem(Queue.Item item) {
+        return item.task instanceof Job && PolarisBuildSuperseder.isEnabled() && PolarisBuildSuperseder.isPolarisJob((Job<?, ?>) item.task);
+    }
+
+}
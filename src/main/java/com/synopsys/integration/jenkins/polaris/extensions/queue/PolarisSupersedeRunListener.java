@@ -0,0 +1,36 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.queue;
+
+import com.synopsys.integration.jenkins.polaris.PolarisBuildSuperseder;
+
+import hudson.Extension;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+import jenkins.model.Jenkins;
+
+@Extension
+public class PolarisSupersedeRunListener extends RunListener<Run<?, ?>> {
+    @Override
+    public void onStarted(Run<?, ?> run, TaskListener listener) {
+        Job<?, ?> job = run.getParent();
+        if (!PolarisBuildSuperseder.isEnabled() || !PolarisBuildSuperseder.isPolarisJob(job)) {
+            return;
+        }
+
+        // Builds of jobs that allow concurrent builds can start without waiting behind the ones they supersede
+        PolarisBuildSuperseder polarisBuildSuperseder = new PolarisBuildSuperseder(Jenkins.get().getQueue());
+        int aborted = polarisBuildSuperseder.abortOlderRunningBuilds(job, PolarisBuildSuperseder.getBranch(run), run.getNumber(), new PolarisBuildSuperseder.SupersededByNewerBuild(run.getDisplayName()));
+        if (aborted > 0) {
+            listener.getLogger().println(String.format("Aborted %d older Polaris build(s) of the same branch superseded by this one", aborted));
+        }
+    }
+
+}
@@ -10,23 +10,26 @@ package com.synopsys.integration.jenkins.polaris.extensions.tools;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.cache.PolarisAgentCache;
 import com.synopsys.integration.polaris.common.cli.PolarisDownloadUtility;
 import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
 import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.client.IntHttpClient;
-import com.synopsys.integration.rest.credentials.CredentialsBuilder;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
-import com.synopsys.integration.rest.proxy.ProxyInfoBuilder;
 import com.synopsys.integration.util.CleanupZipExpander;
 import com.synopsys.integration.util.OperatingSystemType;
 
 import jenkins.security.MasterToSlaveCallable;
 
-public class FindOrInstallPolarisCli extends MasterToSlaveCallable<String, IntegrationException> {
+public class FindOrInstallPolarisCli extends MasterToSlaveCallable<PolarisCliInstallResult, IntegrationException> {
     private static final long serialVersionUID = 6457474109970149144L;
     private final JenkinsIntLogger jenkinsIntLogger;
     private final String polarisServerUrl;
@@ -38,9 +41,27 @@ public class FindOrInstallPolarisCli extends MasterToSlaveCallable<String, Integ
     private final String proxyNtlmDomain;
     private final String proxyNtlmWorkstation;
     private final String installationLocation;
+    private final long maximumBytesPerSecond;
+    // Set when the controller has staged the CLI, in which case the server is not contacted at all
+    private String stagedArchiveLocation = null;
+    private long stagedLastModified = 0L;
+    private String mirrorUrl = null;
+    // The mirror is usually an internal host, so it gets the proxy Jenkins would use for it rather than the Polaris server's
+    private String mirrorProxyHost = null;
+    private int mirrorProxyPort = 0;
+    private String mirrorProxyUsername = null;
+    private String mirrorProxyPassword = null;
+    private String mirrorProxyNtlmDomain = null;
+    private String mirrorProxyNtlmWorkstation = null;
+    private String fileSharePath = null;
 
     public FindOrInstallPolarisCli(JenkinsIntLogger jenkinsIntLogger, String polarisServerUrl, int timeout, String proxyHost, int proxyPort,
         String proxyUsername, String proxyPassword, String proxyNtlmDomain, String proxyNtlmWorkstation, String installationLocation) {
+        this(jenkinsIntLogger, polarisServerUrl, timeout, proxyHost, proxyPort, proxyUsername, proxyPassword, proxyNtlmDomain, proxyNtlmWorkstation, installationLocation, 0L);
+    }
+
+    public FindOrInstallPolarisCli(JenkinsIntLogger jenkinsIntLogger, String polarisServerUrl, int timeout, String proxyHost, int proxyPort,
+        String proxyUsername, String proxyPassword, String proxyNtlmDomain, String proxyNtlmWorkstation, String installationLocation, long maximumBytesPerSecond) {
         this.jenkinsIntLogger = jenkinsIntLogger;
         this.polarisServerUrl = polarisServerUrl;
         this.timeout = timeout;
@@ -51,10 +72,16 @@ public class FindOrInstallPolarisCli extends MasterToSlaveCallable<String, Integ
         this.proxyNtlmDomain = proxyNtlmDomain;
         this.proxyNtlmWorkstation = proxyNtlmWorkstation;
         this.installationLocation = installationLocation;
+        this.maximumBytesPerSecond = maximumBytesPerSecond;
     }
 
     // We'd love to just pass the httpclient through but it's not serializable and it's probably not worthwhile to make a serializable class just for this -- rotte DEC 2019
     public static FindOrInstallPolarisCli getConnectionDetailsFromHttpClient(JenkinsIntLogger jenkinsIntLogger, AccessTokenPolarisHttpClient accessTokenPolarisHttpClient, String installationLocation) {
+        return getConnectionDetailsFromHttpClient(jenkinsIntLogger, accessTokenPolarisHttpClient, installationLocation, 0L);
+    }
+
+    public static FindOrInstallPolarisCli getConnectionDetailsFromHttpClient(JenkinsIntLogger jenkinsIntLogger, AccessTokenPolarisHttpClient accessTokenPolarisHttpClient, String installationLocation,
+        long maximumBytesPerSecond) {
         ProxyInfo proxyInfo = accessTokenPolarisHttpClient.getProxyInfo();
         return new FindOrInstallPolarisCli(
             jenkinsIntLogger,
@@ -66,30 +93,79 @@ public class FindOrInstallPolarisCli extends MasterToSlaveCallable<String, Integ
             proxyInfo.getPassword().orElse(null),
             proxyInfo.getNtlmDomain().orElse(null),
             proxyInfo.getNtlmWorkstation().orElse(null),
-            installationLocation);
+            installationLocation,
+            maximumBytesPerSecond);
+    }
+
+    /**
+     * @param stagedArchiveLocation where on the node the staged archive was copied to, or null if the node already has the staged version
+     * @param stagedLastModified    when the staged archive was last modified on the Polaris server
+     */
+    public void setStagedArchive(String stagedArchiveLocation, long stagedLastModified) {
+        this.stagedArchiveLocation = stagedArchiveLocation;
+        this.stagedLastModified = stagedLastModified;
+    }
+
+    /**
+     * @param mirrorUrl     the base URL of an HTTP server that serves the same /api/tools paths as the Polaris server, or null
+     * @param mirrorProxyInfo the proxy to reach the mirror through, resolved for the mirror's host
+     * @param fileSharePath a directory, as seen from the node, holding the archives as they are named on the Polaris server, or null
+     */
+    public void setAlternateSources(String mirrorUrl, ProxyInfo mirrorProxyInfo, String fileSharePath) {
+        this.mirrorUrl = mirrorUrl;
+        this.mirrorProxyHost = mirrorProxyInfo.getHost().orElse(null);
+        this.mirrorProxyPort = mirrorProxyInfo.getPort();
+        this.mirrorProxyUsername = mirrorProxyInfo.getUsername().orElse(null);
+        this.mirrorProxyPassword = mirrorProxyInfo.getPassword().orElse(null);
+        this.mirrorProxyNtlmDomain = mirrorProxyInfo.getNtlmDomain().orElse(null);
+        this.mirrorProxyNtlmWorkstation = mirrorProxyInfo.getNtlmWorkstation().orElse(null);
+        this.fileSharePath = fileSharePath;
     }
 
     @Override
-    public String call() throws IntegrationException {
+    public PolarisCliInstallResult call() throws IntegrationException {
+        // The download and extract happen on the node, so their timings travel back with the result for the build to report
+        PhaseTimer phaseTimer = new PhaseTimer();
+        String polarisCliHome = findOrInstallPolarisCli(phaseTimer);
+        return new PolarisCliInstallResult(polarisCliHome, phaseTimer.getTimings());
+    }
+
+    private String findOrInstallPolarisCli(PhaseTimer phaseTimer) throws IntegrationException {
         try {
             File installLocation = new File(installationLocation);
-            OperatingSystemType operatingSystemType = OperatingSystemType.determineFromSystem();
-            CredentialsBuilder credentialsBuilder = new CredentialsBuilder();
-            credentialsBuilder.setUsernameAndPassword(proxyUsername, proxyPassword);
-
-            ProxyInfoBuilder proxyInfoBuilder = new ProxyInfoBuilder();
-            proxyInfoBuilder.setCredentials(credentialsBuilder.build());
-            proxyInfoBuilder.setHost(proxyHost);
-            proxyInfoBuilder.setPort(proxyPort);
-            proxyInfoBuilder.setNtlmDomain(proxyNtlmDomain);
-            proxyInfoBuilder.setNtlmDomain(proxyNtlmWorkstation);
-
-            IntHttpClient intHttpClient = new IntHttpClient(jenkinsIntLogger, timeout, false, proxyInfoBuilder.build());
+            PolarisAgentCache polarisAgentCache = PolarisAgentCache.getDefault();
+            OperatingSystemType operatingSystemType = polarisAgentCache.getOperatingSystemType();
+            IntHttpClient intHttpClient = polarisAgentCache.getHttpClient(timeout, proxyHost, proxyPort, proxyUsername, proxyPassword, proxyNtlmDomain, proxyNtlmWorkstation);
             CleanupZipExpander cleanupZipExpander = new CleanupZipExpander(jenkinsIntLogger);
 
             Files.createDirectories(installLocation.toPath());
 
-            PolarisDownloadUtility polarisDownloadUtility = new PolarisDownloadUtility(jenkinsIntLogger, operatingSystemType, intHttpClient, cleanupZipExpander, new HttpUrl(polarisServerUrl), installLocation);
+            PolarisDownloadUtility polarisDownloadUtility = new PolarisDownloadUtility(jenkinsIntLogger, operatingSystemType, intHttpClient, cleanupZipExpander, new HttpUrl(polarisServerUrl), installLocation, phaseTimer);
+            polarisDownloadUtility.setMaximumBytesPerSecond(maximumBytesPerSecond);
+
+            if (stagedLastModified > 0L) {
+                Optional<String> stagedPolarisCliHome = findOrInstallStagedPolarisCli(polarisDownloadUtility);
+                if (stagedPolarisCliHome.isPresent()) {
+                    return stagedPolarisCliHome.get();
+                }
+                jenkinsIntLogger.warn("The Polaris CLI staged on the controller could not be installed, trying the next source.");
+            }
+
+            if (StringUtils.isNotBlank(mirrorUrl)) {
+                Optional<String> mirroredPolarisCliHome = findOrInstallMirroredPolarisCli(polarisAgentCache, operatingSystemType, cleanupZipExpander, installLocation, phaseTimer);
+                if (mirroredPolarisCliHome.isPresent()) {
+                    return mirroredPolarisCliHome.get();
+                }
+                jenkinsIntLogger.warn("The Polaris CLI could not be installed from the mirror " + mirrorUrl + ", trying the next source.");
+            }
+
+            if (StringUtils.isNotBlank(fileSharePath)) {
+                Optional<String> sharedPolarisCliHome = polarisDownloadUtility.getOrInstallPolarisCliHomeFromDirectory(new File(fileSharePath));
+                if (sharedPolarisCliHome.isPresent()) {
+                    return sharedPolarisCliHome.get();
+                }
+                jenkinsIntLogger.warn("The Polaris CLI could not be installed from " + fileSharePath + ", downloading it from the Polaris server instead.");
+            }
 
             return polarisDownloadUtility.getOrDownloadPolarisCliHome().orElseThrow(() -> new PolarisIntegrationException("The Polaris CLI could not be found or installed correctly."));
         } catch (IOException | IllegalArgumentException ex) {
@@ -97,4 +173,33 @@ public class FindOrInstallPolarisCli extends MasterToSlaveCallable<String, Integ
         }
     }
 
+    private Optional<String> findOrInstallMirroredPolarisCli(PolarisAgentCache polarisAgentCache, OperatingSystemType operatingSystemType, CleanupZipExpander cleanupZipExpander, File installLocation,
+        PhaseTimer phaseTimer) {
+        HttpUrl mirrorHttpUrl;
+        try {
+            mirrorHttpUrl = new HttpUrl(mirrorUrl);
+        } catch (IntegrationException e) {
+            jenkinsIntLogger.warn("The mirror URL " + mirrorUrl + " is not valid: " + e.getMessage());
+            return Optional.empty();
+        }
+
+        IntHttpClient mirrorHttpClient = polarisAgentCache.getHttpClient(timeout, mirrorProxyHost, mirrorProxyPort, mirrorProxyUsername, mirrorProxyPassword, mirrorProxyNtlmDomain, mirrorProxyNtlmWorkstation);
+        PolarisDownloadUtility mirrorDownloadUtility = new PolarisDownloadUtility(jenkinsIntLogger, operatingSystemType, mirrorHttpClient, cleanupZipExpander, mirrorHttpUrl, installLocation, phaseTimer);
+        mirrorDownloadUtility.setMaximumBytesPerSecond(maximumBytesPerSecond);
+        return mirrorDownloadUtility.getOrDownloadPolarisCliHomeIfAvailable();
+    }
+
+    private Optional<String> findOrInstallStagedPolarisCli(PolarisDownloadUtility polarisDownloadUtility) throws IOException {
+        if (stagedArchiveLocation == null) {
+            return polarisDownloadUtility.getPolarisCliHomeIfCurrent(stagedLastModified);
+        }
+
+        File stagedArchive = new File(stagedArchiveLocation);
+        try {
+            return polarisDownloadUtility.installPolarisCliFromArchive(stagedArchive, stagedLastModified);
+        } finally {
+            Files.deleteIfExists(stagedArchive.toPath());
+        }
+    }
+
 }
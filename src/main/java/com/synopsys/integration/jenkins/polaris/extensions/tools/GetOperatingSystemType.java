@@ -0,0 +1,23 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.tools;
+
+import com.synopsys.integration.jenkins.polaris.cache.PolarisAgentCache;
+import com.synopsys.integration.util.OperatingSystemType;
+
+import jenkins.security.MasterToSlaveCallable;
+
+public class GetOperatingSystemType extends MasterToSlaveCallable<OperatingSystemType, RuntimeException> {
+    private static final long serialVersionUID = -5316329536853853496L;
+
+    @Override
+    public OperatingSystemType call() {
+        return PolarisAgentCache.getDefault().getOperatingSystemType();
+    }
+
+}
@@ -8,13 +8,23 @@
 package com.synopsys.integration.jenkins.polaris.extensions.tools;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 
+import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.Symbol;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
 
 import hudson.EnvVars;
 import hudson.Extension;
@@ -27,6 +37,8 @@ import hudson.tools.ToolDescriptor;
 import hudson.tools.ToolInstallation;
 import hudson.tools.ToolInstaller;
 import hudson.tools.ToolProperty;
+import hudson.util.FormValidation;
+import jenkins.model.Jenkins;
 
 public class PolarisCli extends ToolInstallation implements NodeSpecific<PolarisCli>, EnvironmentSpecific<PolarisCli> {
     private static final long serialVersionUID = -3838254855454518440L;
@@ -55,6 +67,11 @@ public class PolarisCli extends ToolInstallation implements NodeSpecific<Polaris
     @Extension
     @Symbol("polarisCli")
     public static final class DescriptorImpl extends ToolDescriptor<PolarisCli> {
+        public static final int DEFAULT_ROLLOUT_PARALLELISM = 4;
+        public static final int DEFAULT_ROLLOUT_JITTER_IN_SECONDS = 30;
+
+        private final transient Map<String, PolarisCliRollout> rollouts = new ConcurrentHashMap<>();
+
         @Override
         public String getDisplayName() {
             return "Polaris Software Integrity Platform CLI";
@@ -76,6 +93,73 @@ public class PolarisCli extends ToolInstallation implements NodeSpecific<Polaris
         public List<? extends ToolInstaller> getDefaultInstallers() {
             return Collections.singletonList(new PolarisCliInstaller(null));
         }
+
+        @POST
+        public FormValidation doStartRollout(@QueryParameter("name") String name, @QueryParameter("rolloutParallelism") String rolloutParallelism,
+            @QueryParameter("rolloutJitterInSeconds") String rolloutJitterInSeconds, @QueryParameter("rolloutBandwidthLimitInKilobytesPerSecond") String rolloutBandwidthLimitInKilobytesPerSecond) {
+            Jenkins jenkins = Jenkins.get();
+            jenkins.checkPermission(Jenkins.ADMINISTER);
+
+            Optional<PolarisCli> polarisCli = Arrays.stream(getInstallations())
+                                                  .filter(installation -> installation.getName().equals(Util.fixEmptyAndTrim(name)))
+                                                  .findFirst();
+            if (!polarisCli.isPresent()) {
+                return FormValidation.error("Save this Polaris CLI installation before rolling it out.");
+            }
+
+            List<Node> onlineNodes = PolarisCliPrewarmer.getOnlineNodes(jenkins);
+            Optional<PolarisCliRollout> rollout = startRollout(polarisCli.get(), onlineNodes, parseInt(rolloutParallelism, DEFAULT_ROLLOUT_PARALLELISM),
+                parseInt(rolloutJitterInSeconds, DEFAULT_ROLLOUT_JITTER_IN_SECONDS), parseInt(rolloutBandwidthLimitInKilobytesPerSecond, 0) * 1024L);
+            if (!rollout.isPresent()) {
+                return FormValidation.warning("A rollout of this Polaris CLI installation is already in progress.");
+            }
+
+            return FormValidation.ok(String.format("Rolling out to %d online node(s).", onlineNodes.size()));
+        }
+
+        /**
+         * @return the rollout that was started, or empty if a rollout of this installation is already in progress
+         */
+        public synchronized Optional<PolarisCliRollout> startRollout(PolarisCli polarisCli, List<Node> nodes, int parallelism, int maximumJitterInSeconds, long maximumBytesPerSecond) {
+            PolarisCliRollout currentRollout = rollouts.get(polarisCli.getName());
+            if (currentRollout != null && !currentRollout.isFinished()) {
+                return Optional.empty();
+            }
+
+            PolarisCliRollout rollout = new PolarisCliRollout(polarisCli.getName(), parallelism, maximumJitterInSeconds, maximumBytesPerSecond);
+            rollouts.put(polarisCli.getName(), rollout);
+            rollout.start(polarisCli, nodes);
+            return Optional.of(rollout);
+        }
+
+        @POST
+        public FormValidation doRolloutStatus(@QueryParameter("name") String name) {
+            Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+            PolarisCliRollout rollout = rollouts.get(StringUtils.defaultString(Util.fixEmptyAndTrim(name)));
+            if (rollout == null) {
+                return FormValidation.ok("This Polaris CLI installation has not been rolled out since Jenkins started.");
+            }
+
+            String counts = rollout.countByStatus().entrySet().stream()
+                                .map(count -> count.getValue() + " " + count.getKey().name().toLowerCase(Locale.ENGLISH))
+                                .collect(Collectors.joining(", "));
+            String summary = String.format("Rollout started %s: %s", new Date(rollout.getStartedAt()), counts);
+            List<String> failures = rollout.describeFailures();
+            if (!failures.isEmpty()) {
+                return FormValidation.error(summary + System.lineSeparator() + String.join(System.lineSeparator(), failures));
+            }
+
+            return FormValidation.ok(summary);
+        }
+
+        private int parseInt(String value, int defaultValue) {
+            try {
+                return Integer.parseInt(StringUtils.trimToEmpty(value));
+            } catch (NumberFormatException ignored) {
+                return defaultValue;
+            }
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.tools;
+
+import java.io.Serializable;
+
+import com.synopsys.integration.polaris.common.timing.PhaseTimings;
+
+public class PolarisCliInstallResult implements Serializable {
+    private static final long serialVersionUID = 4923385176130651842L;
+    private final String polarisCliHome;
+    private final PhaseTimings phaseTimings;
+
+    public PolarisCliInstallResult(String polarisCliHome, PhaseTimings phaseTimings) {
+        this.polarisCliHome = polarisCliHome;
+        this.phaseTimings = phaseTimings;
+    }
+
+    public String getPolarisCliHome() {
+        return polarisCliHome;
+    }
+
+    public PhaseTimings getPhaseTimings() {
+        return phaseTimings;
+    }
+
+}
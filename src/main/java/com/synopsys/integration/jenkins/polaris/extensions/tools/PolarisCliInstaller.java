@@ -7,17 +7,34 @@
  */
 package com.synopsys.integration.jenkins.polaris.extensions.tools;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
+import java.util.WeakHashMap;
 
+import org.apache.commons.lang3.StringUtils;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
 
 import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jenkins.annotations.HelpMarkdown;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.cache.PolarisCliStagingArea;
 import com.synopsys.integration.jenkins.polaris.extensions.global.PolarisGlobalConfig;
 import com.synopsys.integration.jenkins.service.JenkinsConfigService;
 import com.synopsys.integration.jenkins.wrapper.JenkinsWrapper;
+import com.synopsys.integration.polaris.common.cli.PolarisDownloadUtility;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.util.OperatingSystemType;
 
 import hudson.EnvVars;
 import hudson.Extension;
@@ -28,13 +45,57 @@ import hudson.remoting.VirtualChannel;
 import hudson.tools.ToolInstallation;
 import hudson.tools.ToolInstaller;
 import hudson.tools.ToolInstallerDescriptor;
+import hudson.util.FormValidation;
+import jenkins.model.Jenkins;
 
 public class PolarisCliInstaller extends ToolInstaller {
+    // Installs run on the thread that resolves the installation for the node, so a build resolving it can collect the timings the node measured
+    private static final ThreadLocal<PhaseTimer> BUILD_PHASE_TIMER = new ThreadLocal<>();
+    // Keyed by channel so that an agent is asked for its operating system once per connection rather than once per install
+    private static final Map<VirtualChannel, OperatingSystemType> OPERATING_SYSTEMS_BY_CHANNEL = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @HelpMarkdown("Provide the URL of an internal mirror or artifact repository that serves the Polaris CLI under the same /api/tools paths as the Polaris Software Integrity Platform.  \r\n"
+                      + "When set, nodes try the mirror before downloading from the Polaris Software Integrity Platform.")
+    private String mirrorUrl;
+
+    @HelpMarkdown("Provide the path, as seen from the node, of a directory holding the Polaris CLI archives as they are named on the Polaris Software Integrity Platform (for example, polaris_cli-linux64.zip).  \r\n"
+                      + "When set, nodes install from this directory before downloading from the Polaris Software Integrity Platform.")
+    private String fileSharePath;
+
     @DataBoundConstructor
     public PolarisCliInstaller(String label) {
         super(label);
     }
 
+    public String getMirrorUrl() {
+        return mirrorUrl;
+    }
+
+    @DataBoundSetter
+    public void setMirrorUrl(String mirrorUrl) {
+        this.mirrorUrl = mirrorUrl;
+    }
+
+    public String getFileSharePath() {
+        return fileSharePath;
+    }
+
+    @DataBoundSetter
+    public void setFileSharePath(String fileSharePath) {
+        this.fileSharePath = fileSharePath;
+    }
+
+    /**
+     * Collects the timings of any install done while the current thread resolves the installation into the given timer, until cleared with null.
+     */
+    public static void setBuildPhaseTimer(PhaseTimer phaseTimer) {
+        if (phaseTimer == null) {
+            BUILD_PHASE_TIMER.remove();
+        } else {
+            BUILD_PHASE_TIMER.set(phaseTimer);
+        }
+    }
+
     @Override
     public FilePath performInstallation(ToolInstallation tool, Node node, TaskListener log) throws IOException, InterruptedException {
         JenkinsIntLogger jenkinsIntLogger = JenkinsIntLogger.logToListener(log);
@@ -64,16 +125,57 @@ public class PolarisCliInstaller extends ToolInstaller {
         installLocation.mkdirs();
 
         AccessTokenPolarisHttpClient polarisHttpClient = polarisGlobalConfig.getPolarisServerConfig(jenkinsWrapper.getCredentialsHelper(), jenkinsWrapper.getProxyHelper()).createPolarisHttpClient(jenkinsIntLogger);
-        FindOrInstallPolarisCli findOrInstallPolarisCli = FindOrInstallPolarisCli.getConnectionDetailsFromHttpClient(jenkinsIntLogger, polarisHttpClient, installLocation.getRemote());
+        FindOrInstallPolarisCli findOrInstallPolarisCli = FindOrInstallPolarisCli.getConnectionDetailsFromHttpClient(jenkinsIntLogger, polarisHttpClient, installLocation.getRemote(),
+            PolarisCliRollout.getMaximumBytesPerSecond(node));
+        ProxyInfo mirrorProxyInfo = StringUtils.isBlank(mirrorUrl) ? ProxyInfo.NO_PROXY_INFO : jenkinsWrapper.getProxyHelper().getProxyInfo(mirrorUrl);
+        findOrInstallPolarisCli.setAlternateSources(mirrorUrl, mirrorProxyInfo, fileSharePath);
+
+        stageFromController(jenkinsWrapper.getJenkins().get(), virtualChannel, installLocation, findOrInstallPolarisCli);
 
         try {
-            String polarisCliRemotePath = virtualChannel.call(findOrInstallPolarisCli);
-            return new FilePath(virtualChannel, polarisCliRemotePath);
+            PolarisCliInstallResult polarisCliInstallResult = virtualChannel.call(findOrInstallPolarisCli);
+            PhaseTimer buildPhaseTimer = BUILD_PHASE_TIMER.get();
+            if (buildPhaseTimer != null) {
+                buildPhaseTimer.merge(polarisCliInstallResult.getPhaseTimings());
+            } else {
+                PhaseTimer installPhaseTimer = new PhaseTimer();
+                installPhaseTimer.merge(polarisCliInstallResult.getPhaseTimings());
+                installPhaseTimer.writeSummary(jenkinsIntLogger::debug);
+            }
+            return new FilePath(virtualChannel, polarisCliInstallResult.getPolarisCliHome());
         } catch (IntegrationException ex) {
             throw new IOException("Polaris CLI was not correctly installed.", ex);
         }
     }
 
+    // When the controller has staged the CLI for this node's operating system, the node installs from the staged archive, and only needs it copied
+    // over if it does not already have that version
+    private void stageFromController(Jenkins jenkins, VirtualChannel virtualChannel, FilePath installLocation, FindOrInstallPolarisCli findOrInstallPolarisCli) throws IOException, InterruptedException {
+        PolarisCliStagingArea polarisCliStagingArea = PolarisCliStagingArea.getDefault(jenkins);
+        OperatingSystemType operatingSystemType = OPERATING_SYSTEMS_BY_CHANNEL.get(virtualChannel);
+        if (operatingSystemType == null) {
+            operatingSystemType = virtualChannel.call(new GetOperatingSystemType());
+            OPERATING_SYSTEMS_BY_CHANNEL.put(virtualChannel, operatingSystemType);
+        }
+        polarisCliStagingArea.requestOperatingSystem(operatingSystemType);
+
+        Optional<File> stagedArchive = polarisCliStagingArea.getStagedArchive(operatingSystemType);
+        if (!stagedArchive.isPresent()) {
+            return;
+        }
+
+        long stagedLastModified = stagedArchive.get().lastModified();
+        FilePath versionFile = installLocation.child(PolarisDownloadUtility.POLARIS_CLI_INSTALL_DIRECTORY).child(PolarisDownloadUtility.VERSION_FILENAME);
+        if (versionFile.exists() && versionFile.lastModified() == stagedLastModified) {
+            findOrInstallPolarisCli.setStagedArchive(null, stagedLastModified);
+            return;
+        }
+
+        FilePath remoteArchive = installLocation.child(PolarisCliStagingArea.ARCHIVE_NAME);
+        remoteArchive.copyFrom(new FilePath(stagedArchive.get()));
+        findOrInstallPolarisCli.setStagedArchive(remoteArchive.getRemote(), stagedLastModified);
+    }
+
     @Extension
     public static final class DescriptorImpl extends ToolInstallerDescriptor<PolarisCliInstaller> {
         @Override
@@ -85,6 +187,25 @@ public class PolarisCliInstaller extends ToolInstaller {
         public boolean isApplicable(Class<? extends ToolInstallation> toolType) {
             return toolType == PolarisCli.class;
         }
+
+        @POST
+        public FormValidation doCheckMirrorUrl(@QueryParameter String value) {
+            Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+            if (StringUtils.isBlank(value)) {
+                return FormValidation.ok();
+            }
+
+            try {
+                URL url = new URL(value.trim());
+                if (!"http".equalsIgnoreCase(url.getProtocol()) && !"https".equalsIgnoreCase(url.getProtocol())) {
+                    return FormValidation.error("The mirror URL must be an http or https URL.");
+                }
+                new HttpUrl(value.trim());
+                return FormValidation.ok();
+            } catch (MalformedURLException | IntegrationException e) {
+                return FormValidation.error("The mirror URL is not a valid URL: " + e.getMessage());
+            }
+        }
     }
 
 }
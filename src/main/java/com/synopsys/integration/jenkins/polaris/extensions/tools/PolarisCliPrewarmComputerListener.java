@@ -0,0 +1,35 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.tools;
+
+import hudson.Extension;
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.slaves.ComputerListener;
+import jenkins.model.Jenkins;
+
+@Extension
+public class PolarisCliPrewarmComputerListener extends ComputerListener {
+    @Override
+    public void onOnline(Computer computer, TaskListener listener) {
+        Node node = computer.getNode();
+        if (node == null || node instanceof Jenkins) {
+            return;
+        }
+
+        PolarisCli.DescriptorImpl polarisCliDescriptor = Jenkins.get().getDescriptorByType(PolarisCli.DescriptorImpl.class);
+        for (PolarisCli polarisCli : polarisCliDescriptor.getInstallations()) {
+            PolarisCliPrewarmProperty prewarmProperty = polarisCli.getProperties().get(PolarisCliPrewarmProperty.class);
+            if (prewarmProperty != null && prewarmProperty.appliesTo(node) && PolarisCliPrewarmer.getDefault().prewarm(polarisCli, node).isPresent()) {
+                listener.getLogger().println("Installing Polaris CLI " + polarisCli.getName() + " in the background");
+            }
+        }
+    }
+
+}
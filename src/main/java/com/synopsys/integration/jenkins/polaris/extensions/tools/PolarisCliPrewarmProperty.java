@@ -0,0 +1,86 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.tools;
+
+import org.apache.commons.lang3.StringUtils;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
+
+import com.synopsys.integration.jenkins.annotations.HelpMarkdown;
+
+import antlr.ANTLRException;
+import hudson.Extension;
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.tools.ToolInstallation;
+import hudson.tools.ToolProperty;
+import hudson.tools.ToolPropertyDescriptor;
+import hudson.util.FormValidation;
+import jenkins.model.Jenkins;
+
+public class PolarisCliPrewarmProperty extends ToolProperty<PolarisCli> {
+    @HelpMarkdown("Install or update this Polaris CLI in the background as soon as an agent matching this label expression comes online, so that the first build on the agent does not have to.  \r\n"
+                      + "Leave empty to pre-warm every agent.")
+    private final String label;
+
+    @DataBoundConstructor
+    public PolarisCliPrewarmProperty(String label) {
+        this.label = StringUtils.trimToNull(label);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean appliesTo(Node node) {
+        if (label == null) {
+            return true;
+        }
+
+        try {
+            return Label.parseExpression(label).matches(node);
+        } catch (ANTLRException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Class<PolarisCli> type() {
+        return PolarisCli.class;
+    }
+
+    @Extension
+    public static final class DescriptorImpl extends ToolPropertyDescriptor {
+        @Override
+        public String getDisplayName() {
+            return "Pre-warm on agent connect";
+        }
+
+        @Override
+        public boolean isApplicable(Class<? extends ToolInstallation> toolType) {
+            return toolType == PolarisCli.class;
+        }
+
+        @POST
+        public FormValidation doCheckLabel(@QueryParameter String value) {
+            Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+            if (StringUtils.isBlank(value)) {
+                return FormValidation.ok();
+            }
+
+            try {
+                Label.parseExpression(value);
+                return FormValidation.ok();
+            } catch (ANTLRException e) {
+                return FormValidation.error("Invalid label expression: " + e.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.tools;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import hudson.model.Computer;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.util.LogTaskListener;
+import jenkins.model.Jenkins;
+
+/**
+ * Installs a Polaris CLI on a node outside of any build, by resolving the installation for the node the same way a build would.
+ */
+public class PolarisCliPrewarmer {
+    private static final Logger LOGGER = Logger.getLogger(PolarisCliPrewarmer.class.getName());
+    private static final PolarisCliPrewarmer DEFAULT_PREWARMER = new PolarisCliPrewarmer();
+
+    private final Map<String, Future<?>> inProgress = new ConcurrentHashMap<>();
+
+    public static PolarisCliPrewarmer getDefault() {
+        return DEFAULT_PREWARMER;
+    }
+
+    /**
+     * @return the online nodes a Polaris CLI can be installed on, including the controller if it runs builds
+     */
+    public static List<Node> getOnlineNodes(Jenkins jenkins) {
+        List<Node> onlineNodes = new ArrayList<>();
+        if (jenkins.getNumExecutors() > 0) {
+            onlineNodes.add(jenkins);
+        }
+        for (Node node : jenkins.getNodes()) {
+            Computer computer = node.toComputer();
+            if (computer != null && computer.isOnline()) {
+                onlineNodes.add(node);
+            }
+        }
+        return onlineNodes;
+    }
+
+    /**
+     * @return the names of the installations to prefetch, separated by commas since installation names may contain spaces
+     */
+    public static List<String> parsePolarisCliNames(String polarisCliNames) {
+        if (StringUtils.isBlank(polarisCliNames)) {
+            return Collections.emptyList();
+        }
+
+        return Arrays.stream(polarisCliNames.split(","))
+                   .map(String::trim)
+                   .filter(StringUtils::isNotBlank)
+                   .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the background install, or empty if this installation is already being installed on the node
+     */
+    public Optional<Future<?>> prewarm(PolarisCli polarisCli, Node node) {
+        String installKey = getInstallKey(polarisCli.getName(), node.getNodeName());
+        FutureTask<Void> install = new FutureTask<>(() -> {
+            try {
+                install(polarisCli, node, new LogTaskListener(LOGGER, Level.FINE));
+            } finally {
+                inProgress.remove(installKey);
+            }
+            return null;
+        });
+        if (inProgress.putIfAbsent(installKey, install) != null) {
+            return Optional.empty();
+        }
+
+        Computer.threadPoolForRemoting.execute(install);
+        return Optional.of(install);
+    }
+
+    /**
+     * Installs the installation on the node in the calling thread, registered the same way as a background install so that builds starting on the node
+     * wait for it instead of extracting into the same home. An install already in progress there is waited for first.
+     */
+    public PolarisCli install(PolarisCli polarisCli, Node node, TaskListener listener) throws IOException, InterruptedException {
+        String installKey = getInstallKey(polarisCli.getName(), node.getNodeName());
+        FutureTask<PolarisCli> install = new FutureTask<>(() -> polarisCli.forNode(node, listener));
+        Future<?> installInProgress;
+        while ((installInProgress = inProgress.putIfAbsent(installKey, install)) != null) {
+            try {
+                installInProgress.get();
+            } catch (ExecutionException e) {
+                LOGGER.log(Level.FINE, "Background install of Polaris CLI " + polarisCli.getName() + " failed", e);
+            }
+        }
+
+        try {
+            install.run();
+            return install.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        } finally {
+            inProgress.remove(installKey, install);
+        }
+    }
+
+    /**
+     * Waits for a background install of the installation on the node, if there is one, so that the caller resolves an installation that is already
+     * in place rather than racing it. A failed background install is left for the caller to retry and report.
+     */
+    public void awaitPrewarm(String polarisCliName, String nodeName) throws InterruptedException {
+        Future<?> install = inProgress.get(getInstallKey(polarisCliName, nodeName));
+        if (install == null) {
+            return;
+        }
+
+        try {
+            install.get();
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.FINE, "Background install of Polaris CLI " + polarisCliName + " failed", e);
+        }
+    }
+
+    private String getInstallKey(String polarisCliName, String nodeName) {
+        return nodeName + "\u0000" + polarisCliName;
+    }
+
+    private void install(PolarisCli polarisCli, Node node, TaskListener listener) {
+        try {
+            PolarisCli installed = polarisCli.forNode(node, listener);
+            LOGGER.fine(() -> String.format("Pre-warmed Polaris CLI %s on %s at %s", polarisCli.getName(), node.getDisplayName(), installed.getHome()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // The build will try again and report the failure where someone will see it
+            LOGGER.log(Level.WARNING, String.format("Could not pre-warm Polaris CLI %s on %s", polarisCli.getName(), node.getDisplayName()), e);
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import hudson.model.Node;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.LogTaskListener;
+import hudson.util.NamingThreadFactory;
+
+/**
+ * Installs or updates a Polaris CLI installation on a set of nodes at once, a bounded number at a time. Each install waits a random delay first
+ * so that they do not all reach the Polaris server together, and may be limited in download bandwidth.
+ */
+public class PolarisCliRollout {
+    private static final Logger LOGGER = Logger.getLogger(PolarisCliRollout.class.getName());
+    // Read by PolarisCliInstaller, which has no other way to learn that it is installing for a rollout
+    private static final Map<String, Long> MAXIMUM_BYTES_PER_SECOND_BY_NODE = new ConcurrentHashMap<>();
+
+    private final String installationName;
+    private final int parallelism;
+    private final int maximumJitterInSeconds;
+    private final long maximumBytesPerSecond;
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<String, NodeResult> nodeResults = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public PolarisCliRollout(String installationName, int parallelism, int maximumJitterInSeconds, long maximumBytesPerSecond) {
+        this.installationName = installationName;
+        this.parallelism = Math.max(1, parallelism);
+        this.maximumJitterInSeconds = Math.max(0, maximumJitterInSeconds);
+        this.maximumBytesPerSecond = Math.max(0L, maximumBytesPerSecond);
+    }
+
+    public static long getMaximumBytesPerSecond(Node node) {
+        return MAXIMUM_BYTES_PER_SECOND_BY_NODE.getOrDefault(node.getNodeName(), 0L);
+    }
+
+    public void start(PolarisCli polarisCli, List<Node> nodes) {
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism, new NamingThreadFactory(new DaemonThreadFactory(), "PolarisCliRollout " + installationName));
+        for (Node node : nodes) {
+            nodeResults.put(node.getDisplayName(), new NodeResult(NodeStatus.PENDING, null));
+            executorService.submit(() -> install(polarisCli, node));
+        }
+        // The pool's threads exit once the submitted installs are done
+        executorService.shutdown();
+    }
+
+    public String getInstallationName() {
+        return installationName;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public boolean isFinished() {
+        return getNodeResults().values().stream().allMatch(NodeResult::isFinished);
+    }
+
+    public Map<String, NodeResult> getNodeResults() {
+        synchronized (nodeResults) {
+            return new LinkedHashMap<>(nodeResults);
+        }
+    }
+
+    public Map<NodeStatus, Long> countByStatus() {
+        Map<NodeStatus, Long> counts = new LinkedHashMap<>();
+        for (NodeStatus nodeStatus : NodeStatus.values()) {
+            counts.put(nodeStatus, getNodeResults().values().stream().filter(nodeResult -> nodeStatus == nodeResult.getNodeStatus()).count());
+        }
+        return counts;
+    }
+
+    public List<String> describeFailures() {
+        List<String> failures = new ArrayList<>();
+        getNodeResults().forEach((nodeName, nodeResult) -> {
+            if (NodeStatus.FAILED == nodeResult.getNodeStatus()) {
+                failures.add(nodeName + ": " + nodeResult.getMessage());
+            }
+        });
+        return failures;
+    }
+
+    private void install(PolarisCli polarisCli, Node node) {
+        String nodeName = node.getDisplayName();
+        try {
+            if (maximumJitterInSeconds > 0) {
+                TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(maximumJitterInSeconds * 1000L + 1L));
+            }
+
+            nodeResults.put(nodeName, new NodeResult(NodeStatus.INSTALLING, null));
+            if (maximumBytesPerSecond > 0L) {
+                MAXIMUM_BYTES_PER_SECOND_BY_NODE.put(node.getNodeName(), maximumBytesPerSecond);
+            }
+            try {
+                // Through the pre-warmer, so that a build starting on the node waits for this install rather than racing it
+                PolarisCli installed = PolarisCliPrewarmer.getDefault().install(polarisCli, node, new LogTaskListener(LOGGER, Level.FINE));
+                nodeResults.put(nodeName, new NodeResult(NodeStatus.SUCCEEDED, installed.getHome()));
+            } finally {
+                MAXIMUM_BYTES_PER_SECOND_BY_NODE.remove(node.getNodeName());
+            }
+        } catch (InterruptedException e) {
+            nodeResults.put(nodeName, new NodeResult(NodeStatus.FAILED, "Interrupted"));
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, String.format("Could not install Polaris CLI %s on %s", installationName, nodeName), e);
+            nodeResults.put(nodeName, new NodeResult(NodeStatus.FAILED, e.getMessage()));
+        }
+    }
+
+    public enum NodeStatus {
+        PENDING,
+        INSTALLING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    public static class NodeResult {
+        private final NodeStatus nodeStatus;
+        private final String message;
+
+        public NodeResult(NodeStatus nodeStatus, String message) {
+            this.nodeStatus = nodeStatus;
+            this.message = message;
+        }
+
+        public NodeStatus getNodeStatus() {
+            return nodeStatus;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public boolean isFinished() {
+            return NodeStatus.SUCCEEDED == nodeStatus || NodeStatus.FAILED == nodeStatus;
+        }
+
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.extensions.tools;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.cache.PolarisCliStagingArea;
+import com.synopsys.integration.jenkins.polaris.extensions.global.PolarisGlobalConfig;
+import com.synopsys.integration.jenkins.wrapper.JenkinsWrapper;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.util.OperatingSystemType;
+
+import hudson.Extension;
+import hudson.model.AsyncPeriodicWork;
+import hudson.model.Node;
+import hudson.model.TaskListener;
+import hudson.tools.InstallSourceProperty;
+import jenkins.model.GlobalConfiguration;
+import jenkins.model.Jenkins;
+
+/**
+ * Checks the Polaris server for a new Polaris CLI in the background and stages it on the controller, so that installs during builds only have to
+ * compare versions. When a new CLI is staged, the online nodes that pre-warm an installation are updated in the background, as a rollout with the
+ * default parallelism and jitter so that they do not all install at once.
+ */
+@Extension
+public class PolarisCliUpdateCheck extends AsyncPeriodicWork {
+    public static final long RECURRENCE_PERIOD_IN_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    public PolarisCliUpdateCheck() {
+        super("Polaris CLI update check");
+    }
+
+    @Override
+    public long getRecurrencePeriod() {
+        return RECURRENCE_PERIOD_IN_MILLIS;
+    }
+
+    @Override
+    protected void execute(TaskListener listener) throws IOException, InterruptedException {
+        PolarisGlobalConfig polarisGlobalConfig = GlobalConfiguration.all().get(PolarisGlobalConfig.class);
+        if (polarisGlobalConfig == null || StringUtils.isBlank(polarisGlobalConfig.getPolarisUrl())) {
+            return;
+        }
+
+        Jenkins jenkins = Jenkins.get();
+        JenkinsIntLogger logger = JenkinsIntLogger.logToListener(listener);
+        PolarisCliStagingArea polarisCliStagingArea = PolarisCliStagingArea.getDefault(jenkins);
+        List<OperatingSystemType> requestedOperatingSystems = polarisCliStagingArea.getRequestedOperatingSystems();
+        if (requestedOperatingSystems.isEmpty()) {
+            return;
+        }
+
+        JenkinsWrapper jenkinsWrapper = JenkinsWrapper.initializeFromJenkinsJVM();
+        AccessTokenPolarisHttpClient polarisHttpClient;
+        try {
+            polarisHttpClient = polarisGlobalConfig.getPolarisServerConfig(jenkinsWrapper.getCredentialsHelper(), jenkinsWrapper.getProxyHelper()).createPolarisHttpClient(logger);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Cannot check for Polaris CLI updates, there is a problem with the Polaris system configuration: " + e.getMessage());
+            return;
+        }
+        // The tools endpoint does not need an access token, so this matches how nodes download the CLI themselves
+        IntHttpClient intHttpClient = new IntHttpClient(logger, polarisHttpClient.getTimeoutInSeconds(), false, polarisHttpClient.getProxyInfo());
+
+        boolean updated = false;
+        for (OperatingSystemType operatingSystemType : requestedOperatingSystems) {
+            try {
+                if (polarisCliStagingArea.stage(logger, operatingSystemType, intHttpClient, polarisHttpClient.getPolarisServerUrl())) {
+                    logger.info("Staged a new Polaris CLI for " + operatingSystemType.name());
+                    updated = true;
+                }
+            } catch (IntegrationException | IOException e) {
+                logger.warn(String.format("Could not check for a Polaris CLI update for %s: %s", operatingSystemType.name(), e.getMessage()));
+            }
+        }
+
+        if (updated) {
+            refreshOnlineNodes(logger, jenkins);
+        }
+    }
+
+    /**
+     * @return the nodes to update an installation on when a new CLI is staged: those its pre-warm property applies to, if it installs from Polaris
+     */
+    public static List<Node> getNodesToRefresh(PolarisCli polarisCli, List<Node> onlineNodes) {
+        InstallSourceProperty installSourceProperty = polarisCli.getProperties().get(InstallSourceProperty.class);
+        PolarisCliPrewarmProperty prewarmProperty = polarisCli.getProperties().get(PolarisCliPrewarmProperty.class);
+        if (installSourceProperty == null || installSourceProperty.installers.get(PolarisCliInstaller.class) == null || prewarmProperty == null) {
+            return Collections.emptyList();
+        }
+
+        return onlineNodes.stream()
+                   .filter(prewarmProperty::appliesTo)
+                   .collect(Collectors.toList());
+    }
+
+    private void refreshOnlineNodes(JenkinsIntLogger logger, Jenkins jenkins) {
+        List<Node> onlineNodes = PolarisCliPrewarmer.getOnlineNodes(jenkins);
+        PolarisCli.DescriptorImpl polarisCliDescriptor = jenkins.getDescriptorByType(PolarisCli.DescriptorImpl.class);
+        for (PolarisCli polarisCli : polarisCliDescriptor.getInstallations()) {
+            List<Node> nodesToRefresh = getNodesToRefresh(polarisCli, onlineNodes);
+            if (nodesToRefresh.isEmpty()) {
+                continue;
+            }
+
+            Optional<PolarisCliRollout> rollout = polarisCliDescriptor.startRollout(polarisCli, nodesToRefresh, PolarisCli.DescriptorImpl.DEFAULT_ROLLOUT_PARALLELISM,
+                PolarisCli.DescriptorImpl.DEFAULT_ROLLOUT_JITTER_IN_SECONDS, 0L);
+            if (rollout.isPresent()) {
+                logger.info(String.format("Updating Polaris CLI %s on %d node(s)", polarisCli.getName(), nodesToRefresh.size()));
+            } else {
+                logger.info(String.format("A rollout of Polaris CLI %s is already in progress, it will pick up the new CLI", polarisCli.getName()));
+            }
+        }
+    }
+
+}
@@ -14,6 +14,7 @@ import java.nio.file.Paths;
 import java.util.Optional;
 
 import com.synopsys.integration.jenkins.exception.JenkinsUserFriendlyException;
+import com.synopsys.integration.jenkins.polaris.cache.PolarisAgentCache;
 import com.synopsys.integration.util.OperatingSystemType;
 
 import jenkins.security.MasterToSlaveCallable;
@@ -28,18 +29,24 @@ public class GetPathToPolarisCli extends MasterToSlaveCallable<String, JenkinsUs
 
     @Override
     public String call() throws JenkinsUserFriendlyException {
+        PolarisAgentCache polarisAgentCache = PolarisAgentCache.getDefault();
+        Optional<String> cachedCli = polarisAgentCache.getCliPath(polarisCliHome);
+        if (cachedCli.isPresent()) {
+            return cachedCli.get();
+        }
+
         Path homePath = Paths.get(polarisCliHome);
         Path binPath = homePath.resolve("bin");
 
-        OperatingSystemType operatingSystemType = OperatingSystemType.determineFromSystem();
+        OperatingSystemType operatingSystemType = polarisAgentCache.getOperatingSystemType();
 
         Optional<String> polarisCli = checkFile(operatingSystemType, binPath, "polaris");
         Optional<String> swipCli = checkFile(operatingSystemType, binPath, "swip_cli");
 
-        if (polarisCli.isPresent()) {
-            return polarisCli.get();
-        } else if (swipCli.isPresent()) {
-            return swipCli.get();
+        Optional<String> resolvedCli = polarisCli.isPresent() ? polarisCli : swipCli;
+        if (resolvedCli.isPresent()) {
+            polarisAgentCache.putCliPath(polarisCliHome, resolvedCli.get());
+            return resolvedCli.get();
         }
 
         throw new JenkinsUserFriendlyException("The Polaris CLI could not be found in " + binPath.toString() + " on this node. Please verify the cli exists there and is executable.");
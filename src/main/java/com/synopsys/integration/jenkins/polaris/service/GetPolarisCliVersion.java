@@ -0,0 +1,90 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.synopsys.integration.jenkins.polaris.cache.PolarisAgentCache;
+
+import jenkins.security.MasterToSlaveCallable;
+
+/**
+ * Identifies, on the node, the Polaris CLI release at the given path: the first line it prints for --version, or failing that the SHA-256 of the
+ * executable. The home directory's name cannot be used, since manually configured installations are usually named the same across releases.
+ */
+public class GetPolarisCliVersion extends MasterToSlaveCallable<String, IOException> {
+    public static final String VERSION_ARGUMENT = "--version";
+    public static final long VERSION_TIMEOUT_SECONDS = 30L;
+
+    private static final long serialVersionUID = -2261493408271357720L;
+    private final String pathToPolarisCli;
+
+    public GetPolarisCliVersion(String pathToPolarisCli) {
+        this.pathToPolarisCli = pathToPolarisCli;
+    }
+
+    @Override
+    public String call() throws IOException {
+        PolarisAgentCache polarisAgentCache = PolarisAgentCache.getDefault();
+        Optional<String> cachedCliVersion = polarisAgentCache.getCliVersion(pathToPolarisCli);
+        if (cachedCliVersion.isPresent()) {
+            return cachedCliVersion.get();
+        }
+
+        String cliVersion = readVersionFromCli().orElse(null);
+        if (cliVersion == null) {
+            try (InputStream cliInputStream = Files.newInputStream(new File(pathToPolarisCli).toPath())) {
+                cliVersion = "sha256:" + DigestUtils.sha256Hex(cliInputStream);
+            }
+        }
+
+        polarisAgentCache.putCliVersion(pathToPolarisCli, cliVersion);
+        return cliVersion;
+    }
+
+    private Optional<String> readVersionFromCli() {
+        File output = null;
+        try {
+            // The output goes to a file so that a CLI that never exits cannot hold up the build past the timeout
+            output = File.createTempFile("polaris-version", ".txt");
+            Process process = new ProcessBuilder(pathToPolarisCli, VERSION_ARGUMENT).redirectErrorStream(true).redirectOutput(output).start();
+            process.getOutputStream().close();
+            if (!process.waitFor(VERSION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return Optional.empty();
+            }
+            if (process.exitValue() != 0) {
+                return Optional.empty();
+            }
+
+            return Files.readAllLines(output.toPath(), StandardCharsets.UTF_8).stream()
+                       .filter(StringUtils::isNotBlank)
+                       .map(String::trim)
+                       .findFirst();
+        } catch (IOException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } finally {
+            if (output != null) {
+                output.delete();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.service;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jenkins.exception.JenkinsUserFriendlyException;
+import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.polaris.common.cli.PolarisCliResponseUtility;
+import com.synopsys.integration.polaris.common.configuration.PolarisServerConfig;
+import com.synopsys.integration.polaris.common.configuration.PolarisServerConfigBuilder;
+import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
+import com.synopsys.integration.polaris.common.rest.PolarisRateLimiter;
+import com.synopsys.integration.polaris.common.service.IssueCountSummary;
+import com.synopsys.integration.polaris.common.service.PolarisServicesFactory;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+
+import jenkins.security.MasterToSlaveCallable;
+
+/**
+ * Runs the whole issue check on the node the build runs on, so that polling the Polaris jobs and counting their issues does not load the controller.
+ * Only the final counts are sent back. The node's requests follow the rate configured on the controller, but they draw from a budget and caches of
+ * their own rather than the ones shared by the builds on the controller.
+ */
+public class GetPolarisIssueCountSummary extends MasterToSlaveCallable<IssueCountSummary, IntegrationException> {
+    private static final long serialVersionUID = 2281645617095716023L;
+    private final JenkinsIntLogger jenkinsIntLogger;
+    private final String polarisServerUrl;
+    private final String accessToken;
+    private final int timeout;
+    private final String proxyHost;
+    private final int proxyPort;
+    private final String proxyUsername;
+    private final String proxyPassword;
+    private final String proxyNtlmDomain;
+    private final String proxyNtlmWorkstation;
+    private final double requestsPerSecond;
+    private final double burst;
+    private final String workspaceRemotePath;
+    private final long jobTimeoutInSeconds;
+
+    public GetPolarisIssueCountSummary(JenkinsIntLogger jenkinsIntLogger, String polarisServerUrl, String accessToken, int timeout, String proxyHost, int proxyPort, String proxyUsername, String proxyPassword,
+        String proxyNtlmDomain, String proxyNtlmWorkstation, double requestsPerSecond, double burst, String workspaceRemotePath, long jobTimeoutInSeconds) {
+        this.jenkinsIntLogger = jenkinsIntLogger;
+        this.polarisServerUrl = polarisServerUrl;
+        this.accessToken = accessToken;
+        this.timeout = timeout;
+        this.proxyHost = proxyHost;
+        this.proxyPort = proxyPort;
+        this.proxyUsername = proxyUsername;
+        this.proxyPassword = proxyPassword;
+        this.proxyNtlmDomain = proxyNtlmDomain;
+        this.proxyNtlmWorkstation = proxyNtlmWorkstation;
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.workspaceRemotePath = workspaceRemotePath;
+        this.jobTimeoutInSeconds = jobTimeoutInSeconds;
+    }
+
+    public static GetPolarisIssueCountSummary getConnectionDetailsFromServerConfig(JenkinsIntLogger jenkinsIntLogger, PolarisServerConfig polarisServerConfig, String workspaceRemotePath,
+        long jobTimeoutInSeconds) {
+        ProxyInfo proxyInfo = polarisServerConfig.getProxyInfo();
+        // The system properties that size the rate limiter are set on the controller, so its settings are sent along rather than read on the node
+        PolarisRateLimiter rateLimiter = PolarisRateLimiter.forServer(polarisServerConfig.getPolarisUrl());
+        return new GetPolarisIssueCountSummary(
+            jenkinsIntLogger,
+            polarisServerConfig.getPolarisUrl().string(),
+            polarisServerConfig.getAccessToken(),
+            polarisServerConfig.getTimeoutSeconds(),
+            proxyInfo.getHost().orElse(null),
+            proxyInfo.getPort(),
+            proxyInfo.getUsername().orElse(null),
+            proxyInfo.getPassword().orElse(null),
+            proxyInfo.getNtlmDomain().orElse(null),
+            proxyInfo.getNtlmWorkstation().orElse(null),
+            rateLimiter.getMaximumRequestsPerSecond(),
+            rateLimiter.getBurst(),
+            workspaceRemotePath,
+            jobTimeoutInSeconds);
+    }
+
+    @Override
+    public IssueCountSummary call() throws IntegrationException {
+        PolarisRateLimiter.forServer(new HttpUrl(polarisServerUrl), requestsPerSecond, burst);
+
+        PolarisServerConfigBuilder polarisServerConfigBuilder = new PolarisServerConfigBuilder()
+                                                                    .setUrl(polarisServerUrl)
+                                                                    .setAccessToken(accessToken)
+                                                                    .setTimeoutInSeconds(timeout)
+                                                                    .setProxyHost(proxyHost)
+                                                                    .setProxyPort(proxyPort)
+                                                                    .setProxyUsername(proxyUsername)
+                                                                    .setProxyPassword(proxyPassword)
+                                                                    .setProxyNtlmDomain(proxyNtlmDomain)
+                                                                    .setProxyNtlmWorkstation(proxyNtlmWorkstation);
+        PolarisServicesFactory polarisServicesFactory = polarisServerConfigBuilder.build().createPolarisServicesFactory(jenkinsIntLogger);
+        PolarisCliResponseUtility polarisCliResponseUtility = PolarisCliResponseUtility.defaultUtility(jenkinsIntLogger);
+        PolarisCliIssueCountService polarisCliIssueCountService = new PolarisCliIssueCountService(jenkinsIntLogger, polarisServicesFactory.createCountService(), polarisServicesFactory.createJobService(),
+            polarisCliResponseUtility);
+
+        String cliCommonResponseModelJson = new GetPolarisCliResponseContent(workspaceRemotePath).call();
+        try {
+            return polarisCliIssueCountService.getIssueCountSummary(jobTimeoutInSeconds, cliCommonResponseModelJson);
+        } catch (JenkinsUserFriendlyException e) {
+            throw new PolarisIntegrationException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PolarisIntegrationException(PolarisCliIssueCountService.STEP_EXCEPTION_PREFIX + "the issue check was interrupted", e);
+        }
+    }
+
+}
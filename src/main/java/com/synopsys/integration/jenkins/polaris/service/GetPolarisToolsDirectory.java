@@ -0,0 +1,41 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.service;
+
+import java.nio.file.Paths;
+
+import org.apache.commons.lang3.StringUtils;
+
+import jenkins.security.MasterToSlaveCallable;
+
+/**
+ * Resolves, on the node, the directory the Polaris CLI downloads its analysis tools into: the tools directory of POLARIS_HOME if the build sets it,
+ * otherwise of the CLI's default home in the user's home directory.
+ */
+public class GetPolarisToolsDirectory extends MasterToSlaveCallable<String, RuntimeException> {
+    public static final String POLARIS_HOME_ENVIRONMENT_VARIABLE = "POLARIS_HOME";
+    public static final String DEFAULT_POLARIS_HOME = ".synopsys/polaris";
+    public static final String TOOLS_DIRECTORY = "tools";
+
+    private static final long serialVersionUID = 2717815470238618213L;
+    private final String polarisHome;
+
+    public GetPolarisToolsDirectory(String polarisHome) {
+        this.polarisHome = polarisHome;
+    }
+
+    @Override
+    public String call() {
+        if (StringUtils.isNotBlank(polarisHome)) {
+            return Paths.get(polarisHome).resolve(TOOLS_DIRECTORY).toAbsolutePath().toString();
+        }
+
+        return Paths.get(System.getProperty("user.home")).resolve(DEFAULT_POLARIS_HOME).resolve(TOOLS_DIRECTORY).toAbsolutePath().toString();
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.codahale.metrics.MetricRegistry;
+import com.synopsys.integration.polaris.common.metrics.PolarisHttpMetricsSink;
+
+import jenkins.metrics.api.Metrics;
+
+// Like PolarisMetricsExporter, this class references the optional Metrics plugin and must only be loaded once the plugin is known to be installed.
+public class MetricsPluginHttpMetricsSink implements PolarisHttpMetricsSink {
+    private static final String HTTP_METRIC_PREFIX = PolarisMetricsExporter.METRIC_PREFIX + ".http";
+
+    @Override
+    public void recordRequest(String endpointTemplate, int statusCode, long latencyInMillis) {
+        MetricRegistry metricRegistry = Metrics.metricRegistry();
+        String endpointName = toMetricName(endpointTemplate);
+        metricRegistry.timer(MetricRegistry.name(endpointName, "latency")).update(latencyInMillis, TimeUnit.MILLISECONDS);
+        metricRegistry.meter(MetricRegistry.name(endpointName, "status", String.valueOf(statusCode))).mark();
+    }
+
+    @Override
+    public void recordResponseBytes(String endpointTemplate, long responseBytes) {
+        Metrics.metricRegistry().histogram(MetricRegistry.name(toMetricName(endpointTemplate), "response-bytes")).update(responseBytes);
+    }
+
+    @Override
+    public void recordAuthentication(boolean reauthentication) {
+        MetricRegistry metricRegistry = Metrics.metricRegistry();
+        metricRegistry.counter(MetricRegistry.name(HTTP_METRIC_PREFIX, "authentications")).inc();
+        if (reauthentication) {
+            metricRegistry.counter(MetricRegistry.name(HTTP_METRIC_PREFIX, "reauthentications")).inc();
+        }
+    }
+
+    @Override
+    public void recordRetry(String endpointTemplate, int statusCode) {
+        Metrics.metricRegistry().counter(MetricRegistry.name(toMetricName(endpointTemplate), "retries")).inc();
+    }
+
+    private String toMetricName(String endpointTemplate) {
+        String endpointName = StringUtils.strip(endpointTemplate.replace('/', '.').replace("{", "").replace("}", ""), ".");
+        return MetricRegistry.name(HTTP_METRIC_PREFIX, endpointName);
+    }
+
+}
@@ -7,7 +7,13 @@
  */
 package com.synopsys.integration.jenkins.polaris.service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.jenkins.exception.JenkinsUserFriendlyException;
@@ -15,10 +21,14 @@ import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
 import com.synopsys.integration.polaris.common.cli.PolarisCliResponseUtility;
 import com.synopsys.integration.polaris.common.cli.model.CliCommonResponseModel;
 import com.synopsys.integration.polaris.common.cli.model.CommonIssueSummary;
+import com.synopsys.integration.polaris.common.cli.model.CommonProjectInfo;
 import com.synopsys.integration.polaris.common.cli.model.CommonScanInfo;
 import com.synopsys.integration.polaris.common.cli.model.CommonToolInfo;
 import com.synopsys.integration.polaris.common.service.CountService;
+import com.synopsys.integration.polaris.common.service.IssueCountCache;
+import com.synopsys.integration.polaris.common.service.IssueCountSummary;
 import com.synopsys.integration.polaris.common.service.JobService;
+import com.synopsys.integration.polaris.common.service.SingleFlight;
 import com.synopsys.integration.rest.HttpUrl;
 
 public class PolarisCliIssueCountService {
@@ -27,23 +37,54 @@ public class PolarisCliIssueCountService {
     private final CountService countService;
     private final JobService jobService;
     private final PolarisCliResponseUtility polarisCliResponseUtility;
+    private final IssueCountCache issueCountCache;
 
     public PolarisCliIssueCountService(JenkinsIntLogger logger, CountService countService, JobService jobService, PolarisCliResponseUtility polarisCliResponseUtility) {
+        this(logger, countService, jobService, polarisCliResponseUtility, IssueCountCache.getDefault());
+    }
+
+    public PolarisCliIssueCountService(JenkinsIntLogger logger, CountService countService, JobService jobService, PolarisCliResponseUtility polarisCliResponseUtility, IssueCountCache issueCountCache) {
         this.logger = logger;
         this.countService = countService;
         this.jobService = jobService;
         this.polarisCliResponseUtility = polarisCliResponseUtility;
+        this.issueCountCache = issueCountCache;
     }
 
     public Integer getIssueCount(long jobTimeoutInSeconds, String cliCommonResponseModelJson) throws IntegrationException, JenkinsUserFriendlyException, InterruptedException {
+        return getIssueCountSummary(jobTimeoutInSeconds, cliCommonResponseModelJson).getTotalIssueCount();
+    }
+
+    public IssueCountSummary getIssueCountSummary(long jobTimeoutInSeconds, String cliCommonResponseModelJson) throws IntegrationException, JenkinsUserFriendlyException, InterruptedException {
         CliCommonResponseModel polarisCliResponseModel = polarisCliResponseUtility.getPolarisCliResponseModelFromString(cliCommonResponseModelJson);
 
+        Optional<String> revisionId = Optional.ofNullable(polarisCliResponseModel.getProjectInfo())
+                                          .map(CommonProjectInfo::getRevisionId)
+                                          .filter(StringUtils::isNotBlank);
+        String credentialKey = countService.getCredentialKey();
+        Optional<IssueCountSummary> cachedIssueCountSummary = revisionId.flatMap(id -> issueCountCache.get(credentialKey, id));
+        if (cachedIssueCountSummary.isPresent()) {
+            logger.debug("Found issue counts for revision " + revisionId.get() + " from a previous check, skipping Polaris");
+            logIssueCounts(cachedIssueCountSummary.get());
+            return cachedIssueCountSummary.get();
+        }
+
+        IssueCountSummary issueCountSummary = calculateIssueCountSummary(jobTimeoutInSeconds, polarisCliResponseModel);
+        revisionId.ifPresent(id -> issueCountCache.put(credentialKey, id, issueCountSummary));
+        logIssueCounts(issueCountSummary);
+        return issueCountSummary;
+    }
+
+    private IssueCountSummary calculateIssueCountSummary(long jobTimeoutInSeconds, CliCommonResponseModel polarisCliResponseModel) throws IntegrationException, JenkinsUserFriendlyException, InterruptedException {
         Optional<CommonIssueSummary> issueSummary = polarisCliResponseModel.getIssueSummary();
         CommonScanInfo scanInfo = polarisCliResponseModel.getScanInfo();
 
         if (issueSummary.isPresent()) {
             logger.debug("Found total issue count in cli-scan.json, scan must have been run with -w");
-            return issueSummary.get().getTotalIssueCount();
+            Integer totalIssueCount = issueSummary.get().getTotalIssueCount();
+            // cli-scan.json only breaks the count down by severity, and counting per tool would cost a request per tool just for the log
+            logger.info("Issue counts by tool are not reported when the Polaris CLI runs with -w");
+            return new IssueCountSummary(totalIssueCount == null ? 0 : totalIssueCount, issueSummary.get().getIssuesBySeverity(), new LinkedHashMap<>());
         }
 
         if (jobTimeoutInSeconds < 1) {
@@ -63,10 +104,70 @@ public class PolarisCliIssueCountService {
             if (jobStatusUrl == null) {
                 throw new JenkinsUserFriendlyException(STEP_EXCEPTION_PREFIX + "tool with name " + tool.getToolName() + " has no jobStatusUrl");
             }
-            jobService.waitForJobStateIsCompletedOrDieByUrl(jobStatusUrl, jobTimeoutInSeconds, JobService.DEFAULT_WAIT_INTERVAL);
+            try {
+                jobService.waitForJobStateIsCompletedOrDieByUrl(jobStatusUrl, jobTimeoutInSeconds, JobService.DEFAULT_WAIT_INTERVAL);
+            } catch (InterruptedException e) {
+                cancelJobs(polarisCliResponseModel.getTools());
+                throw e;
+            } catch (IntegrationException e) {
+                // An abort that lands while a request is waiting or in flight arrives as an IntegrationException. The flag is cleared so the
+                // cancel requests are not interrupted in turn
+                boolean interrupted = Thread.interrupted();
+                if (interrupted || SingleFlight.isInterruption(e)) {
+                    cancelJobs(polarisCliResponseModel.getTools());
+                    InterruptedException interruptedException = new InterruptedException(e.getMessage());
+                    interruptedException.initCause(e);
+                    throw interruptedException;
+                }
+                throw e;
+            }
         }
 
-        return countService.getTotalIssueCountFromIssueApiUrl(issueApiUrl);
+        return countService.getIssueCountSummary(issueApiUrl, getIssueApiUrlsByTool(polarisCliResponseModel));
+    }
+
+    // The build was aborted, so the jobs it started would only hold onto the organization's analysis capacity
+    private void cancelJobs(List<CommonToolInfo> tools) {
+        logger.info("The build was interrupted, cancelling its Polaris jobs");
+        for (CommonToolInfo tool : tools) {
+            if (tool.getJobStatusUrl() == null) {
+                continue;
+            }
+            try {
+                jobService.cancelJob(tool.getJobStatusUrl());
+            } catch (IntegrationException e) {
+                logger.warn("Could not cancel the job at url " + tool.getJobStatusUrl() + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Cancelling Polaris jobs was interrupted, some jobs may still be running");
+                return;
+            }
+        }
+    }
+
+    private Map<String, HttpUrl> getIssueApiUrlsByTool(CliCommonResponseModel polarisCliResponseModel) {
+        Map<String, HttpUrl> issueApiUrlsByTool = new LinkedHashMap<>();
+        if (polarisCliResponseModel.getTools() != null) {
+            for (CommonToolInfo tool : polarisCliResponseModel.getTools()) {
+                tool.getIssueApiUrl().ifPresent(toolIssueApiUrl -> issueApiUrlsByTool.put(StringUtils.defaultIfBlank(tool.getToolName(), "unknown"), toolIssueApiUrl));
+            }
+        }
+        return issueApiUrlsByTool;
+    }
+
+    private void logIssueCounts(IssueCountSummary issueCountSummary) {
+        if (!issueCountSummary.getIssuesBySeverity().isEmpty()) {
+            logger.info("Issues by severity: " + formatCounts(issueCountSummary.getIssuesBySeverity()));
+        }
+        if (!issueCountSummary.getIssuesByTool().isEmpty()) {
+            logger.info("Issues by tool: " + formatCounts(issueCountSummary.getIssuesByTool()));
+        }
+    }
+
+    private String formatCounts(Map<String, Integer> counts) {
+        return counts.entrySet().stream()
+                   .map(count -> count.getKey() + "=" + count.getValue())
+                   .collect(Collectors.joining(", "));
     }
 
 }
@@ -7,16 +7,28 @@
  */
 package com.synopsys.integration.jenkins.polaris.service;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
+import org.apache.commons.lang3.StringUtils;
+
 import com.synopsys.integration.function.ThrowingSupplier;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
 import com.synopsys.integration.jenkins.polaris.ChangeSetFileCreator;
+import com.synopsys.integration.jenkins.polaris.PolarisBackgroundIssueChecker;
 import com.synopsys.integration.jenkins.polaris.PolarisCliRunner;
+import com.synopsys.integration.jenkins.polaris.PolarisCliScanRecorder;
 import com.synopsys.integration.jenkins.polaris.PolarisFreestyleCommands;
 import com.synopsys.integration.jenkins.polaris.PolarisIssueChecker;
 import com.synopsys.integration.jenkins.polaris.PolarisPipelineCommands;
+import com.synopsys.integration.jenkins.polaris.PolarisScanGovernor;
+import com.synopsys.integration.jenkins.polaris.cache.PolarisCacheStore;
+import com.synopsys.integration.jenkins.polaris.cache.PolarisIdirCache;
+import com.synopsys.integration.jenkins.polaris.cache.PolarisToolCache;
 import com.synopsys.integration.jenkins.polaris.extensions.global.PolarisGlobalConfig;
 import com.synopsys.integration.jenkins.service.JenkinsBuildService;
 import com.synopsys.integration.jenkins.service.JenkinsConfigService;
@@ -27,10 +39,12 @@ import com.synopsys.integration.jenkins.service.JenkinsServicesFactory;
 import com.synopsys.integration.jenkins.wrapper.JenkinsWrapper;
 import com.synopsys.integration.polaris.common.cli.PolarisCliResponseUtility;
 import com.synopsys.integration.polaris.common.configuration.PolarisServerConfig;
+import com.synopsys.integration.polaris.common.rest.PolarisHttpCache;
 import com.synopsys.integration.polaris.common.service.ContextsService;
 import com.synopsys.integration.polaris.common.service.CountService;
 import com.synopsys.integration.polaris.common.service.JobService;
 import com.synopsys.integration.polaris.common.service.PolarisServicesFactory;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
 
 import hudson.AbortException;
 import hudson.EnvVars;
@@ -38,14 +52,23 @@ import hudson.FilePath;
 import hudson.Launcher;
 import hudson.model.AbstractBuild;
 import hudson.model.BuildListener;
+import hudson.model.Computer;
+import hudson.model.Item;
+import hudson.model.Job;
 import hudson.model.Node;
 import hudson.model.Run;
 import hudson.model.TaskListener;
+import hudson.util.Secret;
+import jenkins.model.Jenkins;
 
 public class PolarisCommandsFactory {
+    private static final String HTTP_CACHE_DIRECTORY = "polaris/http-cache";
+    private static PolarisHttpCache controllerHttpCache = null;
+
     private final EnvVars envVars;
     private final TaskListener listener;
     private final ThrowingSupplier<JenkinsWrapper, AbortException> validatedJenkinsWrapper;
+    private final PhaseTimer phaseTimer = new PhaseTimer();
     // These fields are lazily initialized; within this class use the suppliers instead of referencing the fields directly
     private JenkinsIntLogger _logger = null;
     private final Supplier<JenkinsIntLogger> initializedLogger = this::getOrCreateLogger;
@@ -57,8 +80,10 @@ public class PolarisCommandsFactory {
     }
 
     public static PolarisFreestyleCommands fromPostBuild(AbstractBuild<?, ?> build, Launcher launcher, BuildListener listener) throws IOException, InterruptedException {
-        PolarisCommandsFactory polarisCommandsFactory = new PolarisCommandsFactory(JenkinsWrapper.initializeFromJenkinsJVM(), build.getEnvironment(listener), listener);
-        JenkinsFreestyleServicesFactory jenkinsServicesFactory = new JenkinsFreestyleServicesFactory(polarisCommandsFactory.getOrCreateLogger(), build, build.getEnvironment(listener), launcher, listener, build.getBuiltOn(),
+        JenkinsWrapper jenkinsWrapper = JenkinsWrapper.initializeFromJenkinsJVM();
+        EnvVars envVars = build.getEnvironment(listener);
+        PolarisCommandsFactory polarisCommandsFactory = new PolarisCommandsFactory(jenkinsWrapper, envVars, listener);
+        JenkinsFreestyleServicesFactory jenkinsServicesFactory = new JenkinsFreestyleServicesFactory(polarisCommandsFactory.getOrCreateLogger(), build, envVars, launcher, listener, build.getBuiltOn(),
             build.getWorkspace());
 
         JenkinsRemotingService jenkinsRemotingService = jenkinsServicesFactory.createJenkinsRemotingService();
@@ -67,10 +92,16 @@ public class PolarisCommandsFactory {
         JenkinsScmService jenkinsScmService = jenkinsServicesFactory.createJenkinsScmService();
 
         ChangeSetFileCreator changeSetFileCreator = polarisCommandsFactory.createChangeSetFileCreator(jenkinsRemotingService, jenkinsScmService);
-        PolarisCliRunner polarisCliRunner = polarisCommandsFactory.createPolarisCliRunner(jenkinsConfigService, jenkinsRemotingService);
+        PolarisCliRunner polarisCliRunner = polarisCommandsFactory.createPolarisCliRunner(jenkinsConfigService, jenkinsRemotingService, build.getWorkspace(), build);
         PolarisIssueChecker polarisIssueCounter = polarisCommandsFactory.createPolarisIssueCounter(jenkinsConfigService, jenkinsRemotingService);
+        PolarisTimingService polarisTimingService = polarisCommandsFactory.createPolarisTimingService(build);
+        PolarisCliScanRecorder polarisCliScanRecorder = new PolarisCliScanRecorder(polarisCommandsFactory.getOrCreateLogger(), jenkinsRemotingService, build);
+        // The background check outlives this build's listener, so it gets a factory of its own that logs wherever the checker asks
+        PolarisBackgroundIssueChecker polarisBackgroundIssueChecker = new PolarisBackgroundIssueChecker(build,
+            backgroundListener -> new PolarisCommandsFactory(jenkinsWrapper, envVars, backgroundListener).createPolarisIssueCounter(jenkinsConfigService, null));
 
-        return new PolarisFreestyleCommands(polarisCommandsFactory.getOrCreateLogger(), jenkinsBuildService, changeSetFileCreator, polarisCliRunner, polarisIssueCounter);
+        return new PolarisFreestyleCommands(polarisCommandsFactory.getOrCreateLogger(), jenkinsBuildService, changeSetFileCreator, polarisCliRunner, polarisIssueCounter, polarisTimingService, polarisCliScanRecorder,
+            polarisBackgroundIssueChecker);
     }
 
     public static PolarisPipelineCommands fromPipeline(TaskListener listener, EnvVars envVars, Launcher launcher, Node node, Run<?, ?> run, FilePath workspace) throws AbortException {
@@ -82,17 +113,24 @@ public class PolarisCommandsFactory {
         JenkinsScmService jenkinsScmService = jenkinsServicesFactory.createJenkinsScmService();
 
         ChangeSetFileCreator changeSetFileCreator = polarisCommandsFactory.createChangeSetFileCreator(jenkinsRemotingService, jenkinsScmService);
-        PolarisCliRunner polarisCliRunner = polarisCommandsFactory.createPolarisCliRunner(jenkinsConfigService, jenkinsRemotingService);
+        PolarisCliRunner polarisCliRunner = polarisCommandsFactory.createPolarisCliRunner(jenkinsConfigService, jenkinsRemotingService, workspace, run);
         PolarisIssueChecker polarisIssueCounter = polarisCommandsFactory.createPolarisIssueCounter(jenkinsConfigService, jenkinsRemotingService);
+        PolarisTimingService polarisTimingService = polarisCommandsFactory.createPolarisTimingService(run);
+        PolarisCliScanRecorder polarisCliScanRecorder = new PolarisCliScanRecorder(polarisCommandsFactory.getOrCreateLogger(), jenkinsRemotingService, run);
 
-        return new PolarisPipelineCommands(polarisCommandsFactory.getOrCreateLogger(), changeSetFileCreator, polarisCliRunner, polarisIssueCounter);
+        return new PolarisPipelineCommands(polarisCommandsFactory.getOrCreateLogger(), changeSetFileCreator, polarisCliRunner, polarisIssueCounter, polarisTimingService, polarisCliScanRecorder);
     }
 
     public PolarisIssueChecker createPolarisIssueCounter(JenkinsConfigService jenkinsConfigService, JenkinsRemotingService jenkinsRemotingService) throws AbortException {
-        return new PolarisIssueChecker(initializedLogger.get(), createPolarisCliIssueCountService(jenkinsConfigService), jenkinsRemotingService, validatedJenkinsWrapper.get().getVersionHelper());
+        return new PolarisIssueChecker(initializedLogger.get(), createPolarisCliIssueCountService(jenkinsConfigService), jenkinsRemotingService, validatedJenkinsWrapper.get().getVersionHelper(),
+            phaseTimer, createAgentIssueCheckFactory(jenkinsConfigService, jenkinsRemotingService));
     }
 
     public PolarisCliRunner createPolarisCliRunner(JenkinsConfigService jenkinsConfigService, JenkinsRemotingService jenkinsRemotingService) throws AbortException {
+        return createPolarisCliRunner(jenkinsConfigService, jenkinsRemotingService, null, null);
+    }
+
+    public PolarisCliRunner createPolarisCliRunner(JenkinsConfigService jenkinsConfigService, JenkinsRemotingService jenkinsRemotingService, FilePath workspace, Run<?, ?> run) throws AbortException {
         JenkinsWrapper jenkinsWrapper = validatedJenkinsWrapper.get();
         return new PolarisCliRunner(initializedLogger.get(),
             createPolarisCliArgumentService(),
@@ -102,13 +140,68 @@ public class PolarisCommandsFactory {
             jenkinsConfigService,
             jenkinsWrapper.getCredentialsHelper(),
             jenkinsWrapper.getProxyHelper(),
-            jenkinsWrapper.getVersionHelper());
+            jenkinsWrapper.getVersionHelper(),
+            phaseTimer,
+            createPolarisToolCache(jenkinsConfigService, workspace),
+            createPolarisIdirCache(jenkinsConfigService, workspace, run),
+            getNodeName(workspace));
+    }
+
+    public PolarisTimingService createPolarisTimingService(Run<?, ?> run) throws AbortException {
+        boolean metricsPluginInstalled = validatedJenkinsWrapper.get().getJenkins()
+                                             .map(jenkins -> jenkins.getPlugin(PolarisMetricsExporter.METRICS_PLUGIN_NAME))
+                                             .isPresent();
+        return new PolarisTimingService(initializedLogger.get(), run, phaseTimer, metricsPluginInstalled);
     }
 
     public ChangeSetFileCreator createChangeSetFileCreator(JenkinsRemotingService jenkinsRemotingService, JenkinsScmService jenkinsScmService) {
         return new ChangeSetFileCreator(initializedLogger.get(), jenkinsRemotingService, jenkinsScmService, createPolarisEnvironmentService());
     }
 
+    private PolarisToolCache createPolarisToolCache(JenkinsConfigService jenkinsConfigService, FilePath workspace) throws AbortException {
+        Optional<PolarisGlobalConfig> polarisGlobalConfig = jenkinsConfigService.getGlobalConfiguration(PolarisGlobalConfig.class);
+        Optional<Jenkins> jenkins = validatedJenkinsWrapper.get().getJenkins();
+        if (workspace == null || !jenkins.isPresent() || !polarisGlobalConfig.map(PolarisGlobalConfig::isCacheAnalysisTools).orElse(false)) {
+            return null;
+        }
+
+        return new PolarisToolCache(initializedLogger.get(), PolarisCacheStore.getDefault(jenkins.get()), workspace, polarisGlobalConfig.get().getCacheSizeInBytes());
+    }
+
+    private PolarisIdirCache createPolarisIdirCache(JenkinsConfigService jenkinsConfigService, FilePath workspace, Run<?, ?> run) throws AbortException {
+        Optional<PolarisGlobalConfig> polarisGlobalConfig = jenkinsConfigService.getGlobalConfiguration(PolarisGlobalConfig.class);
+        Optional<Jenkins> jenkins = validatedJenkinsWrapper.get().getJenkins();
+        if (workspace == null || run == null || !jenkins.isPresent() || !polarisGlobalConfig.map(PolarisGlobalConfig::isCacheIntermediateDirectory).orElse(false)) {
+            return null;
+        }
+
+        // Branch jobs of multibranch projects set BRANCH_NAME and are keyed on their multibranch project, whose name does not include the branch, so
+        // that a new branch can start from another branch's data; other jobs fall back to what the Git plugin checked out
+        Job<?, ?> job = run.getParent();
+        String jobName = envVars.containsKey("BRANCH_NAME") && job.getParent() instanceof Item ? ((Item) job.getParent()).getFullName() : job.getFullName();
+        String branch = envVars.get("BRANCH_NAME", envVars.get("GIT_BRANCH", StringUtils.EMPTY));
+        List<String> priorityBranches = PolarisScanGovernor.parsePriorityBranches(polarisGlobalConfig.get().getPriorityBranches());
+        return new PolarisIdirCache(initializedLogger.get(), PolarisCacheStore.getDefault(jenkins.get()), workspace, jobName, branch, priorityBranches, polarisGlobalConfig.get().getCacheSizeInBytes());
+    }
+
+    private BiFunction<String, Long, GetPolarisIssueCountSummary> createAgentIssueCheckFactory(JenkinsConfigService jenkinsConfigService, JenkinsRemotingService jenkinsRemotingService) throws AbortException {
+        Optional<PolarisGlobalConfig> polarisGlobalConfig = jenkinsConfigService.getGlobalConfiguration(PolarisGlobalConfig.class);
+        if (jenkinsRemotingService == null || !polarisGlobalConfig.map(PolarisGlobalConfig::isCheckIssuesOnAgent).orElse(false)) {
+            return null;
+        }
+
+        JenkinsIntLogger jenkinsIntLogger = initializedLogger.get();
+        JenkinsWrapper jenkinsWrapper = validatedJenkinsWrapper.get();
+        PolarisServerConfig polarisServerConfig = polarisGlobalConfig.get().getPolarisServerConfig(jenkinsWrapper.getCredentialsHelper(), jenkinsWrapper.getProxyHelper());
+        return (workspaceRemotePath, jobTimeoutInSeconds) -> GetPolarisIssueCountSummary.getConnectionDetailsFromServerConfig(jenkinsIntLogger, polarisServerConfig, workspaceRemotePath, jobTimeoutInSeconds);
+    }
+
+    private String getNodeName(FilePath workspace) {
+        Computer computer = workspace == null ? null : workspace.toComputer();
+        Node node = computer == null ? null : computer.getNode();
+        return node == null ? null : node.getNodeName();
+    }
+
     private PolarisEnvironmentService createPolarisEnvironmentService() {
         return new PolarisEnvironmentService(envVars);
     }
@@ -150,7 +243,19 @@ public class PolarisCommandsFactory {
         JenkinsIntLogger jenkinsIntLogger = getOrCreateLogger();
         JenkinsWrapper jenkinsWrapper = validatedJenkinsWrapper.get();
         PolarisServerConfig polarisServerConfig = polarisGlobalConfig.getPolarisServerConfig(jenkinsWrapper.getCredentialsHelper(), jenkinsWrapper.getProxyHelper());
-        return polarisServerConfig.createPolarisServicesFactory(jenkinsIntLogger);
+        PolarisServicesFactory polarisServicesFactory = polarisServerConfig.createPolarisServicesFactory(jenkinsIntLogger);
+        polarisServicesFactory.setPhaseTimer(phaseTimer);
+        jenkinsWrapper.getJenkins().map(PolarisCommandsFactory::getOrCreateControllerHttpCache).ifPresent(polarisServicesFactory::setHttpCache);
+        return polarisServicesFactory;
+    }
+
+    // Every build on the controller shares one cache, backed by JENKINS_HOME so that it outlives the memory tier and restarts. Entries are
+    // encrypted with the controller's secret key.
+    private static synchronized PolarisHttpCache getOrCreateControllerHttpCache(Jenkins jenkins) {
+        if (controllerHttpCache == null) {
+            controllerHttpCache = new PolarisHttpCache(PolarisHttpCache.DEFAULT_MAXIMUM_ENTRIES, PolarisHttpCache.DEFAULT_MAXIMUM_MEMORY_BYTES, new File(jenkins.getRootDir(), HTTP_CACHE_DIRECTORY), new SecretDiskEncryption());
+        }
+        return controllerHttpCache;
     }
 
     private JenkinsWrapper validateJenkinsWrapper(JenkinsWrapper jenkinsWrapper) throws AbortException {
@@ -161,4 +266,17 @@ public class PolarisCommandsFactory {
         throw new AbortException("Polaris Software Integrity Platform for Jenkins cannot be executed: The Jenkins instance was not started, was already shut down, or is not reachable from this JVM.");
     }
 
+    private static class SecretDiskEncryption implements PolarisHttpCache.DiskEncryption {
+        @Override
+        public String encrypt(String value) {
+            return Secret.fromString(value).getEncryptedValue();
+        }
+
+        @Override
+        public String decrypt(String value) {
+            Secret secret = Secret.decrypt(value);
+            return secret == null ? null : secret.getPlainText();
+        }
+    }
+
 }
@@ -0,0 +1,36 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.MetricRegistry;
+import com.synopsys.integration.polaris.common.timing.PhaseTimings;
+
+import jenkins.metrics.api.Metrics;
+
+// The Metrics plugin is optional, so nothing outside of this class may reference its types -- only load this class once the plugin is known to be installed.
+public class PolarisMetricsExporter {
+    public static final String METRICS_PLUGIN_NAME = "metrics";
+    public static final String METRIC_PREFIX = "polaris";
+
+    public void export(PhaseTimings phaseTimings) {
+        MetricRegistry metricRegistry = Metrics.metricRegistry();
+        for (Map.Entry<String, PhaseTimings.PhaseTiming> phaseTiming : phaseTimings.getTimingsByPhase().entrySet()) {
+            metricRegistry.timer(toMetricName(phaseTiming.getKey()))
+                .update(phaseTiming.getValue().getTotalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public static String toMetricName(String phase) {
+        return MetricRegistry.name(METRIC_PREFIX, phase.toLowerCase(Locale.ENGLISH).replace(' ', '-'));
+    }
+
+}
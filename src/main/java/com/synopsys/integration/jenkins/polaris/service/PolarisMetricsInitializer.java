@@ -0,0 +1,28 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.service;
+
+import com.synopsys.integration.polaris.common.metrics.PolarisHttpMetrics;
+
+import hudson.init.InitMilestone;
+import hudson.init.Initializer;
+import jenkins.model.Jenkins;
+
+public class PolarisMetricsInitializer {
+    private PolarisMetricsInitializer() {
+    }
+
+    @Initializer(after = InitMilestone.PLUGINS_STARTED)
+    public static void registerMetricsPluginSink() {
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins != null && jenkins.getPlugin(PolarisMetricsExporter.METRICS_PLUGIN_NAME) != null) {
+            PolarisHttpMetrics.global().register(new MetricsPluginHttpMetricsSink());
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.jenkins.polaris.service;
+
+import java.util.Optional;
+
+import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.action.PolarisTimingAction;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
+import com.synopsys.integration.polaris.common.timing.PhaseTimings;
+
+import hudson.model.Run;
+
+public class PolarisTimingService {
+    private final JenkinsIntLogger logger;
+    private final Run<?, ?> run;
+    private final PhaseTimer phaseTimer;
+    private final boolean exportToMetrics;
+
+    public PolarisTimingService(JenkinsIntLogger logger, Run<?, ?> run, PhaseTimer phaseTimer, boolean exportToMetrics) {
+        this.logger = logger;
+        this.run = run;
+        this.phaseTimer = phaseTimer;
+        this.exportToMetrics = exportToMetrics;
+    }
+
+    public PhaseTimer getPhaseTimer() {
+        return phaseTimer;
+    }
+
+    public void publish() {
+        PhaseTimings stepTimings = phaseTimer.getTimings();
+        if (stepTimings.isEmpty()) {
+            return;
+        }
+
+        phaseTimer.logSummary(logger);
+
+        // A pipeline can invoke the Polaris steps several times, possibly in parallel branches, so timings accumulate across invocations on the same build
+        synchronized (run) {
+            PhaseTimings buildTimings = Optional.ofNullable(run.getAction(PolarisTimingAction.class))
+                                            .map(PolarisTimingAction::getPhaseTimings)
+                                            .map(PhaseTimings::copy)
+                                            .orElseGet(PhaseTimings::new);
+            buildTimings.merge(stepTimings);
+            run.replaceAction(new PolarisTimingAction(buildTimings));
+        }
+
+        if (exportToMetrics) {
+            try {
+                new PolarisMetricsExporter().export(stepTimings);
+            } catch (LinkageError e) {
+                logger.debug("Could not export Polaris timings to the Metrics plugin: " + e.getMessage());
+            }
+        }
+    }
+
+}
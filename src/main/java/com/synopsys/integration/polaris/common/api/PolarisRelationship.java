@@ -0,0 +1,102 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.api;
+
+import java.io.IOException;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * A relationship of a resource, which names the related resource without including it. Only to-one relationships name
+ * their resource here, to-many relationships are read without data.
+ */
+@JsonAdapter(PolarisRelationship.Adapter.class)
+public class PolarisRelationship extends PolarisResponse {
+    private static final long serialVersionUID = 5127346061328459371L;
+    @SerializedName("data")
+    private PolarisResourceIdentifier data = null;
+
+    public PolarisResourceIdentifier getData() {
+        return data;
+    }
+
+    public void setData(PolarisResourceIdentifier data) {
+        this.data = data;
+    }
+
+    // The relationships object is a map of names to relationships, and the json transformer adds its own string member to every object, so
+    // anything that is not a relationship object is read as null rather than failing the whole response
+    public static class Adapter extends TypeAdapter<PolarisRelationship> {
+        @Override
+        public void write(JsonWriter jsonWriter, PolarisRelationship relationship) throws IOException {
+            if (relationship == null) {
+                jsonWriter.nullValue();
+                return;
+            }
+
+            jsonWriter.beginObject();
+            jsonWriter.name("data");
+            PolarisResourceIdentifier identifier = relationship.getData();
+            if (identifier == null) {
+                jsonWriter.nullValue();
+            } else {
+                jsonWriter.beginObject();
+                jsonWriter.name("type").value(identifier.getType());
+                jsonWriter.name("id").value(identifier.getId());
+                jsonWriter.endObject();
+            }
+            jsonWriter.endObject();
+        }
+
+        @Override
+        public PolarisRelationship read(JsonReader jsonReader) throws IOException {
+            if (jsonReader.peek() != JsonToken.BEGIN_OBJECT) {
+                jsonReader.skipValue();
+                return null;
+            }
+
+            PolarisRelationship relationship = new PolarisRelationship();
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if ("data".equals(name) && jsonReader.peek() == JsonToken.BEGIN_OBJECT) {
+                    relationship.setData(readIdentifier(jsonReader));
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+            return relationship;
+        }
+
+        private PolarisResourceIdentifier readIdentifier(JsonReader jsonReader) throws IOException {
+            PolarisResourceIdentifier identifier = new PolarisResourceIdentifier();
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if (jsonReader.peek() != JsonToken.STRING) {
+                    jsonReader.skipValue();
+                } else if ("type".equals(name)) {
+                    identifier.setType(jsonReader.nextString());
+                } else if ("id".equals(name)) {
+                    identifier.setId(jsonReader.nextString());
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+            return identifier;
+        }
+    }
+
+}
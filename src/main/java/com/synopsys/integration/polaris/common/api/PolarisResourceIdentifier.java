@@ -0,0 +1,35 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.api;
+
+import com.google.gson.annotations.SerializedName;
+
+public class PolarisResourceIdentifier extends PolarisResponse {
+    private static final long serialVersionUID = -2409116745379043507L;
+    @SerializedName("type")
+    private String type;
+    @SerializedName("id")
+    private String id;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+}
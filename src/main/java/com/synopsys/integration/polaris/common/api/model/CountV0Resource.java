@@ -0,0 +1,30 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.api.model;
+
+import java.util.Map;
+
+import com.google.gson.annotations.SerializedName;
+import com.synopsys.integration.polaris.common.api.PolarisRelationship;
+import com.synopsys.integration.polaris.common.api.PolarisResource;
+
+// A grouped count relates to the group (e.g. the severity taxon) it counts the issues of
+public class CountV0Resource extends PolarisResource<CountV0Attributes> {
+    private static final long serialVersionUID = -6880563712393187764L;
+    @SerializedName("relationships")
+    private Map<String, PolarisRelationship> relationships = null;
+
+    public Map<String, PolarisRelationship> getRelationships() {
+        return relationships;
+    }
+
+    public void setRelationships(Map<String, PolarisRelationship> relationships) {
+        this.relationships = relationships;
+    }
+
+}
@@ -24,8 +24,16 @@ public class FailureInfo extends Stringable implements Serializable {
         return userFriendlyFailureReason;
     }
 
+    public void setUserFriendlyFailureReason(String userFriendlyFailureReason) {
+        this.userFriendlyFailureReason = userFriendlyFailureReason;
+    }
+
     public String getException() {
         return exception;
     }
 
+    public void setException(String exception) {
+        this.exception = exception;
+    }
+
 }
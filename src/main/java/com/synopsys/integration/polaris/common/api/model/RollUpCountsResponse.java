@@ -0,0 +1,29 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.api.model;
+
+import java.util.List;
+
+import com.google.gson.annotations.SerializedName;
+import com.synopsys.integration.polaris.common.api.PolarisPagedResourceResponse;
+import com.synopsys.integration.polaris.common.api.PolarisResource;
+
+// Grouped roll-up counts name their groups (e.g. the severity taxa) in the included resources rather than in the counts themselves
+public class RollUpCountsResponse extends PolarisPagedResourceResponse<CountV0Resource> {
+    @SerializedName("included")
+    private List<PolarisResource<TaxonAttributes>> included = null;
+
+    public List<PolarisResource<TaxonAttributes>> getIncluded() {
+        return included;
+    }
+
+    public void setIncluded(List<PolarisResource<TaxonAttributes>> included) {
+        this.included = included;
+    }
+
+}
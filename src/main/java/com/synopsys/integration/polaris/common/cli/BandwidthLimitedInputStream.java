@@ -0,0 +1,66 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.cli;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/**
+ * Limits how fast a stream can be read by sleeping whenever reads get ahead of the allowed rate since the stream was opened.
+ */
+public class BandwidthLimitedInputStream extends FilterInputStream {
+    private final long maximumBytesPerSecond;
+    private final long startNanos;
+    private long bytesRead = 0L;
+
+    public BandwidthLimitedInputStream(InputStream inputStream, long maximumBytesPerSecond) {
+        super(inputStream);
+        if (maximumBytesPerSecond <= 0L) {
+            throw new IllegalArgumentException("The bandwidth limit must be positive.");
+        }
+        this.maximumBytesPerSecond = maximumBytesPerSecond;
+        this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = super.read();
+        if (read != -1) {
+            throttle(1);
+        }
+        return read;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        // Keep single reads to roughly a tenth of a second's worth so the rate stays smooth
+        int limitedLength = (int) Math.max(1L, Math.min(length, maximumBytesPerSecond / 10L));
+        int read = super.read(buffer, offset, limitedLength);
+        if (read > 0) {
+            throttle(read);
+        }
+        return read;
+    }
+
+    private void throttle(int justRead) throws IOException {
+        bytesRead += justRead;
+        long expectedNanos = bytesRead * 1_000_000_000L / maximumBytesPerSecond;
+        long aheadByNanos = expectedNanos - (System.nanoTime() - startNanos);
+        if (aheadByNanos > 0L) {
+            try {
+                Thread.sleep(aheadByNanos / 1_000_000L, (int) (aheadByNanos % 1_000_000L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while limiting download bandwidth");
+            }
+        }
+    }
+
+}
@@ -19,17 +19,20 @@ import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.polaris.common.cli.model.CliCommonResponseModel;
 import com.synopsys.integration.polaris.common.cli.model.json.CliCommonResponseAdapter;
+import com.synopsys.integration.polaris.common.cli.model.json.CliCommonResponseStreamParser;
 import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
 
 public class PolarisCliResponseUtility {
     private final IntLogger logger;
     private final Gson gson;
     private final CliCommonResponseAdapter cliCommonResponseAdapter;
+    private final CliCommonResponseStreamParser cliCommonResponseStreamParser;
 
     public PolarisCliResponseUtility(IntLogger logger, Gson gson, CliCommonResponseAdapter cliCommonResponseAdapter) {
         this.logger = logger;
         this.gson = gson;
         this.cliCommonResponseAdapter = cliCommonResponseAdapter;
+        this.cliCommonResponseStreamParser = new CliCommonResponseStreamParser();
     }
 
     public static PolarisCliResponseUtility defaultUtility(IntLogger logger) {
@@ -61,14 +64,14 @@ public class PolarisCliResponseUtility {
     public CliCommonResponseModel getPolarisCliResponseModel(Path pathToJson) throws PolarisIntegrationException {
         try (BufferedReader reader = Files.newBufferedReader(pathToJson)) {
             logger.debug("Attempting to retrieve CliCommonResponseModel from " + pathToJson.toString());
-            return getPolarisCliResponseModelFromJsonObject(gson.fromJson(reader, JsonObject.class));
+            return cliCommonResponseStreamParser.parse(reader);
         } catch (IOException | IntegrationException e) {
             throw new PolarisIntegrationException("There was a problem parsing the Polaris CLI response json at " + pathToJson.toString(), e);
         }
     }
 
     public CliCommonResponseModel getPolarisCliResponseModelFromString(String rawPolarisCliResponse) throws IntegrationException {
-        return getPolarisCliResponseModelFromJsonObject(gson.fromJson(rawPolarisCliResponse, JsonObject.class));
+        return cliCommonResponseStreamParser.parse(rawPolarisCliResponse);
     }
 
     public CliCommonResponseModel getPolarisCliResponseModelFromJsonObject(JsonObject versionlessModel) throws IntegrationException {
@@ -8,15 +8,22 @@
 package com.synopsys.integration.polaris.common.cli;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Optional;
 
 import org.apache.commons.compress.archivers.ArchiveException;
+import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.polaris.common.timing.PhaseSpan;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
+import com.synopsys.integration.polaris.common.timing.PolarisPhase;
 import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.client.IntHttpClient;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
@@ -41,8 +48,15 @@ public class PolarisDownloadUtility {
     private final CleanupZipExpander cleanupZipExpander;
     private final HttpUrl polarisServerUrl;
     private final File installDirectory;
+    private final PhaseTimer phaseTimer;
+    private long maximumBytesPerSecond = 0L;
 
     public PolarisDownloadUtility(IntLogger logger, OperatingSystemType operatingSystemType, IntHttpClient intHttpClient, CleanupZipExpander cleanupZipExpander, HttpUrl polarisServerUrl, File downloadTargetDirectory) {
+        this(logger, operatingSystemType, intHttpClient, cleanupZipExpander, polarisServerUrl, downloadTargetDirectory, new PhaseTimer());
+    }
+
+    public PolarisDownloadUtility(IntLogger logger, OperatingSystemType operatingSystemType, IntHttpClient intHttpClient, CleanupZipExpander cleanupZipExpander, HttpUrl polarisServerUrl, File downloadTargetDirectory,
+        PhaseTimer phaseTimer) {
         if (null == polarisServerUrl) {
             throw new IllegalArgumentException("A Polaris server url must be provided.");
         }
@@ -52,6 +66,7 @@ public class PolarisDownloadUtility {
         this.intHttpClient = intHttpClient;
         this.cleanupZipExpander = cleanupZipExpander;
         this.polarisServerUrl = polarisServerUrl;
+        this.phaseTimer = phaseTimer;
         installDirectory = new File(downloadTargetDirectory, PolarisDownloadUtility.POLARIS_CLI_INSTALL_DIRECTORY);
 
         installDirectory.mkdirs();
@@ -109,7 +124,7 @@ public class PolarisDownloadUtility {
 
     public Optional<File> getOrDownloadPolarisCliBin(File versionFile, String downloadUrlFormat) {
         File binDirectory = null;
-        try {
+        try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.CLI_DOWNLOAD)) {
             binDirectory = downloadIfModified(versionFile, downloadUrlFormat);
         } catch (Exception e) {
             logger.error("The Polaris CLI could not be downloaded successfully: " + e.getMessage());
@@ -134,6 +149,115 @@ public class PolarisDownloadUtility {
                    });
     }
 
+    /**
+     * Like {@link #getOrDownloadPolarisCliHome()}, but only succeeds if the server actually has the Polaris CLI rather than falling back to the
+     * installed one, so that a source that is missing the CLI can be skipped in favor of another.
+     */
+    public Optional<String> getOrDownloadPolarisCliHomeIfAvailable() {
+        try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.CLI_DOWNLOAD)) {
+            File versionFile = getOrCreateVersionFile();
+            Optional<File> binDirectory = downloadIfAvailable(versionFile, getDownloadUrlFormat());
+            if (binDirectory.isPresent()) {
+                return Optional.of(binDirectory.get().getParentFile().getCanonicalPath());
+            }
+            logger.debug("The Polaris CLI is not available from " + polarisServerUrl.string());
+        } catch (Exception e) {
+            logger.warn("The Polaris CLI could not be downloaded from " + polarisServerUrl.string() + ": " + e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Installs the Polaris CLI from an archive in the given directory, named as it would be on the server, unless the archive is the one already
+     * installed.
+     */
+    public Optional<String> getOrInstallPolarisCliHomeFromDirectory(File archiveDirectory) {
+        for (String cliName : Arrays.asList("swip", "polaris")) {
+            File archive = new File(archiveDirectory, String.format(getArchiveNameFormat(), cliName));
+            if (!archive.isFile()) {
+                continue;
+            }
+
+            Optional<String> installedPolarisCliHome = getPolarisCliHomeIfCurrent(archive.lastModified());
+            if (installedPolarisCliHome.isPresent()) {
+                logger.debug("The Polaris CLI has not been modified since it was last installed - skipping install.");
+                return installedPolarisCliHome;
+            }
+            return installPolarisCliFromArchive(archive, archive.lastModified());
+        }
+
+        logger.debug("The Polaris CLI is not available in " + archiveDirectory.getPath());
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the home of the installed Polaris CLI without contacting the server, if the installed CLI is the one last modified at the given time.
+     */
+    public Optional<String> getPolarisCliHomeIfCurrent(long expectedLastModified) {
+        File versionFile = new File(installDirectory, PolarisDownloadUtility.VERSION_FILENAME);
+        if (!versionFile.exists() || versionFile.lastModified() != expectedLastModified) {
+            return Optional.empty();
+        }
+
+        try {
+            File binDirectory = getBinDirectory();
+            if (binDirectory.isDirectory()) {
+                return Optional.of(binDirectory.getParentFile().getCanonicalPath());
+            }
+        } catch (IOException | IntegrationException e) {
+            logger.debug("The installed Polaris CLI could not be used: " + e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Installs the Polaris CLI from an archive that was already downloaded elsewhere, recording the given time as its last modification on the server.
+     */
+    public Optional<String> installPolarisCliFromArchive(File archive, long lastModified) {
+        try (InputStream archiveStream = new FileInputStream(archive)) {
+            File versionFile = getOrCreateVersionFile();
+            File binDirectory = expandArchive(archiveStream, versionFile, lastModified);
+            logger.info("Polaris CLI installed successfully from " + archive.getName());
+            return Optional.of(binDirectory.getParentFile().getCanonicalPath());
+        } catch (Exception e) {
+            logger.error("The Polaris CLI could not be installed from " + archive.getName() + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Downloads the Polaris CLI archive itself, without expanding it, if the server has a different one than the given file. The file's modification
+     * time is set to the server's, and is returned if the server had an archive.
+     */
+    public Optional<Long> downloadArchiveIfModified(File archive) throws IOException, IntegrationException {
+        String downloadUrlFormat = getDownloadUrlFormat();
+        for (String cliName : Arrays.asList("swip", "polaris")) {
+            Request downloadRequest = new Request.Builder(new HttpUrl(String.format(downloadUrlFormat, cliName))).build();
+            try (Response downloadResponse = intHttpClient.execute(downloadRequest)) {
+                if (downloadResponse.isStatusCodeError()) {
+                    continue;
+                }
+
+                long lastModifiedOnServer = downloadResponse.getLastModified();
+                if (archive.exists() && archive.lastModified() == lastModifiedOnServer) {
+                    logger.debug("The Polaris CLI archive has not been modified since it was last downloaded - skipping download.");
+                    return Optional.of(lastModifiedOnServer);
+                }
+
+                logger.info("Downloading the Polaris CLI archive.");
+                File temporaryArchive = new File(archive.getParentFile(), archive.getName() + ".tmp");
+                try (InputStream responseStream = limitBandwidth(downloadResponse.getContent())) {
+                    Files.copy(responseStream, temporaryArchive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                Files.move(temporaryArchive.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                archive.setLastModified(lastModifiedOnServer);
+                return Optional.of(lastModifiedOnServer);
+            }
+        }
+
+        return Optional.empty();
+    }
+
     public File getOrCreateVersionFile() throws IOException {
         File versionFile = new File(installDirectory, PolarisDownloadUtility.VERSION_FILENAME);
         if (!versionFile.exists()) {
@@ -145,6 +269,17 @@ public class PolarisDownloadUtility {
         return versionFile;
     }
 
+    public PhaseTimer getPhaseTimer() {
+        return phaseTimer;
+    }
+
+    /**
+     * Limits the download of the Polaris CLI to the given rate. Zero or less means no limit.
+     */
+    public void setMaximumBytesPerSecond(long maximumBytesPerSecond) {
+        this.maximumBytesPerSecond = maximumBytesPerSecond;
+    }
+
     public String getDownloadUrlFormat() {
         if (OperatingSystemType.MAC == operatingSystemType) {
             return polarisServerUrl + PolarisDownloadUtility.MAC_DOWNLOAD_URL_FORMAT;
@@ -155,7 +290,20 @@ public class PolarisDownloadUtility {
         }
     }
 
+    private String getArchiveNameFormat() {
+        return StringUtils.substringAfterLast(getDownloadUrlFormat(), "/");
+    }
+
     private File downloadIfModified(File versionFile, String downloadUrlFormat) throws IOException, IntegrationException, ArchiveException {
+        Optional<File> downloadedBinDirectory = downloadIfAvailable(versionFile, downloadUrlFormat);
+        if (downloadedBinDirectory.isPresent()) {
+            return downloadedBinDirectory.get();
+        }
+
+        return getBinDirectory();
+    }
+
+    private Optional<File> downloadIfAvailable(File versionFile, String downloadUrlFormat) throws IOException, IntegrationException, ArchiveException {
         long lastTimeDownloaded = versionFile.lastModified();
         logger.debug(String.format("last time downloaded: %d", lastTimeDownloaded));
 
@@ -163,7 +311,7 @@ public class PolarisDownloadUtility {
         Request swipDownloadRequest = new Request.Builder(swipDownloadUrl).build();
         try (Response downloadResponse = intHttpClient.execute(swipDownloadRequest)) {
             if (!downloadResponse.isStatusCodeError()) {
-                return getBinDirectoryFromResponse(downloadResponse, versionFile, lastTimeDownloaded);
+                return Optional.of(getBinDirectoryFromResponse(downloadResponse, versionFile, lastTimeDownloaded));
             }
         }
 
@@ -171,11 +319,11 @@ public class PolarisDownloadUtility {
         Request polarisDownloadRequest = new Request.Builder(polarisDownloadUrl).build();
         try (Response downloadResponse = intHttpClient.execute(polarisDownloadRequest)) {
             if (!downloadResponse.isStatusCodeError()) {
-                return getBinDirectoryFromResponse(downloadResponse, versionFile, lastTimeDownloaded);
+                return Optional.of(getBinDirectoryFromResponse(downloadResponse, versionFile, lastTimeDownloaded));
             }
         }
 
-        return getBinDirectory();
+        return Optional.empty();
     }
 
     private File getBinDirectoryFromResponse(Response response, File versionFile, long lastTimeDownloaded) throws IOException, IntegrationException, ArchiveException {
@@ -185,20 +333,32 @@ public class PolarisDownloadUtility {
             return getBinDirectory();
         } else {
             logger.info("Downloading the Polaris CLI.");
-            try (InputStream responseStream = response.getContent()) {
-                cleanupZipExpander.expand(responseStream, installDirectory);
-            }
-            versionFile.setLastModified(lastModifiedOnServer);
-
-            File binDirectory = getBinDirectory();
-            makeBinFilesExecutable(binDirectory);
-
+            File binDirectory = expandArchive(response.getContent(), versionFile, lastModifiedOnServer);
             logger.info("Polaris CLI downloaded successfully.");
 
             return binDirectory;
         }
     }
 
+    private File expandArchive(InputStream archiveStream, File versionFile, long lastModified) throws IOException, IntegrationException, ArchiveException {
+        try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.CLI_EXTRACT); InputStream limitedStream = limitBandwidth(archiveStream)) {
+            cleanupZipExpander.expand(limitedStream, installDirectory);
+        }
+        versionFile.setLastModified(lastModified);
+
+        File binDirectory = getBinDirectory();
+        makeBinFilesExecutable(binDirectory);
+
+        return binDirectory;
+    }
+
+    private InputStream limitBandwidth(InputStream inputStream) {
+        if (maximumBytesPerSecond <= 0L) {
+            return inputStream;
+        }
+        return new BandwidthLimitedInputStream(inputStream, maximumBytesPerSecond);
+    }
+
     // since we know that we only allow a single directory in installDirectory,
     // that single directory IS the expanded archive
     private File getBinDirectory() throws IntegrationException {
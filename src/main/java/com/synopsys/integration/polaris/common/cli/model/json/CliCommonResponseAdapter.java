@@ -16,12 +16,17 @@ import com.synopsys.integration.polaris.common.cli.model.json.parser.CliScanPars
 import com.synopsys.integration.polaris.common.cli.model.json.parser.CliScanUnsupportedParser;
 import com.synopsys.integration.polaris.common.cli.model.json.parser.CliScanV1Parser;
 import com.synopsys.integration.polaris.common.cli.model.json.parser.CliScanV2Parser;
+import com.synopsys.integration.polaris.common.json.PolarisTypeAdapterFactory;
 
 public class CliCommonResponseAdapter {
     private final Gson gson;
+    private final CliScanV1Parser cliScanV1Parser;
+    private final CliScanV2Parser cliScanV2Parser;
 
     public CliCommonResponseAdapter(Gson gson) {
-        this.gson = gson;
+        this.gson = PolarisTypeAdapterFactory.withPolarisTypeAdapters(gson);
+        this.cliScanV1Parser = new CliScanV1Parser(this.gson);
+        this.cliScanV2Parser = new CliScanV2Parser(this.gson);
     }
 
     public CliCommonResponseModel fromJson(String versionString, PolarisCliResponseVersion polarisCliResponseVersion, JsonObject versionlessModel) throws IntegrationException {
@@ -29,9 +34,9 @@ public class CliCommonResponseAdapter {
 
         int majorVersion = polarisCliResponseVersion.getMajor();
         if (majorVersion == 1) {
-            cliScanParser = new CliScanV1Parser(gson);
+            cliScanParser = cliScanV1Parser;
         } else if (majorVersion == 2) {
-            cliScanParser = new CliScanV2Parser(gson);
+            cliScanParser = cliScanV2Parser;
         }
 
         return cliScanParser.fromCliScan(versionlessModel);
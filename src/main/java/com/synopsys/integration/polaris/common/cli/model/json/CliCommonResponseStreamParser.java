@@ -0,0 +1,105 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.cli.model.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.cli.PolarisCliResponseVersion;
+import com.synopsys.integration.polaris.common.cli.model.CliCommonResponseModel;
+import com.synopsys.integration.polaris.common.cli.model.json.parser.CliScanStreamBinder;
+import com.synopsys.integration.polaris.common.cli.model.json.parser.CliScanV1StreamBinder;
+import com.synopsys.integration.polaris.common.cli.model.json.parser.CliScanV2StreamBinder;
+import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
+
+/**
+ * Reads cli-scan.json in a single pass. The version is read first and the rest of the file is handed to the binder for that version, which
+ * fills the {@link CliCommonResponseModel} directly. Fields that appear before the version are the only ones held in memory.
+ */
+public class CliCommonResponseStreamParser {
+    private static final String VERSION_FIELD = "version";
+
+    private final TypeAdapter<JsonElement> jsonElementAdapter = new Gson().getAdapter(JsonElement.class);
+    private final CliScanStreamBinder cliScanV1StreamBinder = new CliScanV1StreamBinder();
+    private final CliScanStreamBinder cliScanV2StreamBinder = new CliScanV2StreamBinder();
+
+    public CliCommonResponseModel parse(Reader reader) throws IOException, IntegrationException {
+        CliCommonResponseModel cliCommonResponseModel = new CliCommonResponseModel();
+        cliCommonResponseModel.setTools(new ArrayList<>());
+
+        CliScanStreamBinder cliScanStreamBinder = null;
+        Map<String, JsonElement> fieldsBeforeVersion = new LinkedHashMap<>();
+
+        try (JsonReader jsonReader = new JsonReader(reader)) {
+            jsonReader.beginObject();
+            while (jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if (VERSION_FIELD.equals(name)) {
+                    cliScanStreamBinder = getBinder(jsonReader.nextString());
+                    for (Map.Entry<String, JsonElement> bufferedField : fieldsBeforeVersion.entrySet()) {
+                        bindBufferedField(cliScanStreamBinder, bufferedField.getKey(), bufferedField.getValue(), cliCommonResponseModel);
+                    }
+                    fieldsBeforeVersion.clear();
+                } else if (cliScanStreamBinder != null) {
+                    cliScanStreamBinder.bindField(name, jsonReader, cliCommonResponseModel);
+                } else {
+                    fieldsBeforeVersion.put(name, jsonElementAdapter.read(jsonReader));
+                }
+            }
+            jsonReader.endObject();
+        } catch (IllegalStateException | NumberFormatException | JsonParseException e) {
+            throw new PolarisIntegrationException("The cli-scan.json is not in the expected format: " + e.getMessage(), e);
+        }
+
+        if (cliScanStreamBinder == null) {
+            throw new PolarisIntegrationException("The cli-scan.json does not have a version");
+        }
+
+        return cliCommonResponseModel;
+    }
+
+    public CliCommonResponseModel parse(String rawPolarisCliResponse) throws IntegrationException {
+        try {
+            return parse(new StringReader(rawPolarisCliResponse));
+        } catch (IOException e) {
+            throw new PolarisIntegrationException("There was a problem parsing the Polaris CLI response json", e);
+        }
+    }
+
+    private CliScanStreamBinder getBinder(String versionString) throws PolarisIntegrationException {
+        PolarisCliResponseVersion polarisCliResponseVersion = PolarisCliResponseVersion.parse(versionString)
+                                                                  .orElseThrow(() -> new PolarisIntegrationException("Version " + versionString + " is not a valid version of cli-scan.json"));
+
+        int majorVersion = polarisCliResponseVersion.getMajor();
+        if (majorVersion == 1) {
+            return cliScanV1StreamBinder;
+        } else if (majorVersion == 2) {
+            return cliScanV2StreamBinder;
+        }
+
+        throw new PolarisIntegrationException("Version " + versionString + " of the cli-scan.json is not supported.");
+    }
+
+    private void bindBufferedField(CliScanStreamBinder cliScanStreamBinder, String name, JsonElement value, CliCommonResponseModel cliCommonResponseModel) throws IOException, IntegrationException {
+        try (JsonReader bufferedReader = new JsonReader(new StringReader(value.toString()))) {
+            bufferedReader.setLenient(true);
+            cliScanStreamBinder.bindField(name, bufferedReader, cliCommonResponseModel);
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.cli.model.json.parser;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.cli.model.CliCommonResponseModel;
+import com.synopsys.integration.polaris.common.cli.model.CommonIssueSummary;
+import com.synopsys.integration.polaris.common.cli.model.CommonProjectInfo;
+import com.synopsys.integration.polaris.common.cli.model.CommonScanInfo;
+import com.synopsys.integration.polaris.common.cli.model.CommonToolInfo;
+import com.synopsys.integration.rest.HttpUrl;
+
+/**
+ * Binds the top-level fields of one version of cli-scan.json straight from a {@link JsonReader} into a {@link CliCommonResponseModel},
+ * skipping any section the model does not use.
+ */
+public abstract class CliScanStreamBinder {
+    public void bindField(String name, JsonReader jsonReader, CliCommonResponseModel cliCommonResponseModel) throws IOException, IntegrationException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+        } else if ("scanInfo".equals(name)) {
+            cliCommonResponseModel.setScanInfo(readScanInfo(jsonReader));
+        } else if ("projectInfo".equals(name)) {
+            cliCommonResponseModel.setProjectInfo(readProjectInfo(jsonReader));
+        } else if ("issueSummary".equals(name)) {
+            cliCommonResponseModel.setIssueSummary(readIssueSummary(jsonReader));
+        } else {
+            bindToolField(name, jsonReader, cliCommonResponseModel);
+        }
+    }
+
+    protected abstract void bindToolField(String name, JsonReader jsonReader, CliCommonResponseModel cliCommonResponseModel) throws IOException, IntegrationException;
+
+    protected CommonScanInfo readScanInfo(JsonReader jsonReader) throws IOException, IntegrationException {
+        Map<String, String> fields = readStringFields(jsonReader);
+
+        CommonScanInfo commonScanInfo = new CommonScanInfo();
+        commonScanInfo.setCliVersion(fields.get("cliVersion"));
+        commonScanInfo.setIssueApiUrl(new HttpUrl(fields.get("issueApiUrl")));
+        commonScanInfo.setScanTime(fields.get("scanTime"));
+        return commonScanInfo;
+    }
+
+    protected CommonProjectInfo readProjectInfo(JsonReader jsonReader) throws IOException {
+        Map<String, String> fields = readStringFields(jsonReader);
+
+        CommonProjectInfo commonProjectInfo = new CommonProjectInfo();
+        commonProjectInfo.setBranchId(fields.get("branchId"));
+        commonProjectInfo.setProjectId(fields.get("projectId"));
+        commonProjectInfo.setRevisionId(fields.get("revisionId"));
+        return commonProjectInfo;
+    }
+
+    protected CommonIssueSummary readIssueSummary(JsonReader jsonReader) throws IOException, IntegrationException {
+        CommonIssueSummary commonIssueSummary = new CommonIssueSummary();
+        String summaryUrl = null;
+        // IssueSummaryV1.total is an int, so the tree parsers count a missing or null total as 0 and so does this
+        int total = 0;
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+            } else if ("issuesBySeverity".equals(name)) {
+                commonIssueSummary.setIssuesBySeverity(readIssuesBySeverity(jsonReader));
+            } else if ("summaryUrl".equals(name)) {
+                summaryUrl = jsonReader.nextString();
+            } else if ("total".equals(name)) {
+                total = jsonReader.nextInt();
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        commonIssueSummary.setSummaryUrl(new HttpUrl(summaryUrl));
+        commonIssueSummary.setTotalIssueCount(total);
+        return commonIssueSummary;
+    }
+
+    protected CommonToolInfo createCommonToolInfo(Map<String, String> toolFields) throws IntegrationException {
+        CommonToolInfo commonToolInfo = new CommonToolInfo();
+        commonToolInfo.setJobId(toolFields.get("jobId"));
+        commonToolInfo.setJobStatus(toolFields.get("jobStatus"));
+        commonToolInfo.setJobStatusUrl(new HttpUrl(toolFields.get("jobStatusUrl")));
+        commonToolInfo.setToolVersion(toolFields.get("toolVersion"));
+        return commonToolInfo;
+    }
+
+    // Every section the model uses is a flat object of strings, so anything nested is skipped without being read
+    protected Map<String, String> readStringFields(JsonReader jsonReader) throws IOException {
+        Map<String, String> fields = new HashMap<>();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            JsonToken token = jsonReader.peek();
+            if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+                fields.put(name, jsonReader.nextString());
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        return fields;
+    }
+
+    private Map<String, Integer> readIssuesBySeverity(JsonReader jsonReader) throws IOException {
+        Map<String, Integer> issuesBySeverity = new LinkedHashMap<>();
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String severity = jsonReader.nextName();
+            if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+                issuesBySeverity.put(severity, null);
+            } else {
+                issuesBySeverity.put(severity, jsonReader.nextInt());
+            }
+        }
+        jsonReader.endObject();
+
+        return issuesBySeverity;
+    }
+
+}
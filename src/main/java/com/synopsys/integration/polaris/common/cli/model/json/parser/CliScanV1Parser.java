@@ -21,14 +21,20 @@ import com.synopsys.integration.polaris.common.cli.model.json.v1.CliScanV1;
 import com.synopsys.integration.polaris.common.cli.model.json.v1.ToolInfoV1;
 
 public class CliScanV1Parser extends CliScanParser<CliScanV1> {
+    // V1 has no tool names of its own. These match the toolName the V2 cli-scan.json reports, and are only used in logs and to label
+    // counts by tool, so nothing depends on their case
+    static final String SCA_TOOL_NAME = "sca";
+    static final String COVERITY_TOOL_NAME = "Coverity";
+    private static final TypeToken<CliScanV1> TYPE_TOKEN = new TypeToken<CliScanV1>() {
+    };
+
     public CliScanV1Parser(Gson gson) {
         super(gson);
     }
 
     @Override
     public TypeToken<CliScanV1> getTypeToken() {
-        return new TypeToken<CliScanV1>() {
-        };
+        return TYPE_TOKEN;
     }
 
     @Override
@@ -37,9 +43,8 @@ public class CliScanV1Parser extends CliScanParser<CliScanV1> {
         CliCommonResponseModel cliCommonResponseModel = createResponseModel(cliScanV1.issueSummary, cliScanV1.projectInfo, cliScanV1.scanInfo);
 
         List<CommonToolInfo> tools = new ArrayList<>();
-        //TODO verify case of tool names
-        fromToolInfoV1(cliScanV1.blackDuckScaToolInfo, "sca", tools::add);
-        fromToolInfoV1(cliScanV1.coverityToolInfo, "Coverity", tools::add);
+        fromToolInfoV1(cliScanV1.blackDuckScaToolInfo, SCA_TOOL_NAME, tools::add);
+        fromToolInfoV1(cliScanV1.coverityToolInfo, COVERITY_TOOL_NAME, tools::add);
 
         cliCommonResponseModel.setTools(tools);
 
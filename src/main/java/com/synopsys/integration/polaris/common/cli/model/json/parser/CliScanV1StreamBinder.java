@@ -0,0 +1,36 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.cli.model.json.parser;
+
+import java.io.IOException;
+
+import com.google.gson.stream.JsonReader;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.cli.model.CliCommonResponseModel;
+import com.synopsys.integration.polaris.common.cli.model.CommonToolInfo;
+
+public class CliScanV1StreamBinder extends CliScanStreamBinder {
+    @Override
+    protected void bindToolField(String name, JsonReader jsonReader, CliCommonResponseModel cliCommonResponseModel) throws IOException, IntegrationException {
+        // Whichever order the file has them in, sca comes before Coverity, as it does in CliScanV1Parser
+        if ("sca".equals(name)) {
+            cliCommonResponseModel.getTools().add(0, createTool(jsonReader, CliScanV1Parser.SCA_TOOL_NAME));
+        } else if ("coverity".equals(name)) {
+            cliCommonResponseModel.getTools().add(createTool(jsonReader, CliScanV1Parser.COVERITY_TOOL_NAME));
+        } else {
+            jsonReader.skipValue();
+        }
+    }
+
+    private CommonToolInfo createTool(JsonReader jsonReader, String toolName) throws IOException, IntegrationException {
+        CommonToolInfo commonToolInfo = createCommonToolInfo(readStringFields(jsonReader));
+        commonToolInfo.setToolName(toolName);
+        return commonToolInfo;
+    }
+
+}
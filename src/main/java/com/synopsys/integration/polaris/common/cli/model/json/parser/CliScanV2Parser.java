@@ -25,14 +25,16 @@ import com.synopsys.integration.polaris.common.cli.model.json.v2.ToolInfoV2;
 import com.synopsys.integration.rest.HttpUrl;
 
 public class CliScanV2Parser extends CliScanParser<CliScanV2> {
+    private static final TypeToken<CliScanV2> TYPE_TOKEN = new TypeToken<CliScanV2>() {
+    };
+
     public CliScanV2Parser(Gson gson) {
         super(gson);
     }
 
     @Override
     public TypeToken<CliScanV2> getTypeToken() {
-        return new TypeToken<CliScanV2>() {
-        };
+        return TYPE_TOKEN;
     }
 
     public CliCommonResponseModel fromCliScan(JsonObject versionlessModel) throws IntegrationException {
@@ -0,0 +1,58 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.cli.model.json.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.cli.model.CliCommonResponseModel;
+import com.synopsys.integration.polaris.common.cli.model.CommonToolInfo;
+import com.synopsys.integration.rest.HttpUrl;
+
+public class CliScanV2StreamBinder extends CliScanStreamBinder {
+    @Override
+    protected void bindToolField(String name, JsonReader jsonReader, CliCommonResponseModel cliCommonResponseModel) throws IOException, IntegrationException {
+        if (!"tools".equals(name)) {
+            jsonReader.skipValue();
+            return;
+        }
+
+        List<CommonToolInfo> tools = new ArrayList<>();
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+                continue;
+            }
+
+            // The whole tool is read before any url is checked, so a tool that is left out never leaves the reader mid-object
+            Map<String, String> toolFields = readStringFields(jsonReader);
+            try {
+                CommonToolInfo commonToolInfo = createCommonToolInfo(toolFields);
+                commonToolInfo.setToolName(toolFields.get("toolName"));
+                if (StringUtils.isNotBlank(toolFields.get("issueApiUrl"))) {
+                    commonToolInfo.setIssueApiUrl(new HttpUrl(toolFields.get("issueApiUrl")));
+                }
+                tools.add(commonToolInfo);
+            } catch (IntegrationException ignored) {
+
+            }
+        }
+        jsonReader.endArray();
+
+        cliCommonResponseModel.setTools(tools);
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Reads and writes one model class through an explicit table of its fields, so that Gson does not have to discover them
+ * reflectively. Unknown fields are skipped and nulls are left unset, the same as Gson's reflective adapter does.
+ */
+public class PolarisObjectTypeAdapter<T> extends TypeAdapter<T> {
+    private final Supplier<T> constructor;
+    private final Map<String, Field<T, ?>> fieldsByName;
+    private final List<Field<T, ?>> fields;
+
+    private PolarisObjectTypeAdapter(Supplier<T> constructor, List<Field<T, ?>> fields) {
+        this.constructor = constructor;
+        this.fields = fields;
+        this.fieldsByName = new HashMap<>();
+        for (Field<T, ?> field : fields) {
+            fieldsByName.put(field.name, field);
+        }
+    }
+
+    public static <T> Builder<T> newBuilder(Supplier<T> constructor) {
+        return new Builder<>(constructor);
+    }
+
+    @Override
+    public T read(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+
+        T object = constructor.get();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            Field<T, ?> field = fieldsByName.get(jsonReader.nextName());
+            if (field == null) {
+                jsonReader.skipValue();
+            } else if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+            } else {
+                field.read(jsonReader, object);
+            }
+        }
+        jsonReader.endObject();
+        return object;
+    }
+
+    @Override
+    public void write(JsonWriter jsonWriter, T object) throws IOException {
+        if (object == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+
+        jsonWriter.beginObject();
+        for (Field<T, ?> field : fields) {
+            field.write(jsonWriter, object);
+        }
+        jsonWriter.endObject();
+    }
+
+    public static class Builder<T> {
+        private final Supplier<T> constructor;
+        private final List<Field<T, ?>> fields = new ArrayList<>();
+
+        private Builder(Supplier<T> constructor) {
+            this.constructor = constructor;
+        }
+
+        public <V> Builder<T> field(String name, TypeAdapter<V> typeAdapter, Function<T, V> getter, BiConsumer<T, V> setter) {
+            fields.add(new Field<>(name, typeAdapter, getter, setter));
+            return this;
+        }
+
+        public PolarisObjectTypeAdapter<T> build() {
+            return new PolarisObjectTypeAdapter<>(constructor, new ArrayList<>(fields));
+        }
+    }
+
+    private static class Field<T, V> {
+        private final String name;
+        private final TypeAdapter<V> typeAdapter;
+        private final Function<T, V> getter;
+        private final BiConsumer<T, V> setter;
+
+        private Field(String name, TypeAdapter<V> typeAdapter, Function<T, V> getter, BiConsumer<T, V> setter) {
+            this.name = name;
+            this.typeAdapter = typeAdapter;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private void read(JsonReader jsonReader, T object) throws IOException {
+            V value = typeAdapter.read(jsonReader);
+            if (value != null) {
+                setter.accept(object, value);
+            }
+        }
+
+        private void write(JsonWriter jsonWriter, T object) throws IOException {
+            V value = getter.apply(object);
+            if (value != null) {
+                jsonWriter.name(name);
+                typeAdapter.write(jsonWriter, value);
+            }
+        }
+    }
+
+}
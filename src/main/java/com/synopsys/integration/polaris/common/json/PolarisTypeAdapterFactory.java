@@ -0,0 +1,288 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.json;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.synopsys.integration.polaris.common.api.PolarisAttributes;
+import com.synopsys.integration.polaris.common.api.PolarisPagedResourceResponse;
+import com.synopsys.integration.polaris.common.api.PolarisPaginationMeta;
+import com.synopsys.integration.polaris.common.api.PolarisRelationship;
+import com.synopsys.integration.polaris.common.api.PolarisResource;
+import com.synopsys.integration.polaris.common.api.PolarisResponse;
+import com.synopsys.integration.polaris.common.api.PolarisSingleResourceResponse;
+import com.synopsys.integration.polaris.common.api.model.ContextAttributes;
+import com.synopsys.integration.polaris.common.api.model.CountV0Attributes;
+import com.synopsys.integration.polaris.common.api.model.CountV0Resource;
+import com.synopsys.integration.polaris.common.api.model.FailureInfo;
+import com.synopsys.integration.polaris.common.api.model.JobAttributes;
+import com.synopsys.integration.polaris.common.api.model.JobStatus;
+import com.synopsys.integration.polaris.common.api.model.RollUpCountsResponse;
+import com.synopsys.integration.polaris.common.api.model.TaxonAttributes;
+import com.synopsys.integration.polaris.common.cli.model.json.v1.CliScanV1;
+import com.synopsys.integration.polaris.common.cli.model.json.v1.IssueSummaryV1;
+import com.synopsys.integration.polaris.common.cli.model.json.v1.ProjectInfoV1;
+import com.synopsys.integration.polaris.common.cli.model.json.v1.ScanInfoV1;
+import com.synopsys.integration.polaris.common.cli.model.json.v1.ToolInfoV1;
+import com.synopsys.integration.polaris.common.cli.model.json.v2.CliScanV2;
+import com.synopsys.integration.polaris.common.cli.model.json.v2.ToolInfoV2;
+
+/**
+ * Supplies explicit, reflection-free adapters for the Polaris api and cli-scan.json models that are decoded on every call.
+ * Anything not listed here (JobStatus, whose generated model has no setters, among others) falls through to Gson's own adapters.
+ */
+public class PolarisTypeAdapterFactory implements TypeAdapterFactory {
+    private static final String JSON_FIELD = "json";
+    private static final Type ISSUES_BY_SEVERITY_TYPE = new TypeToken<Map<String, Integer>>() {
+    }.getType();
+    private static final Type RELATIONSHIPS_TYPE = new TypeToken<Map<String, PolarisRelationship>>() {
+    }.getType();
+
+    public static Gson withPolarisTypeAdapters(Gson gson) {
+        return gson.newBuilder()
+                   .registerTypeAdapterFactory(new PolarisTypeAdapterFactory())
+                   .create();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+        Class<? super T> rawType = typeToken.getRawType();
+        TypeAdapter<?> typeAdapter = null;
+
+        if (JobAttributes.class == rawType) {
+            typeAdapter = createJobAttributesAdapter(gson);
+        } else if (FailureInfo.class == rawType) {
+            typeAdapter = createFailureInfoAdapter(gson);
+        } else if (CountV0Attributes.class == rawType) {
+            typeAdapter = createCountV0AttributesAdapter(gson);
+        } else if (ContextAttributes.class == rawType) {
+            typeAdapter = createContextAttributesAdapter(gson);
+        } else if (TaxonAttributes.class == rawType) {
+            typeAdapter = createTaxonAttributesAdapter(gson);
+        } else if (PolarisPaginationMeta.class == rawType) {
+            typeAdapter = createPaginationMetaAdapter(gson);
+        } else if (PolarisResource.class == rawType) {
+            typeAdapter = getTypeArgument(typeToken.getType()).map(attributesType -> createResourceAdapter(gson, attributesType)).orElse(null);
+        } else if (PolarisSingleResourceResponse.class == rawType) {
+            typeAdapter = getTypeArgument(typeToken.getType()).map(resourceType -> createSingleResourceResponseAdapter(gson, resourceType)).orElse(null);
+        } else if (PolarisPagedResourceResponse.class == rawType) {
+            typeAdapter = getTypeArgument(typeToken.getType()).map(resourceType -> createPagedResourceResponseAdapter(gson, resourceType)).orElse(null);
+        } else if (CountV0Resource.class == rawType) {
+            typeAdapter = createCountV0ResourceAdapter(gson);
+        } else if (RollUpCountsResponse.class == rawType) {
+            typeAdapter = createRollUpCountsResponseAdapter(gson);
+        } else if (CliScanV1.class == rawType) {
+            typeAdapter = createCliScanV1Adapter(gson);
+        } else if (CliScanV2.class == rawType) {
+            typeAdapter = createCliScanV2Adapter(gson);
+        } else if (ScanInfoV1.class == rawType) {
+            typeAdapter = createScanInfoV1Adapter(gson);
+        } else if (ProjectInfoV1.class == rawType) {
+            typeAdapter = createProjectInfoV1Adapter(gson);
+        } else if (IssueSummaryV1.class == rawType) {
+            typeAdapter = createIssueSummaryV1Adapter(gson);
+        } else if (ToolInfoV1.class == rawType) {
+            typeAdapter = createToolInfoV1Adapter(gson);
+        } else if (ToolInfoV2.class == rawType) {
+            typeAdapter = createToolInfoV2Adapter(gson);
+        }
+
+        return (TypeAdapter<T>) typeAdapter;
+    }
+
+    private TypeAdapter<JobAttributes> createJobAttributesAdapter(Gson gson) {
+        return PolarisObjectTypeAdapter.newBuilder(JobAttributes::new)
+                   .field("failureInfo", gson.getAdapter(FailureInfo.class), JobAttributes::getFailureInfo, JobAttributes::setFailureInfo)
+                   .field("status", gson.getAdapter(JobStatus.class), JobAttributes::getStatus, JobAttributes::setStatus)
+                   .field(JSON_FIELD, gson.getAdapter(String.class), PolarisResponse::getJson, PolarisResponse::setJson)
+                   .build();
+    }
+
+    private TypeAdapter<FailureInfo> createFailureInfoAdapter(Gson gson) {
+        return PolarisObjectTypeAdapter.newBuilder(FailureInfo::new)
+                   .field("userFriendlyFailureReason", gson.getAdapter(String.class), FailureInfo::getUserFriendlyFailureReason, FailureInfo::setUserFriendlyFailureReason)
+                   .field("exception", gson.getAdapter(String.class), FailureInfo::getException, FailureInfo::setException)
+                   .build();
+    }
+
+    private TypeAdapter<CountV0Attributes> createCountV0AttributesAdapter(Gson gson) {
+        return PolarisObjectTypeAdapter.newBuilder(CountV0Attributes::new)
+                   .field("value", gson.getAdapter(Integer.class), CountV0Attributes::getValue, CountV0Attributes::setValue)
+                   .field(JSON_FIELD, gson.getAdapter(String.class), PolarisResponse::getJson, PolarisResponse::setJson)
+                   .build();
+    }
+
+    private TypeAdapter<ContextAttributes> createContextAttributesAdapter(Gson gson) {
+        return PolarisObjectTypeAdapter.newBuilder(ContextAttributes::new)
+                   .field("current", gson.getAdapter(Boolean.class), ContextAttributes::getCurrent, ContextAttributes::setCurrent)
+                   .field("organizationname", gson.getAdapter(String.class), ContextAttributes::getOrganizationname, ContextAttributes::setOrganizationname)
+                   .field(JSON_FIELD, gson.getAdapter(String.class), PolarisResponse::getJson, PolarisResponse::setJson)
+                   .build();
+    }
+
+    private TypeAdapter<TaxonAttributes> createTaxonAttributesAdapter(Gson gson) {
+        return PolarisObjectTypeAdapter.newBuilder(TaxonAttributes::new)
+                   .field("name", gson.getAdapter(String.class), TaxonAttributes::getName, TaxonAttributes::setName)
+                   .field(JSON_FIELD, gson.getAdapter(String.class), PolarisResponse::getJson, PolarisResponse::setJson)
+                   .build();
+    }
+
+    private TypeAdapter<PolarisPaginationMeta> createPaginationMetaAdapter(Gson gson) {
+        return PolarisObjectTypeAdapter.newBuilder(PolarisPaginationMeta::new)
+                   .field("offset", gson.getAdapter(BigDecimal.class), PolarisPaginationMeta::getOffset, PolarisPaginationMeta::setOffset)
+                   .field("limit", gson.getAdapter(BigDecimal.class), PolarisPaginationMeta::getLimit, PolarisPaginationMeta::setLimit)
+                   .field("total", gson.getAdapter(BigDecimal.class), PolarisPaginationMeta::getTotal, PolarisPaginationMeta::setTotal)
+                   .field(JSON_FIELD, gson.getAdapter(String.class), PolarisResponse::getJson, PolarisResponse::setJson)
+                   .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeAdapter<PolarisResource<PolarisAttributes>> createResourceAdapter(Gson gson, Type attributesType) {
+        TypeAdapter<PolarisAttributes> attributesAdapter = (TypeAdapter<PolarisAttributes>) gson.getAdapter(TypeToken.get(attributesType));
+        return PolarisObjectTypeAdapter.<PolarisResource<PolarisAttributes>>newBuilder(PolarisResource::new)
+                   .field("type", gson.getAdapter(String.class), PolarisResource::getType, PolarisResource::setType)
+                   .field("id", gson.getAdapter(String.class), PolarisResource::getId, PolarisResource::setId)
+                   .field("attributes", attributesAdapter, PolarisResource::getAttributes, PolarisResource::setAttributes)
+                   .field(JSON_FIELD, gson.getAdapter(String.class), PolarisResponse::getJson, PolarisResponse::setJson)
+                   .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeAdapter<PolarisSingleResourceResponse<PolarisResource>> createSingleResourceResponseAdapter(Gson gson, Type resourceType) {
+        TypeAdapter<PolarisResource> resourceAdapter = (TypeAdapter<PolarisResource>) gson.getAdapter(TypeToken.get(resourceType));
+        return PolarisObjectTypeAdapter.<PolarisSingleResourceResponse<PolarisResource>>newBuilder(PolarisSingleResourceResponse::new)
+                   .field("data", resourceAdapter, PolarisSingleResourceResponse::getData, PolarisSingleResourceResponse::setData)
+                   .field(JSON_FIELD, gson.getAdapter(String.class), PolarisResponse::getJson, PolarisResponse::setJson)
+                   .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeAdapter<PolarisPagedResourceResponse<PolarisResource>> createPagedResourceResponseAdapter(Gson gson, Type resourceType) {
+        TypeAdapter<List<PolarisResource>> resourcesAdapter = (TypeAdapter<List<PolarisResource>>) gson.getAdapter(TypeToken.getParameterized(List.class, resourceType));
+        return PolarisObjectTypeAdapter.<PolarisPagedResourceResponse<PolarisResource>>newBuilder(PolarisPagedResourceResponse::new)
+                   .field("data", resourcesAdapter, PolarisPagedResourceResponse::getData, PolarisPagedResourceResponse::setData)
+                   .field("meta", gson.getAdapter(PolarisPaginationMeta.class), PolarisPagedResourceResponse::getMeta, PolarisPagedResourceResponse::setMeta)
+                   .field(JSON_FIELD, gson.getAdapter(String.class), PolarisResponse::getJson, PolarisResponse::setJson)
+                   .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeAdapter<CountV0Resource> createCountV0ResourceAdapter(Gson gson) {
+        TypeAdapter<Map<String, PolarisRelationship>> relationshipsAdapter = (TypeAdapter<Map<String, PolarisRelationship>>) gson.getAdapter(TypeToken.get(RELATIONSHIPS_TYPE));
+        return PolarisObjectTypeAdapter.newBuilder(CountV0Resource::new)
+                   .field("type", gson.getAdapter(String.class), PolarisResource::getType, PolarisResource::setType)
+                   .field("id", gson.getAdapter(String.class), PolarisResource::getId, PolarisResource::setId)
+                   .field("attributes", gson.getAdapter(CountV0Attributes.class), PolarisResource::getAttributes, PolarisResource::setAttributes)
+                   .field("relationships", relationshipsAdapter, CountV0Resource::getRelationships, CountV0Resource::setRelationships)
+                   .field(JSON_FIELD, gson.getAdapter(String.class), PolarisResponse::getJson, PolarisResponse::setJson)
+                   .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeAdapter<RollUpCountsResponse> createRollUpCountsResponseAdapter(Gson gson) {
+        TypeAdapter<List<CountV0Resource>> countsAdapter = (TypeAdapter<List<CountV0Resource>>) gson.getAdapter(TypeToken.getParameterized(List.class, CountV0Resource.class));
+        TypeAdapter<List<PolarisResource<TaxonAttributes>>> includedAdapter = (TypeAdapter<List<PolarisResource<TaxonAttributes>>>) gson.getAdapter(
+            TypeToken.getParameterized(List.class, PolarisTypes.getResourceType(TaxonAttributes.class)));
+        return PolarisObjectTypeAdapter.newBuilder(RollUpCountsResponse::new)
+                   .field("data", countsAdapter, RollUpCountsResponse::getData, RollUpCountsResponse::setData)
+                   .field("meta", gson.getAdapter(PolarisPaginationMeta.class), RollUpCountsResponse::getMeta, RollUpCountsResponse::setMeta)
+                   .field("included", includedAdapter, RollUpCountsResponse::getIncluded, RollUpCountsResponse::setIncluded)
+                   .field(JSON_FIELD, gson.getAdapter(String.class), PolarisResponse::getJson, PolarisResponse::setJson)
+                   .build();
+    }
+
+    private TypeAdapter<CliScanV1> createCliScanV1Adapter(Gson gson) {
+        return PolarisObjectTypeAdapter.newBuilder(CliScanV1::new)
+                   .field("version", gson.getAdapter(String.class), cliScan -> cliScan.version, (cliScan, value) -> cliScan.version = value)
+                   .field("scanInfo", gson.getAdapter(ScanInfoV1.class), cliScan -> cliScan.scanInfo, (cliScan, value) -> cliScan.scanInfo = value)
+                   .field("projectInfo", gson.getAdapter(ProjectInfoV1.class), cliScan -> cliScan.projectInfo, (cliScan, value) -> cliScan.projectInfo = value)
+                   .field("issueSummary", gson.getAdapter(IssueSummaryV1.class), cliScan -> cliScan.issueSummary, (cliScan, value) -> cliScan.issueSummary = value)
+                   .field("coverity", gson.getAdapter(ToolInfoV1.class), cliScan -> cliScan.coverityToolInfo, (cliScan, value) -> cliScan.coverityToolInfo = value)
+                   .field("sca", gson.getAdapter(ToolInfoV1.class), cliScan -> cliScan.blackDuckScaToolInfo, (cliScan, value) -> cliScan.blackDuckScaToolInfo = value)
+                   .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeAdapter<CliScanV2> createCliScanV2Adapter(Gson gson) {
+        TypeAdapter<List<ToolInfoV2>> toolsAdapter = (TypeAdapter<List<ToolInfoV2>>) gson.getAdapter(TypeToken.getParameterized(List.class, ToolInfoV2.class));
+        return PolarisObjectTypeAdapter.newBuilder(CliScanV2::new)
+                   .field("version", gson.getAdapter(String.class), cliScan -> cliScan.version, (cliScan, value) -> cliScan.version = value)
+                   .field("scanInfo", gson.getAdapter(ScanInfoV1.class), cliScan -> cliScan.scanInfo, (cliScan, value) -> cliScan.scanInfo = value)
+                   .field("projectInfo", gson.getAdapter(ProjectInfoV1.class), cliScan -> cliScan.projectInfo, (cliScan, value) -> cliScan.projectInfo = value)
+                   .field("issueSummary", gson.getAdapter(IssueSummaryV1.class), cliScan -> cliScan.issueSummary, (cliScan, value) -> cliScan.issueSummary = value)
+                   .field("tools", toolsAdapter, cliScan -> cliScan.tools, (cliScan, value) -> cliScan.tools = value)
+                   .build();
+    }
+
+    private TypeAdapter<ScanInfoV1> createScanInfoV1Adapter(Gson gson) {
+        return PolarisObjectTypeAdapter.newBuilder(ScanInfoV1::new)
+                   .field("cliVersion", gson.getAdapter(String.class), scanInfo -> scanInfo.cliVersion, (scanInfo, value) -> scanInfo.cliVersion = value)
+                   .field("scanTime", gson.getAdapter(String.class), scanInfo -> scanInfo.scanTime, (scanInfo, value) -> scanInfo.scanTime = value)
+                   .field("issueApiUrl", gson.getAdapter(String.class), scanInfo -> scanInfo.issueApiUrl, (scanInfo, value) -> scanInfo.issueApiUrl = value)
+                   .build();
+    }
+
+    private TypeAdapter<ProjectInfoV1> createProjectInfoV1Adapter(Gson gson) {
+        return PolarisObjectTypeAdapter.newBuilder(ProjectInfoV1::new)
+                   .field("projectId", gson.getAdapter(String.class), projectInfo -> projectInfo.projectId, (projectInfo, value) -> projectInfo.projectId = value)
+                   .field("branchId", gson.getAdapter(String.class), projectInfo -> projectInfo.branchId, (projectInfo, value) -> projectInfo.branchId = value)
+                   .field("revisionId", gson.getAdapter(String.class), projectInfo -> projectInfo.revisionId, (projectInfo, value) -> projectInfo.revisionId = value)
+                   .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypeAdapter<IssueSummaryV1> createIssueSummaryV1Adapter(Gson gson) {
+        TypeAdapter<Map<String, Integer>> issuesBySeverityAdapter = (TypeAdapter<Map<String, Integer>>) gson.getAdapter(TypeToken.get(ISSUES_BY_SEVERITY_TYPE));
+        return PolarisObjectTypeAdapter.newBuilder(IssueSummaryV1::new)
+                   .field("issuesBySeverity", issuesBySeverityAdapter, issueSummary -> issueSummary.issuesBySeverity, (issueSummary, value) -> issueSummary.issuesBySeverity = value)
+                   .field("summaryUrl", gson.getAdapter(String.class), issueSummary -> issueSummary.summaryUrl, (issueSummary, value) -> issueSummary.summaryUrl = value)
+                   .field("total", gson.getAdapter(Integer.class), issueSummary -> issueSummary.total, (issueSummary, value) -> issueSummary.total = value)
+                   .build();
+    }
+
+    private TypeAdapter<ToolInfoV1> createToolInfoV1Adapter(Gson gson) {
+        return addToolInfoV1Fields(gson, PolarisObjectTypeAdapter.newBuilder(ToolInfoV1::new)).build();
+    }
+
+    private TypeAdapter<ToolInfoV2> createToolInfoV2Adapter(Gson gson) {
+        return addToolInfoV1Fields(gson, PolarisObjectTypeAdapter.newBuilder(ToolInfoV2::new))
+                   .field("toolName", gson.getAdapter(String.class), toolInfo -> toolInfo.toolName, (toolInfo, value) -> toolInfo.toolName = value)
+                   .field("issueApiUrl", gson.getAdapter(String.class), toolInfo -> toolInfo.issueApiUrl, (toolInfo, value) -> toolInfo.issueApiUrl = value)
+                   .build();
+    }
+
+    private <T extends ToolInfoV1> PolarisObjectTypeAdapter.Builder<T> addToolInfoV1Fields(Gson gson, PolarisObjectTypeAdapter.Builder<T> builder) {
+        return builder
+                   .field("toolVersion", gson.getAdapter(String.class), toolInfo -> toolInfo.toolVersion, (toolInfo, value) -> toolInfo.toolVersion = value)
+                   .field("jobId", gson.getAdapter(String.class), toolInfo -> toolInfo.jobId, (toolInfo, value) -> toolInfo.jobId = value)
+                   .field("jobStatusUrl", gson.getAdapter(String.class), toolInfo -> toolInfo.jobStatusUrl, (toolInfo, value) -> toolInfo.jobStatusUrl = value)
+                   .field("jobStatus", gson.getAdapter(String.class), toolInfo -> toolInfo.jobStatus, (toolInfo, value) -> toolInfo.jobStatus = value);
+    }
+
+    // Raw or wildcard uses of the generic wrappers are left to Gson, which handles them the way it always has
+    private Optional<Type> getTypeArgument(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type typeArgument = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (typeArgument instanceof Class || typeArgument instanceof ParameterizedType) {
+                return Optional.of(typeArgument);
+            }
+        }
+        return Optional.empty();
+    }
+
+}
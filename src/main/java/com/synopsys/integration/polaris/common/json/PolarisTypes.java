@@ -0,0 +1,41 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.json;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.gson.reflect.TypeToken;
+import com.synopsys.integration.polaris.common.api.PolarisAttributes;
+import com.synopsys.integration.polaris.common.api.PolarisPagedResourceResponse;
+import com.synopsys.integration.polaris.common.api.PolarisResource;
+import com.synopsys.integration.polaris.common.api.PolarisSingleResourceResponse;
+
+// The parameterized types for a given attributes class never change, so they are built once instead of on every request
+public final class PolarisTypes {
+    private static final Map<Class<?>, Type> RESOURCE_TYPES = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Type> SINGLE_RESOURCE_RESPONSE_TYPES = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Type> PAGED_RESOURCE_RESPONSE_TYPES = new ConcurrentHashMap<>();
+
+    private PolarisTypes() {
+    }
+
+    public static Type getResourceType(Class<? extends PolarisAttributes> attributeType) {
+        return RESOURCE_TYPES.computeIfAbsent(attributeType, ignored -> TypeToken.getParameterized(PolarisResource.class, attributeType).getType());
+    }
+
+    public static Type getSingleResourceResponseType(Class<? extends PolarisAttributes> attributeType) {
+        return SINGLE_RESOURCE_RESPONSE_TYPES.computeIfAbsent(attributeType, ignored -> TypeToken.getParameterized(PolarisSingleResourceResponse.class, getResourceType(attributeType)).getType());
+    }
+
+    public static Type getPagedResourceResponseType(Class<? extends PolarisAttributes> attributeType) {
+        return PAGED_RESOURCE_RESPONSE_TYPES.computeIfAbsent(attributeType, ignored -> TypeToken.getParameterized(PolarisPagedResourceResponse.class, getResourceType(attributeType)).getType());
+    }
+
+}
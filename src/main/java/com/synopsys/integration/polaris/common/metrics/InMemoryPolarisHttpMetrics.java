@@ -0,0 +1,155 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class InMemoryPolarisHttpMetrics implements PolarisHttpMetricsSink {
+    private static final long[] LATENCY_BUCKETS_IN_MILLIS = { 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000 };
+    private static final long[] SIZE_BUCKETS_IN_BYTES = { 1_024, 4_096, 16_384, 65_536, 262_144, 1_048_576, 4_194_304 };
+
+    private final Map<String, EndpointMetrics> metricsByEndpoint = new ConcurrentHashMap<>();
+    private final LongAdder authentications = new LongAdder();
+    private final LongAdder reauthentications = new LongAdder();
+
+    @Override
+    public void recordRequest(String endpointTemplate, int statusCode, long latencyInMillis) {
+        EndpointMetrics endpointMetrics = getOrCreate(endpointTemplate);
+        endpointMetrics.requests.increment();
+        endpointMetrics.statusCodes.computeIfAbsent(statusCode, ignored -> new LongAdder()).increment();
+        endpointMetrics.latency.update(latencyInMillis);
+    }
+
+    @Override
+    public void recordResponseBytes(String endpointTemplate, long responseBytes) {
+        getOrCreate(endpointTemplate).responseBytes.update(responseBytes);
+    }
+
+    @Override
+    public void recordAuthentication(boolean reauthentication) {
+        authentications.increment();
+        if (reauthentication) {
+            reauthentications.increment();
+        }
+    }
+
+    @Override
+    public void recordRetry(String endpointTemplate, int statusCode) {
+        getOrCreate(endpointTemplate).retries.increment();
+    }
+
+    public SortedMap<String, EndpointMetrics> getMetricsByEndpoint() {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(metricsByEndpoint));
+    }
+
+    public long getAuthenticationCount() {
+        return authentications.sum();
+    }
+
+    public long getReauthenticationCount() {
+        return reauthentications.sum();
+    }
+
+    private EndpointMetrics getOrCreate(String endpointTemplate) {
+        return metricsByEndpoint.computeIfAbsent(endpointTemplate, ignored -> new EndpointMetrics());
+    }
+
+    public static class EndpointMetrics {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        private final Histogram latency = new Histogram(LATENCY_BUCKETS_IN_MILLIS);
+        private final Histogram responseBytes = new Histogram(SIZE_BUCKETS_IN_BYTES);
+
+        public long getRequestCount() {
+            return requests.sum();
+        }
+
+        public long getRetryCount() {
+            return retries.sum();
+        }
+
+        public SortedMap<Integer, Long> getStatusCodeCounts() {
+            SortedMap<Integer, Long> counts = new TreeMap<>();
+            statusCodes.forEach((statusCode, count) -> counts.put(statusCode, count.sum()));
+            return counts;
+        }
+
+        public Histogram getLatencyInMillis() {
+            return latency;
+        }
+
+        public Histogram getResponseBytes() {
+            return responseBytes;
+        }
+    }
+
+    /**
+     * A fixed-bucket histogram; percentiles are reported as the upper bound of the bucket they fall in, which is precise enough to spot tail latency.
+     */
+    public static class Histogram {
+        private final long[] upperBounds;
+        private final AtomicLongArray bucketCounts;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator maximum = new LongAccumulator(Math::max, 0L);
+
+        public Histogram(long[] upperBounds) {
+            this.upperBounds = upperBounds.clone();
+            this.bucketCounts = new AtomicLongArray(upperBounds.length + 1);
+        }
+
+        public void update(long value) {
+            int bucket = 0;
+            while (bucket < upperBounds.length && value > upperBounds[bucket]) {
+                bucket++;
+            }
+            bucketCounts.incrementAndGet(bucket);
+            count.increment();
+            sum.add(value);
+            maximum.accumulate(value);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getSum() {
+            return sum.sum();
+        }
+
+        public long getMaximum() {
+            return maximum.get();
+        }
+
+        public long getPercentile(double percentile) {
+            long total = getCount();
+            if (total == 0) {
+                return 0L;
+            }
+
+            long rank = (long) Math.ceil(percentile / 100.0 * total);
+            long seen = 0;
+            for (int bucket = 0; bucket < upperBounds.length; bucket++) {
+                seen += bucketCounts.get(bucket);
+                if (seen >= rank) {
+                    return Math.min(upperBounds[bucket], getMaximum());
+                }
+            }
+            return getMaximum();
+        }
+    }
+
+}
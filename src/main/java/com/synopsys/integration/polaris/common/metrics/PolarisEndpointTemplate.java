@@ -0,0 +1,60 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.metrics;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.synopsys.integration.rest.HttpUrl;
+
+public final class PolarisEndpointTemplate {
+    public static final String ID_PLACEHOLDER = "{id}";
+    public static final String UNKNOWN_ENDPOINT = "unknown";
+
+    // Polaris identifiers are either UUIDs or long base-32 strings, both of which contain digits; path words such as "roll-up-counts" or "v0" are kept
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("(?=.*\\d)[A-Za-z0-9-]{8,}");
+
+    private PolarisEndpointTemplate() {
+    }
+
+    public static String fromUrl(HttpUrl httpUrl) {
+        if (httpUrl == null) {
+            return UNKNOWN_ENDPOINT;
+        }
+        return fromUri(httpUrl.string());
+    }
+
+    public static String fromUri(String uri) {
+        try {
+            return fromPath(URI.create(uri).getPath());
+        } catch (IllegalArgumentException e) {
+            return UNKNOWN_ENDPOINT;
+        }
+    }
+
+    public static String fromPath(String path) {
+        if (StringUtils.isBlank(path)) {
+            return "/";
+        }
+
+        String[] segments = StringUtils.removeEnd(path, "/").split("/");
+        StringBuilder template = new StringBuilder();
+        for (String segment : segments) {
+            if (StringUtils.isEmpty(segment)) {
+                continue;
+            }
+            template.append('/');
+            template.append(IDENTIFIER_PATTERN.matcher(segment).matches() ? ID_PLACEHOLDER : segment);
+        }
+
+        return template.length() == 0 ? "/" : template.toString();
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * The JVM-wide sink that Polaris http clients report to unless they are given their own. It always keeps an in-memory aggregate and
+ * forwards every measurement to any additionally registered sinks, such as one backed by a metrics registry.
+ */
+public final class PolarisHttpMetrics implements PolarisHttpMetricsSink {
+    private static final PolarisHttpMetrics GLOBAL = new PolarisHttpMetrics();
+
+    private final InMemoryPolarisHttpMetrics inMemoryMetrics = new InMemoryPolarisHttpMetrics();
+    private final List<PolarisHttpMetricsSink> registeredSinks = new CopyOnWriteArrayList<>();
+
+    private PolarisHttpMetrics() {
+        registeredSinks.add(inMemoryMetrics);
+    }
+
+    public static PolarisHttpMetrics global() {
+        return GLOBAL;
+    }
+
+    public InMemoryPolarisHttpMetrics getInMemoryMetrics() {
+        return inMemoryMetrics;
+    }
+
+    public void register(PolarisHttpMetricsSink sink) {
+        if (sink != null && !registeredSinks.contains(sink)) {
+            registeredSinks.add(sink);
+        }
+    }
+
+    public void unregister(PolarisHttpMetricsSink sink) {
+        if (sink != inMemoryMetrics) {
+            registeredSinks.remove(sink);
+        }
+    }
+
+    @Override
+    public void recordRequest(String endpointTemplate, int statusCode, long latencyInMillis) {
+        forEachSink(sink -> sink.recordRequest(endpointTemplate, statusCode, latencyInMillis));
+    }
+
+    @Override
+    public void recordResponseBytes(String endpointTemplate, long responseBytes) {
+        forEachSink(sink -> sink.recordResponseBytes(endpointTemplate, responseBytes));
+    }
+
+    @Override
+    public void recordAuthentication(boolean reauthentication) {
+        forEachSink(sink -> sink.recordAuthentication(reauthentication));
+    }
+
+    @Override
+    public void recordRetry(String endpointTemplate, int statusCode) {
+        forEachSink(sink -> sink.recordRetry(endpointTemplate, statusCode));
+    }
+
+    private void forEachSink(Consumer<PolarisHttpMetricsSink> measurement) {
+        for (PolarisHttpMetricsSink sink : registeredSinks) {
+            try {
+                measurement.accept(sink);
+            } catch (RuntimeException ignored) {
+                // A misbehaving sink must never fail a Polaris request
+            }
+        }
+    }
+
+}
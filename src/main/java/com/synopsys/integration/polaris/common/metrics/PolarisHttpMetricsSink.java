@@ -0,0 +1,31 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.metrics;
+
+/**
+ * Receives measurements about Polaris API traffic. Endpoints are reported as templates (see {@link PolarisEndpointTemplate}) so that
+ * requests for different jobs or projects aggregate under the same name. Implementations must be thread safe.
+ */
+public interface PolarisHttpMetricsSink {
+    PolarisHttpMetricsSink NO_OP = new PolarisHttpMetricsSink() {};
+    // Reported as the status code of requests that failed without a response, such as timeouts and connection errors
+    int NO_RESPONSE = -1;
+
+    default void recordRequest(String endpointTemplate, int statusCode, long latencyInMillis) {
+    }
+
+    default void recordResponseBytes(String endpointTemplate, long responseBytes) {
+    }
+
+    default void recordAuthentication(boolean reauthentication) {
+    }
+
+    default void recordRetry(String endpointTemplate, int statusCode) {
+    }
+
+}
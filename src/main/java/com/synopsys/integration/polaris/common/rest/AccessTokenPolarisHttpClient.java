@@ -7,12 +7,21 @@
  */
 package com.synopsys.integration.polaris.common.rest;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.StringEntity;
@@ -20,10 +29,15 @@ import org.apache.http.entity.StringEntity;
 import com.google.gson.Gson;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
+import com.synopsys.integration.polaris.common.metrics.PolarisEndpointTemplate;
+import com.synopsys.integration.polaris.common.metrics.PolarisHttpMetrics;
+import com.synopsys.integration.polaris.common.metrics.PolarisHttpMetricsSink;
 import com.synopsys.integration.rest.HttpMethod;
 import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.client.AuthenticatingIntHttpClient;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.rest.response.Response;
 import com.synopsys.integration.rest.support.AuthenticationSupport;
 
@@ -34,10 +48,19 @@ public class AccessTokenPolarisHttpClient extends AuthenticatingIntHttpClient {
     private static final String ACCESS_TOKEN_REQUEST_KEY = "accesstoken";
     private static final String ACCESS_TOKEN_REQUEST_CONTENT_TYPE = "application/x-www-form-urlencoded";
 
+    public static final int MAXIMUM_THROTTLED_ATTEMPTS = 4;
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final long DEFAULT_RETRY_AFTER_IN_MILLIS = 500L;
+    private static final long MAXIMUM_RETRY_AFTER_IN_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
     private final Gson gson;
     private final AuthenticationSupport authenticationSupport;
     private final HttpUrl baseUrl;
     private final String accessToken;
+    private final String credentialKey;
+    private final AtomicBoolean hasAuthenticated = new AtomicBoolean(false);
+    private PolarisHttpMetricsSink metricsSink = PolarisHttpMetrics.global();
+    private PolarisRateLimiter rateLimiter;
 
     public AccessTokenPolarisHttpClient(IntLogger logger, int timeout, ProxyInfo proxyInfo, HttpUrl baseUrl, String accessToken, Gson gson, AuthenticationSupport authenticationSupport) {
         super(logger, timeout, false, proxyInfo);
@@ -45,12 +68,62 @@ public class AccessTokenPolarisHttpClient extends AuthenticatingIntHttpClient {
         this.accessToken = accessToken;
         this.gson = gson;
         this.authenticationSupport = authenticationSupport;
+        this.rateLimiter = PolarisRateLimiter.forServer(baseUrl);
+        this.credentialKey = createCredentialKey(baseUrl, accessToken);
 
         if (StringUtils.isBlank(accessToken)) {
             throw new IllegalArgumentException("No access token was found.");
         }
     }
 
+    @Override
+    public Response execute(Request request) throws IntegrationException {
+        String endpointTemplate = PolarisEndpointTemplate.fromUrl(request.getUrl());
+        int attempt = 1;
+        while (true) {
+            acquirePermit();
+            long start = System.nanoTime();
+            Response response;
+            try {
+                response = super.execute(request);
+            } catch (IntegrationException | RuntimeException e) {
+                metricsSink.recordRequest(endpointTemplate, PolarisHttpMetricsSink.NO_RESPONSE, (System.nanoTime() - start) / 1_000_000L);
+                throw e;
+            }
+            long latencyInMillis = (System.nanoTime() - start) / 1_000_000L;
+
+            Integer statusCode = response.getStatusCode();
+            metricsSink.recordRequest(endpointTemplate, statusCode == null ? PolarisHttpMetricsSink.NO_RESPONSE : statusCode, latencyInMillis);
+            // Successful bodies are counted as they are read, error bodies are only ever read by the exception handling, so use what the server declared
+            if (statusCode != null && statusCode >= 400) {
+                recordDeclaredResponseBytes(endpointTemplate, response);
+            }
+
+            if (!isThrottled(statusCode)) {
+                rateLimiter.onSuccess();
+                return response;
+            }
+
+            long retryAfterInMillis = getRetryAfterInMillis(response, attempt);
+            rateLimiter.onThrottled(retryAfterInMillis);
+            if (attempt >= MAXIMUM_THROTTLED_ATTEMPTS || !isRetryable(request, statusCode)) {
+                return response;
+            }
+
+            logger.debug(String.format("Polaris responded %s to %s, retrying in %sms", statusCode, endpointTemplate, retryAfterInMillis));
+            metricsSink.recordRetry(endpointTemplate, statusCode);
+            closeQuietly(response);
+            attempt++;
+        }
+    }
+
+    private void recordDeclaredResponseBytes(String endpointTemplate, Response response) {
+        String contentLength = response.getHeaderValue(HttpHeaders.CONTENT_LENGTH);
+        if (StringUtils.isNumeric(contentLength)) {
+            metricsSink.recordResponseBytes(endpointTemplate, Long.parseLong(contentLength));
+        }
+    }
+
     @Override
     public void handleErrorResponse(HttpUriRequest request, Response response) {
         super.handleErrorResponse(request, response);
@@ -80,11 +153,88 @@ public class AccessTokenPolarisHttpClient extends AuthenticatingIntHttpClient {
         requestBuilder.setEntity(httpEntity);
 
         HttpUrl authenticationUrl = baseUrl.appendRelativeUrl(AccessTokenPolarisHttpClient.AUTHENTICATION_SPEC);
+        metricsSink.recordAuthentication(hasAuthenticated.getAndSet(true));
         return authenticationSupport.attemptAuthentication(this, authenticationUrl, requestBuilder);
     }
 
+    public PolarisHttpMetricsSink getMetricsSink() {
+        return metricsSink;
+    }
+
+    public void setMetricsSink(PolarisHttpMetricsSink metricsSink) {
+        if (metricsSink != null) {
+            this.metricsSink = metricsSink;
+        }
+    }
+
+    // Identifies the server and access token this client talks with, without exposing the token
+    public String getCredentialKey() {
+        return credentialKey;
+    }
+
+    public PolarisRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public void setRateLimiter(PolarisRateLimiter rateLimiter) {
+        if (rateLimiter != null) {
+            this.rateLimiter = rateLimiter;
+        }
+    }
+
     public HttpUrl getPolarisServerUrl() {
         return baseUrl;
     }
 
+    private void acquirePermit() throws IntegrationException {
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PolarisIntegrationException("Interrupted while waiting to send a request to Polaris", e);
+        }
+    }
+
+    private boolean isThrottled(Integer statusCode) {
+        return statusCode != null && (statusCode == 429 || statusCode == 503);
+    }
+
+    // A 429 was never processed so any request can be sent again, but a 503 might have been, so only requests without side effects are retried
+    private boolean isRetryable(Request request, int statusCode) {
+        return statusCode == 429 || HttpMethod.GET.equals(request.getMethod());
+    }
+
+    private long getRetryAfterInMillis(Response response, int attempt) {
+        long backoffInMillis = DEFAULT_RETRY_AFTER_IN_MILLIS << (attempt - 1);
+        String retryAfter = StringUtils.trimToNull(response.getHeaderValue(RETRY_AFTER_HEADER));
+        if (retryAfter == null) {
+            return backoffInMillis;
+        }
+
+        try {
+            return Math.min(MAXIMUM_RETRY_AFTER_IN_MILLIS, TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter)));
+        } catch (NumberFormatException ignored) {
+            // Retry-After may also be an http date
+        }
+
+        try {
+            long untilRetryInMillis = ZonedDateTime.parse(retryAfter, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() - Instant.now().toEpochMilli();
+            return Math.min(MAXIMUM_RETRY_AFTER_IN_MILLIS, Math.max(0L, untilRetryInMillis));
+        } catch (DateTimeParseException e) {
+            return backoffInMillis;
+        }
+    }
+
+    private void closeQuietly(Response response) {
+        try {
+            response.close();
+        } catch (IOException e) {
+            logger.trace("Could not close a throttled response: " + e.getMessage());
+        }
+    }
+
+    private static String createCredentialKey(HttpUrl baseUrl, String accessToken) {
+        return DigestUtils.sha256Hex(String.format("%s %s", baseUrl, accessToken));
+    }
+
 }
@@ -0,0 +1,314 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.rest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Keeps Polaris response bodies along with their validators so that repeated reads can be answered locally while fresh, or
+ * revalidated with If-None-Match/If-Modified-Since otherwise. Bodies live in a bounded in-memory LRU and, when a directory and
+ * a way to encrypt them are given, also on disk so they survive the memory tier and restarts. Responses are only kept if they
+ * can be revalidated or carry a max-age, and never if they say no-store.
+ */
+public class PolarisHttpCache {
+    public static final int DEFAULT_MAXIMUM_ENTRIES = 512;
+    public static final long DEFAULT_MAXIMUM_MEMORY_BYTES = 16L * 1024 * 1024;
+    public static final int DEFAULT_MAXIMUM_DISK_ENTRIES = 4096;
+
+    private static final PolarisHttpCache DEFAULT_CACHE = new PolarisHttpCache(DEFAULT_MAXIMUM_ENTRIES, DEFAULT_MAXIMUM_MEMORY_BYTES, null);
+    private static final String DISK_ENTRY_SUFFIX = ".json";
+    private static final int STORES_BETWEEN_DISK_PRUNING = 64;
+
+    private final int maximumEntries;
+    private final long maximumMemoryBytes;
+    private final File diskDirectory;
+    private final DiskEncryption diskEncryption;
+    private final Gson gson = new Gson();
+    private final LinkedHashMap<String, Entry> entriesByKey = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicInteger storesSinceDiskPruning = new AtomicInteger();
+    private long memoryBytes = 0;
+
+    public PolarisHttpCache(int maximumEntries, long maximumMemoryBytes, File diskDirectory) {
+        this(maximumEntries, maximumMemoryBytes, diskDirectory, null);
+    }
+
+    // Response bodies can hold anything the credentials can see, so they are only written to disk encrypted
+    public PolarisHttpCache(int maximumEntries, long maximumMemoryBytes, File diskDirectory, DiskEncryption diskEncryption) {
+        this.maximumEntries = maximumEntries;
+        this.maximumMemoryBytes = maximumMemoryBytes;
+        this.diskDirectory = diskEncryption == null ? null : diskDirectory;
+        this.diskEncryption = diskEncryption;
+    }
+
+    public static PolarisHttpCache getDefault() {
+        return DEFAULT_CACHE;
+    }
+
+    public Optional<Entry> get(String key) {
+        synchronized (entriesByKey) {
+            Entry entry = entriesByKey.get(key);
+            if (entry != null) {
+                return Optional.of(entry);
+            }
+        }
+
+        Optional<Entry> diskEntry = readFromDisk(key);
+        diskEntry.ifPresent(entry -> putInMemory(key, entry));
+        return diskEntry;
+    }
+
+    public Optional<Entry> store(String key, String body, String eTag, String lastModified, String cacheControl) {
+        CacheControl parsedCacheControl = CacheControl.parse(cacheControl);
+        boolean canRevalidate = StringUtils.isNotBlank(eTag) || StringUtils.isNotBlank(lastModified);
+        if (body == null || parsedCacheControl.noStore || (!canRevalidate && parsedCacheControl.maxAgeInSeconds <= 0)) {
+            invalidate(key);
+            return Optional.empty();
+        }
+
+        Entry entry = new Entry(key, body, eTag, lastModified, parsedCacheControl.getExpiresAtMillis(), parsedCacheControl.noCache);
+        putInMemory(key, entry);
+        writeToDisk(entry);
+        return Optional.of(entry);
+    }
+
+    // A 304 confirms the body is unchanged; it may also move the expiry forward
+    public Entry revalidated(Entry entry, String cacheControl) {
+        CacheControl parsedCacheControl = CacheControl.parse(cacheControl);
+        if (StringUtils.isBlank(cacheControl)) {
+            return entry;
+        }
+
+        entry.expiresAtMillis = parsedCacheControl.getExpiresAtMillis();
+        entry.noCache = parsedCacheControl.noCache;
+        writeToDisk(entry);
+        return entry;
+    }
+
+    public void invalidate(String key) {
+        synchronized (entriesByKey) {
+            Entry removed = entriesByKey.remove(key);
+            if (removed != null) {
+                memoryBytes -= removed.getSizeInBytes();
+            }
+        }
+        if (diskDirectory != null) {
+            getDiskFile(key).delete();
+        }
+    }
+
+    public void clear() {
+        synchronized (entriesByKey) {
+            entriesByKey.clear();
+            memoryBytes = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (entriesByKey) {
+            return entriesByKey.size();
+        }
+    }
+
+    private void putInMemory(String key, Entry entry) {
+        synchronized (entriesByKey) {
+            Entry replaced = entriesByKey.put(key, entry);
+            if (replaced != null) {
+                memoryBytes -= replaced.getSizeInBytes();
+            }
+            memoryBytes += entry.getSizeInBytes();
+
+            Iterator<Entry> eldestFirst = entriesByKey.values().iterator();
+            while ((entriesByKey.size() > maximumEntries || memoryBytes > maximumMemoryBytes) && eldestFirst.hasNext()) {
+                memoryBytes -= eldestFirst.next().getSizeInBytes();
+                eldestFirst.remove();
+            }
+        }
+    }
+
+    private Optional<Entry> readFromDisk(String key) {
+        if (diskDirectory == null) {
+            return Optional.empty();
+        }
+
+        File diskFile = getDiskFile(key);
+        if (!diskFile.isFile()) {
+            return Optional.empty();
+        }
+
+        try {
+            String diskEntryJson = diskEncryption.decrypt(new String(Files.readAllBytes(diskFile.toPath()), StandardCharsets.UTF_8));
+            if (diskEntryJson == null) {
+                diskFile.delete();
+                return Optional.empty();
+            }
+
+            DiskEntry diskEntry = gson.fromJson(diskEntryJson, DiskEntry.class);
+            if (diskEntry == null || !key.equals(diskEntry.key) || diskEntry.body == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new Entry(diskEntry.key, diskEntry.body, diskEntry.eTag, diskEntry.lastModified, diskEntry.expiresAtMillis, diskEntry.noCache));
+        } catch (IOException | JsonParseException e) {
+            diskFile.delete();
+            return Optional.empty();
+        }
+    }
+
+    private void writeToDisk(Entry entry) {
+        if (diskDirectory == null) {
+            return;
+        }
+
+        DiskEntry diskEntry = new DiskEntry();
+        diskEntry.key = entry.key;
+        diskEntry.body = entry.body;
+        diskEntry.eTag = entry.eTag;
+        diskEntry.lastModified = entry.lastModified;
+        diskEntry.expiresAtMillis = entry.expiresAtMillis;
+        diskEntry.noCache = entry.noCache;
+
+        try {
+            Files.createDirectories(diskDirectory.toPath());
+            File diskFile = getDiskFile(entry.key);
+            File temporaryFile = File.createTempFile(diskFile.getName(), ".tmp", diskDirectory);
+            Files.write(temporaryFile.toPath(), diskEncryption.encrypt(gson.toJson(diskEntry)).getBytes(StandardCharsets.UTF_8));
+            Files.move(temporaryFile.toPath(), diskFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // The disk tier is only an optimization; the memory tier still has the entry
+            return;
+        }
+
+        if (storesSinceDiskPruning.incrementAndGet() >= STORES_BETWEEN_DISK_PRUNING) {
+            storesSinceDiskPruning.set(0);
+            pruneDisk();
+        }
+    }
+
+    private void pruneDisk() {
+        File[] diskFiles = diskDirectory.listFiles((directory, name) -> name.endsWith(DISK_ENTRY_SUFFIX));
+        if (diskFiles == null || diskFiles.length <= DEFAULT_MAXIMUM_DISK_ENTRIES) {
+            return;
+        }
+
+        Arrays.sort(diskFiles, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < diskFiles.length - DEFAULT_MAXIMUM_DISK_ENTRIES; i++) {
+            diskFiles[i].delete();
+        }
+    }
+
+    private File getDiskFile(String key) {
+        return new File(diskDirectory, DigestUtils.sha256Hex(key) + DISK_ENTRY_SUFFIX);
+    }
+
+    public interface DiskEncryption {
+        String encrypt(String value);
+
+        // Returns null for anything that was not encrypted by this, so that it is discarded rather than trusted
+        String decrypt(String value);
+    }
+
+    public static class Entry {
+        private final String key;
+        private final String body;
+        private final String eTag;
+        private final String lastModified;
+        private volatile long expiresAtMillis;
+        private volatile boolean noCache;
+
+        private Entry(String key, String body, String eTag, String lastModified, long expiresAtMillis, boolean noCache) {
+            this.key = key;
+            this.body = body;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.expiresAtMillis = expiresAtMillis;
+            this.noCache = noCache;
+        }
+
+        public boolean isFresh() {
+            return !noCache && System.currentTimeMillis() < expiresAtMillis;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public Optional<String> getETag() {
+            return Optional.ofNullable(StringUtils.trimToNull(eTag));
+        }
+
+        public Optional<String> getLastModified() {
+            return Optional.ofNullable(StringUtils.trimToNull(lastModified));
+        }
+
+        private long getSizeInBytes() {
+            return 2L * body.length();
+        }
+
+    }
+
+    private static class DiskEntry {
+        private String key;
+        private String body;
+        private String eTag;
+        private String lastModified;
+        private long expiresAtMillis;
+        private boolean noCache;
+    }
+
+    private static class CacheControl {
+        private boolean noStore;
+        private boolean noCache;
+        private long maxAgeInSeconds = -1;
+
+        private static CacheControl parse(String cacheControl) {
+            CacheControl parsed = new CacheControl();
+            if (StringUtils.isBlank(cacheControl)) {
+                return parsed;
+            }
+
+            for (String directive : cacheControl.toLowerCase(Locale.ENGLISH).split(",")) {
+                String trimmedDirective = directive.trim();
+                if ("no-store".equals(trimmedDirective)) {
+                    parsed.noStore = true;
+                } else if ("no-cache".equals(trimmedDirective)) {
+                    parsed.noCache = true;
+                } else if (trimmedDirective.startsWith("max-age=")) {
+                    try {
+                        parsed.maxAgeInSeconds = Long.parseLong(StringUtils.strip(trimmedDirective.substring("max-age=".length()), "\""));
+                    } catch (NumberFormatException ignored) {
+                        parsed.maxAgeInSeconds = -1;
+                    }
+                }
+            }
+            return parsed;
+        }
+
+        private long getExpiresAtMillis() {
+            return maxAgeInSeconds > 0 ? System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(maxAgeInSeconds) : 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.rest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoublePredicate;
+import java.util.logging.Logger;
+
+import com.synopsys.integration.rest.HttpUrl;
+
+/**
+ * A token bucket shared by every client of one Polaris server in this JVM, so that all builds on a controller draw from the
+ * same budget. Callers are served in the order they arrive, which keeps one busy build from starving the others. When Polaris
+ * throttles, the rate is halved and requests pause for the Retry-After period, then the rate creeps back up with each success.
+ */
+public class PolarisRateLimiter {
+    public static final String REQUESTS_PER_SECOND_PROPERTY = PolarisRateLimiter.class.getName() + ".requestsPerSecond";
+    public static final String BURST_PROPERTY = PolarisRateLimiter.class.getName() + ".burst";
+    public static final double DEFAULT_REQUESTS_PER_SECOND = 50.0;
+    public static final double DEFAULT_BURST = 100.0;
+    public static final double MINIMUM_REQUESTS_PER_SECOND = 0.5;
+
+    private static final Logger LOGGER = Logger.getLogger(PolarisRateLimiter.class.getName());
+    private static final Map<String, PolarisRateLimiter> RATE_LIMITERS_BY_SERVER = new ConcurrentHashMap<>();
+
+    private final double maximumRequestsPerSecond;
+    private final double burst;
+    private final double additiveIncrease;
+    // The fair lock only decides whose turn it is; the bucket itself is guarded by this so throttling can be reported while someone waits for a turn
+    private final ReentrantLock turnLock = new ReentrantLock(true);
+    private final Object bucketLock = new Object();
+
+    private double requestsPerSecond;
+    private double tokens;
+    private long lastRefillInNanos;
+    private long pausedUntilInNanos;
+
+    public PolarisRateLimiter(double maximumRequestsPerSecond, double burst) {
+        if (maximumRequestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("The request rate must be positive and the burst must allow at least one request.");
+        }
+        this.maximumRequestsPerSecond = maximumRequestsPerSecond;
+        this.burst = burst;
+        this.additiveIncrease = Math.max(maximumRequestsPerSecond / 50.0, 0.1);
+        this.requestsPerSecond = maximumRequestsPerSecond;
+        this.tokens = burst;
+        this.lastRefillInNanos = System.nanoTime();
+        this.pausedUntilInNanos = lastRefillInNanos;
+    }
+
+    public static PolarisRateLimiter forServer(HttpUrl polarisServerUrl) {
+        return RATE_LIMITERS_BY_SERVER.computeIfAbsent(getServerKey(polarisServerUrl), ignored -> new PolarisRateLimiter(getConfiguredRequestsPerSecond(), getConfiguredBurst()));
+    }
+
+    /**
+     * Uses the given rate and burst for the server in this JVM instead of the system properties, so that a node can follow the budget configured on the
+     * controller. The current limiter is kept while it already has those settings.
+     */
+    public static PolarisRateLimiter forServer(HttpUrl polarisServerUrl, double maximumRequestsPerSecond, double burst) {
+        return RATE_LIMITERS_BY_SERVER.compute(getServerKey(polarisServerUrl), (ignored, rateLimiter) -> {
+            if (rateLimiter != null && rateLimiter.maximumRequestsPerSecond == maximumRequestsPerSecond && rateLimiter.burst == burst) {
+                return rateLimiter;
+            }
+            return new PolarisRateLimiter(maximumRequestsPerSecond, burst);
+        });
+    }
+
+    public void acquire() throws InterruptedException {
+        turnLock.lockInterruptibly();
+        try {
+            long waitInNanos;
+            while ((waitInNanos = tryTakeToken()) > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitInNanos);
+            }
+        } finally {
+            turnLock.unlock();
+        }
+    }
+
+    public void onThrottled(long retryAfterInMillis) {
+        synchronized (bucketLock) {
+            long now = System.nanoTime();
+            refill(now);
+            requestsPerSecond = Math.max(MINIMUM_REQUESTS_PER_SECOND, requestsPerSecond / 2.0);
+            tokens = 0;
+            pausedUntilInNanos = Math.max(pausedUntilInNanos, now + TimeUnit.MILLISECONDS.toNanos(Math.max(0, retryAfterInMillis)));
+        }
+    }
+
+    public void onSuccess() {
+        synchronized (bucketLock) {
+            if (requestsPerSecond < maximumRequestsPerSecond) {
+                refill(System.nanoTime());
+                requestsPerSecond = Math.min(maximumRequestsPerSecond, requestsPerSecond + additiveIncrease);
+            }
+        }
+    }
+
+    public double getRequestsPerSecond() {
+        synchronized (bucketLock) {
+            return requestsPerSecond;
+        }
+    }
+
+    public double getMaximumRequestsPerSecond() {
+        return maximumRequestsPerSecond;
+    }
+
+    public double getBurst() {
+        return burst;
+    }
+
+    // Returns zero once a token was taken, otherwise how long to wait before trying again
+    private long tryTakeToken() {
+        synchronized (bucketLock) {
+            long now = System.nanoTime();
+            if (now < pausedUntilInNanos) {
+                return pausedUntilInNanos - now;
+            }
+
+            refill(now);
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                return 0;
+            }
+            return Math.max(1L, (long) ((1.0 - tokens) / requestsPerSecond * TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+
+    private void refill(long now) {
+        long start = Math.max(lastRefillInNanos, pausedUntilInNanos);
+        if (now > start) {
+            tokens = Math.min(burst, tokens + (now - start) * requestsPerSecond / TimeUnit.SECONDS.toNanos(1));
+        }
+        lastRefillInNanos = Math.max(lastRefillInNanos, now);
+    }
+
+    private static String getServerKey(HttpUrl polarisServerUrl) {
+        return polarisServerUrl == null ? "" : polarisServerUrl.string();
+    }
+
+    static double getConfiguredRequestsPerSecond() {
+        return getConfiguredValue(REQUESTS_PER_SECOND_PROPERTY, DEFAULT_REQUESTS_PER_SECOND, value -> value > 0, "a positive number");
+    }
+
+    static double getConfiguredBurst() {
+        return getConfiguredValue(BURST_PROPERTY, DEFAULT_BURST, value -> value >= 1, "a number of at least 1");
+    }
+
+    // A bad value must not stop every Polaris client in the JVM from being created, so it is reported and the default is used instead
+    private static double getConfiguredValue(String propertyName, double defaultValue, DoublePredicate isValid, String expectedValue) {
+        String configuredValue = System.getProperty(propertyName);
+        if (configuredValue == null) {
+            return defaultValue;
+        }
+
+        try {
+            double value = Double.parseDouble(configuredValue.trim());
+            if (!Double.isNaN(value) && !Double.isInfinite(value) && isValid.test(value)) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below
+        }
+        LOGGER.warning(() -> String.format("%s is set to '%s' but must be %s, using %s instead", propertyName, configuredValue, expectedValue, defaultValue));
+        return defaultValue;
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpUrl;
+
+public class BulkCountResult {
+    private final Map<HttpUrl, Integer> countsByUrl;
+    private final Map<HttpUrl, IntegrationException> failuresByUrl;
+
+    public BulkCountResult(Map<HttpUrl, Integer> countsByUrl, Map<HttpUrl, IntegrationException> failuresByUrl) {
+        this.countsByUrl = Collections.unmodifiableMap(new LinkedHashMap<>(countsByUrl));
+        this.failuresByUrl = Collections.unmodifiableMap(new LinkedHashMap<>(failuresByUrl));
+    }
+
+    public Map<HttpUrl, Integer> getCountsByUrl() {
+        return countsByUrl;
+    }
+
+    public Map<HttpUrl, IntegrationException> getFailuresByUrl() {
+        return failuresByUrl;
+    }
+
+    public Optional<Integer> getCount(HttpUrl issueApiUrl) {
+        return Optional.ofNullable(countsByUrl.get(issueApiUrl));
+    }
+
+    public Optional<IntegrationException> getFailure(HttpUrl issueApiUrl) {
+        return Optional.ofNullable(failuresByUrl.get(issueApiUrl));
+    }
+
+    public boolean hasFailures() {
+        return !failuresByUrl.isEmpty();
+    }
+
+}
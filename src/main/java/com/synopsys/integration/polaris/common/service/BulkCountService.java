@@ -0,0 +1,140 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
+import com.synopsys.integration.rest.HttpUrl;
+
+/**
+ * Retrieves the total issue count for many issue api urls at once, e.g. for every project and branch on a dashboard. Each distinct url is
+ * requested once, at most maxConcurrentRequests at a time and no faster than requestsPerSecond. A failure for one url does not fail the others;
+ * it is reported for that url in the {@link BulkCountResult}.
+ */
+public class BulkCountService {
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+    public static final double DEFAULT_REQUESTS_PER_SECOND = 10.0;
+
+    private final IntLogger logger;
+    private final CountService countService;
+    private final int maxConcurrentRequests;
+    private final double requestsPerSecond;
+
+    public BulkCountService(IntLogger logger, CountService countService) {
+        this(logger, countService, DEFAULT_MAX_CONCURRENT_REQUESTS, DEFAULT_REQUESTS_PER_SECOND);
+    }
+
+    public BulkCountService(IntLogger logger, CountService countService, int maxConcurrentRequests, double requestsPerSecond) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("At least one concurrent request must be allowed.");
+        }
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("The request rate must be greater than zero.");
+        }
+
+        this.logger = logger;
+        this.countService = countService;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public BulkCountResult getTotalIssueCounts(Collection<HttpUrl> issueApiUrls) throws InterruptedException {
+        Set<HttpUrl> distinctUrls = new LinkedHashSet<>();
+        issueApiUrls.stream()
+            .filter(Objects::nonNull)
+            .forEach(distinctUrls::add);
+
+        Map<HttpUrl, Integer> countsByUrl = new LinkedHashMap<>();
+        Map<HttpUrl, IntegrationException> failuresByUrl = new LinkedHashMap<>();
+        if (distinctUrls.isEmpty()) {
+            return new BulkCountResult(countsByUrl, failuresByUrl);
+        }
+
+        logger.debug(String.format("Retrieving issue counts for %d distinct issue api urls (%d requested).", distinctUrls.size(), issueApiUrls.size()));
+
+        RequestPacer requestPacer = new RequestPacer(requestsPerSecond);
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(maxConcurrentRequests, distinctUrls.size()), new CountThreadFactory());
+        try {
+            Map<HttpUrl, Future<Integer>> futuresByUrl = new LinkedHashMap<>();
+            for (HttpUrl issueApiUrl : distinctUrls) {
+                futuresByUrl.put(issueApiUrl, executorService.submit(() -> {
+                    requestPacer.awaitTurn();
+                    return countService.getTotalIssueCountFromIssueApiUrl(issueApiUrl);
+                }));
+            }
+
+            for (Map.Entry<HttpUrl, Future<Integer>> futureForUrl : futuresByUrl.entrySet()) {
+                HttpUrl issueApiUrl = futureForUrl.getKey();
+                try {
+                    countsByUrl.put(issueApiUrl, futureForUrl.getValue().get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    IntegrationException failure = cause instanceof IntegrationException ? (IntegrationException) cause : new PolarisIntegrationException(String.format("Could not retrieve the issue count from %s", issueApiUrl), cause);
+                    logger.debug(String.format("Could not retrieve the issue count from %s: %s", issueApiUrl, failure.getMessage()));
+                    failuresByUrl.put(issueApiUrl, failure);
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        return new BulkCountResult(countsByUrl, failuresByUrl);
+    }
+
+    // Spaces request starts evenly so that a large batch does not arrive at Polaris as a single burst
+    private static class RequestPacer {
+        private final long intervalInNanos;
+        private long nextStartInNanos;
+
+        private RequestPacer(double requestsPerSecond) {
+            this.intervalInNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+            this.nextStartInNanos = System.nanoTime();
+        }
+
+        private void awaitTurn() throws InterruptedException {
+            long startInNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                startInNanos = Math.max(now, nextStartInNanos);
+                nextStartInNanos = startInNanos + intervalInNanos;
+            }
+
+            long waitInNanos = startInNanos - System.nanoTime();
+            if (waitInNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitInNanos);
+            }
+        }
+    }
+
+    private static class CountThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "polaris-bulk-count-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
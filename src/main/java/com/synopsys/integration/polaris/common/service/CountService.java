@@ -7,19 +7,40 @@
  */
 package com.synopsys.integration.polaris.common.service;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.commons.lang3.StringUtils;
 
 import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.api.PolarisRelationship;
 import com.synopsys.integration.polaris.common.api.PolarisResource;
+import com.synopsys.integration.polaris.common.api.PolarisResourceIdentifier;
 import com.synopsys.integration.polaris.common.api.model.CountV0Attributes;
+import com.synopsys.integration.polaris.common.api.model.CountV0Resource;
+import com.synopsys.integration.polaris.common.api.model.RollUpCountsResponse;
+import com.synopsys.integration.polaris.common.timing.PhaseSpan;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
+import com.synopsys.integration.polaris.common.timing.PolarisPhase;
 import com.synopsys.integration.rest.HttpUrl;
 
 public class CountService {
     private final PolarisService polarisService;
+    private final PhaseTimer phaseTimer;
 
     public CountService(PolarisService polarisService) {
+        this(polarisService, new PhaseTimer());
+    }
+
+    public CountService(PolarisService polarisService, PhaseTimer phaseTimer) {
         this.polarisService = polarisService;
+        this.phaseTimer = phaseTimer;
     }
 
     public List<PolarisResource<CountV0Attributes>> getCountV0ResourcesFromIssueApiUrl(HttpUrl issueApiUrl) throws IntegrationException {
@@ -27,10 +48,67 @@ public class CountService {
     }
 
     public Integer getTotalIssueCountFromIssueApiUrl(HttpUrl issueApiUrl) throws IntegrationException {
-        return getCountV0ResourcesFromIssueApiUrl(issueApiUrl).stream()
-                   .map(PolarisResource::getAttributes)
-                   .map(CountV0Attributes::getValue)
+        try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.ISSUE_COUNTING)) {
+            return getCountV0ResourcesFromIssueApiUrl(issueApiUrl).stream()
+                       .map(PolarisResource::getAttributes)
+                       .map(CountV0Attributes::getValue)
+                       .filter(Objects::nonNull)
+                       .reduce(0, Integer::sum);
+        }
+    }
+
+    public IssueCountSummary getIssueCountSummary(HttpUrl issueApiUrl, Map<String, HttpUrl> issueApiUrlsByTool) throws IntegrationException {
+        try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.ISSUE_COUNTING)) {
+            Map<String, Integer> issuesBySeverity = getIssueCountsByGroupFromIssueApiUrl(issueApiUrl);
+            int totalIssueCount = issuesBySeverity.values().stream().reduce(0, Integer::sum);
+            return new IssueCountSummary(totalIssueCount, issuesBySeverity, getTotalIssueCountsByTool(issueApiUrlsByTool));
+        }
+    }
+
+    public Map<String, Integer> getTotalIssueCountsByTool(Map<String, HttpUrl> issueApiUrlsByTool) throws IntegrationException {
+        Map<String, Integer> issuesByTool = new LinkedHashMap<>();
+        for (Map.Entry<String, HttpUrl> toolIssueApiUrl : issueApiUrlsByTool.entrySet()) {
+            int toolIssueCount = getIssueCountsByGroupFromIssueApiUrl(toolIssueApiUrl.getValue()).values().stream().reduce(0, Integer::sum);
+            issuesByTool.merge(toolIssueApiUrl.getKey(), toolIssueCount, Integer::sum);
+        }
+        return issuesByTool;
+    }
+
+    // The issue api urls in cli-scan.json are already grouped by the severity taxonomy, so each count is one severity. Groups are named
+    // by the taxon in the included resources when Polaris sends them, otherwise by the id of the group the count relates to.
+    public Map<String, Integer> getIssueCountsByGroupFromIssueApiUrl(HttpUrl issueApiUrl) throws IntegrationException {
+        Map<String, String> groupNamesById = new HashMap<>();
+        List<CountV0Resource> counts = polarisService.collectAllResources(issueApiUrl, RollUpCountsResponse.class, (RollUpCountsResponse pageOfCounts) ->
+            Optional.ofNullable(pageOfCounts.getIncluded()).orElse(Collections.emptyList()).stream()
+                .filter(included -> included.getId() != null && included.getAttributes() != null && StringUtils.isNotBlank(included.getAttributes().getName()))
+                .forEach(included -> groupNamesById.put(included.getId(), included.getAttributes().getName()))
+        );
+
+        Map<String, Integer> countsByGroup = new LinkedHashMap<>();
+        for (CountV0Resource count : counts) {
+            Integer value = Optional.ofNullable(count.getAttributes()).map(CountV0Attributes::getValue).orElse(null);
+            if (value != null) {
+                String groupId = findRelatedGroupId(count).orElse(count.getId());
+                String groupName = groupNamesById.getOrDefault(groupId, groupId);
+                countsByGroup.merge(StringUtils.defaultIfBlank(groupName, "unknown").toLowerCase(Locale.ENGLISH), value, Integer::sum);
+            }
+        }
+        return countsByGroup;
+    }
+
+    // Identifies the Polaris server and credentials this service counts with, so counts from different servers are never mixed up
+    public String getCredentialKey() {
+        return polarisService.getCredentialKey();
+    }
+
+    private Optional<String> findRelatedGroupId(CountV0Resource count) {
+        return Optional.ofNullable(count.getRelationships()).orElse(Collections.emptyMap()).values().stream()
                    .filter(Objects::nonNull)
-                   .reduce(0, Integer::sum);
+                   .map(PolarisRelationship::getData)
+                   .filter(Objects::nonNull)
+                   .map(PolarisResourceIdentifier::getId)
+                   .filter(StringUtils::isNotBlank)
+                   .findFirst();
     }
+
 }
@@ -0,0 +1,61 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the issue counts of recently analyzed revisions so that checking the same revision again does not go back to
+ * Polaris. Only counts taken after every job of the revision completed should be put here, since those can no longer change.
+ * Revisions are kept per Polaris server and credentials, so a revision id is never answered with another server's counts,
+ * and only the most recently used revisions are kept.
+ */
+public class IssueCountCache {
+    public static final int DEFAULT_MAXIMUM_REVISIONS = 256;
+    private static final IssueCountCache DEFAULT_CACHE = new IssueCountCache(DEFAULT_MAXIMUM_REVISIONS);
+
+    private final Map<String, IssueCountSummary> summariesByKey;
+
+    public IssueCountCache(int maximumRevisions) {
+        this.summariesByKey = new LinkedHashMap<String, IssueCountSummary>(16, 0.75f, true) {
+            private static final long serialVersionUID = 4301532706394317532L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IssueCountSummary> eldest) {
+                return size() > maximumRevisions;
+            }
+        };
+    }
+
+    public static IssueCountCache getDefault() {
+        return DEFAULT_CACHE;
+    }
+
+    public synchronized Optional<IssueCountSummary> get(String credentialKey, String revisionId) {
+        return Optional.ofNullable(summariesByKey.get(createKey(credentialKey, revisionId)));
+    }
+
+    public synchronized void put(String credentialKey, String revisionId, IssueCountSummary issueCountSummary) {
+        summariesByKey.put(createKey(credentialKey, revisionId), issueCountSummary);
+    }
+
+    public synchronized int size() {
+        return summariesByKey.size();
+    }
+
+    public synchronized void clear() {
+        summariesByKey.clear();
+    }
+
+    private String createKey(String credentialKey, String revisionId) {
+        return String.join("|", String.valueOf(credentialKey), revisionId);
+    }
+
+}
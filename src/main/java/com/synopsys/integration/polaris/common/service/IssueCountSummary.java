@@ -0,0 +1,39 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class IssueCountSummary implements Serializable {
+    private static final long serialVersionUID = -3785512203562187416L;
+    private final int totalIssueCount;
+    private final Map<String, Integer> issuesBySeverity;
+    private final Map<String, Integer> issuesByTool;
+
+    public IssueCountSummary(int totalIssueCount, Map<String, Integer> issuesBySeverity, Map<String, Integer> issuesByTool) {
+        this.totalIssueCount = totalIssueCount;
+        this.issuesBySeverity = issuesBySeverity == null ? new LinkedHashMap<>() : new LinkedHashMap<>(issuesBySeverity);
+        this.issuesByTool = issuesByTool == null ? new LinkedHashMap<>() : new LinkedHashMap<>(issuesByTool);
+    }
+
+    public int getTotalIssueCount() {
+        return totalIssueCount;
+    }
+
+    public Map<String, Integer> getIssuesBySeverity() {
+        return Collections.unmodifiableMap(issuesBySeverity);
+    }
+
+    public Map<String, Integer> getIssuesByTool() {
+        return Collections.unmodifiableMap(issuesByTool);
+    }
+
+}
@@ -8,6 +8,7 @@
 package com.synopsys.integration.polaris.common.service;
 
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DurationFormatUtils;
@@ -19,30 +20,63 @@ import com.synopsys.integration.polaris.common.api.model.FailureInfo;
 import com.synopsys.integration.polaris.common.api.model.JobAttributes;
 import com.synopsys.integration.polaris.common.api.model.JobStatus;
 import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
+import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
+import com.synopsys.integration.polaris.common.timing.PhaseSpan;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
+import com.synopsys.integration.polaris.common.timing.PolarisPhase;
+import com.synopsys.integration.rest.HttpMethod;
 import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.exception.IntegrationRestException;
+import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.wait.WaitJob;
 
 public class JobService {
     public static final long DEFAULT_TIMEOUT = 30 * 60L;
     public static final int DEFAULT_WAIT_INTERVAL = 5;
+    public static final int MAXIMUM_CANCEL_ATTEMPTS = 3;
+    public static final long CANCEL_RETRY_INTERVAL_IN_MILLIS = 1000L;
+    public static final String CANCEL_ACTION_SPEC = "/actions/cancel";
+    // Only jobs of the Polaris jobs service can be cancelled; other tools report their status at urls of their own
+    private static final Pattern JOBS_SERVICE_JOB_URL = Pattern.compile("^https?://[^?#]+/api/jobs/jobs/[^/?#]+/?$");
 
     private final IntLogger logger;
     private final PolarisService polarisService;
+    private final PhaseTimer phaseTimer;
+    private final TerminalJobCache terminalJobCache;
 
     public JobService(IntLogger logger, PolarisService polarisService) {
+        this(logger, polarisService, new PhaseTimer());
+    }
+
+    public JobService(IntLogger logger, PolarisService polarisService, PhaseTimer phaseTimer) {
+        this(logger, polarisService, phaseTimer, TerminalJobCache.getDefault());
+    }
+
+    public JobService(IntLogger logger, PolarisService polarisService, PhaseTimer phaseTimer, TerminalJobCache terminalJobCache) {
         this.logger = logger;
         this.polarisService = polarisService;
+        this.phaseTimer = phaseTimer;
+        this.terminalJobCache = terminalJobCache;
     }
 
     public PolarisResource<JobAttributes> getJobByUrl(HttpUrl jobApiUrl) throws IntegrationException {
-        return polarisService.get(jobApiUrl, JobAttributes.class);
+        Optional<PolarisResource<JobAttributes>> terminalJob = terminalJobCache.get(polarisService.getCredentialKey(), jobApiUrl);
+        if (terminalJob.isPresent()) {
+            return terminalJob.get();
+        }
+
+        PolarisResource<JobAttributes> jobResource = polarisService.get(jobApiUrl, JobAttributes.class);
+        terminalJobCache.putIfTerminal(polarisService.getCredentialKey(), jobApiUrl, jobResource);
+        return jobResource;
     }
 
     public void waitForJobStateIsCompletedOrDieByUrl(HttpUrl jobApiUrl, long timeoutInSeconds, int waitIntervalInSeconds) throws IntegrationException, InterruptedException {
-        WaitJob waitJob = WaitJob.createUsingSystemTimeWhenInvoked(logger, timeoutInSeconds, waitIntervalInSeconds, () -> hasJobEnded(jobApiUrl));
-        if (!waitJob.waitFor()) {
-            String maximumDurationString = DurationFormatUtils.formatDurationHMS(timeoutInSeconds * 1000);
-            throw new PolarisIntegrationException(String.format("Job at url %s did not end in the provided timeout of %s", jobApiUrl, maximumDurationString));
+        try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.JOB_POLLING)) {
+            WaitJob waitJob = WaitJob.createUsingSystemTimeWhenInvoked(logger, timeoutInSeconds, waitIntervalInSeconds, () -> hasJobEnded(jobApiUrl));
+            if (!waitJob.waitFor()) {
+                String maximumDurationString = DurationFormatUtils.formatDurationHMS(timeoutInSeconds * 1000);
+                throw new PolarisIntegrationException(String.format("Job at url %s did not end in the provided timeout of %s", jobApiUrl, maximumDurationString));
+            }
         }
 
         PolarisResource<JobAttributes> jobResource = this.getJobByUrl(jobApiUrl);
@@ -68,6 +102,73 @@ public class JobService {
         }
     }
 
+    public static boolean isJobsServiceJob(HttpUrl jobApiUrl) {
+        return JOBS_SERVICE_JOB_URL.matcher(jobApiUrl.string()).matches();
+    }
+
+    /**
+     * Asks Polaris to cancel the job, retrying transient failures, then reads the job back to confirm it was cancelled. Returns true only if Polaris
+     * reports the job as cancelled, so a cancel request Polaris did not act on is never mistaken for a cancelled job.
+     */
+    public boolean cancelJob(HttpUrl jobApiUrl) throws IntegrationException, InterruptedException {
+        if (terminalJobCache.contains(polarisService.getCredentialKey(), jobApiUrl)) {
+            return false;
+        }
+        if (!isJobsServiceJob(jobApiUrl)) {
+            logger.debug("Job at url " + jobApiUrl + " is not a Polaris jobs service job and cannot be cancelled.");
+            return false;
+        }
+
+        Request cancelRequest = PolarisRequestFactory.createDefaultBuilder()
+                                    .method(HttpMethod.POST)
+                                    .url(new HttpUrl(StringUtils.removeEnd(jobApiUrl.string(), "/") + CANCEL_ACTION_SPEC))
+                                    .build();
+
+        int attempt = 1;
+        while (true) {
+            try {
+                polarisService.execute(cancelRequest);
+                break;
+            } catch (IntegrationRestException e) {
+                // A client error will not go away by asking again; whether the job ended anyway is checked below
+                if (e.getHttpStatusCode() >= 400 && e.getHttpStatusCode() < 500) {
+                    logger.debug(String.format("Polaris refused to cancel the job at url %s with status %s", jobApiUrl, e.getHttpStatusCode()));
+                    break;
+                }
+                if (attempt >= MAXIMUM_CANCEL_ATTEMPTS) {
+                    throw e;
+                }
+            } catch (IntegrationException e) {
+                if (attempt >= MAXIMUM_CANCEL_ATTEMPTS) {
+                    throw e;
+                }
+            }
+
+            logger.debug(String.format("Could not cancel the job at url %s, retrying (attempt %s of %s)", jobApiUrl, attempt, MAXIMUM_CANCEL_ATTEMPTS));
+            Thread.sleep(CANCEL_RETRY_INTERVAL_IN_MILLIS * attempt);
+            attempt++;
+        }
+
+        return isCancelled(jobApiUrl);
+    }
+
+    private boolean isCancelled(HttpUrl jobApiUrl) throws IntegrationException {
+        JobStatus.StateEnum jobState = Optional.ofNullable(getJobByUrl(jobApiUrl))
+                                           .map(PolarisResource::getAttributes)
+                                           .map(JobAttributes::getStatus)
+                                           .map(JobStatus::getState)
+                                           .orElse(null);
+        if (JobStatus.StateEnum.CANCELLED.equals(jobState)) {
+            logger.info("Cancelled the job at url " + jobApiUrl);
+            return true;
+        } else if (JobStatus.StateEnum.COMPLETED.equals(jobState) || JobStatus.StateEnum.FAILED.equals(jobState)) {
+            logger.debug("Job at url " + jobApiUrl + " had already ended.");
+        } else {
+            logger.warn(String.format("Polaris has not cancelled the job at url %s (state %s), it may have to be cancelled in Polaris", jobApiUrl, jobState));
+        }
+        return false;
+    }
+
     private boolean hasJobEnded(HttpUrl jobApiUrl) throws IntegrationException {
         String jobStatusPrefix = "Job at url " + jobApiUrl;
 
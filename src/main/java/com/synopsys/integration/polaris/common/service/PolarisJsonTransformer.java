@@ -17,6 +17,7 @@ import com.google.gson.JsonSyntaxException;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.polaris.common.api.PolarisResponse;
+import com.synopsys.integration.polaris.common.json.PolarisTypeAdapterFactory;
 import com.synopsys.integration.rest.response.Response;
 
 public class PolarisJsonTransformer {
@@ -26,7 +27,7 @@ public class PolarisJsonTransformer {
     private final IntLogger logger;
 
     public PolarisJsonTransformer(Gson gson, IntLogger logger) {
-        this.gson = gson;
+        this.gson = PolarisTypeAdapterFactory.withPolarisTypeAdapters(gson);
         this.logger = logger;
     }
 
@@ -12,10 +12,16 @@ import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpHeaders;
 
-import com.google.gson.reflect.TypeToken;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.polaris.common.api.PolarisAttributes;
 import com.synopsys.integration.polaris.common.api.PolarisPagedResourceResponse;
@@ -23,36 +29,74 @@ import com.synopsys.integration.polaris.common.api.PolarisPaginationMeta;
 import com.synopsys.integration.polaris.common.api.PolarisResource;
 import com.synopsys.integration.polaris.common.api.PolarisResponse;
 import com.synopsys.integration.polaris.common.api.PolarisSingleResourceResponse;
+import com.synopsys.integration.polaris.common.json.PolarisTypes;
+import com.synopsys.integration.polaris.common.metrics.PolarisEndpointTemplate;
+import com.synopsys.integration.polaris.common.metrics.PolarisHttpMetrics;
+import com.synopsys.integration.polaris.common.metrics.PolarisHttpMetricsSink;
 import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.polaris.common.rest.PolarisHttpCache;
+import com.synopsys.integration.rest.HttpMethod;
 import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.rest.response.Response;
 
 public class PolarisService {
+    // Shared by every service in the JVM so that builds asking for the same thing at the same time make one call between them
+    private static final SingleFlight<String> IN_FLIGHT_GETS = new SingleFlight<>();
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
     private final AccessTokenPolarisHttpClient polarisHttpClient;
     private final PolarisJsonTransformer polarisJsonTransformer;
     private final int defaultPageSize;
+    private final PolarisHttpCache httpCache;
 
     public PolarisService(AccessTokenPolarisHttpClient polarisHttpClient, PolarisJsonTransformer polarisJsonTransformer, int defaultPageSize) {
+        this(polarisHttpClient, polarisJsonTransformer, defaultPageSize, null);
+    }
+
+    public PolarisService(AccessTokenPolarisHttpClient polarisHttpClient, PolarisJsonTransformer polarisJsonTransformer, int defaultPageSize, PolarisHttpCache httpCache) {
         this.polarisHttpClient = polarisHttpClient;
         this.polarisJsonTransformer = polarisJsonTransformer;
         this.defaultPageSize = defaultPageSize;
+        this.httpCache = httpCache;
+    }
+
+    public static SingleFlight<String> getInFlightGets() {
+        return IN_FLIGHT_GETS;
     }
 
     public <R extends PolarisResponse> R get(Request request, Type returnType) throws IntegrationException {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return executeAndTransform(request, returnType);
+        }
+
+        String requestKey = String.join("|", "get", getCredentialKey(), request.getUrl().string(), sorted(request.getQueryParameters()), sorted(request.getHeaders()), returnType.getTypeName());
+        return IN_FLIGHT_GETS.execute(requestKey, () -> executeAndTransform(request, returnType), response -> copyResponse(response, returnType));
+    }
+
+    private <R extends PolarisResponse> R executeAndTransform(Request request, Type returnType) throws IntegrationException {
+        try {
+            return executeWithCache(request, returnType);
+        } catch (IOException e) {
+            throw new IntegrationException(e);
+        }
+    }
+
+    public void execute(Request request) throws IntegrationException {
         try (Response response = polarisHttpClient.execute(request)) {
             response.throwExceptionForError();
-
-            return polarisJsonTransformer.getResponse(response, returnType);
         } catch (IOException e) {
             throw new IntegrationException(e);
         }
     }
 
     public <A extends PolarisAttributes> PolarisResource<A> get(HttpUrl apiUrl, Class<A> attributeType) throws IntegrationException {
-        Type resourceType = TypeToken.getParameterized(PolarisResource.class, attributeType).getType();
-        Type responseType = TypeToken.getParameterized(PolarisSingleResourceResponse.class, resourceType).getType();
+        Type responseType = PolarisTypes.getSingleResourceResponseType(attributeType);
 
         Request request = PolarisRequestFactory.createDefaultGetRequest(apiUrl);
         PolarisSingleResourceResponse<PolarisResource<A>> polarisSingleResourceResponse = get(request, responseType);
@@ -64,11 +108,21 @@ public class PolarisService {
     }
 
     public <A extends PolarisAttributes> List<PolarisResource<A>> getAll(HttpUrl apiUrl, Class<A> attributeType, int pageSize) throws IntegrationException {
-        return collectAllResources(apiUrl, attributeType, pageSize);
+        String requestKey = String.join("|", "getAll", getCredentialKey(), apiUrl.string(), attributeType.getName(), String.valueOf(pageSize));
+        return IN_FLIGHT_GETS.execute(requestKey, () -> collectAllResources(apiUrl, attributeType, pageSize), resources -> copyResources(resources, attributeType));
     }
 
     public <A extends PolarisAttributes> List<PolarisResource<A>> collectAllResources(HttpUrl apiUrl, Class<A> attributeType, int pageSize) throws IntegrationException {
-        List<PolarisResource<A>> allResources = new ArrayList<>();
+        return collectPages((offset, limit) -> executePagedRequest(apiUrl, attributeType, offset, limit), pageSize, page -> {});
+    }
+
+    // For paged responses that carry more than the resources themselves (included resources, for example), which the page consumer can pick up as the pages arrive
+    public <R extends PolarisResource, P extends PolarisPagedResourceResponse<R>> List<R> collectAllResources(HttpUrl apiUrl, Type pageType, Consumer<P> pageConsumer) throws IntegrationException {
+        return collectPages((offset, limit) -> getPage(apiUrl, pageType, offset, limit), defaultPageSize, pageConsumer);
+    }
+
+    private <R extends PolarisResource, P extends PolarisPagedResourceResponse<R>> List<R> collectPages(PageRequest<P> pageRequest, int pageSize, Consumer<P> pageConsumer) throws IntegrationException {
+        List<R> allResources = new ArrayList<>();
 
         Integer totalExpected = null;
         int offset = 0;
@@ -76,10 +130,11 @@ public class PolarisService {
         boolean thisPageHadData;
         boolean isMoreData;
         do {
-            PolarisPagedResourceResponse<PolarisResource<A>> pageOfResources = executePagedRequest(apiUrl, attributeType, offset, pageSize);
+            P pageOfResources = pageRequest.execute(offset, pageSize);
             if (pageOfResources == null) {
                 break;
             }
+            pageConsumer.accept(pageOfResources);
 
             if (totalExpectedHasNotBeenSet) {
                 PolarisPaginationMeta meta = pageOfResources.getMeta();
@@ -90,7 +145,7 @@ public class PolarisService {
                 totalExpectedHasNotBeenSet = false;
             }
 
-            List<PolarisResource<A>> pageResources = Optional.ofNullable(pageOfResources.getData()).orElse(Collections.emptyList());
+            List<R> pageResources = Optional.ofNullable(pageOfResources.getData()).orElse(Collections.emptyList());
             allResources.addAll(pageResources);
 
             // Pagination meta does not include a total if it only has one page of results to give. -- rotte SEP 2020
@@ -103,16 +158,131 @@ public class PolarisService {
     }
 
     protected <A extends PolarisAttributes> PolarisPagedResourceResponse<PolarisResource<A>> executePagedRequest(HttpUrl apiUrl, Class<A> attributeType, int offset, int limit) throws IntegrationException {
-        Type resourceType = TypeToken.getParameterized(PolarisResource.class, attributeType).getType();
-        Type responseType = TypeToken.getParameterized(PolarisPagedResourceResponse.class, resourceType).getType();
+        return getPage(apiUrl, PolarisTypes.getPagedResourceResponseType(attributeType), offset, limit);
+    }
 
+    private <P extends PolarisResponse> P getPage(HttpUrl apiUrl, Type responseType, int offset, int limit) throws IntegrationException {
         Request pagedRequest = PolarisRequestFactory.createDefaultPagedGetRequest(apiUrl, limit, offset);
-        try (Response response = polarisHttpClient.execute(pagedRequest)) {
-            response.throwExceptionForError();
-            return polarisJsonTransformer.getResponse(response, responseType);
+        try {
+            return executeWithCache(pagedRequest, responseType);
         } catch (IOException e) {
             throw new IntegrationException("Problem handling request", e);
         }
     }
 
+    private <R extends PolarisResponse> R executeWithCache(Request request, Type returnType) throws IntegrationException, IOException {
+        if (httpCache == null || !HttpMethod.GET.equals(request.getMethod())) {
+            try (Response response = polarisHttpClient.execute(request)) {
+                response.throwExceptionForError();
+                return transformResponse(request, response, returnType);
+            }
+        }
+
+        String cacheKey = String.join("|", getCredentialKey(), request.getUrl().string(), sorted(request.getQueryParameters()), sorted(request.getHeaders()));
+        Optional<PolarisHttpCache.Entry> cachedEntry = httpCache.get(cacheKey);
+        if (cachedEntry.isPresent() && cachedEntry.get().isFresh()) {
+            return getCachedResponse(cachedEntry.get(), returnType);
+        }
+
+        Request requestToSend = cachedEntry.map(entry -> createConditionalRequest(request, entry)).orElse(request);
+        try (Response response = polarisHttpClient.execute(requestToSend)) {
+            Integer statusCode = response.getStatusCode();
+            if (cachedEntry.isPresent() && statusCode != null && statusCode == 304) {
+                return getCachedResponse(httpCache.revalidated(cachedEntry.get(), response.getHeaderValue(CACHE_CONTROL)), returnType);
+            }
+
+            response.throwExceptionForError();
+            String json = readContent(request, response);
+            R polarisResponse = polarisJsonTransformer.getResponseAs(json, returnType);
+            httpCache.store(cacheKey, json, response.getHeaderValue(ETAG), response.getHeaderValue(LAST_MODIFIED), response.getHeaderValue(CACHE_CONTROL));
+            return polarisResponse;
+        }
+    }
+
+    // Every hit is parsed from the cached body so that no two callers ever share (and can change) the same response objects
+    private <R extends PolarisResponse> R getCachedResponse(PolarisHttpCache.Entry entry, Type returnType) throws IntegrationException {
+        return polarisJsonTransformer.getResponseAs(entry.getBody(), returnType);
+    }
+
+    // Callers that joined another caller's request get objects of their own, parsed from the json each object was read from
+    private <R extends PolarisResponse> R copyResponse(R response, Type returnType) throws IntegrationException {
+        if (response == null || response.getJson() == null) {
+            return response;
+        }
+        return polarisJsonTransformer.getResponseAs(response.getJson(), returnType);
+    }
+
+    private <A extends PolarisAttributes> List<PolarisResource<A>> copyResources(List<PolarisResource<A>> resources, Class<A> attributeType) throws IntegrationException {
+        Type resourceType = PolarisTypes.getResourceType(attributeType);
+        List<PolarisResource<A>> copies = new ArrayList<>(resources.size());
+        for (PolarisResource<A> resource : resources) {
+            copies.add(copyResponse(resource, resourceType));
+        }
+        return copies;
+    }
+
+    private Request createConditionalRequest(Request request, PolarisHttpCache.Entry entry) {
+        Map<String, String> headers = new HashMap<>(Optional.ofNullable(request.getHeaders()).orElse(Collections.emptyMap()));
+        entry.getETag().ifPresent(eTag -> headers.put(IF_NONE_MATCH, eTag));
+        entry.getLastModified().ifPresent(lastModified -> headers.put(IF_MODIFIED_SINCE, lastModified));
+
+        Request.Builder conditionalRequestBuilder = new Request.Builder(request);
+        conditionalRequestBuilder.headers(headers);
+        return conditionalRequestBuilder.build();
+    }
+
+    private <R extends PolarisResponse> R transformResponse(Request request, Response response, Type returnType) throws IntegrationException {
+        return polarisJsonTransformer.getResponseAs(readContent(request, response), returnType);
+    }
+
+    // Response sizes are measured here rather than in the http client because Polaris usually sends json without a Content-Length, in which case the
+    // size has to come from the body once it is read
+    private String readContent(Request request, Response response) throws IntegrationException {
+        String json = response.getContentString();
+        String contentLength = response.getHeaderValue(HttpHeaders.CONTENT_LENGTH);
+        long responseBytes = StringUtils.isNumeric(contentLength) ? Long.parseLong(contentLength) : getUtf8Length(json);
+        getMetricsSink().recordResponseBytes(PolarisEndpointTemplate.fromUrl(request.getUrl()), responseBytes);
+        return json;
+    }
+
+    // Counts the bytes the body took on the wire without encoding a copy of it
+    private long getUtf8Length(String json) {
+        if (json == null) {
+            return 0L;
+        }
+
+        long length = 0L;
+        for (int i = 0; i < json.length(); i++) {
+            char character = json.charAt(i);
+            if (character < 0x80) {
+                length += 1;
+            } else if (character < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(character) && i + 1 < json.length() && Character.isLowSurrogate(json.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private String sorted(Map<String, ?> values) {
+        return values == null ? "" : new TreeMap<>(values).toString();
+    }
+
+    public String getCredentialKey() {
+        return Optional.ofNullable(polarisHttpClient.getCredentialKey()).orElse("");
+    }
+
+    private PolarisHttpMetricsSink getMetricsSink() {
+        PolarisHttpMetricsSink metricsSink = polarisHttpClient.getMetricsSink();
+        return metricsSink != null ? metricsSink : PolarisHttpMetrics.global();
+    }
+
+    private interface PageRequest<P> {
+        P execute(int offset, int limit) throws IntegrationException;
+    }
+
 }
@@ -11,6 +11,8 @@ import com.google.gson.Gson;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.polaris.common.rest.PolarisHttpCache;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
 
 public class PolarisServicesFactory {
     private final IntLogger logger;
@@ -18,6 +20,8 @@ public class PolarisServicesFactory {
     private final Gson gson;
     private final PolarisJsonTransformer polarisJsonTransformer;
     private int defaultPageSize;
+    private PhaseTimer phaseTimer;
+    private PolarisHttpCache httpCache;
 
     public PolarisServicesFactory(IntLogger logger, AccessTokenPolarisHttpClient httpClient, Gson gson) {
         this.logger = logger;
@@ -25,18 +29,24 @@ public class PolarisServicesFactory {
         this.gson = gson;
         this.polarisJsonTransformer = new PolarisJsonTransformer(gson, logger);
         this.defaultPageSize = PolarisRequestFactory.DEFAULT_LIMIT;
+        this.phaseTimer = new PhaseTimer();
+        this.httpCache = PolarisHttpCache.getDefault();
     }
 
     public PolarisService createPolarisService() {
-        return new PolarisService(httpClient, polarisJsonTransformer, defaultPageSize);
+        return new PolarisService(httpClient, polarisJsonTransformer, defaultPageSize, httpCache);
     }
 
     public JobService createJobService() {
-        return new JobService(logger, createPolarisService());
+        return new JobService(logger, createPolarisService(), phaseTimer);
     }
 
     public CountService createCountService() {
-        return new CountService(createPolarisService());
+        return new CountService(createPolarisService(), phaseTimer);
+    }
+
+    public BulkCountService createBulkCountService() {
+        return new BulkCountService(logger, createCountService());
     }
 
     public ContextsService createContextsService() {
@@ -55,6 +65,25 @@ public class PolarisServicesFactory {
         return httpClient;
     }
 
+    public PhaseTimer getPhaseTimer() {
+        return phaseTimer;
+    }
+
+    public void setPhaseTimer(PhaseTimer phaseTimer) {
+        if (phaseTimer != null) {
+            this.phaseTimer = phaseTimer;
+        }
+    }
+
+    public PolarisHttpCache getHttpCache() {
+        return httpCache;
+    }
+
+    // A null cache turns http caching off for the services created afterwards
+    public void setHttpCache(PolarisHttpCache httpCache) {
+        this.httpCache = httpCache;
+    }
+
     public void setDefaultPageSize(int defaultPageSize) {
         if (defaultPageSize >= 0) {
             this.defaultPageSize = defaultPageSize;
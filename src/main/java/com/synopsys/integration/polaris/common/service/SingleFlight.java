@@ -0,0 +1,124 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
+
+/**
+ * Lets concurrent callers asking for the same key share a single call: the first caller runs it, anyone arriving while it is
+ * still running waits for its result (or exception) and receives its own copy of that result. Nothing is kept once the call
+ * finishes, so this is not a cache. If the caller running the call is interrupted, its failure belongs to its own build, so the
+ * callers waiting on it start over and one of them runs the call instead.
+ */
+public class SingleFlight<K> {
+    private final ConcurrentMap<K, CompletableFuture<Object>> callsInFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCallCount = new AtomicLong();
+
+    // For results that cannot be changed, which every caller can safely share
+    public <T> T execute(K key, Call<T> call) throws IntegrationException {
+        return execute(key, call, result -> result);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(K key, Call<T> call, Copier<T> copier) throws IntegrationException {
+        while (true) {
+            CompletableFuture<Object> ownCall = new CompletableFuture<>();
+            CompletableFuture<Object> callInFlight = callsInFlight.putIfAbsent(key, ownCall);
+            if (callInFlight == null) {
+                return lead(key, ownCall, call);
+            }
+
+            coalescedCallCount.incrementAndGet();
+            try {
+                T result = (T) await(callInFlight);
+                return result == null ? null : copier.copy(result);
+            } catch (CancellationException e) {
+                // The caller running the call was interrupted, so try again
+            }
+        }
+    }
+
+    public long getCoalescedCallCount() {
+        return coalescedCallCount.get();
+    }
+
+    public int getCallsInFlightCount() {
+        return callsInFlight.size();
+    }
+
+    private <T> T lead(K key, CompletableFuture<Object> ownCall, Call<T> call) throws IntegrationException {
+        T result;
+        try {
+            result = call.call();
+        } catch (Throwable e) {
+            // Removed before completing so that waiting callers that start over do not find this call again
+            callsInFlight.remove(key, ownCall);
+            if (Thread.currentThread().isInterrupted() || isInterruption(e)) {
+                ownCall.cancel(false);
+            } else {
+                ownCall.completeExceptionally(e);
+            }
+            throw e;
+        }
+
+        callsInFlight.remove(key, ownCall);
+        ownCall.complete(result);
+        return result;
+    }
+
+    private Object await(CompletableFuture<Object> callInFlight) throws IntegrationException {
+        try {
+            return callInFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PolarisIntegrationException("Interrupted while waiting for an identical request to Polaris", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IntegrationException) {
+                throw (IntegrationException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new PolarisIntegrationException("An identical request to Polaris failed", cause);
+        }
+    }
+
+    public static boolean isInterruption(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException || cause instanceof ClosedByInterruptException || cause instanceof CancellationException
+                    || (cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    public interface Call<T> {
+        T call() throws IntegrationException;
+    }
+
+    @FunctionalInterface
+    public interface Copier<T> {
+        T copy(T result) throws IntegrationException;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.service;
+
+import java.lang.reflect.Type;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.polaris.common.api.PolarisResource;
+import com.synopsys.integration.polaris.common.api.model.JobAttributes;
+import com.synopsys.integration.polaris.common.api.model.JobStatus;
+import com.synopsys.integration.polaris.common.json.PolarisTypes;
+import com.synopsys.integration.rest.HttpUrl;
+
+/**
+ * Remembers jobs that have reached a terminal state. A job never leaves COMPLETED, FAILED or CANCELLED, so once seen there
+ * it can be answered locally for as long as it stays in the cache. Jobs are kept per credential, so a job read with one access
+ * token is never answered to a caller holding another. The cache keeps a copy of each job and hands every caller a copy of its own,
+ * parsed again from the json the job was read from, so what one caller does with a job never reaches the next.
+ */
+public class TerminalJobCache {
+    public static final int DEFAULT_MAXIMUM_JOBS = 1024;
+    public static final Set<JobStatus.StateEnum> TERMINAL_STATES = EnumSet.of(JobStatus.StateEnum.COMPLETED, JobStatus.StateEnum.FAILED, JobStatus.StateEnum.CANCELLED);
+    private static final TerminalJobCache DEFAULT_CACHE = new TerminalJobCache(DEFAULT_MAXIMUM_JOBS);
+    private static final Type JOB_RESOURCE_TYPE = PolarisTypes.getResourceType(JobAttributes.class);
+
+    private final PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(new Gson(), new SilentIntLogger());
+
+    private final Map<String, PolarisResource<JobAttributes>> jobsByUrl;
+
+    public TerminalJobCache(int maximumJobs) {
+        this.jobsByUrl = new LinkedHashMap<String, PolarisResource<JobAttributes>>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2398213371468402150L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PolarisResource<JobAttributes>> eldest) {
+                return size() > maximumJobs;
+            }
+        };
+    }
+
+    public static TerminalJobCache getDefault() {
+        return DEFAULT_CACHE;
+    }
+
+    public static boolean isTerminal(PolarisResource<JobAttributes> jobResource) {
+        return Optional.ofNullable(jobResource)
+                   .map(PolarisResource::getAttributes)
+                   .map(JobAttributes::getStatus)
+                   .map(JobStatus::getState)
+                   .filter(TERMINAL_STATES::contains)
+                   .isPresent();
+    }
+
+    public Optional<PolarisResource<JobAttributes>> get(String credentialKey, HttpUrl jobApiUrl) throws IntegrationException {
+        PolarisResource<JobAttributes> cachedJob;
+        synchronized (this) {
+            cachedJob = jobsByUrl.get(createKey(credentialKey, jobApiUrl));
+        }
+        return Optional.ofNullable(copy(cachedJob));
+    }
+
+    public synchronized boolean contains(String credentialKey, HttpUrl jobApiUrl) {
+        return jobsByUrl.containsKey(createKey(credentialKey, jobApiUrl));
+    }
+
+    // Jobs that have not ended yet are ignored, so callers can offer every job they fetch
+    public boolean putIfTerminal(String credentialKey, HttpUrl jobApiUrl, PolarisResource<JobAttributes> jobResource) throws IntegrationException {
+        if (!isTerminal(jobResource)) {
+            return false;
+        }
+        PolarisResource<JobAttributes> cachedJob = copy(jobResource);
+        synchronized (this) {
+            jobsByUrl.put(createKey(credentialKey, jobApiUrl), cachedJob);
+        }
+        return true;
+    }
+
+    public synchronized int size() {
+        return jobsByUrl.size();
+    }
+
+    public synchronized void clear() {
+        jobsByUrl.clear();
+    }
+
+    private String createKey(String credentialKey, HttpUrl jobApiUrl) {
+        return String.join("|", String.valueOf(credentialKey), jobApiUrl.string());
+    }
+
+    // Jobs built by hand rather than read from Polaris have no json to copy from, and are shared as they are
+    private PolarisResource<JobAttributes> copy(PolarisResource<JobAttributes> jobResource) throws IntegrationException {
+        if (jobResource == null || jobResource.getJson() == null) {
+            return jobResource;
+        }
+        return polarisJsonTransformer.getResponseAs(jobResource.getJson(), JOB_RESOURCE_TYPE);
+    }
+
+}
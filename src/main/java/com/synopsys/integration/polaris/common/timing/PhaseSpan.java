@@ -0,0 +1,34 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.timing;
+
+public class PhaseSpan implements AutoCloseable {
+    private final PhaseTimer phaseTimer;
+    private final String phase;
+    private final long startNanos;
+    private boolean closed = false;
+
+    PhaseSpan(PhaseTimer phaseTimer, String phase) {
+        this.phaseTimer = phaseTimer;
+        this.phase = phase;
+        this.startNanos = System.nanoTime();
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            phaseTimer.record(phase, (System.nanoTime() - startNanos) / 1_000_000L);
+        }
+    }
+
+}
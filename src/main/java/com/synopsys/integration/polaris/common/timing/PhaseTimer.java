@@ -0,0 +1,53 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.timing;
+
+import java.util.function.Consumer;
+
+import com.synopsys.integration.log.IntLogger;
+
+/**
+ * Collects how long each phase of a Polaris run took. Spans are meant to be used with try-with-resources:
+ * <pre>
+ * try (PhaseSpan span = phaseTimer.start(PolarisPhase.JOB_POLLING)) {
+ *     ...
+ * }
+ * </pre>
+ */
+public class PhaseTimer {
+    private final PhaseTimings phaseTimings = new PhaseTimings();
+
+    public PhaseSpan start(String phase) {
+        return new PhaseSpan(this, phase);
+    }
+
+    public void record(String phase, long durationInMillis) {
+        phaseTimings.record(phase, durationInMillis);
+    }
+
+    public void merge(PhaseTimings otherTimings) {
+        phaseTimings.merge(otherTimings);
+    }
+
+    public PhaseTimings getTimings() {
+        return phaseTimings.copy();
+    }
+
+    public void logSummary(IntLogger logger) {
+        writeSummary(logger::info);
+    }
+
+    public void writeSummary(Consumer<String> lineConsumer) {
+        PhaseTimings snapshot = getTimings();
+        if (!snapshot.isEmpty()) {
+            lineConsumer.accept("Polaris Software Integrity Platform timing summary:");
+            snapshot.getSummaryLines().forEach(line -> lineConsumer.accept("   " + line));
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.timing;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class PhaseTimings implements Serializable {
+    private static final long serialVersionUID = -2412873528447436157L;
+
+    private final LinkedHashMap<String, PhaseTiming> timingsByPhase = new LinkedHashMap<>();
+
+    public synchronized void record(String phase, long durationInMillis) {
+        timingsByPhase.computeIfAbsent(phase, ignored -> new PhaseTiming()).record(1, durationInMillis, durationInMillis);
+    }
+
+    public void merge(PhaseTimings otherTimings) {
+        if (otherTimings == null || otherTimings == this) {
+            return;
+        }
+
+        Map<String, PhaseTiming> otherTimingsByPhase = otherTimings.getTimingsByPhase();
+        synchronized (this) {
+            for (Map.Entry<String, PhaseTiming> otherEntry : otherTimingsByPhase.entrySet()) {
+                PhaseTiming otherTiming = otherEntry.getValue();
+                timingsByPhase.computeIfAbsent(otherEntry.getKey(), ignored -> new PhaseTiming()).record(otherTiming.getCount(), otherTiming.getTotalMillis(), otherTiming.getMaximumMillis());
+            }
+        }
+    }
+
+    public synchronized PhaseTimings copy() {
+        PhaseTimings copy = new PhaseTimings();
+        copy.merge(this);
+        return copy;
+    }
+
+    public synchronized Map<String, PhaseTiming> getTimingsByPhase() {
+        Map<String, PhaseTiming> copy = new LinkedHashMap<>();
+        timingsByPhase.forEach((phase, timing) -> copy.put(phase, timing.copy()));
+        return copy;
+    }
+
+    public synchronized boolean isEmpty() {
+        return timingsByPhase.isEmpty();
+    }
+
+    public List<String> getSummaryLines() {
+        return getTimingsByPhase().entrySet().stream()
+                   .map(entry -> String.format("%s: %s", entry.getKey(), entry.getValue()))
+                   .collect(Collectors.toList());
+    }
+
+    public static class PhaseTiming implements Serializable {
+        private static final long serialVersionUID = 4871650187726310283L;
+
+        private int count;
+        private long totalMillis;
+        private long maximumMillis;
+
+        private void record(int additionalCount, long additionalMillis, long candidateMaximumMillis) {
+            count += additionalCount;
+            totalMillis += additionalMillis;
+            maximumMillis = Math.max(maximumMillis, candidateMaximumMillis);
+        }
+
+        private PhaseTiming copy() {
+            PhaseTiming copy = new PhaseTiming();
+            copy.record(count, totalMillis, maximumMillis);
+            return copy;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public long getMaximumMillis() {
+            return maximumMillis;
+        }
+
+        @Override
+        public String toString() {
+            if (count == 1) {
+                return String.format("%d ms", totalMillis);
+            }
+            return String.format("%d ms across %d spans (longest %d ms)", totalMillis, count, maximumMillis);
+        }
+    }
+
+}
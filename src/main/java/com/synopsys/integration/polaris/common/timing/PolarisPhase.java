@@ -0,0 +1,24 @@
+/*
+ * synopsys-polaris
+ *
+ * Copyright (c) 2022 Synopsys, Inc.
+ *
+ * Use subject to the terms and conditions of the Synopsys End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.synopsys.integration.polaris.common.timing;
+
+public final class PolarisPhase {
+    public static final String CLI_INSTALL = "CLI install";
+    public static final String CLI_DOWNLOAD = "CLI download";
+    public static final String CLI_EXTRACT = "CLI extract";
+    public static final String REMOTING = "remoting";
+    public static final String TOOL_CACHE = "tool cache";
+    public static final String IDIR_CACHE = "idir cache";
+    public static final String CLI_EXECUTION = "CLI execution";
+    public static final String JOB_POLLING = "job polling";
+    public static final String ISSUE_COUNTING = "issue counting";
+
+    private PolarisPhase() {
+    }
+
+}
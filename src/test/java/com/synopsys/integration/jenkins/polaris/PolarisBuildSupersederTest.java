@@ -0,0 +1,45 @@
+package com.synopsys.integration.jenkins.polaris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import hudson.model.ParametersAction;
+import hudson.model.Run;
+import hudson.model.StringParameterValue;
+
+public class PolarisBuildSupersederTest {
+    @Test
+    public void testBranchFromParameter() {
+        Run<?, ?> run = Mockito.mock(Run.class);
+        ParametersAction parametersAction = new ParametersAction(Arrays.asList(new StringParameterValue("OTHER", "value"), new StringParameterValue("GIT_BRANCH", "origin/main")));
+        Mockito.when(run.getAction(ParametersAction.class)).thenReturn(parametersAction);
+
+        assertEquals(Optional.of("origin/main"), PolarisBuildSuperseder.getBranch(run));
+    }
+
+    @Test
+    public void testBranchPrefersBranchName() {
+        Run<?, ?> run = Mockito.mock(Run.class);
+        ParametersAction parametersAction = new ParametersAction(Arrays.asList(new StringParameterValue("GIT_BRANCH", "origin/main"), new StringParameterValue("BRANCH_NAME", "main")));
+        Mockito.when(run.getAction(ParametersAction.class)).thenReturn(parametersAction);
+
+        assertEquals(Optional.of("main"), PolarisBuildSuperseder.getBranch(run));
+    }
+
+    @Test
+    public void testNoBranchWithoutParameters() {
+        Run<?, ?> unparameterizedRun = Mockito.mock(Run.class);
+        Run<?, ?> otherParameterRun = Mockito.mock(Run.class);
+        Mockito.when(otherParameterRun.getAction(ParametersAction.class)).thenReturn(new ParametersAction(Collections.singletonList(new StringParameterValue("OTHER", "value"))));
+
+        assertEquals(Optional.empty(), PolarisBuildSuperseder.getBranch(unparameterizedRun));
+        assertEquals(Optional.empty(), PolarisBuildSuperseder.getBranch(otherParameterRun));
+    }
+
+}
@@ -14,9 +14,11 @@ import org.mockito.Mockito;
 
 import com.synopsys.integration.jenkins.exception.JenkinsUserFriendlyException;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.cache.PolarisIdirCache;
 import com.synopsys.integration.jenkins.polaris.extensions.global.PolarisGlobalConfig;
 import com.synopsys.integration.jenkins.polaris.extensions.tools.PolarisCli;
 import com.synopsys.integration.jenkins.polaris.service.GetPathToPolarisCli;
+import com.synopsys.integration.jenkins.polaris.service.GetPolarisCliVersion;
 import com.synopsys.integration.jenkins.polaris.service.PolarisCliArgumentService;
 import com.synopsys.integration.jenkins.polaris.service.PolarisEnvironmentService;
 import com.synopsys.integration.jenkins.polaris.service.PolarisPhoneHomeService;
@@ -27,6 +29,7 @@ import com.synopsys.integration.jenkins.wrapper.JenkinsVersionHelper;
 import com.synopsys.integration.jenkins.wrapper.SynopsysCredentialsHelper;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.polaris.common.configuration.PolarisServerConfigBuilder;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
 
 public class PolarisCliRunnerTest {
     public static final String SUCCESSFUL_CLI_NAME = "SuccessfulPolarisCLi";
@@ -86,7 +89,7 @@ public class PolarisCliRunnerTest {
     @Test
     public void testRunPolarisCli() {
         PolarisCliRunner polarisCliRunner = new PolarisCliRunner(logger, polarisCliArgumentService, polarisEnvironmentService, polarisPhoneHomeService, jenkinsRemotingService, jenkinsConfigService, synopsysCredentialsHelper,
-            jenkinsProxyHelper, jenkinsVersionHelper);
+            jenkinsProxyHelper, jenkinsVersionHelper, new PhaseTimer());
 
         try {
             polarisCliRunner.runPolarisCli(SUCCESSFUL_CLI_NAME, CHANGE_SET_FILE_PATH, POLARIS_ARGUMENTS);
@@ -95,10 +98,24 @@ public class PolarisCliRunnerTest {
         }
     }
 
+    @Test
+    public void testIntermediateDataIsCachedByCliVersion() throws Exception {
+        Mockito.when(jenkinsRemotingService.call(Mockito.any(GetPolarisCliVersion.class))).thenReturn("Polaris CLI 1.12.3");
+        PolarisIdirCache polarisIdirCache = Mockito.mock(PolarisIdirCache.class);
+        PolarisCliRunner polarisCliRunner = new PolarisCliRunner(logger, polarisCliArgumentService, polarisEnvironmentService, polarisPhoneHomeService, jenkinsRemotingService, jenkinsConfigService, synopsysCredentialsHelper,
+            jenkinsProxyHelper, jenkinsVersionHelper, new PhaseTimer(), null, polarisIdirCache);
+
+        polarisCliRunner.runPolarisCli(SUCCESSFUL_CLI_NAME, CHANGE_SET_FILE_PATH, POLARIS_ARGUMENTS);
+
+        // The home of a manually configured installation is named the same across releases, so it must not be the version
+        Mockito.verify(polarisIdirCache).restore("Polaris CLI 1.12.3");
+        Mockito.verify(polarisIdirCache).save("Polaris CLI 1.12.3");
+    }
+
     @Test
     public void testRunPolarisCliEmptyHome() {
         PolarisCliRunner polarisCliRunner = new PolarisCliRunner(logger, polarisCliArgumentService, polarisEnvironmentService, polarisPhoneHomeService, jenkinsRemotingService, jenkinsConfigService, synopsysCredentialsHelper,
-            jenkinsProxyHelper, jenkinsVersionHelper);
+            jenkinsProxyHelper, jenkinsVersionHelper, new PhaseTimer());
 
         assertThrows(JenkinsUserFriendlyException.class, () -> polarisCliRunner.runPolarisCli(EMPTY_HOME_CLI_NAME, CHANGE_SET_FILE_PATH, POLARIS_ARGUMENTS));
     }
@@ -106,7 +123,7 @@ public class PolarisCliRunnerTest {
     @Test
     public void testRunPolarisCliNullHome() {
         PolarisCliRunner polarisCliRunner = new PolarisCliRunner(logger, polarisCliArgumentService, polarisEnvironmentService, polarisPhoneHomeService, jenkinsRemotingService, jenkinsConfigService, synopsysCredentialsHelper,
-            jenkinsProxyHelper, jenkinsVersionHelper);
+            jenkinsProxyHelper, jenkinsVersionHelper, new PhaseTimer());
 
         assertThrows(JenkinsUserFriendlyException.class, () -> polarisCliRunner.runPolarisCli(NULL_HOME_CLI_NAME, CHANGE_SET_FILE_PATH, POLARIS_ARGUMENTS));
     }
@@ -114,7 +131,7 @@ public class PolarisCliRunnerTest {
     @Test
     public void testRunPolarisCliNoCliWithName() {
         PolarisCliRunner polarisCliRunner = new PolarisCliRunner(logger, polarisCliArgumentService, polarisEnvironmentService, polarisPhoneHomeService, jenkinsRemotingService, jenkinsConfigService, synopsysCredentialsHelper,
-            jenkinsProxyHelper, jenkinsVersionHelper);
+            jenkinsProxyHelper, jenkinsVersionHelper, new PhaseTimer());
 
         assertThrows(JenkinsUserFriendlyException.class, () -> polarisCliRunner.runPolarisCli(NONEXISTANT_CLI_NAME, CHANGE_SET_FILE_PATH, POLARIS_ARGUMENTS));
     }
@@ -3,6 +3,7 @@ package com.synopsys.integration.jenkins.polaris;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,8 +12,10 @@ import org.mockito.Mockito;
 import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.jenkins.extensions.ChangeBuildStatusTo;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.action.PolarisCliScanAction;
 import com.synopsys.integration.jenkins.polaris.extensions.freestyle.FreestyleCreateChangeSetFile;
 import com.synopsys.integration.jenkins.polaris.extensions.freestyle.WaitForIssues;
+import com.synopsys.integration.jenkins.polaris.service.PolarisTimingService;
 import com.synopsys.integration.jenkins.service.JenkinsBuildService;
 
 public class PolarisFreestyleCommandsTest {
@@ -30,6 +33,7 @@ public class PolarisFreestyleCommandsTest {
     private JenkinsIntLogger logger;
     private PolarisCliRunner mockedCliRunner;
     private PolarisIssueChecker mockedIssueChecker;
+    private PolarisTimingService mockedTimingService;
     private JenkinsBuildService mockedBuildService;
     private ChangeSetFileCreator mockedChangeSetFileCreator;
     private WaitForIssues waitForIssues;
@@ -40,6 +44,7 @@ public class PolarisFreestyleCommandsTest {
         logger = JenkinsIntLogger.logToStandardOut();
         mockedCliRunner = Mockito.mock(PolarisCliRunner.class);
         mockedIssueChecker = Mockito.mock(PolarisIssueChecker.class);
+        mockedTimingService = Mockito.mock(PolarisTimingService.class);
         mockedBuildService = Mockito.mock(JenkinsBuildService.class);
         mockedChangeSetFileCreator = Mockito.mock(ChangeSetFileCreator.class);
 
@@ -64,7 +69,7 @@ public class PolarisFreestyleCommandsTest {
 
         waitForIssues.setJobTimeoutInMinutes(null);
 
-        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         polarisFreestyleCommands.runPolarisCliAndCheckForIssues(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, createChangeSetFile, waitForIssues);
 
         Mockito.verify(mockedIssueChecker).getPolarisIssueCount(null);
@@ -80,7 +85,7 @@ public class PolarisFreestyleCommandsTest {
             fail("An unexpected exception occurred when preparing the test for setup. Please correct the test code.", e);
         }
 
-        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         polarisFreestyleCommands.runPolarisCliAndCheckForIssues(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, createChangeSetFile, waitForIssues);
 
         Mockito.verify(mockedBuildService, Mockito.never()).markBuildInterrupted();
@@ -100,7 +105,7 @@ public class PolarisFreestyleCommandsTest {
             fail("An unexpected exception occurred when preparing the test for setup. Please correct the test code.", e);
         }
 
-        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         polarisFreestyleCommands.runPolarisCliAndCheckForIssues(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, createChangeSetFile, waitForIssues);
 
         Mockito.verify(mockedBuildService).markBuildFailed(Mockito.anyString());
@@ -121,7 +126,7 @@ public class PolarisFreestyleCommandsTest {
             fail("An unexpected exception occurred when preparing the test for setup. Please correct the test code.", e);
         }
 
-        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         polarisFreestyleCommands.runPolarisCliAndCheckForIssues(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, createChangeSetFile, waitForIssues);
 
         Mockito.verify(mockedBuildService).markBuildAs(waitForIssues.getBuildStatusForIssues());
@@ -142,7 +147,7 @@ public class PolarisFreestyleCommandsTest {
             fail("An unexpected exception occurred when preparing the test for setup. Please correct the test code.", e);
         }
 
-        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         polarisFreestyleCommands.runPolarisCliAndCheckForIssues(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, createChangeSetFile, waitForIssues);
 
         Mockito.verify(mockedBuildService).markBuildInterrupted();
@@ -163,7 +168,7 @@ public class PolarisFreestyleCommandsTest {
             fail("An unexpected exception occurred when preparing the test for setup. Please correct the test code.", e);
         }
 
-        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         polarisFreestyleCommands.runPolarisCliAndCheckForIssues(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, createChangeSetFile, waitForIssues);
 
         Mockito.verify(mockedBuildService).markBuildUnstable(Mockito.any(IOException.class));
@@ -184,7 +189,7 @@ public class PolarisFreestyleCommandsTest {
             fail("An unexpected exception occurred when preparing the test for setup. Please correct the test code.", e);
         }
 
-        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         polarisFreestyleCommands.runPolarisCliAndCheckForIssues(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, createChangeSetFile, waitForIssues);
 
         Mockito.verify(mockedBuildService).markBuildFailed(Mockito.any(IntegrationException.class));
@@ -205,7 +210,7 @@ public class PolarisFreestyleCommandsTest {
             fail("An unexpected exception occurred when preparing the test for setup. Please correct the test code.", e);
         }
 
-        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         polarisFreestyleCommands.runPolarisCliAndCheckForIssues(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, createChangeSetFile, waitForIssues);
 
         Mockito.verify(mockedBuildService).markBuildAs(Mockito.any(ChangeBuildStatusTo.class));
@@ -222,4 +227,43 @@ public class PolarisFreestyleCommandsTest {
         Mockito.verify(mockedBuildService, Mockito.never()).markBuildFailed(Mockito.any(IntegrationException.class));
     }
 
+    @Test
+    public void testWaitForIssuesInBackground() throws Throwable {
+        PolarisCliScanAction recordedCliScan = new PolarisCliScanAction("{}");
+        PolarisCliScanRecorder mockedCliScanRecorder = Mockito.mock(PolarisCliScanRecorder.class);
+        PolarisBackgroundIssueChecker mockedBackgroundIssueChecker = Mockito.mock(PolarisBackgroundIssueChecker.class);
+        Mockito.when(mockedCliRunner.runPolarisCli(POLARIS_CLI_NAME, CHANGE_SET_FILE_PATH, POLARIS_ARGUMENTS)).thenReturn(STATUS_CODE_SUCCESS);
+        Mockito.when(mockedChangeSetFileCreator.createChangeSetFile(EXCLUSION_PATTERNS, INCLUSION_PATTERNS)).thenReturn(CHANGE_SET_FILE_PATH);
+        Mockito.when(mockedCliScanRecorder.getRecordedCliScan()).thenReturn(Optional.of(recordedCliScan));
+
+        waitForIssues.setWaitInBackground(true);
+        waitForIssues.setBuildStatusForIssues(ChangeBuildStatusTo.SUCCESS);
+
+        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService,
+            mockedCliScanRecorder, mockedBackgroundIssueChecker);
+        polarisFreestyleCommands.runPolarisCliAndCheckForIssues(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, createChangeSetFile, waitForIssues);
+
+        Mockito.verify(mockedBackgroundIssueChecker).submit(recordedCliScan, JOB_TIMEOUT_IN_MINUTES, ChangeBuildStatusTo.SUCCESS);
+        Mockito.verify(mockedIssueChecker, Mockito.never()).getPolarisIssueCount(Mockito.any());
+        Mockito.verify(mockedBuildService, Mockito.never()).markBuildAs(Mockito.any());
+    }
+
+    @Test
+    public void testStatusChangingChecksDoNotWaitInBackground() throws Throwable {
+        PolarisCliScanRecorder mockedCliScanRecorder = Mockito.mock(PolarisCliScanRecorder.class);
+        PolarisBackgroundIssueChecker mockedBackgroundIssueChecker = Mockito.mock(PolarisBackgroundIssueChecker.class);
+        Mockito.when(mockedCliRunner.runPolarisCli(POLARIS_CLI_NAME, CHANGE_SET_FILE_PATH, POLARIS_ARGUMENTS)).thenReturn(STATUS_CODE_SUCCESS);
+        Mockito.when(mockedChangeSetFileCreator.createChangeSetFile(EXCLUSION_PATTERNS, INCLUSION_PATTERNS)).thenReturn(CHANGE_SET_FILE_PATH);
+        Mockito.when(mockedIssueChecker.getPolarisIssueCount(JOB_TIMEOUT_IN_MINUTES)).thenReturn(SOME_ISSUES);
+
+        waitForIssues.setWaitInBackground(true);
+
+        PolarisFreestyleCommands polarisFreestyleCommands = new PolarisFreestyleCommands(logger, mockedBuildService, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService,
+            mockedCliScanRecorder, mockedBackgroundIssueChecker);
+        polarisFreestyleCommands.runPolarisCliAndCheckForIssues(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, createChangeSetFile, waitForIssues);
+
+        Mockito.verify(mockedBackgroundIssueChecker, Mockito.never()).submit(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(mockedBuildService).markBuildAs(ChangeBuildStatusTo.FAILURE);
+    }
+
 }
@@ -0,0 +1,44 @@
+package com.synopsys.integration.jenkins.polaris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.service.GetPolarisIssueCountSummary;
+import com.synopsys.integration.jenkins.polaris.service.PolarisCliIssueCountService;
+import com.synopsys.integration.jenkins.service.JenkinsRemotingService;
+import com.synopsys.integration.jenkins.wrapper.JenkinsVersionHelper;
+import com.synopsys.integration.polaris.common.service.IssueCountSummary;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
+
+public class PolarisIssueCheckerTest {
+    private static final String WORKSPACE = "/var/jenkins/workspace/polaris";
+
+    @Test
+    public void testIssueCheckRunsOnAgent() throws Exception {
+        PolarisCliIssueCountService polarisCliIssueCountService = Mockito.mock(PolarisCliIssueCountService.class);
+        JenkinsRemotingService jenkinsRemotingService = Mockito.mock(JenkinsRemotingService.class);
+        Mockito.when(jenkinsRemotingService.getRemoteWorkspacePath()).thenReturn(WORKSPACE);
+        Mockito.when(jenkinsRemotingService.call(Mockito.any(GetPolarisIssueCountSummary.class))).thenReturn(new IssueCountSummary(7, Collections.emptyMap(), Collections.emptyMap()));
+
+        AtomicReference<String> checkedWorkspace = new AtomicReference<>();
+        AtomicReference<Long> checkedJobTimeout = new AtomicReference<>();
+        PolarisIssueChecker polarisIssueChecker = new PolarisIssueChecker(JenkinsIntLogger.logToStandardOut(), polarisCliIssueCountService, jenkinsRemotingService, Mockito.mock(JenkinsVersionHelper.class),
+            new PhaseTimer(), (workspaceRemotePath, jobTimeoutInSeconds) -> {
+            checkedWorkspace.set(workspaceRemotePath);
+            checkedJobTimeout.set(jobTimeoutInSeconds);
+            return Mockito.mock(GetPolarisIssueCountSummary.class);
+        });
+
+        assertEquals(7, polarisIssueChecker.getPolarisIssueCount(5));
+        assertEquals(WORKSPACE, checkedWorkspace.get());
+        assertEquals(Long.valueOf(300L), checkedJobTimeout.get());
+        Mockito.verify(polarisCliIssueCountService, Mockito.never()).getIssueCount(Mockito.anyLong(), Mockito.anyString());
+    }
+
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,7 +13,9 @@ import org.mockito.Mockito;
 
 import com.synopsys.integration.jenkins.exception.JenkinsUserFriendlyException;
 import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.action.PolarisCliScanAction;
 import com.synopsys.integration.jenkins.polaris.extensions.pipeline.PipelineCreateChangeSetFile;
+import com.synopsys.integration.jenkins.polaris.service.PolarisTimingService;
 import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
 
 public class PolarisPipelineCommandsTest {
@@ -31,6 +34,7 @@ public class PolarisPipelineCommandsTest {
     private JenkinsIntLogger logger;
     private PolarisCliRunner mockedCliRunner;
     private PolarisIssueChecker mockedIssueChecker;
+    private PolarisTimingService mockedTimingService;
     private ChangeSetFileCreator mockedChangeSetFileCreator;
     private PipelineCreateChangeSetFile createChangeSetFile;
 
@@ -39,6 +43,7 @@ public class PolarisPipelineCommandsTest {
         logger = JenkinsIntLogger.logToStandardOut();
         mockedCliRunner = Mockito.mock(PolarisCliRunner.class);
         mockedIssueChecker = Mockito.mock(PolarisIssueChecker.class);
+        mockedTimingService = Mockito.mock(PolarisTimingService.class);
         mockedChangeSetFileCreator = Mockito.mock(ChangeSetFileCreator.class);
 
         createChangeSetFile = new PipelineCreateChangeSetFile();
@@ -56,7 +61,7 @@ public class PolarisPipelineCommandsTest {
         }
 
         try {
-            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
             int actualExitCode = polarisPipelineCommands.runPolarisCli(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, true, createChangeSetFile);
 
             assertEquals(STATUS_CODE_SUCCESS, actualExitCode);
@@ -74,7 +79,7 @@ public class PolarisPipelineCommandsTest {
             fail("An unexpected exception occurred when preparing the test for setup. Please correct the test code.", e);
         }
 
-        PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         assertThrows(IOException.class, () -> polarisPipelineCommands.runPolarisCli(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, true, createChangeSetFile));
     }
 
@@ -88,7 +93,7 @@ public class PolarisPipelineCommandsTest {
         }
 
         try {
-            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
             int actualExitCode = polarisPipelineCommands.runPolarisCli(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, true, createChangeSetFile);
 
             assertEquals(STATUS_CODE_FAILURE, actualExitCode);
@@ -106,7 +111,7 @@ public class PolarisPipelineCommandsTest {
             fail("An unexpected exception occurred when preparing the test for setup. Please correct the test code.", e);
         }
 
-        PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         assertThrows(JenkinsUserFriendlyException.class, () -> polarisPipelineCommands.runPolarisCli(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, false, createChangeSetFile));
     }
 
@@ -121,7 +126,7 @@ public class PolarisPipelineCommandsTest {
 
         createChangeSetFile.setReturnSkipCode(Boolean.FALSE);
 
-        PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         assertThrows(JenkinsUserFriendlyException.class, () -> polarisPipelineCommands.runPolarisCli(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, false, createChangeSetFile));
     }
 
@@ -137,7 +142,7 @@ public class PolarisPipelineCommandsTest {
         createChangeSetFile.setReturnSkipCode(Boolean.TRUE);
 
         try {
-            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
             int actualExitCode = polarisPipelineCommands.runPolarisCli(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, false, createChangeSetFile);
 
             assertEquals(STATUS_CODE_SKIP, actualExitCode);
@@ -156,7 +161,7 @@ public class PolarisPipelineCommandsTest {
         }
 
         try {
-            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
             int actualExitCode = polarisPipelineCommands.runPolarisCli(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, false, createChangeSetFile);
 
             assertEquals(STATUS_CODE_SKIP, actualExitCode);
@@ -174,7 +179,7 @@ public class PolarisPipelineCommandsTest {
         }
 
         try {
-            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
             int actualIssueCount = polarisPipelineCommands.checkForIssues(JOB_TIMEOUT_IN_MINUTES, true);
 
             assertEquals(NO_ISSUES, actualIssueCount);
@@ -192,7 +197,7 @@ public class PolarisPipelineCommandsTest {
         }
 
         try {
-            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+            PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
             int actualIssueCount = polarisPipelineCommands.checkForIssues(JOB_TIMEOUT_IN_MINUTES, true);
 
             assertEquals(SOME_ISSUES, actualIssueCount);
@@ -209,8 +214,41 @@ public class PolarisPipelineCommandsTest {
             fail("An unexpected exception occurred when preparing the test for setup. Please correct the test code.", e);
         }
 
-        PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker);
+        PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService);
         assertThrows(PolarisIntegrationException.class, () -> polarisPipelineCommands.checkForIssues(JOB_TIMEOUT_IN_MINUTES, false));
     }
 
+    @Test
+    public void testExecutePolarisCliPipelineRecordsCliScan() throws Exception {
+        PolarisCliScanRecorder mockedCliScanRecorder = Mockito.mock(PolarisCliScanRecorder.class);
+        Mockito.when(mockedCliRunner.runPolarisCli(POLARIS_CLI_NAME, null, POLARIS_ARGUMENTS)).thenReturn(STATUS_CODE_SUCCESS);
+
+        PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService, mockedCliScanRecorder);
+        polarisPipelineCommands.runPolarisCli(POLARIS_CLI_NAME, POLARIS_ARGUMENTS, true, null);
+
+        Mockito.verify(mockedCliScanRecorder).recordCliScan();
+    }
+
+    @Test
+    public void testCheckForRecordedPolarisIssues() throws Exception {
+        PolarisCliScanAction recordedCliScan = new PolarisCliScanAction("{}");
+        PolarisCliScanRecorder mockedCliScanRecorder = Mockito.mock(PolarisCliScanRecorder.class);
+        Mockito.when(mockedCliScanRecorder.getRecordedCliScan()).thenReturn(Optional.of(recordedCliScan));
+        Mockito.when(mockedIssueChecker.getPolarisIssueCount(JOB_TIMEOUT_IN_MINUTES, recordedCliScan)).thenReturn(SOME_ISSUES);
+
+        PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService, mockedCliScanRecorder);
+
+        assertEquals(SOME_ISSUES, polarisPipelineCommands.checkForRecordedIssues(JOB_TIMEOUT_IN_MINUTES, true));
+        Mockito.verify(mockedIssueChecker, Mockito.never()).getPolarisIssueCount(JOB_TIMEOUT_IN_MINUTES);
+    }
+
+    @Test
+    public void testCheckForRecordedPolarisIssuesWithoutRecording() {
+        PolarisCliScanRecorder mockedCliScanRecorder = Mockito.mock(PolarisCliScanRecorder.class);
+        Mockito.when(mockedCliScanRecorder.getRecordedCliScan()).thenReturn(Optional.empty());
+
+        PolarisPipelineCommands polarisPipelineCommands = new PolarisPipelineCommands(logger, mockedChangeSetFileCreator, mockedCliRunner, mockedIssueChecker, mockedTimingService, mockedCliScanRecorder);
+        assertThrows(JenkinsUserFriendlyException.class, () -> polarisPipelineCommands.checkForRecordedIssues(JOB_TIMEOUT_IN_MINUTES, true));
+    }
+
 }
@@ -0,0 +1,103 @@
+package com.synopsys.integration.jenkins.polaris;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import hudson.model.FreeStyleProject;
+import hudson.model.Queue;
+import hudson.model.Run;
+
+public class PolarisScanGovernorTest {
+    private static final List<String> PRIORITY_BRANCHES = Arrays.asList("main", "master");
+
+    private PolarisScanGovernor polarisScanGovernor;
+    private Queue.Item mainItem;
+    private Queue.Item featureItem;
+
+    @BeforeEach
+    public void setUpMocks() {
+        polarisScanGovernor = new PolarisScanGovernor();
+        mainItem = createItem("main");
+        featureItem = createItem("feature-1");
+    }
+
+    @Test
+    public void testParsePriorityBranches() {
+        assertEquals(PRIORITY_BRANCHES, PolarisScanGovernor.parsePriorityBranches(" main,  master "));
+        assertEquals(Collections.emptyList(), PolarisScanGovernor.parsePriorityBranches(""));
+    }
+
+    @Test
+    public void testUnlimited() {
+        startScans(5);
+
+        assertFalse(polarisScanGovernor.getCauseOfBlockage(featureItem, 0, PRIORITY_BRANCHES, Collections.emptyList()).isPresent());
+    }
+
+    @Test
+    public void testBlocksAtLimit() {
+        startScans(2);
+
+        assertTrue(polarisScanGovernor.getCauseOfBlockage(mainItem, 2, PRIORITY_BRANCHES, Collections.emptyList()).isPresent());
+        assertFalse(polarisScanGovernor.getCauseOfBlockage(mainItem, 3, PRIORITY_BRANCHES, Collections.emptyList()).isPresent());
+    }
+
+    @Test
+    public void testPriorityBranchesGoFirst() {
+        startScans(1);
+        List<Queue.Item> waitingItems = Arrays.asList(mainItem, featureItem);
+
+        assertTrue(polarisScanGovernor.getCauseOfBlockage(featureItem, 2, PRIORITY_BRANCHES, waitingItems).isPresent());
+        assertFalse(polarisScanGovernor.getCauseOfBlockage(mainItem, 2, PRIORITY_BRANCHES, waitingItems).isPresent());
+        assertFalse(polarisScanGovernor.getCauseOfBlockage(featureItem, 3, PRIORITY_BRANCHES, waitingItems).isPresent());
+    }
+
+    @Test
+    public void testFinishedScansFreeSlots() {
+        Run<?, ?> run = Mockito.mock(Run.class);
+        Mockito.when(run.getExternalizableId()).thenReturn("job#1");
+
+        polarisScanGovernor.scanStarted(run);
+        assertTrue(polarisScanGovernor.getCauseOfBlockage(featureItem, 1, PRIORITY_BRANCHES, Collections.emptyList()).isPresent());
+
+        polarisScanGovernor.scanFinished(run);
+        assertFalse(polarisScanGovernor.getCauseOfBlockage(featureItem, 1, PRIORITY_BRANCHES, Collections.emptyList()).isPresent());
+    }
+
+    @Test
+    public void testStartingItemsTakeSlots() {
+        startScans(1);
+        Queue.Item startingItem = createItem("feature-2");
+        List<Queue.Item> startingItems = Arrays.asList(startingItem, featureItem);
+
+        assertTrue(polarisScanGovernor.getCauseOfBlockage(mainItem, 3, PRIORITY_BRANCHES, Collections.emptyList(), startingItems).isPresent());
+        assertFalse(polarisScanGovernor.getCauseOfBlockage(mainItem, 4, PRIORITY_BRANCHES, Collections.emptyList(), startingItems).isPresent());
+        // An item that is rechecked after being let through does not count against itself
+        assertFalse(polarisScanGovernor.getCauseOfBlockage(featureItem, 3, PRIORITY_BRANCHES, Collections.emptyList(), startingItems).isPresent());
+    }
+
+    private void startScans(int count) {
+        for (int i = 0; i < count; i++) {
+            Run<?, ?> run = Mockito.mock(Run.class);
+            Mockito.when(run.getExternalizableId()).thenReturn("job#" + i);
+            polarisScanGovernor.scanStarted(run);
+        }
+    }
+
+    private Queue.Item createItem(String branchJobName) {
+        FreeStyleProject project = Mockito.mock(FreeStyleProject.class);
+        Mockito.when(project.getName()).thenReturn(branchJobName);
+        return new Queue.WaitingItem(Calendar.getInstance(), project, Collections.emptyList());
+    }
+
+}
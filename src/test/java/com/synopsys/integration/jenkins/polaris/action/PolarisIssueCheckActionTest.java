@@ -0,0 +1,34 @@
+package com.synopsys.integration.jenkins.polaris.action;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import hudson.model.Run;
+
+public class PolarisIssueCheckActionTest {
+    @Test
+    public void testWaitingCheckIsAbandonedOnLoad() {
+        Run<?, ?> run = Mockito.mock(Run.class);
+        Mockito.when(run.getExternalizableId()).thenReturn("polaris-job#1");
+        PolarisIssueCheckAction polarisIssueCheckAction = PolarisIssueCheckAction.waiting();
+
+        polarisIssueCheckAction.onLoad(run);
+
+        assertEquals(PolarisIssueCheckAction.State.FAILED, polarisIssueCheckAction.getState());
+    }
+
+    @Test
+    public void testCompletedCheckIsUnchangedOnLoad() {
+        Run<?, ?> run = Mockito.mock(Run.class);
+        Mockito.when(run.getExternalizableId()).thenReturn("polaris-job#1");
+        PolarisIssueCheckAction polarisIssueCheckAction = PolarisIssueCheckAction.completed(2);
+
+        polarisIssueCheckAction.onLoad(run);
+
+        assertEquals(PolarisIssueCheckAction.State.COMPLETED, polarisIssueCheckAction.getState());
+        assertEquals(Integer.valueOf(2), polarisIssueCheckAction.getIssueCount());
+    }
+
+}
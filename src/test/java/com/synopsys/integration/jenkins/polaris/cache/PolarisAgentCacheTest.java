@@ -0,0 +1,50 @@
+package com.synopsys.integration.jenkins.polaris.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PolarisAgentCacheTest {
+    @Test
+    public void testCliPathInvalidatedByInstall(@TempDir File temporaryDirectory) throws Exception {
+        PolarisAgentCache polarisAgentCache = new PolarisAgentCache();
+        File binDirectory = new File(temporaryDirectory, "bin");
+        Files.createDirectories(binDirectory.toPath());
+        String polarisCliHome = temporaryDirectory.getAbsolutePath();
+        String cliPath = new File(binDirectory, "polaris").getAbsolutePath();
+
+        assertFalse(polarisAgentCache.getCliPath(polarisCliHome).isPresent());
+        polarisAgentCache.putCliPath(polarisCliHome, cliPath);
+        assertEquals(Optional.of(cliPath), polarisAgentCache.getCliPath(polarisCliHome));
+
+        assertTrue(binDirectory.setLastModified(binDirectory.lastModified() + 2000L));
+        assertFalse(polarisAgentCache.getCliPath(polarisCliHome).isPresent());
+    }
+
+    @Test
+    public void testCliPathNotCachedWithoutBinDirectory(@TempDir File temporaryDirectory) {
+        PolarisAgentCache polarisAgentCache = new PolarisAgentCache();
+        String polarisCliHome = temporaryDirectory.getAbsolutePath();
+
+        polarisAgentCache.putCliPath(polarisCliHome, "polaris");
+        assertFalse(polarisAgentCache.getCliPath(polarisCliHome).isPresent());
+    }
+
+    @Test
+    public void testHttpClientSharedByConnectionSettings() {
+        PolarisAgentCache polarisAgentCache = new PolarisAgentCache();
+
+        assertSame(polarisAgentCache.getHttpClient(120, null, 0, null, null, null, null), polarisAgentCache.getHttpClient(120, null, 0, null, null, null, null));
+        assertNotSame(polarisAgentCache.getHttpClient(120, null, 0, null, null, null, null), polarisAgentCache.getHttpClient(300, null, 0, null, null, null, null));
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.synopsys.integration.jenkins.polaris.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import hudson.FilePath;
+
+public class PolarisCacheStoreTest {
+    private static final String NAMESPACE = "test";
+
+    @Test
+    public void testPutAndRestore(@TempDir File temporaryDirectory) throws Exception {
+        PolarisCacheStore polarisCacheStore = new PolarisCacheStore(new File(temporaryDirectory, "store"));
+        File source = createDirectory(temporaryDirectory, "source", "tool-1.0");
+
+        PolarisCacheEntry entry = polarisCacheStore.put(NAMESPACE, "key", new FilePath(source), null, Collections.singletonMap("version", "1.0"));
+        assertEquals(Optional.of("1.0"), entry.getMetadata("version"));
+
+        File target = new File(temporaryDirectory, "target");
+        polarisCacheStore.restore(polarisCacheStore.getEntry(NAMESPACE, "key").orElseThrow(AssertionError::new), new FilePath(target));
+
+        assertEquals("tool-1.0", new String(Files.readAllBytes(new File(target, "tool-1.0/content.txt").toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testIdenticalContentIsStoredOnce(@TempDir File temporaryDirectory) throws Exception {
+        PolarisCacheStore polarisCacheStore = new PolarisCacheStore(new File(temporaryDirectory, "store"));
+        File source = createDirectory(temporaryDirectory, "source", "tool-1.0");
+
+        PolarisCacheEntry first = polarisCacheStore.put(NAMESPACE, "first", new FilePath(source), null, Collections.emptyMap());
+        PolarisCacheEntry second = polarisCacheStore.put(NAMESPACE, "second", new FilePath(source), null, Collections.emptyMap());
+
+        assertEquals(first.getDigest(), second.getDigest());
+        assertEquals(first.getSizeInBytes(), polarisCacheStore.getSizeInBytes());
+        assertEquals(2, polarisCacheStore.getEntries(NAMESPACE).size());
+    }
+
+    @Test
+    public void testDigestIgnoresModificationTimes(@TempDir File temporaryDirectory) throws Exception {
+        PolarisCacheStore polarisCacheStore = new PolarisCacheStore(new File(temporaryDirectory, "store"));
+        File source = createDirectory(temporaryDirectory, "source", "tool-1.0");
+
+        PolarisCacheEntry first = polarisCacheStore.put(NAMESPACE, "first", new FilePath(source), null, Collections.emptyMap());
+        assertTrue(new File(source, "tool-1.0/content.txt").setLastModified(1000L));
+        PolarisCacheEntry second = polarisCacheStore.put(NAMESPACE, "second", new FilePath(source), null, Collections.emptyMap());
+        assertEquals(first.getDigest(), second.getDigest());
+
+        Files.write(new File(source, "tool-1.0/content.txt").toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+        PolarisCacheEntry changed = polarisCacheStore.put(NAMESPACE, "changed", new FilePath(source), null, Collections.emptyMap());
+        assertNotEquals(first.getDigest(), changed.getDigest());
+    }
+
+    @Test
+    public void testTamperedArchivesAreNotRestored(@TempDir File temporaryDirectory) throws Exception {
+        PolarisCacheStore polarisCacheStore = new PolarisCacheStore(new File(temporaryDirectory, "store"));
+        PolarisCacheEntry entry = polarisCacheStore.put(NAMESPACE, "key", new FilePath(createDirectory(temporaryDirectory, "source", "tool-1.0")), null, Collections.emptyMap());
+        PolarisCacheEntry otherEntry = polarisCacheStore.put(NAMESPACE, "other", new FilePath(createDirectory(temporaryDirectory, "other", "tool-2.0")), null, Collections.emptyMap());
+
+        File blob = new File(temporaryDirectory, "store/blobs/" + entry.getDigest() + PolarisCacheStore.BLOB_EXTENSION);
+        Files.copy(new File(temporaryDirectory, "store/blobs/" + otherEntry.getDigest() + PolarisCacheStore.BLOB_EXTENSION).toPath(), blob.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        File target = new File(temporaryDirectory, "target");
+        assertThrows(IOException.class, () -> polarisCacheStore.restore(entry, new FilePath(target)));
+        assertFalse(new File(target, "tool-2.0").exists());
+    }
+
+    @Test
+    public void testRetentionDropsLeastRecentlyUsed(@TempDir File temporaryDirectory) throws Exception {
+        PolarisCacheStore polarisCacheStore = new PolarisCacheStore(new File(temporaryDirectory, "store"));
+
+        PolarisCacheEntry older = polarisCacheStore.put(NAMESPACE, "older", new FilePath(createDirectory(temporaryDirectory, "older", "tool-1.0")), null, Collections.emptyMap());
+        new File(new File(temporaryDirectory, "store/entries/" + NAMESPACE), DigestUtils.sha256Hex("older") + ".properties").setLastModified(1000L);
+        PolarisCacheEntry newer = polarisCacheStore.put(NAMESPACE, "newer", new FilePath(createDirectory(temporaryDirectory, "newer", "tool-2.0")), null, Collections.emptyMap());
+
+        polarisCacheStore.enforceRetention(newer.getSizeInBytes());
+
+        List<PolarisCacheEntry> entries = polarisCacheStore.getEntries(NAMESPACE);
+        assertEquals(1, entries.size());
+        assertEquals("newer", entries.get(0).getKey());
+        assertFalse(polarisCacheStore.getEntry(NAMESPACE, older.getKey()).isPresent());
+        assertTrue(polarisCacheStore.getSizeInBytes() <= newer.getSizeInBytes());
+    }
+
+    private File createDirectory(File parent, String name, String toolVersion) throws Exception {
+        File toolDirectory = new File(new File(parent, name), toolVersion);
+        Files.createDirectories(toolDirectory.toPath());
+        Files.write(new File(toolDirectory, "content.txt").toPath(), toolVersion.getBytes(StandardCharsets.UTF_8));
+        return toolDirectory.getParentFile();
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.synopsys.integration.jenkins.polaris.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+
+import hudson.FilePath;
+
+public class PolarisIdirCacheTest {
+    private static final String JOB_NAME = "folder/job";
+    private static final String CLI_VERSION = "polaris_cli-1.0.0";
+    private static final List<String> PRIORITY_BRANCHES = Arrays.asList("main", "master");
+
+    private final IntLogger logger = new PrintStreamIntLogger(System.out, LogLevel.DEBUG);
+
+    @TempDir
+    public File temporaryDirectory;
+    private PolarisCacheStore polarisCacheStore;
+    private File scannedWorkspace;
+
+    @BeforeEach
+    public void setUpScannedWorkspace() throws Exception {
+        polarisCacheStore = new PolarisCacheStore(new File(temporaryDirectory, "store"));
+        scannedWorkspace = new File(temporaryDirectory, "scanned");
+        File idir = new File(scannedWorkspace, ".synopsys/polaris/data/coverity/idir");
+        Files.createDirectories(idir.toPath());
+        Files.write(new File(idir, "capture.db").toPath(), "capture".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(scannedWorkspace, ".synopsys/polaris/cli-scan.json").toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+
+        new PolarisIdirCache(logger, polarisCacheStore, new FilePath(scannedWorkspace), JOB_NAME, "main", PRIORITY_BRANCHES, Long.MAX_VALUE).save(CLI_VERSION);
+    }
+
+    @Test
+    public void testRestoresClosestBranch() throws Exception {
+        File cleanWorkspace = new File(temporaryDirectory, "clean");
+        new PolarisIdirCache(logger, polarisCacheStore, new FilePath(cleanWorkspace), JOB_NAME, "PR-12", PRIORITY_BRANCHES, Long.MAX_VALUE).restore(CLI_VERSION);
+
+        assertTrue(new File(cleanWorkspace, ".synopsys/polaris/data/coverity/idir/capture.db").isFile());
+        assertFalse(new File(cleanWorkspace, ".synopsys/polaris/cli-scan.json").exists());
+    }
+
+    @Test
+    public void testIgnoresOtherCliVersionsAndJobs() throws Exception {
+        File otherVersionWorkspace = new File(temporaryDirectory, "otherVersion");
+        new PolarisIdirCache(logger, polarisCacheStore, new FilePath(otherVersionWorkspace), JOB_NAME, "main", PRIORITY_BRANCHES, Long.MAX_VALUE).restore("polaris_cli-2.0.0");
+        File otherJobWorkspace = new File(temporaryDirectory, "otherJob");
+        new PolarisIdirCache(logger, polarisCacheStore, new FilePath(otherJobWorkspace), "other", "main", PRIORITY_BRANCHES, Long.MAX_VALUE).restore(CLI_VERSION);
+
+        assertFalse(new File(otherVersionWorkspace, ".synopsys").exists());
+        assertFalse(new File(otherJobWorkspace, ".synopsys").exists());
+    }
+
+    @Test
+    public void testUnchangedDataIsStoredOnce() throws Exception {
+        // A later capture that leaves the data as it was still rewrites it
+        assertTrue(new File(scannedWorkspace, ".synopsys/polaris/data/coverity/idir/capture.db").setLastModified(1000L));
+        new PolarisIdirCache(logger, polarisCacheStore, new FilePath(scannedWorkspace), JOB_NAME, "feature", PRIORITY_BRANCHES, Long.MAX_VALUE).save(CLI_VERSION);
+
+        List<PolarisCacheEntry> entries = polarisCacheStore.getEntries(PolarisIdirCache.NAMESPACE);
+        assertEquals(2, entries.size());
+        assertEquals(entries.get(0).getDigest(), entries.get(1).getDigest());
+    }
+
+    @Test
+    public void testOtherBranchesDoNotSeedEachOther() throws Exception {
+        new PolarisIdirCache(logger, polarisCacheStore, new FilePath(scannedWorkspace), JOB_NAME, "PR-12", PRIORITY_BRANCHES, Long.MAX_VALUE).save("polaris_cli-2.0.0");
+
+        File otherBranchWorkspace = new File(temporaryDirectory, "otherBranch");
+        new PolarisIdirCache(logger, polarisCacheStore, new FilePath(otherBranchWorkspace), JOB_NAME, "main", PRIORITY_BRANCHES, Long.MAX_VALUE).restore("polaris_cli-2.0.0");
+        File sameBranchWorkspace = new File(temporaryDirectory, "sameBranch");
+        new PolarisIdirCache(logger, polarisCacheStore, new FilePath(sameBranchWorkspace), JOB_NAME, "PR-12", PRIORITY_BRANCHES, Long.MAX_VALUE).restore("polaris_cli-2.0.0");
+
+        assertFalse(new File(otherBranchWorkspace, ".synopsys").exists());
+        assertTrue(new File(sameBranchWorkspace, ".synopsys/polaris/data/coverity/idir/capture.db").isFile());
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.synopsys.integration.jenkins.polaris.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.synopsys.integration.jenkins.polaris.service.GetPolarisToolsDirectory;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.util.OperatingSystemType;
+
+import hudson.FilePath;
+
+public class PolarisToolCacheTest {
+    private static final String POLARIS_CLI_NAME = "polaris-cli";
+
+    @TempDir
+    File temporaryDirectory;
+
+    private String userHome;
+    private PolarisCacheStore polarisCacheStore;
+    private PolarisToolCache polarisToolCache;
+
+    @BeforeEach
+    public void setUp() {
+        // The workspace is local, so the default Polaris home is resolved against this JVM's user home
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", new File(temporaryDirectory, "home").getAbsolutePath());
+
+        polarisCacheStore = new PolarisCacheStore(new File(temporaryDirectory, "store"));
+        polarisToolCache = new PolarisToolCache(new PrintStreamIntLogger(System.out, LogLevel.DEBUG), polarisCacheStore, new FilePath(temporaryDirectory), Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    public void restoreUserHome() {
+        System.setProperty("user.home", userHome);
+    }
+
+    @Test
+    public void testToolsMoveBetweenNodes() throws Exception {
+        createTool(getDefaultToolsDirectory(), "coverity-2021.12.0");
+        polarisToolCache.save(POLARIS_CLI_NAME, OperatingSystemType.LINUX);
+
+        Optional<PolarisCacheEntry> entry = polarisCacheStore.getEntry(PolarisToolCache.NAMESPACE, PolarisToolCache.createKey(POLARIS_CLI_NAME, OperatingSystemType.LINUX, "coverity-2021.12.0"));
+        assertEquals(Optional.of("coverity-2021.12.0"), entry.flatMap(cachedTool -> cachedTool.getMetadata(PolarisToolCache.TOOL_VERSION_METADATA)));
+
+        File secondPolarisHome = new File(temporaryDirectory, "second");
+        polarisToolCache.restore(POLARIS_CLI_NAME, OperatingSystemType.LINUX, secondPolarisHome.getAbsolutePath());
+        assertTrue(new File(secondPolarisHome, "tools/coverity-2021.12.0/VERSION").isFile());
+    }
+
+    @Test
+    public void testToolVersionsAreMerged() throws Exception {
+        createTool(getDefaultToolsDirectory(), "coverity-2021.12.0");
+        polarisToolCache.save(POLARIS_CLI_NAME, OperatingSystemType.LINUX);
+
+        // A node that only has a newer version adds it rather than replacing the older one
+        FileUtils.deleteDirectory(new File(getDefaultToolsDirectory(), "coverity-2021.12.0"));
+        createTool(getDefaultToolsDirectory(), "coverity-2022.3.0");
+        polarisToolCache.save(POLARIS_CLI_NAME, OperatingSystemType.LINUX);
+
+        File secondPolarisHome = new File(temporaryDirectory, "second");
+        polarisToolCache.restore(POLARIS_CLI_NAME, OperatingSystemType.LINUX, secondPolarisHome.getAbsolutePath());
+        assertTrue(new File(secondPolarisHome, "tools/coverity-2021.12.0/VERSION").isFile());
+        assertTrue(new File(secondPolarisHome, "tools/coverity-2022.3.0/VERSION").isFile());
+    }
+
+    @Test
+    public void testToolsAreScopedByInstallation() throws Exception {
+        createTool(getDefaultToolsDirectory(), "coverity-2021.12.0");
+        polarisToolCache.save(POLARIS_CLI_NAME, OperatingSystemType.LINUX);
+
+        File secondPolarisHome = new File(temporaryDirectory, "second");
+        polarisToolCache.restore("other-polaris-cli", OperatingSystemType.LINUX, secondPolarisHome.getAbsolutePath());
+        polarisToolCache.restore(POLARIS_CLI_NAME, OperatingSystemType.WINDOWS, secondPolarisHome.getAbsolutePath());
+        assertFalse(new File(secondPolarisHome, "tools/coverity-2021.12.0").exists());
+    }
+
+    @Test
+    public void testCachedVersionsAreNotReplaced() throws Exception {
+        File toolDirectory = createTool(getDefaultToolsDirectory(), "coverity-2021.12.0");
+        polarisToolCache.save(POLARIS_CLI_NAME, OperatingSystemType.LINUX);
+
+        Files.write(new File(toolDirectory, "VERSION").toPath(), "tampered".getBytes(StandardCharsets.UTF_8));
+        polarisToolCache.save(POLARIS_CLI_NAME, OperatingSystemType.LINUX);
+
+        File secondPolarisHome = new File(temporaryDirectory, "second");
+        polarisToolCache.restore(POLARIS_CLI_NAME, OperatingSystemType.LINUX, secondPolarisHome.getAbsolutePath());
+        assertEquals("coverity-2021.12.0", new String(Files.readAllBytes(new File(secondPolarisHome, "tools/coverity-2021.12.0/VERSION").toPath()), StandardCharsets.UTF_8));
+    }
+
+    private File getDefaultToolsDirectory() {
+        return new File(new File(new File(temporaryDirectory, "home"), GetPolarisToolsDirectory.DEFAULT_POLARIS_HOME), GetPolarisToolsDirectory.TOOLS_DIRECTORY);
+    }
+
+    private File createTool(File toolsDirectory, String toolVersion) throws Exception {
+        File toolDirectory = new File(toolsDirectory, toolVersion);
+        Files.createDirectories(toolDirectory.toPath());
+        Files.write(new File(toolDirectory, "VERSION").toPath(), toolVersion.getBytes(StandardCharsets.UTF_8));
+        return toolDirectory;
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.synopsys.integration.jenkins.polaris.extensions.tools;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+
+public class FindOrInstallPolarisCliTest {
+    @Test
+    public void testInvalidMirrorFallsBackToNextSource(@TempDir File temporaryDirectory) throws Exception {
+        // Named for every operating system, since the node this runs on picks the archive name
+        File fileShare = new File(temporaryDirectory, "share");
+        Files.createDirectories(fileShare.toPath());
+        for (String archiveName : new String[] { "swip_cli-linux64.zip", "swip_cli-macosx.zip", "swip_cli-win64.zip" }) {
+            try (InputStream zipFileStream = getClass().getResourceAsStream("/swip_mac.zip")) {
+                Files.copy(zipFileStream, new File(fileShare, archiveName).toPath());
+            }
+        }
+
+        FindOrInstallPolarisCli findOrInstallPolarisCli = new FindOrInstallPolarisCli(JenkinsIntLogger.logToStandardOut(), "http://polaris.example.com", 30, null, 0, null, null, null, null,
+            new File(temporaryDirectory, "install").getAbsolutePath());
+        findOrInstallPolarisCli.setAlternateSources("not a url", ProxyInfo.NO_PROXY_INFO, fileShare.getAbsolutePath());
+
+        PolarisCliInstallResult polarisCliInstallResult = findOrInstallPolarisCli.call();
+        assertTrue(new File(polarisCliInstallResult.getPolarisCliHome(), "bin").isDirectory());
+    }
+
+}
@@ -42,7 +42,7 @@ public class FindOrInstallPolarisCliTestIT {
         // Test
         FindOrInstallPolarisCli findOrInstallPolarisCli = new FindOrInstallPolarisCli(jenkinsIntLogger, polarisServerUrl, POLARIS_CLI_DOWNLOAD_TIMEOUT_SECONDS, null, 0,
             null, null, null, null, INSTALLATION_DIR_PARENT_PATH);
-        String returnedInstallationDirPath = findOrInstallPolarisCli.call();
+        String returnedInstallationDirPath = findOrInstallPolarisCli.call().getPolarisCliHome();
 
         // Verify
         Path versionFile = requestedInstallationDirParent
@@ -0,0 +1,50 @@
+package com.synopsys.integration.jenkins.polaris.extensions.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import hudson.model.Node;
+import hudson.util.FormValidation;
+
+public class PolarisCliPrewarmPropertyTest {
+    @Rule
+    public JenkinsRule jenkinsRule = new JenkinsRule();
+
+    @Test
+    public void testLabelMatching() throws Exception {
+        Node linuxAgent = jenkinsRule.createSlave("linux-agent", "linux docker", null);
+        Node windowsAgent = jenkinsRule.createSlave("windows-agent", "windows", null);
+
+        assertTrue(new PolarisCliPrewarmProperty("linux").appliesTo(linuxAgent));
+        assertFalse(new PolarisCliPrewarmProperty("linux").appliesTo(windowsAgent));
+        assertTrue(new PolarisCliPrewarmProperty("linux || windows").appliesTo(windowsAgent));
+        assertFalse(new PolarisCliPrewarmProperty("linux && !docker").appliesTo(linuxAgent));
+    }
+
+    @Test
+    public void testBlankLabelMatchesEveryNode() throws Exception {
+        Node agent = jenkinsRule.createSlave("agent", "windows", null);
+
+        PolarisCliPrewarmProperty prewarmProperty = new PolarisCliPrewarmProperty("  ");
+        assertNull(prewarmProperty.getLabel());
+        assertTrue(prewarmProperty.appliesTo(agent));
+        assertTrue(prewarmProperty.appliesTo(jenkinsRule.jenkins));
+    }
+
+    @Test
+    public void testInvalidLabelMatchesNoNode() throws Exception {
+        Node agent = jenkinsRule.createSlave("agent", "linux", null);
+
+        assertFalse(new PolarisCliPrewarmProperty("linux &&").appliesTo(agent));
+        PolarisCliPrewarmProperty.DescriptorImpl descriptor = jenkinsRule.jenkins.getDescriptorByType(PolarisCliPrewarmProperty.DescriptorImpl.class);
+        assertEquals(FormValidation.Kind.ERROR, descriptor.doCheckLabel("linux &&").kind);
+        assertEquals(FormValidation.Kind.OK, descriptor.doCheckLabel("linux && !docker").kind);
+    }
+
+}
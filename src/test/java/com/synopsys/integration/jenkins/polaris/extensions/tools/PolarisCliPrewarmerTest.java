@@ -0,0 +1,159 @@
+package com.synopsys.integration.jenkins.polaris.extensions.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import hudson.model.Node;
+import hudson.model.TaskListener;
+
+public class PolarisCliPrewarmerTest {
+    @Test
+    public void testParsePolarisCliNames() {
+        assertEquals(Arrays.asList("Polaris CLI", "polaris-next"), PolarisCliPrewarmer.parsePolarisCliNames(" Polaris CLI ,, polaris-next"));
+        assertTrue(PolarisCliPrewarmer.parsePolarisCliNames(" ").isEmpty());
+        assertTrue(PolarisCliPrewarmer.parsePolarisCliNames(null).isEmpty());
+    }
+
+    @Test
+    public void testAwaitJoinsInstallInProgress() throws Exception {
+        CountDownLatch installStarted = new CountDownLatch(1);
+        CountDownLatch installReleased = new CountDownLatch(1);
+        PolarisCli polarisCli = Mockito.spy(new PolarisCli("Polaris CLI", "/opt/polaris", Collections.emptyList()));
+        Mockito.doAnswer(invocation -> {
+            installStarted.countDown();
+            installReleased.await();
+            return polarisCli;
+        }).when(polarisCli).forNode(Mockito.any(Node.class), Mockito.any(TaskListener.class));
+        Node node = Mockito.mock(Node.class);
+        Mockito.when(node.getNodeName()).thenReturn("agent-1");
+        Mockito.when(node.getDisplayName()).thenReturn("agent-1");
+
+        PolarisCliPrewarmer polarisCliPrewarmer = new PolarisCliPrewarmer();
+        Optional<Future<?>> install = polarisCliPrewarmer.prewarm(polarisCli, node);
+        assertTrue(install.isPresent());
+        assertTrue(installStarted.await(10, TimeUnit.SECONDS));
+        assertFalse(polarisCliPrewarmer.prewarm(polarisCli, node).isPresent());
+
+        Thread waiter = new Thread(() -> {
+            try {
+                polarisCliPrewarmer.awaitPrewarm("Polaris CLI", "agent-1");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        waiter.join(200);
+        assertTrue(waiter.isAlive());
+
+        installReleased.countDown();
+        waiter.join(10_000);
+        assertFalse(waiter.isAlive());
+        assertTrue(install.get().isDone());
+        Mockito.verify(polarisCli, Mockito.times(1)).forNode(Mockito.any(Node.class), Mockito.any(TaskListener.class));
+
+        polarisCliPrewarmer.awaitPrewarm("Polaris CLI", "agent-2");
+    }
+
+    @Test
+    public void testAwaitJoinsRolloutInstall() throws Exception {
+        CountDownLatch installStarted = new CountDownLatch(1);
+        CountDownLatch installReleased = new CountDownLatch(1);
+        PolarisCli polarisCli = Mockito.spy(new PolarisCli("Polaris CLI", "/opt/polaris", Collections.emptyList()));
+        Mockito.doAnswer(invocation -> {
+            installStarted.countDown();
+            installReleased.await();
+            return polarisCli;
+        }).when(polarisCli).forNode(Mockito.any(Node.class), Mockito.any(TaskListener.class));
+        Node node = Mockito.mock(Node.class);
+        Mockito.when(node.getNodeName()).thenReturn("agent-1");
+        Mockito.when(node.getDisplayName()).thenReturn("agent-1");
+
+        PolarisCliPrewarmer polarisCliPrewarmer = new PolarisCliPrewarmer();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<PolarisCli> rolloutInstall = executorService.submit(() -> polarisCliPrewarmer.install(polarisCli, node, TaskListener.NULL));
+            assertTrue(installStarted.await(10, TimeUnit.SECONDS));
+            assertFalse(polarisCliPrewarmer.prewarm(polarisCli, node).isPresent());
+
+            Thread waiter = new Thread(() -> {
+                try {
+                    polarisCliPrewarmer.awaitPrewarm("Polaris CLI", "agent-1");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            waiter.start();
+            waiter.join(200);
+            assertTrue(waiter.isAlive());
+
+            installReleased.countDown();
+            waiter.join(10_000);
+            assertFalse(waiter.isAlive());
+            assertEquals(polarisCli, rolloutInstall.get(10, TimeUnit.SECONDS));
+            Mockito.verify(polarisCli, Mockito.times(1)).forNode(Mockito.any(Node.class), Mockito.any(TaskListener.class));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentPrewarmsInstallOnce() throws Exception {
+        CountDownLatch installReleased = new CountDownLatch(1);
+        PolarisCli polarisCli = Mockito.spy(new PolarisCli("Polaris CLI", "/opt/polaris", Collections.emptyList()));
+        Mockito.doAnswer(invocation -> {
+            installReleased.await();
+            return polarisCli;
+        }).when(polarisCli).forNode(Mockito.any(Node.class), Mockito.any(TaskListener.class));
+        Node node = Mockito.mock(Node.class);
+        Mockito.when(node.getNodeName()).thenReturn("agent-1");
+        Mockito.when(node.getDisplayName()).thenReturn("agent-1");
+
+        PolarisCliPrewarmer polarisCliPrewarmer = new PolarisCliPrewarmer();
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Optional<Future<?>>>> prewarms = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                prewarms.add(executorService.submit(() -> {
+                    start.await();
+                    return polarisCliPrewarmer.prewarm(polarisCli, node);
+                }));
+            }
+            start.countDown();
+
+            List<Future<?>> installs = new ArrayList<>();
+            for (Future<Optional<Future<?>>> prewarm : prewarms) {
+                prewarm.get(10, TimeUnit.SECONDS).ifPresent(installs::add);
+            }
+            assertEquals(1, installs.size());
+
+            installReleased.countDown();
+            installs.get(0).get(10, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+        Mockito.verify(polarisCli, Mockito.times(1)).forNode(Mockito.any(Node.class), Mockito.any(TaskListener.class));
+
+        // Once the install is over the node can be pre-warmed again, for example after it reconnects
+        Optional<Future<?>> nextInstall = polarisCliPrewarmer.prewarm(polarisCli, node);
+        assertTrue(nextInstall.isPresent());
+        nextInstall.get().get(10, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.synopsys.integration.jenkins.polaris.extensions.tools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import hudson.model.Node;
+import hudson.tools.InstallSourceProperty;
+
+public class PolarisCliUpdateCheckTest {
+    private Node linuxAgent;
+    private Node windowsAgent;
+    private List<Node> onlineNodes;
+    private PolarisCliPrewarmProperty prewarmProperty;
+
+    @BeforeEach
+    public void setUpNodes() {
+        linuxAgent = Mockito.mock(Node.class);
+        windowsAgent = Mockito.mock(Node.class);
+        onlineNodes = Arrays.asList(linuxAgent, windowsAgent);
+
+        prewarmProperty = Mockito.mock(PolarisCliPrewarmProperty.class);
+        Mockito.when(prewarmProperty.appliesTo(linuxAgent)).thenReturn(true);
+        Mockito.when(prewarmProperty.appliesTo(windowsAgent)).thenReturn(false);
+    }
+
+    @Test
+    public void testOnlyPrewarmedNodesAreRefreshed() throws Exception {
+        PolarisCli polarisCli = new PolarisCli("Polaris CLI", null, Arrays.asList(createInstallSourceProperty(), prewarmProperty));
+
+        assertEquals(Collections.singletonList(linuxAgent), PolarisCliUpdateCheck.getNodesToRefresh(polarisCli, onlineNodes));
+    }
+
+    @Test
+    public void testInstallationsWithoutPrewarmAreNotRefreshed() throws Exception {
+        PolarisCli polarisCli = new PolarisCli("Polaris CLI", null, Collections.singletonList(createInstallSourceProperty()));
+
+        assertTrue(PolarisCliUpdateCheck.getNodesToRefresh(polarisCli, onlineNodes).isEmpty());
+    }
+
+    @Test
+    public void testManualInstallationsAreNotRefreshed() {
+        PolarisCli polarisCli = new PolarisCli("Polaris CLI", "/opt/polaris", Collections.singletonList(prewarmProperty));
+
+        assertTrue(PolarisCliUpdateCheck.getNodesToRefresh(polarisCli, onlineNodes).isEmpty());
+    }
+
+    private InstallSourceProperty createInstallSourceProperty() throws Exception {
+        return new InstallSourceProperty(Collections.singletonList(new PolarisCliInstaller(null)));
+    }
+
+}
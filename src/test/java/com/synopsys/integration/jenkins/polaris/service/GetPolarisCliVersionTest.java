@@ -0,0 +1,30 @@
+package com.synopsys.integration.jenkins.polaris.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GetPolarisCliVersionTest {
+    @Test
+    public void testFallsBackToDigestOfCli(@TempDir File temporaryDirectory) throws Exception {
+        // Not executable, so the version cannot be asked for
+        File firstCli = new File(new File(temporaryDirectory, "first/polaris/bin"), "polaris");
+        Files.createDirectories(firstCli.getParentFile().toPath());
+        Files.write(firstCli.toPath(), "release 1".getBytes(StandardCharsets.UTF_8));
+        File secondCli = new File(new File(temporaryDirectory, "second/polaris/bin"), "polaris");
+        Files.createDirectories(secondCli.getParentFile().toPath());
+        Files.write(secondCli.toPath(), "release 2".getBytes(StandardCharsets.UTF_8));
+
+        String firstVersion = new GetPolarisCliVersion(firstCli.getAbsolutePath()).call();
+        assertEquals("sha256:" + DigestUtils.sha256Hex("release 1"), firstVersion);
+        assertNotEquals(firstVersion, new GetPolarisCliVersion(secondCli.getAbsolutePath()).call());
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.synopsys.integration.jenkins.polaris.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.polaris.common.cli.PolarisCliResponseUtility;
+import com.synopsys.integration.polaris.common.configuration.PolarisServerConfig;
+import com.synopsys.integration.polaris.common.configuration.PolarisServerConfigBuilder;
+import com.synopsys.integration.polaris.common.rest.PolarisRateLimiter;
+import com.synopsys.integration.polaris.common.service.IssueCountSummary;
+
+public class GetPolarisIssueCountSummaryTest {
+    // Nothing listens on port 1, so any request to Polaris fails right away
+    private static final String UNREACHABLE_POLARIS_URL = "http://127.0.0.1:1";
+
+    @TempDir
+    public Path workspace;
+
+    @Test
+    public void testIssueCheckRunsOnNodeAtControllerRate() throws Exception {
+        Path cliScanJson = PolarisCliResponseUtility.getDefaultPathToJson(workspace.toString());
+        Files.createDirectories(cliScanJson.getParent());
+        try (InputStream cliScanV2 = getClass().getResourceAsStream("/cli-scanv2-w.json")) {
+            Files.copy(cliScanV2, cliScanJson);
+        }
+
+        PolarisServerConfig polarisServerConfig = createPolarisServerConfig();
+        PolarisRateLimiter.forServer(polarisServerConfig.getPolarisUrl(), 3, 6);
+        GetPolarisIssueCountSummary getPolarisIssueCountSummary = GetPolarisIssueCountSummary.getConnectionDetailsFromServerConfig(JenkinsIntLogger.logToStandardOut(), polarisServerConfig, workspace.toString(), 60);
+
+        // A node has its own limiter, sized by its own system properties
+        PolarisRateLimiter.forServer(polarisServerConfig.getPolarisUrl(), 1, 1);
+        IssueCountSummary issueCountSummary = SerializationUtils.roundtrip(getPolarisIssueCountSummary).call();
+
+        assertEquals(9, issueCountSummary.getTotalIssueCount());
+        PolarisRateLimiter nodeRateLimiter = PolarisRateLimiter.forServer(polarisServerConfig.getPolarisUrl());
+        assertEquals(3.0, nodeRateLimiter.getMaximumRequestsPerSecond(), 0.001);
+        assertEquals(6.0, nodeRateLimiter.getBurst(), 0.001);
+    }
+
+    @Test
+    public void testMissingCliScanJsonIsReported() throws Exception {
+        GetPolarisIssueCountSummary getPolarisIssueCountSummary = GetPolarisIssueCountSummary.getConnectionDetailsFromServerConfig(JenkinsIntLogger.logToStandardOut(), createPolarisServerConfig(), workspace.toString(), 60);
+
+        assertThrows(IntegrationException.class, getPolarisIssueCountSummary::call);
+    }
+
+    private PolarisServerConfig createPolarisServerConfig() {
+        return new PolarisServerConfigBuilder()
+                   .setTimeoutInSeconds(1)
+                   .setAccessToken("ACCESS-TOKEN")
+                   .setUrl(UNREACHABLE_POLARIS_URL)
+                   .build();
+    }
+
+}
@@ -17,7 +17,11 @@ import com.synopsys.integration.polaris.common.cli.model.CliCommonResponseModel;
 import com.synopsys.integration.polaris.common.cli.model.CommonIssueSummary;
 import com.synopsys.integration.polaris.common.cli.model.CommonScanInfo;
 import com.synopsys.integration.polaris.common.cli.model.CommonToolInfo;
+import com.synopsys.integration.polaris.common.cli.model.CommonProjectInfo;
+import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
 import com.synopsys.integration.polaris.common.service.CountService;
+import com.synopsys.integration.polaris.common.service.IssueCountCache;
+import com.synopsys.integration.polaris.common.service.IssueCountSummary;
 import com.synopsys.integration.polaris.common.service.JobService;
 import com.synopsys.integration.rest.HttpUrl;
 
@@ -54,7 +58,7 @@ public class PolarisCliIssueCountServiceTest {
             mockedScanInfo = Mockito.mock(CommonScanInfo.class);
             Mockito.when(mockedResponseModel.getScanInfo()).thenReturn(mockedScanInfo);
 
-            Mockito.when(mockedCountService.getTotalIssueCountFromIssueApiUrl(new HttpUrl(VALID_ISSUE_API_URL))).thenReturn(EXPECTED_ISSUE_COUNT);
+            Mockito.when(mockedCountService.getIssueCountSummary(Mockito.eq(new HttpUrl(VALID_ISSUE_API_URL)), Mockito.anyMap())).thenReturn(new IssueCountSummary(EXPECTED_ISSUE_COUNT, null, null));
 
             successfulToolA = new CommonToolInfo();
             successfulToolA.setJobStatusUrl(new HttpUrl(SUCCESSFUL_JOB_STATUS_URL));
@@ -170,4 +174,108 @@ public class PolarisCliIssueCountServiceTest {
         }
     }
 
+    @Test
+    public void testGetCountFromCacheForSameRevision() {
+        try {
+            CommonProjectInfo projectInfo = new CommonProjectInfo();
+            projectInfo.setRevisionId("revision-id");
+            Mockito.when(mockedResponseModel.getProjectInfo()).thenReturn(projectInfo);
+            Mockito.when(mockedResponseModel.getIssueSummary()).thenReturn(Optional.empty());
+            Mockito.when(mockedScanInfo.getIssueApiUrl()).thenReturn(new HttpUrl(VALID_ISSUE_API_URL));
+            Mockito.when(mockedResponseModel.getTools()).thenReturn(Collections.singletonList(successfulToolA));
+
+            PolarisCliIssueCountService polarisCliIssueCountService = new PolarisCliIssueCountService(mockedLogger, mockedCountService, mockedJobService, mockedPolarisCliResponseUtility, new IssueCountCache(10));
+
+            Assertions.assertEquals(EXPECTED_ISSUE_COUNT, polarisCliIssueCountService.getIssueCount(VALID_TIMEOUT, MOCK_JSON));
+            Assertions.assertEquals(EXPECTED_ISSUE_COUNT, polarisCliIssueCountService.getIssueCount(VALID_TIMEOUT, MOCK_JSON));
+
+            Mockito.verify(mockedJobService, Mockito.times(1)).waitForJobStateIsCompletedOrDieByUrl(new HttpUrl(SUCCESSFUL_JOB_STATUS_URL), VALID_TIMEOUT, JobService.DEFAULT_WAIT_INTERVAL);
+            Mockito.verify(mockedCountService, Mockito.times(1)).getIssueCountSummary(Mockito.eq(new HttpUrl(VALID_ISSUE_API_URL)), Mockito.anyMap());
+        } catch (Exception e) {
+            Assertions.fail("An unexpected exception occurred in the test code, it may need to be fixed.", e);
+        }
+    }
+
+    @Test
+    public void testGetSeverityCountsFromIssueSummary() {
+        try {
+            CommonIssueSummary issueSummary = new CommonIssueSummary();
+            issueSummary.setTotalIssueCount(EXPECTED_ISSUE_COUNT);
+            issueSummary.setIssuesBySeverity(Collections.singletonMap("high", EXPECTED_ISSUE_COUNT));
+            Mockito.when(mockedResponseModel.getIssueSummary()).thenReturn(Optional.of(issueSummary));
+
+            PolarisCliIssueCountService polarisCliIssueCountService = new PolarisCliIssueCountService(mockedLogger, mockedCountService, mockedJobService, mockedPolarisCliResponseUtility, new IssueCountCache(10));
+            IssueCountSummary issueCountSummary = polarisCliIssueCountService.getIssueCountSummary(VALID_TIMEOUT, MOCK_JSON);
+
+            Assertions.assertEquals(EXPECTED_ISSUE_COUNT.intValue(), issueCountSummary.getTotalIssueCount());
+            Assertions.assertEquals(EXPECTED_ISSUE_COUNT, issueCountSummary.getIssuesBySeverity().get("high"));
+        } catch (Exception e) {
+            Assertions.fail("An unexpected exception occurred in the test code, it may need to be fixed.", e);
+        }
+    }
+
+    @Test
+    public void testInterruptedWaitCancelsJobs() throws Exception {
+        Mockito.when(mockedResponseModel.getIssueSummary()).thenReturn(Optional.empty());
+        Mockito.when(mockedScanInfo.getIssueApiUrl()).thenReturn(new HttpUrl(VALID_ISSUE_API_URL));
+        Mockito.when(mockedResponseModel.getTools()).thenReturn(Arrays.asList(successfulToolA, failingTool));
+        Mockito.doThrow(new InterruptedException()).when(mockedJobService).waitForJobStateIsCompletedOrDieByUrl(new HttpUrl(SUCCESSFUL_JOB_STATUS_URL), VALID_TIMEOUT, JobService.DEFAULT_WAIT_INTERVAL);
+
+        PolarisCliIssueCountService polarisCliIssueCountService = new PolarisCliIssueCountService(mockedLogger, mockedCountService, mockedJobService, mockedPolarisCliResponseUtility, new IssueCountCache(10));
+
+        Assertions.assertThrows(InterruptedException.class, () -> polarisCliIssueCountService.getIssueCount(VALID_TIMEOUT, MOCK_JSON));
+        Mockito.verify(mockedJobService).cancelJob(new HttpUrl(SUCCESSFUL_JOB_STATUS_URL));
+        Mockito.verify(mockedJobService).cancelJob(new HttpUrl(FAILING_JOB_STATUS_URL));
+    }
+
+    @Test
+    public void testInterruptedRequestCancelsJobs() throws Exception {
+        Mockito.when(mockedResponseModel.getIssueSummary()).thenReturn(Optional.empty());
+        Mockito.when(mockedScanInfo.getIssueApiUrl()).thenReturn(new HttpUrl(VALID_ISSUE_API_URL));
+        Mockito.when(mockedResponseModel.getTools()).thenReturn(Arrays.asList(successfulToolA, failingTool));
+        Mockito.doThrow(new PolarisIntegrationException("Interrupted while waiting to send a request to Polaris", new InterruptedException()))
+            .when(mockedJobService).waitForJobStateIsCompletedOrDieByUrl(new HttpUrl(SUCCESSFUL_JOB_STATUS_URL), VALID_TIMEOUT, JobService.DEFAULT_WAIT_INTERVAL);
+
+        PolarisCliIssueCountService polarisCliIssueCountService = new PolarisCliIssueCountService(mockedLogger, mockedCountService, mockedJobService, mockedPolarisCliResponseUtility, new IssueCountCache(10));
+
+        Assertions.assertThrows(InterruptedException.class, () -> polarisCliIssueCountService.getIssueCount(VALID_TIMEOUT, MOCK_JSON));
+        Mockito.verify(mockedJobService).cancelJob(new HttpUrl(SUCCESSFUL_JOB_STATUS_URL));
+        Mockito.verify(mockedJobService).cancelJob(new HttpUrl(FAILING_JOB_STATUS_URL));
+    }
+
+    @Test
+    public void testIssueSummaryDoesNotCountPerTool() throws Exception {
+        CommonIssueSummary issueSummary = new CommonIssueSummary();
+        issueSummary.setTotalIssueCount(EXPECTED_ISSUE_COUNT);
+        Mockito.when(mockedResponseModel.getIssueSummary()).thenReturn(Optional.of(issueSummary));
+        Mockito.when(mockedResponseModel.getTools()).thenReturn(Collections.singletonList(successfulToolA));
+
+        PolarisCliIssueCountService polarisCliIssueCountService = new PolarisCliIssueCountService(mockedLogger, mockedCountService, mockedJobService, mockedPolarisCliResponseUtility, new IssueCountCache(10));
+        IssueCountSummary issueCountSummary = polarisCliIssueCountService.getIssueCountSummary(VALID_TIMEOUT, MOCK_JSON);
+
+        Assertions.assertTrue(issueCountSummary.getIssuesByTool().isEmpty());
+        Mockito.verify(mockedCountService, Mockito.never()).getTotalIssueCountsByTool(Mockito.anyMap());
+        Mockito.verify(mockedCountService, Mockito.never()).getIssueCountsByGroupFromIssueApiUrl(Mockito.any());
+    }
+
+    @Test
+    public void testCachedCountsAreNotSharedBetweenServers() throws Exception {
+        CommonProjectInfo projectInfo = new CommonProjectInfo();
+        projectInfo.setRevisionId("revision-id");
+        Mockito.when(mockedResponseModel.getProjectInfo()).thenReturn(projectInfo);
+        Mockito.when(mockedResponseModel.getIssueSummary()).thenReturn(Optional.empty());
+        Mockito.when(mockedScanInfo.getIssueApiUrl()).thenReturn(new HttpUrl(VALID_ISSUE_API_URL));
+        Mockito.when(mockedResponseModel.getTools()).thenReturn(Collections.singletonList(successfulToolA));
+        Mockito.when(mockedCountService.getCredentialKey()).thenReturn("server-a", "server-b");
+
+        IssueCountCache issueCountCache = new IssueCountCache(10);
+        PolarisCliIssueCountService polarisCliIssueCountService = new PolarisCliIssueCountService(mockedLogger, mockedCountService, mockedJobService, mockedPolarisCliResponseUtility, issueCountCache);
+
+        polarisCliIssueCountService.getIssueCount(VALID_TIMEOUT, MOCK_JSON);
+        polarisCliIssueCountService.getIssueCount(VALID_TIMEOUT, MOCK_JSON);
+
+        Mockito.verify(mockedCountService, Mockito.times(2)).getIssueCountSummary(Mockito.eq(new HttpUrl(VALID_ISSUE_API_URL)), Mockito.anyMap());
+        Assertions.assertEquals(2, issueCountCache.size());
+    }
+
 }
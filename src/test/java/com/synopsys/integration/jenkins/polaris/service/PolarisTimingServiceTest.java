@@ -0,0 +1,61 @@
+package com.synopsys.integration.jenkins.polaris.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.jenkins.extensions.JenkinsIntLogger;
+import com.synopsys.integration.jenkins.polaris.action.PolarisTimingAction;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
+import com.synopsys.integration.polaris.common.timing.PolarisPhase;
+
+import hudson.model.Action;
+import hudson.model.Run;
+
+public class PolarisTimingServiceTest {
+    private static final int BRANCHES = 8;
+
+    @Test
+    public void testParallelBranchesKeepEachOthersTimings() throws Exception {
+        AtomicReference<PolarisTimingAction> recordedAction = new AtomicReference<>();
+        Run<?, ?> run = Mockito.mock(Run.class);
+        Mockito.when(run.getAction(PolarisTimingAction.class)).thenAnswer(invocation -> {
+            PolarisTimingAction polarisTimingAction = recordedAction.get();
+            // Widen the window between reading and replacing the action
+            Thread.sleep(5);
+            return polarisTimingAction;
+        });
+        Mockito.doAnswer(invocation -> {
+            recordedAction.set(invocation.getArgument(0));
+            return null;
+        }).when(run).replaceAction(Mockito.any(Action.class));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(BRANCHES);
+        try {
+            List<Future<?>> publishes = new ArrayList<>();
+            for (int i = 0; i < BRANCHES; i++) {
+                publishes.add(executorService.submit(() -> {
+                    PhaseTimer phaseTimer = new PhaseTimer();
+                    phaseTimer.record(PolarisPhase.CLI_DOWNLOAD, 10L);
+                    new PolarisTimingService(Mockito.mock(JenkinsIntLogger.class), run, phaseTimer, false).publish();
+                }));
+            }
+            for (Future<?> publish : publishes) {
+                publish.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(BRANCHES, recordedAction.get().getTimingsByPhase().get(PolarisPhase.CLI_DOWNLOAD).getCount());
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.synopsys.integration.polaris.common;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
@@ -12,6 +13,7 @@ import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import com.synopsys.integration.exception.IntegrationException;
@@ -29,6 +31,7 @@ import com.synopsys.integration.util.OperatingSystemType;
 
 public class PolarisDownloadUtilityTest {
     private static final String FAKE_BUT_VALID_DOWNLOAD_URL = "http://www.google.com";
+    private static final String MIRROR_URL = "http://mirror.example.com";
 
     @Test
     public void testActualDownload() throws IntegrationException {
@@ -131,4 +134,140 @@ public class PolarisDownloadUtilityTest {
         assertTrue(intLogger.getOutputString(LogLevel.WARN).contains("that are being deleted"));
     }
 
+    @Test
+    public void testInstallFromStagedArchiveWithoutServer() throws Exception {
+        long stagedLastModified = 1_600_000_000_000L;
+        IntHttpClient mockIntHttpClient = Mockito.mock(IntHttpClient.class);
+        IntLogger intLogger = new SilentIntLogger();
+
+        File downloadTarget = Files.createTempDirectory(null).toFile();
+        downloadTarget.deleteOnExit();
+        File stagedArchive = new File(downloadTarget, "staged.zip");
+        try (InputStream zipFileStream = getClass().getResourceAsStream("/swip_mac.zip")) {
+            Files.copy(zipFileStream, stagedArchive.toPath());
+        }
+
+        PolarisDownloadUtility polarisDownloadUtility = new PolarisDownloadUtility(intLogger, OperatingSystemType.LINUX, mockIntHttpClient, new CleanupZipExpander(intLogger),
+            new HttpUrl(PolarisDownloadUtilityTest.FAKE_BUT_VALID_DOWNLOAD_URL), downloadTarget);
+
+        assertFalse(polarisDownloadUtility.getPolarisCliHomeIfCurrent(stagedLastModified).isPresent());
+        Optional<String> installedHome = polarisDownloadUtility.installPolarisCliFromArchive(stagedArchive, stagedLastModified);
+        assertTrue(installedHome.isPresent());
+        assertEquals(installedHome, polarisDownloadUtility.getPolarisCliHomeIfCurrent(stagedLastModified));
+        assertFalse(polarisDownloadUtility.getPolarisCliHomeIfCurrent(stagedLastModified + 1000L).isPresent());
+        Mockito.verify(mockIntHttpClient, Mockito.never()).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    public void testDownloadArchiveOnlyIfModified() throws Exception {
+        long lastModifiedOnServer = 1_600_000_000_000L;
+        Response mockResponse = Mockito.mock(Response.class);
+        Mockito.when(mockResponse.getContent()).thenAnswer(invocation -> getClass().getResourceAsStream("/swip_mac.zip"));
+        Mockito.when(mockResponse.getLastModified()).thenReturn(lastModifiedOnServer);
+
+        IntHttpClient mockIntHttpClient = Mockito.mock(IntHttpClient.class);
+        Mockito.when(mockIntHttpClient.execute(Mockito.any(Request.class))).thenReturn(mockResponse);
+
+        IntLogger intLogger = new SilentIntLogger();
+        File downloadTarget = Files.createTempDirectory(null).toFile();
+        downloadTarget.deleteOnExit();
+        File archive = new File(downloadTarget, "polaris_cli.zip");
+
+        PolarisDownloadUtility polarisDownloadUtility = new PolarisDownloadUtility(intLogger, OperatingSystemType.LINUX, mockIntHttpClient, new CleanupZipExpander(intLogger),
+            new HttpUrl(PolarisDownloadUtilityTest.FAKE_BUT_VALID_DOWNLOAD_URL), downloadTarget);
+
+        assertEquals(Optional.of(lastModifiedOnServer), polarisDownloadUtility.downloadArchiveIfModified(archive));
+        assertEquals(lastModifiedOnServer, archive.lastModified());
+        assertEquals(Optional.of(lastModifiedOnServer), polarisDownloadUtility.downloadArchiveIfModified(archive));
+        Mockito.verify(mockResponse, Mockito.times(1)).getContent();
+    }
+
+    @Test
+    public void testInstallFromFileShareWithoutServer() throws Exception {
+        IntHttpClient mockIntHttpClient = Mockito.mock(IntHttpClient.class);
+        IntLogger intLogger = new SilentIntLogger();
+
+        File fileShare = Files.createTempDirectory(null).toFile();
+        fileShare.deleteOnExit();
+        File sharedArchive = new File(fileShare, "swip_cli-linux64.zip");
+        try (InputStream zipFileStream = getClass().getResourceAsStream("/swip_mac.zip")) {
+            Files.copy(zipFileStream, sharedArchive.toPath());
+        }
+
+        File downloadTarget = Files.createTempDirectory(null).toFile();
+        downloadTarget.deleteOnExit();
+
+        PolarisDownloadUtility polarisDownloadUtility = new PolarisDownloadUtility(intLogger, OperatingSystemType.LINUX, mockIntHttpClient, new CleanupZipExpander(intLogger),
+            new HttpUrl(PolarisDownloadUtilityTest.FAKE_BUT_VALID_DOWNLOAD_URL), downloadTarget);
+
+        Optional<String> installedHome = polarisDownloadUtility.getOrInstallPolarisCliHomeFromDirectory(fileShare);
+        assertTrue(installedHome.isPresent());
+        assertEquals(installedHome, polarisDownloadUtility.getPolarisCliHomeIfCurrent(sharedArchive.lastModified()));
+        assertFalse(polarisDownloadUtility.getOrInstallPolarisCliHomeFromDirectory(downloadTarget).isPresent());
+        Mockito.verify(mockIntHttpClient, Mockito.never()).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    public void testDownloadFromMirrorIfAvailable() throws Exception {
+        Response mockResponse = Mockito.mock(Response.class);
+        Mockito.when(mockResponse.getContent()).thenAnswer(invocation -> getClass().getResourceAsStream("/swip_mac.zip"));
+        Mockito.when(mockResponse.getLastModified()).thenReturn(1_600_000_000_000L);
+
+        IntHttpClient mockIntHttpClient = Mockito.mock(IntHttpClient.class);
+        Mockito.when(mockIntHttpClient.execute(Mockito.any(Request.class))).thenReturn(mockResponse);
+
+        IntLogger intLogger = new SilentIntLogger();
+        File downloadTarget = Files.createTempDirectory(null).toFile();
+        downloadTarget.deleteOnExit();
+
+        PolarisDownloadUtility polarisDownloadUtility = new PolarisDownloadUtility(intLogger, OperatingSystemType.LINUX, mockIntHttpClient, new CleanupZipExpander(intLogger),
+            new HttpUrl(PolarisDownloadUtilityTest.MIRROR_URL), downloadTarget);
+
+        Optional<String> mirroredHome = polarisDownloadUtility.getOrDownloadPolarisCliHomeIfAvailable();
+        assertTrue(mirroredHome.isPresent());
+        assertEquals(mirroredHome, polarisDownloadUtility.getPolarisCliHomeIfCurrent(1_600_000_000_000L));
+
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        Mockito.verify(mockIntHttpClient).execute(request.capture());
+        String requestedUrl = request.getValue().getUrl().string();
+        assertTrue(requestedUrl.startsWith(MIRROR_URL));
+        assertTrue(requestedUrl.endsWith("/api/tools/swip_cli-linux64.zip"));
+    }
+
+    @Test
+    public void testMirrorWithoutCliIsSkipped() throws Exception {
+        Response mockResponse = Mockito.mock(Response.class);
+        Mockito.when(mockResponse.isStatusCodeError()).thenReturn(true);
+
+        IntHttpClient mockIntHttpClient = Mockito.mock(IntHttpClient.class);
+        Mockito.when(mockIntHttpClient.execute(Mockito.any(Request.class))).thenReturn(mockResponse);
+
+        IntLogger intLogger = new SilentIntLogger();
+        File downloadTarget = Files.createTempDirectory(null).toFile();
+        downloadTarget.deleteOnExit();
+
+        PolarisDownloadUtility polarisDownloadUtility = new PolarisDownloadUtility(intLogger, OperatingSystemType.LINUX, mockIntHttpClient, new CleanupZipExpander(intLogger),
+            new HttpUrl(PolarisDownloadUtilityTest.MIRROR_URL), downloadTarget);
+
+        assertFalse(polarisDownloadUtility.getOrDownloadPolarisCliHomeIfAvailable().isPresent());
+        Mockito.verify(mockIntHttpClient, Mockito.times(2)).execute(Mockito.any(Request.class));
+        Mockito.verify(mockResponse, Mockito.never()).getContent();
+    }
+
+    @Test
+    public void testUnreachableMirrorIsSkipped() throws Exception {
+        IntHttpClient mockIntHttpClient = Mockito.mock(IntHttpClient.class);
+        Mockito.when(mockIntHttpClient.execute(Mockito.any(Request.class))).thenThrow(new IntegrationException("Connection refused"));
+
+        BufferedIntLogger intLogger = new BufferedIntLogger();
+        File downloadTarget = Files.createTempDirectory(null).toFile();
+        downloadTarget.deleteOnExit();
+
+        PolarisDownloadUtility polarisDownloadUtility = new PolarisDownloadUtility(intLogger, OperatingSystemType.LINUX, mockIntHttpClient, new CleanupZipExpander(intLogger),
+            new HttpUrl(PolarisDownloadUtilityTest.MIRROR_URL), downloadTarget);
+
+        assertFalse(polarisDownloadUtility.getOrDownloadPolarisCliHomeIfAvailable().isPresent());
+        assertTrue(intLogger.getOutputString(LogLevel.WARN).contains("Connection refused"));
+    }
+
 }
@@ -0,0 +1,39 @@
+package com.synopsys.integration.polaris.common.cli;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+public class BandwidthLimitedInputStreamTest {
+    @Test
+    public void testReadsAtLimitedRate() throws Exception {
+        byte[] content = new byte[4096];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long start = System.nanoTime();
+        try (InputStream inputStream = new BandwidthLimitedInputStream(new ByteArrayInputStream(content), 16 * 1024L)) {
+            IOUtils.copy(inputStream, outputStream);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertArrayEquals(content, outputStream.toByteArray());
+        // 4 KB at 16 KB/s should take about a quarter of a second
+        assertTrue(elapsedMillis >= 200L, "Read took only " + elapsedMillis + "ms");
+    }
+
+    @Test
+    public void testRejectsNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new BandwidthLimitedInputStream(new ByteArrayInputStream(new byte[0]), 0L));
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.synopsys.integration.polaris.common.cli.model.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.polaris.common.cli.PolarisCliResponseUtility;
+import com.synopsys.integration.polaris.common.cli.model.CliCommonResponseModel;
+import com.synopsys.integration.polaris.common.cli.model.CommonIssueSummary;
+import com.synopsys.integration.polaris.common.cli.model.CommonToolInfo;
+import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
+import com.synopsys.integration.rest.HttpUrl;
+
+public class CliCommonResponseStreamParserTest {
+    private final Gson gson = new Gson();
+    private final PolarisCliResponseUtility polarisCliResponseUtility = PolarisCliResponseUtility.defaultUtility(new SilentIntLogger());
+    private final CliCommonResponseStreamParser cliCommonResponseStreamParser = new CliCommonResponseStreamParser();
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/cli-scanv1.json", "/cli-scanv1-w.json", "/cli-scanv2.json", "/cli-scanv2-w.json" })
+    public void testStreamingMatchesTreeParsing(String resourceName) throws IOException, IntegrationException {
+        String json = readResource(resourceName);
+
+        CliCommonResponseModel fromTree = polarisCliResponseUtility.getPolarisCliResponseModelFromJsonObject(gson.fromJson(json, JsonObject.class));
+        CliCommonResponseModel fromStream = cliCommonResponseStreamParser.parse(json);
+
+        assertSameModel(fromTree, fromStream);
+    }
+
+    @Test
+    public void testVersionAfterOtherFields() throws IOException, IntegrationException {
+        JsonObject original = gson.fromJson(readResource("/cli-scanv2-w.json"), JsonObject.class);
+        JsonObject versionLast = new JsonObject();
+        original.entrySet().stream()
+            .filter(entry -> !"version".equals(entry.getKey()))
+            .forEach(entry -> versionLast.add(entry.getKey(), entry.getValue()));
+        versionLast.add("version", original.get("version"));
+
+        CliCommonResponseModel fromTree = polarisCliResponseUtility.getPolarisCliResponseModelFromJsonObject(original);
+        CliCommonResponseModel fromStream = cliCommonResponseStreamParser.parse(gson.toJson(versionLast));
+
+        assertSameModel(fromTree, fromStream);
+    }
+
+    @Test
+    public void testV1ToolsKeepParserOrder() throws IOException, IntegrationException {
+        JsonObject original = gson.fromJson(readResource("/cli-scanv1.json"), JsonObject.class);
+        JsonObject scaTool = gson.fromJson(original.get("coverity"), JsonObject.class);
+        scaTool.addProperty("jobId", "sca-job");
+        original.add("sca", scaTool);
+
+        CliCommonResponseModel fromTree = polarisCliResponseUtility.getPolarisCliResponseModelFromJsonObject(original);
+        CliCommonResponseModel fromStream = cliCommonResponseStreamParser.parse(gson.toJson(original));
+
+        assertEquals(Arrays.asList("sca", "Coverity"), getToolNames(fromTree));
+        assertEquals(Arrays.asList("sca", "Coverity"), getToolNames(fromStream));
+        assertEquals("sca-job", fromStream.getTools().get(0).getJobId());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", ",\"total\":null" })
+    public void testMissingTotalMatchesTreeParsing(String totalField) throws IOException, IntegrationException {
+        JsonObject original = gson.fromJson(readResource("/cli-scanv2-w.json"), JsonObject.class);
+        String summaryUrl = original.getAsJsonObject("issueSummary").get("summaryUrl").getAsString();
+        JsonObject withoutTotal = gson.fromJson(original, JsonObject.class);
+        withoutTotal.add("issueSummary", gson.fromJson("{\"summaryUrl\":\"" + summaryUrl + "\"" + totalField + "}", JsonObject.class));
+
+        CliCommonResponseModel fromTree = polarisCliResponseUtility.getPolarisCliResponseModelFromJsonObject(withoutTotal);
+        CliCommonResponseModel fromStream = cliCommonResponseStreamParser.parse(gson.toJson(withoutTotal));
+
+        assertEquals(Integer.valueOf(0), fromTree.getIssueSummary().map(CommonIssueSummary::getTotalIssueCount).orElse(null));
+        assertEquals(Integer.valueOf(0), fromStream.getIssueSummary().map(CommonIssueSummary::getTotalIssueCount).orElse(null));
+    }
+
+    @Test
+    public void testUnsupportedVersion() {
+        assertThrows(PolarisIntegrationException.class, () -> cliCommonResponseStreamParser.parse("{\"version\":\"3.0\",\"tools\":[]}"));
+        assertThrows(PolarisIntegrationException.class, () -> cliCommonResponseStreamParser.parse("{\"tools\":[]}"));
+    }
+
+    private void assertSameModel(CliCommonResponseModel expected, CliCommonResponseModel actual) {
+        assertEquals(expected.getScanInfo().getCliVersion(), actual.getScanInfo().getCliVersion());
+        assertEquals(expected.getScanInfo().getScanTime(), actual.getScanInfo().getScanTime());
+        assertEquals(expected.getScanInfo().getIssueApiUrl().string(), actual.getScanInfo().getIssueApiUrl().string());
+
+        assertEquals(expected.getProjectInfo().getProjectId(), actual.getProjectInfo().getProjectId());
+        assertEquals(expected.getProjectInfo().getBranchId(), actual.getProjectInfo().getBranchId());
+        assertEquals(expected.getProjectInfo().getRevisionId(), actual.getProjectInfo().getRevisionId());
+
+        assertEquals(expected.getIssueSummary().isPresent(), actual.getIssueSummary().isPresent());
+        if (expected.getIssueSummary().isPresent()) {
+            CommonIssueSummary expectedIssueSummary = expected.getIssueSummary().get();
+            CommonIssueSummary actualIssueSummary = actual.getIssueSummary().get();
+            assertEquals(expectedIssueSummary.getIssuesBySeverity(), actualIssueSummary.getIssuesBySeverity());
+            assertEquals(expectedIssueSummary.getSummaryUrl().string(), actualIssueSummary.getSummaryUrl().string());
+            assertEquals(expectedIssueSummary.getTotalIssueCount(), actualIssueSummary.getTotalIssueCount());
+        }
+
+        assertEquals(describeTools(expected.getTools()), describeTools(actual.getTools()));
+    }
+
+    private List<String> getToolNames(CliCommonResponseModel cliCommonResponseModel) {
+        return cliCommonResponseModel.getTools().stream()
+                   .map(CommonToolInfo::getToolName)
+                   .collect(Collectors.toList());
+    }
+
+    private List<String> describeTools(List<CommonToolInfo> tools) {
+        return tools.stream()
+                   .map(tool -> String.join("|", tool.getToolName(), tool.getToolVersion(), tool.getJobId(), tool.getJobStatus(), tool.getJobStatusUrl().string(),
+                       tool.getIssueApiUrl().map(HttpUrl::string).orElse("")))
+                   .sorted()
+                   .collect(Collectors.toList());
+    }
+
+    private String readResource(String resourceName) throws IOException {
+        try (InputStream inputStream = getClass().getResourceAsStream(resourceName)) {
+            return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+    }
+
+}
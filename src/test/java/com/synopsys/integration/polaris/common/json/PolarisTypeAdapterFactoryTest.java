@@ -0,0 +1,81 @@
+package com.synopsys.integration.polaris.common.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.polaris.common.api.model.ContextAttributes;
+import com.synopsys.integration.polaris.common.api.model.JobAttributes;
+import com.synopsys.integration.polaris.common.api.model.RollUpCountsResponse;
+import com.synopsys.integration.polaris.common.cli.model.json.v1.CliScanV1;
+import com.synopsys.integration.polaris.common.cli.model.json.v2.CliScanV2;
+
+public class PolarisTypeAdapterFactoryTest {
+    private final Gson reflectiveGson = new Gson();
+    private final Gson polarisGson = PolarisTypeAdapterFactory.withPolarisTypeAdapters(reflectiveGson);
+
+    @Test
+    public void testModelsUseExplicitAdapters() {
+        assertTrue(polarisGson.getAdapter(JobAttributes.class) instanceof PolarisObjectTypeAdapter);
+        assertTrue(polarisGson.getAdapter(CliScanV1.class) instanceof PolarisObjectTypeAdapter);
+        assertTrue(polarisGson.getAdapter(CliScanV2.class) instanceof PolarisObjectTypeAdapter);
+    }
+
+    @Test
+    public void testPagedJobsMatchReflectiveParsing() throws IOException {
+        assertSameAsReflective("/PolarisService/jobs_page_1_of_3.json", PolarisTypes.getPagedResourceResponseType(JobAttributes.class));
+        assertSameAsReflective("/JobService/jobservice_status.json", PolarisTypes.getSingleResourceResponseType(JobAttributes.class));
+    }
+
+    @Test
+    public void testRollUpCountsMatchReflectiveParsing() {
+        String json = "{"
+                          + "\"data\":[{\"type\":\"count\",\"id\":\"count-1\",\"attributes\":{\"value\":2},\"relationships\":{\"issues\":{\"data\":[]},\"taxon\":{\"data\":{\"type\":\"taxon\",\"id\":\"taxon-high\"}}}}],"
+                          + "\"included\":[{\"type\":\"taxon\",\"id\":\"taxon-high\",\"attributes\":{\"name\":\"High\"}}],"
+                          + "\"meta\":{\"offset\":0,\"limit\":25,\"total\":1}"
+                          + "}";
+
+        RollUpCountsResponse reflective = reflectiveGson.fromJson(json, RollUpCountsResponse.class);
+        RollUpCountsResponse explicit = polarisGson.fromJson(json, RollUpCountsResponse.class);
+
+        assertEquals(reflectiveGson.toJsonTree(reflective), reflectiveGson.toJsonTree(explicit));
+        assertEquals("taxon-high", explicit.getData().get(0).getRelationships().get("taxon").getData().getId());
+    }
+
+    @Test
+    public void testCliScansMatchReflectiveParsing() throws IOException {
+        assertSameAsReflective("/cli-scanv1.json", CliScanV1.class);
+        assertSameAsReflective("/cli-scanv1-w.json", CliScanV1.class);
+        assertSameAsReflective("/cli-scanv2.json", CliScanV2.class);
+        assertSameAsReflective("/cli-scanv2-w.json", CliScanV2.class);
+    }
+
+    @Test
+    public void testParameterizedTypesAreCached() {
+        assertSame(PolarisTypes.getResourceType(ContextAttributes.class), PolarisTypes.getResourceType(ContextAttributes.class));
+        assertSame(PolarisTypes.getPagedResourceResponseType(ContextAttributes.class), PolarisTypes.getPagedResourceResponseType(ContextAttributes.class));
+    }
+
+    private void assertSameAsReflective(String resourceName, Type type) throws IOException {
+        String json;
+        try (InputStream inputStream = getClass().getResourceAsStream(resourceName)) {
+            json = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+
+        Object reflective = reflectiveGson.fromJson(json, type);
+        Object explicit = polarisGson.fromJson(json, type);
+
+        assertEquals(reflectiveGson.toJsonTree(reflective, type), reflectiveGson.toJsonTree(explicit, type));
+        assertEquals(reflectiveGson.toJsonTree(reflective, type), polarisGson.toJsonTree(explicit, type));
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.synopsys.integration.polaris.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class InMemoryPolarisHttpMetricsTest {
+    @Test
+    public void testHistogramPercentiles() {
+        InMemoryPolarisHttpMetrics metrics = new InMemoryPolarisHttpMetrics();
+        for (int i = 0; i < 99; i++) {
+            metrics.recordRequest("/api/auth/contexts", 200, 5);
+        }
+        metrics.recordRequest("/api/auth/contexts", 503, 4_000);
+
+        InMemoryPolarisHttpMetrics.EndpointMetrics endpointMetrics = metrics.getMetricsByEndpoint().get("/api/auth/contexts");
+        assertEquals(100, endpointMetrics.getRequestCount());
+        assertEquals(Long.valueOf(1), endpointMetrics.getStatusCodeCounts().get(503));
+        assertEquals(5, endpointMetrics.getLatencyInMillis().getPercentile(50));
+        assertEquals(4_000, endpointMetrics.getLatencyInMillis().getPercentile(100));
+    }
+
+    @Test
+    public void testFailedRequestsAreCounted() {
+        InMemoryPolarisHttpMetrics metrics = new InMemoryPolarisHttpMetrics();
+        metrics.recordRequest("/api/jobs/jobs/{id}", 200, 20);
+        metrics.recordResponseBytes("/api/jobs/jobs/{id}", 512);
+        metrics.recordRequest("/api/jobs/jobs/{id}", PolarisHttpMetricsSink.NO_RESPONSE, 30_000);
+
+        InMemoryPolarisHttpMetrics.EndpointMetrics endpointMetrics = metrics.getMetricsByEndpoint().get("/api/jobs/jobs/{id}");
+        assertEquals(2, endpointMetrics.getRequestCount());
+        assertEquals(Long.valueOf(1), endpointMetrics.getStatusCodeCounts().get(PolarisHttpMetricsSink.NO_RESPONSE));
+        assertEquals(30_000, endpointMetrics.getLatencyInMillis().getMaximum());
+        assertEquals(512, endpointMetrics.getResponseBytes().getSum());
+    }
+
+}
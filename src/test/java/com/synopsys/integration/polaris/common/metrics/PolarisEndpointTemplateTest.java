@@ -0,0 +1,22 @@
+package com.synopsys.integration.polaris.common.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class PolarisEndpointTemplateTest {
+    @Test
+    public void testIdentifiersAreReplaced() {
+        assertEquals("/api/jobs/jobs/{id}", PolarisEndpointTemplate.fromUri("https://polaris.synopsys.example.com/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4"));
+        assertEquals("/api/tds-sca/v0/bdio/status", PolarisEndpointTemplate.fromUri("https://polaris.synopsys.example.com/api/tds-sca/v0/bdio/status?scan-id=5ed9ed6e-f9b7-4ea8-8255-ec6104f72437"));
+        assertEquals("/api/projects/{id}/branches", PolarisEndpointTemplate.fromPath("/api/projects/8a955054-b985-4a03-8c41-afbce93a87d4/branches/"));
+    }
+
+    @Test
+    public void testPathWordsAreKept() {
+        assertEquals("/api/query/v0/roll-up-counts", PolarisEndpointTemplate.fromUri("https://polaris.synopsys.example.com/api/query/v0/roll-up-counts?page%5Blimit%5D=25"));
+        assertEquals("/api/tools/swip_cli-linux64.zip", PolarisEndpointTemplate.fromPath("/api/tools/swip_cli-linux64.zip"));
+        assertEquals("/", PolarisEndpointTemplate.fromPath(""));
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.synopsys.integration.polaris.common.mock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LatencyRecorder {
+    private final String name;
+    private final List<Long> latenciesInNanos = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger failures = new AtomicInteger();
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public <T> T record(ThrowingSupplier<T> operation) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            throw e;
+        } finally {
+            latenciesInNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public int getSampleCount() {
+        return latenciesInNanos.size();
+    }
+
+    public int getFailureCount() {
+        return failures.get();
+    }
+
+    public double getPercentileInMillis(double percentile) {
+        List<Long> sorted;
+        synchronized (latenciesInNanos) {
+            sorted = new ArrayList<>(latenciesInNanos);
+        }
+        if (sorted.isEmpty()) {
+            return 0.0;
+        }
+
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1))) / 1_000_000.0;
+    }
+
+    public String summarize() {
+        return String.format("%s: samples=%d failures=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms", name, getSampleCount(), getFailureCount(),
+            getPercentileInMillis(50), getPercentileInMillis(95), getPercentileInMillis(99), getPercentileInMillis(100));
+    }
+
+    @FunctionalInterface
+    public interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+
+}
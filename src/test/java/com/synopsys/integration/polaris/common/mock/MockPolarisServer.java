@@ -0,0 +1,307 @@
+package com.synopsys.integration.polaris.common.mock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.rest.HttpUrl;
+
+/**
+ * An in-process stand-in for the parts of the Polaris API the plugin talks to: authentication, contexts, job status,
+ * issue counts and the CLI download. Latency, page size and failures can be tuned so that services can be exercised
+ * under load without a live Polaris instance.
+ */
+public class MockPolarisServer implements AutoCloseable {
+    public static final String ACCESS_TOKEN = "mock-access-token";
+    public static final String JWT = "mock-jwt";
+    public static final String JOBS_PATH = "/api/jobs/jobs/";
+    public static final String COUNTS_PATH = "/api/query/v0/roll-up-counts";
+    public static final String TOOLS_PATH = "/api/tools/";
+
+    private static final String JSON_API_MIME_TYPE = "application/vnd.api+json";
+    private static final String CLI_ZIP_RESOURCE = "/swip_mac.zip";
+
+    private final HttpServer httpServer;
+    private final ExecutorService executorService;
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> jobPolls = new ConcurrentHashMap<>();
+
+    private volatile long minimumLatencyMillis = 0;
+    private volatile long maximumLatencyMillis = 0;
+    private volatile int maximumPageSize = 25;
+    private volatile int contextCount = 3;
+    private volatile int pollsUntilJobCompletes = 1;
+    private volatile int issueCountPerSeverity = 1;
+    private volatile double failureRate = 0.0;
+    private volatile int failureStatusCode = 503;
+    private final AtomicInteger throttledRequestsRemaining = new AtomicInteger();
+    private volatile long cliLastModified = Instant.parse("2020-04-01T00:00:00Z").toEpochMilli();
+    private final byte[] cliZip;
+
+    public MockPolarisServer() throws IOException {
+        this(16);
+    }
+
+    public MockPolarisServer(int serverThreads) throws IOException {
+        try (InputStream cliZipStream = getClass().getResourceAsStream(CLI_ZIP_RESOURCE)) {
+            cliZip = IOUtils.toByteArray(cliZipStream);
+        }
+
+        httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executorService = Executors.newFixedThreadPool(serverThreads);
+        httpServer.setExecutor(executorService);
+        httpServer.createContext("/api/auth/authenticate", instrument("authenticate", this::handleAuthenticate));
+        httpServer.createContext("/api/auth/contexts", instrument("contexts", this::handleContexts));
+        httpServer.createContext(JOBS_PATH, instrument("jobs", this::handleJob));
+        httpServer.createContext(COUNTS_PATH, instrument("counts", this::handleCounts));
+        httpServer.createContext(TOOLS_PATH, instrument("tools", this::handleTools));
+    }
+
+    public MockPolarisServer start() {
+        httpServer.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executorService.shutdownNow();
+    }
+
+    public HttpUrl getBaseUrl() throws IntegrationException {
+        return new HttpUrl("http://127.0.0.1:" + httpServer.getAddress().getPort());
+    }
+
+    public HttpUrl getJobUrl(String jobId) throws IntegrationException {
+        return getBaseUrl().appendRelativeUrl(JOBS_PATH + jobId);
+    }
+
+    public HttpUrl getIssueCountUrl() throws IntegrationException {
+        return new HttpUrl(getBaseUrl() + COUNTS_PATH + "?project-id=mock-project&branch-id=mock-branch");
+    }
+
+    public int getRequestCount(String endpoint) {
+        return requestCounts.getOrDefault(endpoint, new AtomicInteger()).get();
+    }
+
+    public void setLatency(long minimumLatencyMillis, long maximumLatencyMillis) {
+        this.minimumLatencyMillis = minimumLatencyMillis;
+        this.maximumLatencyMillis = Math.max(minimumLatencyMillis, maximumLatencyMillis);
+    }
+
+    public void setMaximumPageSize(int maximumPageSize) {
+        this.maximumPageSize = maximumPageSize;
+    }
+
+    public void setContextCount(int contextCount) {
+        this.contextCount = contextCount;
+    }
+
+    public void setPollsUntilJobCompletes(int pollsUntilJobCompletes) {
+        this.pollsUntilJobCompletes = pollsUntilJobCompletes;
+    }
+
+    public void setIssueCountPerSeverity(int issueCountPerSeverity) {
+        this.issueCountPerSeverity = issueCountPerSeverity;
+    }
+
+    public void setFailureRate(double failureRate, int failureStatusCode) {
+        this.failureRate = failureRate;
+        this.failureStatusCode = failureStatusCode;
+    }
+
+    // The next requests (other than authentication) are answered 429 with a Retry-After of zero seconds
+    public void throttleNextRequests(int throttledRequests) {
+        throttledRequestsRemaining.set(throttledRequests);
+    }
+
+    public void setCliLastModified(long cliLastModified) {
+        this.cliLastModified = cliLastModified;
+    }
+
+    private HttpHandler instrument(String endpoint, HttpHandler handler) {
+        return exchange -> {
+            try {
+                requestCounts.computeIfAbsent(endpoint, ignored -> new AtomicInteger()).incrementAndGet();
+                simulateLatency();
+                IOUtils.toByteArray(exchange.getRequestBody());
+
+                // Authentication is never failed on purpose so that injected failures only show up on the calls under test
+                if (!"authenticate".equals(endpoint) && throttledRequestsRemaining.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                    exchange.getResponseHeaders().add("Retry-After", "0");
+                    sendJson(exchange, 429, createErrors(429));
+                } else if (!"authenticate".equals(endpoint) && ThreadLocalRandom.current().nextDouble() < failureRate) {
+                    sendJson(exchange, failureStatusCode, createErrors(failureStatusCode));
+                } else if (!"authenticate".equals(endpoint) && !isAuthorized(exchange)) {
+                    sendJson(exchange, 401, createErrors(401));
+                } else {
+                    handler.handle(exchange);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        if (maximumLatencyMillis > 0) {
+            long latency = minimumLatencyMillis == maximumLatencyMillis ? minimumLatencyMillis : ThreadLocalRandom.current().nextLong(minimumLatencyMillis, maximumLatencyMillis + 1);
+            TimeUnit.MILLISECONDS.sleep(latency);
+        }
+    }
+
+    private boolean isAuthorized(HttpExchange exchange) {
+        return ("Bearer " + JWT).equals(exchange.getRequestHeaders().getFirst("Authorization"));
+    }
+
+    private void handleAuthenticate(HttpExchange exchange) throws IOException {
+        JsonObject authentication = new JsonObject();
+        authentication.addProperty("jwt", JWT);
+        sendJson(exchange, 200, authentication);
+    }
+
+    private void handleContexts(HttpExchange exchange) throws IOException {
+        Map<String, String> queryParameters = getQueryParameters(exchange);
+        int offset = Integer.parseInt(queryParameters.getOrDefault("page[offset]", "0"));
+        int limit = Math.min(maximumPageSize, Integer.parseInt(queryParameters.getOrDefault("page[limit]", String.valueOf(maximumPageSize))));
+
+        JsonArray data = new JsonArray();
+        for (int i = offset; i < Math.min(offset + limit, contextCount); i++) {
+            JsonObject attributes = new JsonObject();
+            attributes.addProperty("organizationname", "mock-organization-" + i);
+            attributes.addProperty("current", i == 0);
+            data.add(createResource("contexts", "context-" + i, attributes));
+        }
+
+        // Contexts carry an ETag so that conditional requests can be exercised
+        JsonObject response = createPagedResponse(data, offset, limit, contextCount);
+        String eTag = "\"" + Integer.toHexString(response.toString().hashCode()) + "\"";
+        exchange.getResponseHeaders().add("ETag", eTag);
+        if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            requestCounts.computeIfAbsent("contexts-not-modified", ignored -> new AtomicInteger()).incrementAndGet();
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        sendJson(exchange, 200, response);
+    }
+
+    private void handleJob(HttpExchange exchange) throws IOException {
+        String jobId = exchange.getRequestURI().getPath().substring(JOBS_PATH.length());
+        int polls = jobPolls.computeIfAbsent(jobId, ignored -> new AtomicInteger()).incrementAndGet();
+        boolean completed = polls >= pollsUntilJobCompletes;
+
+        JsonObject status = new JsonObject();
+        status.addProperty("state", completed ? "COMPLETED" : "RUNNING");
+        status.addProperty("progress", completed ? 100 : 100 * polls / pollsUntilJobCompletes);
+        JsonObject attributes = new JsonObject();
+        attributes.add("status", status);
+
+        JsonObject response = new JsonObject();
+        response.add("data", createResource("jobs", jobId, attributes));
+        sendJson(exchange, 200, response);
+    }
+
+    private void handleCounts(HttpExchange exchange) throws IOException {
+        String[] severities = { "critical", "high", "medium", "low" };
+        JsonArray data = new JsonArray();
+        for (String severity : severities) {
+            JsonObject attributes = new JsonObject();
+            attributes.addProperty("value", issueCountPerSeverity);
+            data.add(createResource("count", severity, attributes));
+        }
+
+        sendJson(exchange, 200, createPagedResponse(data, 0, severities.length, severities.length));
+    }
+
+    private void handleTools(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/zip");
+        exchange.getResponseHeaders().add("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(cliLastModified).atZone(ZoneOffset.UTC)));
+        exchange.sendResponseHeaders(200, cliZip.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(cliZip);
+        }
+    }
+
+    private JsonObject createResource(String type, String id, JsonObject attributes) {
+        JsonObject resource = new JsonObject();
+        resource.addProperty("type", type);
+        resource.addProperty("id", id);
+        resource.add("attributes", attributes);
+        return resource;
+    }
+
+    private JsonObject createPagedResponse(JsonArray data, int offset, int limit, int total) {
+        JsonObject meta = new JsonObject();
+        meta.addProperty("offset", offset);
+        meta.addProperty("limit", limit);
+        meta.addProperty("total", total);
+
+        JsonObject response = new JsonObject();
+        response.add("data", data);
+        response.add("meta", meta);
+        return response;
+    }
+
+    private JsonObject createErrors(int statusCode) {
+        JsonObject error = new JsonObject();
+        error.addProperty("status", String.valueOf(statusCode));
+        error.addProperty("title", "Injected failure");
+        JsonArray errors = new JsonArray();
+        errors.add(error);
+
+        JsonObject response = new JsonObject();
+        response.add("errors", errors);
+        return response;
+    }
+
+    private void sendJson(HttpExchange exchange, int statusCode, JsonObject body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", JSON_API_MIME_TYPE);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private Map<String, String> getQueryParameters(HttpExchange exchange) throws IOException {
+        Map<String, String> queryParameters = new HashMap<>();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery == null) {
+            return queryParameters;
+        }
+
+        for (String pair : rawQuery.split("&")) {
+            String[] keyAndValue = pair.split("=", 2);
+            String key = URLDecoder.decode(keyAndValue[0], StandardCharsets.UTF_8.name());
+            String value = keyAndValue.length > 1 ? URLDecoder.decode(keyAndValue[1], StandardCharsets.UTF_8.name()) : "";
+            queryParameters.put(key, value);
+        }
+
+        return queryParameters;
+    }
+
+}
@@ -0,0 +1,259 @@
+package com.synopsys.integration.polaris.common.mock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.IntLogger;
+import com.synopsys.integration.log.LogLevel;
+import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.polaris.common.api.PolarisResource;
+import com.synopsys.integration.polaris.common.api.model.ContextAttributes;
+import com.synopsys.integration.polaris.common.api.model.JobAttributes;
+import com.synopsys.integration.polaris.common.api.model.JobStatus;
+import com.synopsys.integration.polaris.common.cli.PolarisDownloadUtility;
+import com.synopsys.integration.polaris.common.configuration.PolarisServerConfig;
+import com.synopsys.integration.polaris.common.metrics.InMemoryPolarisHttpMetrics;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.polaris.common.rest.PolarisHttpCache;
+import com.synopsys.integration.polaris.common.rest.PolarisRateLimiter;
+import com.synopsys.integration.polaris.common.service.ContextsService;
+import com.synopsys.integration.polaris.common.service.CountService;
+import com.synopsys.integration.polaris.common.service.JobService;
+import com.synopsys.integration.polaris.common.service.PolarisServicesFactory;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.client.IntHttpClient;
+import com.synopsys.integration.rest.proxy.ProxyInfo;
+import com.synopsys.integration.util.CleanupZipExpander;
+import com.synopsys.integration.util.OperatingSystemType;
+
+// Thread and iteration counts can be raised with -Dpolaris.load.threads and -Dpolaris.load.iterations for a heavier run.
+// Tagged so that the default test task skips it; run it with the testPerformance task.
+@Tag(PolarisLoadTest.PERFORMANCE_TAG)
+public class PolarisLoadTest {
+    public static final String PERFORMANCE_TAG = "performance";
+    private static final int THREADS = Integer.getInteger("polaris.load.threads", 8);
+    private static final int ITERATIONS = Integer.getInteger("polaris.load.iterations", 20);
+    private static final int CONTEXT_COUNT = 5;
+    private static final int PAGE_SIZE = 2;
+    private static final int ISSUES_PER_SEVERITY = 3;
+
+    private final IntLogger logger = new SilentIntLogger();
+    private final IntLogger reportLogger = new PrintStreamIntLogger(System.out, LogLevel.INFO);
+    private MockPolarisServer mockPolarisServer;
+    private PolarisServicesFactory polarisServicesFactory;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        mockPolarisServer = new MockPolarisServer().start();
+        mockPolarisServer.setLatency(1, 10);
+        mockPolarisServer.setMaximumPageSize(PAGE_SIZE);
+        mockPolarisServer.setContextCount(CONTEXT_COUNT);
+        mockPolarisServer.setIssueCountPerSeverity(ISSUES_PER_SEVERITY);
+
+        PolarisServerConfig polarisServerConfig = PolarisServerConfig.newBuilder()
+                                                      .setUrl(mockPolarisServer.getBaseUrl().toString())
+                                                      .setAccessToken(MockPolarisServer.ACCESS_TOKEN)
+                                                      .setGson(new Gson())
+                                                      .build();
+        polarisServicesFactory = polarisServerConfig.createPolarisServicesFactory(logger);
+        polarisServicesFactory.setDefaultPageSize(PAGE_SIZE);
+        // The load itself is what is being measured here, so the shared controller-wide limit is lifted
+        polarisServicesFactory.getHttpClient().setRateLimiter(new PolarisRateLimiter(100_000, 100_000));
+    }
+
+    @AfterEach
+    public void stopServer() {
+        mockPolarisServer.close();
+    }
+
+    @Test
+    public void testServicesUnderConcurrency() throws Exception {
+        ContextsService contextsService = polarisServicesFactory.createContextsService();
+        JobService jobService = polarisServicesFactory.createJobService();
+        CountService countService = polarisServicesFactory.createCountService();
+        HttpUrl issueCountUrl = mockPolarisServer.getIssueCountUrl();
+        InMemoryPolarisHttpMetrics httpMetrics = new InMemoryPolarisHttpMetrics();
+        polarisServicesFactory.getHttpClient().setMetricsSink(httpMetrics);
+
+        LatencyRecorder contextsLatency = new LatencyRecorder("ContextsService.getAllContexts");
+        LatencyRecorder jobLatency = new LatencyRecorder("JobService.getJobByUrl");
+        LatencyRecorder countLatency = new LatencyRecorder("CountService.getTotalIssueCountFromIssueApiUrl");
+
+        runConcurrently(iteration -> {
+            List<PolarisResource<ContextAttributes>> contexts = contextsLatency.record(contextsService::getAllContexts);
+            assertEquals(CONTEXT_COUNT, contexts.size());
+
+            HttpUrl jobUrl = mockPolarisServer.getJobUrl("job-" + iteration);
+            PolarisResource<JobAttributes> job = jobLatency.record(() -> jobService.getJobByUrl(jobUrl));
+            assertEquals(JobStatus.StateEnum.COMPLETED, job.getAttributes().getStatus().getState());
+
+            Integer issueCount = countLatency.record(() -> countService.getTotalIssueCountFromIssueApiUrl(issueCountUrl));
+            assertEquals(Integer.valueOf(4 * ISSUES_PER_SEVERITY), issueCount);
+        });
+
+        report(contextsLatency, jobLatency, countLatency);
+        assertEquals(THREADS * ITERATIONS, jobLatency.getSampleCount());
+        assertEquals(0, contextsLatency.getFailureCount() + jobLatency.getFailureCount() + countLatency.getFailureCount());
+
+        InMemoryPolarisHttpMetrics.EndpointMetrics jobMetrics = httpMetrics.getMetricsByEndpoint().get("/api/jobs/jobs/{id}");
+        assertEquals(THREADS * ITERATIONS, jobMetrics.getRequestCount());
+        assertEquals(THREADS * ITERATIONS, jobMetrics.getResponseBytes().getCount());
+        assertTrue(httpMetrics.getAuthenticationCount() >= 1);
+    }
+
+    @Test
+    public void testIdenticalRequestsAreCoalesced() throws Exception {
+        mockPolarisServer.setLatency(200, 200);
+        JobService jobService = polarisServicesFactory.createJobService();
+        HttpUrl jobUrl = mockPolarisServer.getJobUrl("shared-job");
+        CyclicBarrier startTogether = new CyclicBarrier(THREADS);
+
+        runConcurrently(THREADS, 1, iteration -> {
+            startTogether.await(1, TimeUnit.MINUTES);
+            PolarisResource<JobAttributes> job = jobService.getJobByUrl(jobUrl);
+            assertEquals(JobStatus.StateEnum.COMPLETED, job.getAttributes().getStatus().getState());
+        });
+
+        // Every caller arrives well within one response time, so they should all have been served by far fewer calls than callers
+        assertTrue(mockPolarisServer.getRequestCount("jobs") < THREADS, "Expected fewer than " + THREADS + " job requests but saw " + mockPolarisServer.getRequestCount("jobs"));
+    }
+
+    @Test
+    public void testUnchangedContextsAreRevalidated() throws Exception {
+        polarisServicesFactory.setHttpCache(new PolarisHttpCache(100, 1024 * 1024, null));
+        ContextsService contextsService = polarisServicesFactory.createContextsService();
+        int pages = (CONTEXT_COUNT + PAGE_SIZE - 1) / PAGE_SIZE;
+
+        List<PolarisResource<ContextAttributes>> firstContexts = contextsService.getAllContexts();
+        List<PolarisResource<ContextAttributes>> secondContexts = contextsService.getAllContexts();
+
+        assertEquals(CONTEXT_COUNT, firstContexts.size());
+        assertEquals(CONTEXT_COUNT, secondContexts.size());
+        assertEquals(pages, mockPolarisServer.getRequestCount("contexts-not-modified"));
+    }
+
+    @Test
+    public void testWaitForJobUnderConcurrency() throws Exception {
+        mockPolarisServer.setPollsUntilJobCompletes(2);
+        JobService jobService = polarisServicesFactory.createJobService();
+        LatencyRecorder waitLatency = new LatencyRecorder("JobService.waitForJobStateIsCompletedOrDieByUrl");
+
+        runConcurrently(THREADS, 1, iteration -> {
+            HttpUrl jobUrl = mockPolarisServer.getJobUrl("waited-job-" + iteration);
+            waitLatency.record(() -> {
+                jobService.waitForJobStateIsCompletedOrDieByUrl(jobUrl, 30, 1);
+                return null;
+            });
+        });
+
+        report(waitLatency);
+        assertEquals(0, waitLatency.getFailureCount());
+    }
+
+    @Test
+    public void testCliDownloadUnderConcurrency(@TempDir File downloadDirectory) throws Exception {
+        LatencyRecorder downloadLatency = new LatencyRecorder("PolarisDownloadUtility.getOrDownloadPolarisCliExecutable");
+        HttpUrl baseUrl = mockPolarisServer.getBaseUrl();
+
+        runConcurrently(THREADS, 2, iteration -> {
+            // Each worker installs into its own directory, the way separate agents would
+            File workerDirectory = new File(downloadDirectory, Thread.currentThread().getName());
+            IntHttpClient intHttpClient = new IntHttpClient(logger, PolarisDownloadUtility.DEFAULT_POLARIS_TIMEOUT, false, ProxyInfo.NO_PROXY_INFO);
+            PolarisDownloadUtility polarisDownloadUtility = new PolarisDownloadUtility(logger, OperatingSystemType.LINUX, intHttpClient, new CleanupZipExpander(logger), baseUrl, workerDirectory);
+
+            Optional<String> polarisCliExecutable = downloadLatency.record(polarisDownloadUtility::getOrDownloadPolarisCliExecutable);
+            assertTrue(polarisCliExecutable.isPresent());
+        });
+
+        report(downloadLatency);
+        assertEquals(0, downloadLatency.getFailureCount());
+        assertEquals(THREADS * 2, mockPolarisServer.getRequestCount("tools"));
+    }
+
+    @Test
+    public void testInjectedFailures() throws Exception {
+        mockPolarisServer.setFailureRate(1.0, 503);
+        JobService jobService = polarisServicesFactory.createJobService();
+        HttpUrl jobUrl = mockPolarisServer.getJobUrl("failing-job");
+
+        IntegrationException exception = assertThrows(IntegrationException.class, () -> jobService.getJobByUrl(jobUrl));
+        assertTrue(exception.getMessage().contains("503"), exception.getMessage());
+        assertEquals(AccessTokenPolarisHttpClient.MAXIMUM_THROTTLED_ATTEMPTS, mockPolarisServer.getRequestCount("jobs"));
+    }
+
+    @Test
+    public void testThrottledRequestsAreRetried() throws Exception {
+        JobService jobService = polarisServicesFactory.createJobService();
+        InMemoryPolarisHttpMetrics httpMetrics = new InMemoryPolarisHttpMetrics();
+        PolarisRateLimiter rateLimiter = new PolarisRateLimiter(100, 100);
+        polarisServicesFactory.getHttpClient().setMetricsSink(httpMetrics);
+        polarisServicesFactory.getHttpClient().setRateLimiter(rateLimiter);
+        mockPolarisServer.throttleNextRequests(2);
+
+        PolarisResource<JobAttributes> job = jobService.getJobByUrl(mockPolarisServer.getJobUrl("throttled-job"));
+
+        assertEquals(JobStatus.StateEnum.COMPLETED, job.getAttributes().getStatus().getState());
+        assertEquals(2, httpMetrics.getMetricsByEndpoint().get("/api/jobs/jobs/{id}").getRetryCount());
+        assertTrue(rateLimiter.getRequestsPerSecond() < rateLimiter.getMaximumRequestsPerSecond());
+    }
+
+    private void runConcurrently(Iteration iteration) throws Exception {
+        runConcurrently(THREADS, ITERATIONS, iteration);
+    }
+
+    private void runConcurrently(int threads, int iterationsPerThread, Iteration iteration) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int threadNumber = thread;
+                Callable<Void> worker = () -> {
+                    for (int i = 0; i < iterationsPerThread; i++) {
+                        iteration.run(threadNumber * iterationsPerThread + i);
+                    }
+                    return null;
+                };
+                futures.add(executorService.submit(worker));
+            }
+
+            for (Future<Void> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void report(LatencyRecorder... latencyRecorders) {
+        for (LatencyRecorder latencyRecorder : latencyRecorders) {
+            reportLogger.info(latencyRecorder.summarize());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Iteration {
+        void run(int iteration) throws Exception;
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.synopsys.integration.polaris.common.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PolarisHttpCacheTest {
+    private static final String BODY = "{\"data\":[]}";
+
+    @Test
+    public void testResponsesWithoutValidatorsOrMaxAgeAreNotKept() {
+        PolarisHttpCache polarisHttpCache = new PolarisHttpCache(10, 1024, null);
+
+        assertFalse(polarisHttpCache.store("key", BODY, null, null, null).isPresent());
+        assertFalse(polarisHttpCache.get("key").isPresent());
+    }
+
+    @Test
+    public void testNoStoreIsRespected() {
+        PolarisHttpCache polarisHttpCache = new PolarisHttpCache(10, 1024, null);
+
+        assertFalse(polarisHttpCache.store("key", BODY, "\"etag\"", null, "private, no-store").isPresent());
+    }
+
+    @Test
+    public void testFreshnessFollowsCacheControl() {
+        PolarisHttpCache polarisHttpCache = new PolarisHttpCache(10, 1024, null);
+
+        assertTrue(polarisHttpCache.store("max-age", BODY, null, null, "max-age=60").get().isFresh());
+        assertFalse(polarisHttpCache.store("no-cache", BODY, "\"etag\"", null, "no-cache, max-age=60").get().isFresh());
+        assertFalse(polarisHttpCache.store("etag-only", BODY, "\"etag\"", null, null).get().isFresh());
+    }
+
+    @Test
+    public void testRevalidationExtendsFreshness() {
+        PolarisHttpCache polarisHttpCache = new PolarisHttpCache(10, 1024, null);
+        PolarisHttpCache.Entry entry = polarisHttpCache.store("key", BODY, "\"etag\"", "Wed, 01 Apr 2020 00:00:00 GMT", null).get();
+
+        assertEquals(Optional.of("\"etag\""), entry.getETag());
+        assertFalse(entry.isFresh());
+        assertTrue(polarisHttpCache.revalidated(entry, "max-age=60").isFresh());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() {
+        PolarisHttpCache polarisHttpCache = new PolarisHttpCache(2, 1024, null);
+        polarisHttpCache.store("first", BODY, "\"1\"", null, null);
+        polarisHttpCache.store("second", BODY, "\"2\"", null, null);
+        polarisHttpCache.get("first");
+        polarisHttpCache.store("third", BODY, "\"3\"", null, null);
+
+        assertEquals(2, polarisHttpCache.size());
+        assertTrue(polarisHttpCache.get("first").isPresent());
+        assertFalse(polarisHttpCache.get("second").isPresent());
+    }
+
+    @Test
+    public void testDiskTierOutlivesMemory(@TempDir File cacheDirectory) {
+        PolarisHttpCache polarisHttpCache = new PolarisHttpCache(10, 1024, cacheDirectory, new ReversingEncryption());
+        polarisHttpCache.store("key", BODY, "\"etag\"", null, null);
+
+        PolarisHttpCache restartedCache = new PolarisHttpCache(10, 1024, cacheDirectory, new ReversingEncryption());
+        Optional<PolarisHttpCache.Entry> entry = restartedCache.get("key");
+
+        assertTrue(entry.isPresent());
+        assertEquals(BODY, entry.get().getBody());
+        assertEquals(Optional.of("\"etag\""), entry.get().getETag());
+    }
+
+    @Test
+    public void testDiskTierIsEncrypted(@TempDir File cacheDirectory) throws IOException {
+        PolarisHttpCache polarisHttpCache = new PolarisHttpCache(10, 1024, cacheDirectory, new ReversingEncryption());
+        polarisHttpCache.store("key", BODY, "\"etag\"", null, null);
+
+        File[] diskFiles = cacheDirectory.listFiles();
+        assertEquals(1, diskFiles.length);
+        assertFalse(new String(Files.readAllBytes(diskFiles[0].toPath()), StandardCharsets.UTF_8).contains(BODY));
+    }
+
+    @Test
+    public void testDiskTierNeedsEncryption(@TempDir File cacheDirectory) {
+        PolarisHttpCache polarisHttpCache = new PolarisHttpCache(10, 1024, cacheDirectory);
+        polarisHttpCache.store("key", BODY, "\"etag\"", null, null);
+
+        assertEquals(0, cacheDirectory.listFiles().length);
+        assertTrue(polarisHttpCache.get("key").isPresent());
+    }
+
+    @Test
+    public void testUndecryptableDiskEntriesAreDiscarded(@TempDir File cacheDirectory) {
+        PolarisHttpCache polarisHttpCache = new PolarisHttpCache(10, 1024, cacheDirectory, new ReversingEncryption());
+        polarisHttpCache.store("key", BODY, "\"etag\"", null, null);
+
+        PolarisHttpCache.DiskEncryption otherKey = new PolarisHttpCache.DiskEncryption() {
+            @Override
+            public String encrypt(String value) {
+                return value;
+            }
+
+            @Override
+            public String decrypt(String value) {
+                return null;
+            }
+        };
+        PolarisHttpCache restartedCache = new PolarisHttpCache(10, 1024, cacheDirectory, otherKey);
+
+        assertFalse(restartedCache.get("key").isPresent());
+        assertEquals(0, cacheDirectory.listFiles().length);
+    }
+
+    private static class ReversingEncryption implements PolarisHttpCache.DiskEncryption {
+        @Override
+        public String encrypt(String value) {
+            return new StringBuilder(value).reverse().toString();
+        }
+
+        @Override
+        public String decrypt(String value) {
+            return new StringBuilder(value).reverse().toString();
+        }
+    }
+
+}
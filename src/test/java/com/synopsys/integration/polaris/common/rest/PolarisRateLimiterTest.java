@@ -0,0 +1,108 @@
+package com.synopsys.integration.polaris.common.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.rest.HttpUrl;
+
+public class PolarisRateLimiterTest {
+    @Test
+    public void testBurstIsServedImmediately() throws Exception {
+        PolarisRateLimiter rateLimiter = new PolarisRateLimiter(1, 5);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire();
+        }
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+    }
+
+    @Test
+    public void testRequestsBeyondBurstAreSpacedByRate() throws Exception {
+        PolarisRateLimiter rateLimiter = new PolarisRateLimiter(20, 1);
+        rateLimiter.acquire();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.acquire();
+        }
+
+        // Four more requests at twenty per second take about 200ms
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 150);
+    }
+
+    @Test
+    public void testThrottlingPausesAndHalvesTheRate() throws Exception {
+        PolarisRateLimiter rateLimiter = new PolarisRateLimiter(100, 100);
+        rateLimiter.onThrottled(200);
+
+        assertEquals(50.0, rateLimiter.getRequestsPerSecond(), 0.001);
+
+        long start = System.nanoTime();
+        rateLimiter.acquire();
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 150);
+    }
+
+    @Test
+    public void testRateRecoversAfterSuccesses() {
+        PolarisRateLimiter rateLimiter = new PolarisRateLimiter(100, 100);
+        rateLimiter.onThrottled(0);
+        rateLimiter.onThrottled(0);
+
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.onSuccess();
+        }
+
+        assertEquals(100.0, rateLimiter.getRequestsPerSecond(), 0.001);
+    }
+
+    @Test
+    public void testOneLimiterPerServer() throws Exception {
+        PolarisRateLimiter first = PolarisRateLimiter.forServer(new HttpUrl("https://polaris.example.com"));
+        PolarisRateLimiter second = PolarisRateLimiter.forServer(new HttpUrl("https://polaris.example.com"));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testServerLimiterFollowsGivenSettings() throws Exception {
+        HttpUrl polarisServerUrl = new HttpUrl("https://configured.polaris.example.com");
+        PolarisRateLimiter defaultLimiter = PolarisRateLimiter.forServer(polarisServerUrl);
+        PolarisRateLimiter configuredLimiter = PolarisRateLimiter.forServer(polarisServerUrl, 2, 4);
+
+        assertNotSame(defaultLimiter, configuredLimiter);
+        assertEquals(2.0, configuredLimiter.getMaximumRequestsPerSecond(), 0.001);
+        assertEquals(4.0, configuredLimiter.getBurst(), 0.001);
+        assertSame(configuredLimiter, PolarisRateLimiter.forServer(polarisServerUrl, 2, 4));
+        assertSame(configuredLimiter, PolarisRateLimiter.forServer(polarisServerUrl));
+    }
+
+    @Test
+    public void testInvalidPropertiesFallBackToDefaults() {
+        String[] invalidRates = { "0", "-5", "NaN", "Infinity", "fast" };
+        try {
+            for (String invalidRate : invalidRates) {
+                System.setProperty(PolarisRateLimiter.REQUESTS_PER_SECOND_PROPERTY, invalidRate);
+                assertEquals(PolarisRateLimiter.DEFAULT_REQUESTS_PER_SECOND, PolarisRateLimiter.getConfiguredRequestsPerSecond(), 0.001);
+            }
+            System.setProperty(PolarisRateLimiter.BURST_PROPERTY, "0.5");
+            assertEquals(PolarisRateLimiter.DEFAULT_BURST, PolarisRateLimiter.getConfiguredBurst(), 0.001);
+
+            System.setProperty(PolarisRateLimiter.REQUESTS_PER_SECOND_PROPERTY, "2.5");
+            System.setProperty(PolarisRateLimiter.BURST_PROPERTY, "10");
+            assertEquals(2.5, PolarisRateLimiter.getConfiguredRequestsPerSecond(), 0.001);
+            assertEquals(10.0, PolarisRateLimiter.getConfiguredBurst(), 0.001);
+        } finally {
+            System.clearProperty(PolarisRateLimiter.REQUESTS_PER_SECOND_PROPERTY);
+            System.clearProperty(PolarisRateLimiter.BURST_PROPERTY);
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.rest.HttpUrl;
+
+public class BulkCountServiceTest {
+    @Test
+    public void testDeduplicatesAndReportsPartialFailures() throws Exception {
+        HttpUrl firstUrl = new HttpUrl("https://polaris.synopsys.example.com/api/query/v0/roll-up-counts?project-id=first");
+        HttpUrl secondUrl = new HttpUrl("https://polaris.synopsys.example.com/api/query/v0/roll-up-counts?project-id=second");
+        HttpUrl failingUrl = new HttpUrl("https://polaris.synopsys.example.com/api/query/v0/roll-up-counts?project-id=failing");
+
+        CountService countService = Mockito.mock(CountService.class);
+        Mockito.when(countService.getTotalIssueCountFromIssueApiUrl(firstUrl)).thenReturn(3);
+        Mockito.when(countService.getTotalIssueCountFromIssueApiUrl(secondUrl)).thenReturn(0);
+        Mockito.when(countService.getTotalIssueCountFromIssueApiUrl(failingUrl)).thenThrow(new IntegrationException("503 Service Unavailable"));
+
+        BulkCountService bulkCountService = new BulkCountService(new SilentIntLogger(), countService, 2, 100.0);
+        List<HttpUrl> requestedUrls = Arrays.asList(firstUrl, secondUrl, firstUrl, failingUrl, secondUrl);
+        BulkCountResult bulkCountResult = bulkCountService.getTotalIssueCounts(requestedUrls);
+
+        Mockito.verify(countService, Mockito.times(1)).getTotalIssueCountFromIssueApiUrl(firstUrl);
+        Mockito.verify(countService, Mockito.times(1)).getTotalIssueCountFromIssueApiUrl(secondUrl);
+
+        assertEquals(Integer.valueOf(3), bulkCountResult.getCount(firstUrl).orElse(null));
+        assertEquals(Integer.valueOf(0), bulkCountResult.getCount(secondUrl).orElse(null));
+        assertFalse(bulkCountResult.getCount(failingUrl).isPresent());
+        assertTrue(bulkCountResult.hasFailures());
+        assertEquals("503 Service Unavailable", bulkCountResult.getFailure(failingUrl).map(Exception::getMessage).orElse(null));
+    }
+
+}
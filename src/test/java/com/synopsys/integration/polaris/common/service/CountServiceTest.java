@@ -0,0 +1,89 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.google.gson.Gson;
+import com.synopsys.integration.log.SilentIntLogger;
+import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.rest.HttpUrl;
+import com.synopsys.integration.rest.request.Request;
+import com.synopsys.integration.rest.response.Response;
+
+public class CountServiceTest {
+    private static final String GROUPED_COUNTS_JSON = "{"
+                                                          + "\"data\":["
+                                                          + "{\"type\":\"count\",\"id\":\"count-1\",\"attributes\":{\"value\":2},\"relationships\":{\"taxon\":{\"data\":{\"type\":\"taxon\",\"id\":\"taxon-high\"}}}},"
+                                                          + "{\"type\":\"count\",\"id\":\"count-2\",\"attributes\":{\"value\":3},\"relationships\":{\"taxon\":{\"data\":{\"type\":\"taxon\",\"id\":\"taxon-low\"}}}},"
+                                                          + "{\"type\":\"count\",\"id\":\"medium\",\"attributes\":{\"value\":4}}"
+                                                          + "],"
+                                                          + "\"included\":[{\"type\":\"taxon\",\"id\":\"taxon-high\",\"attributes\":{\"name\":\"High\"}}],"
+                                                          + "\"meta\":{\"offset\":0,\"limit\":25,\"total\":3}"
+                                                          + "}";
+
+    @Test
+    public void testIssueCountsByGroup() throws Exception {
+        CountService countService = new CountService(createPolarisService(GROUPED_COUNTS_JSON));
+
+        Map<String, Integer> countsByGroup = countService.getIssueCountsByGroupFromIssueApiUrl(new HttpUrl("https://polaris.example.com/api/query/v0/roll-up-counts"));
+
+        assertEquals(3, countsByGroup.size());
+        assertEquals(Integer.valueOf(2), countsByGroup.get("high"));
+        assertEquals(Integer.valueOf(3), countsByGroup.get("taxon-low"));
+        assertEquals(Integer.valueOf(4), countsByGroup.get("medium"));
+    }
+
+    @Test
+    public void testIssueCountsByGroupAcrossPages() throws Exception {
+        String firstPage = "{"
+                               + "\"data\":[{\"type\":\"count\",\"id\":\"count-1\",\"attributes\":{\"value\":2},\"relationships\":{\"taxon\":{\"data\":{\"type\":\"taxon\",\"id\":\"taxon-high\"}}}}],"
+                               + "\"meta\":{\"offset\":0,\"limit\":1,\"total\":2}"
+                               + "}";
+        String secondPage = "{"
+                                + "\"data\":[{\"type\":\"count\",\"id\":\"count-2\",\"attributes\":{\"value\":3},\"relationships\":{\"issues\":{\"data\":[]},\"taxon\":{\"data\":{\"type\":\"taxon\",\"id\":\"taxon-low\"}}}}],"
+                                + "\"included\":[{\"type\":\"taxon\",\"id\":\"taxon-high\",\"attributes\":{\"name\":\"High\"}},{\"type\":\"taxon\",\"id\":\"taxon-low\",\"attributes\":{\"name\":\"Low\"}}],"
+                                + "\"meta\":{\"offset\":1,\"limit\":1,\"total\":2}"
+                                + "}";
+        CountService countService = new CountService(createPolarisService(1, firstPage, secondPage));
+
+        Map<String, Integer> countsByGroup = countService.getIssueCountsByGroupFromIssueApiUrl(new HttpUrl("https://polaris.example.com/api/query/v0/roll-up-counts"));
+
+        assertEquals(2, countsByGroup.size());
+        assertEquals(Integer.valueOf(2), countsByGroup.get("high"));
+        assertEquals(Integer.valueOf(3), countsByGroup.get("low"));
+    }
+
+    @Test
+    public void testIssueCountSummary() throws Exception {
+        CountService countService = new CountService(createPolarisService(GROUPED_COUNTS_JSON));
+        HttpUrl issueApiUrl = new HttpUrl("https://polaris.example.com/api/query/v0/roll-up-counts");
+
+        IssueCountSummary issueCountSummary = countService.getIssueCountSummary(issueApiUrl, Collections.singletonMap("Coverity", issueApiUrl));
+
+        assertEquals(9, issueCountSummary.getTotalIssueCount());
+        assertEquals(Integer.valueOf(9), issueCountSummary.getIssuesByTool().get("Coverity"));
+    }
+
+    private PolarisService createPolarisService(String json) throws Exception {
+        return createPolarisService(25, json);
+    }
+
+    private PolarisService createPolarisService(int pageSize, String... pages) throws Exception {
+        AtomicInteger pageIndex = new AtomicInteger();
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(polarisHttpClient.execute(Mockito.any(Request.class))).thenAnswer(invocation -> {
+            Response response = Mockito.mock(Response.class);
+            String json = pages[Math.min(pageIndex.getAndIncrement(), pages.length - 1)];
+            Mockito.when(response.getContentString()).thenReturn(json);
+            return response;
+        });
+        return new PolarisService(polarisHttpClient, new PolarisJsonTransformer(new Gson(), new SilentIntLogger()), pageSize);
+    }
+
+}
@@ -1,6 +1,9 @@
 package com.synopsys.integration.polaris.common.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
@@ -21,6 +24,8 @@ import com.synopsys.integration.polaris.common.api.model.JobAttributes;
 import com.synopsys.integration.polaris.common.api.model.JobStatus;
 import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
+import com.synopsys.integration.polaris.common.timing.PhaseTimer;
+import com.synopsys.integration.rest.HttpMethod;
 import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.request.Request;
 import com.synopsys.integration.rest.response.Response;
@@ -60,6 +65,152 @@ public class JobServiceTest {
         assertEquals(JobStatus.StateEnum.RUNNING, jobStatus.getState());
     }
 
+    @Test
+    public void testTerminalJobIsOnlyFetchedOnce() throws IntegrationException, InterruptedException {
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        HttpUrl jobsApi = new HttpUrl("https://polaris.synopsys.example.com/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4");
+        mockClientBehavior(polarisHttpClient, jobsApi, "jobservice_status.json");
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(new Gson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT);
+
+        JobService jobService = new JobService(new SilentIntLogger(), polarisService, new PhaseTimer(), new TerminalJobCache(10));
+        jobService.waitForJobStateIsCompletedOrDieByUrl(jobsApi, 10, 1);
+        jobService.waitForJobStateIsCompletedOrDieByUrl(jobsApi, 10, 1);
+        PolarisResource<JobAttributes> jobResource = jobService.getJobByUrl(jobsApi);
+
+        assertEquals(JobStatus.StateEnum.COMPLETED, jobResource.getAttributes().getStatus().getState());
+        Mockito.verify(polarisHttpClient, Mockito.times(1)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    public void testTerminalJobIsNotSharedAcrossCredentials() throws IntegrationException {
+        HttpUrl jobsApi = new HttpUrl("https://polaris.synopsys.example.com/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4");
+        AccessTokenPolarisHttpClient firstHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(firstHttpClient.getCredentialKey()).thenReturn("first-token");
+        mockClientBehavior(firstHttpClient, jobsApi, "jobservice_status.json");
+        AccessTokenPolarisHttpClient secondHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(secondHttpClient.getCredentialKey()).thenReturn("second-token");
+        mockClientBehavior(secondHttpClient, jobsApi, "jobservice_status.json");
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(new Gson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        TerminalJobCache terminalJobCache = new TerminalJobCache(10);
+        JobService firstJobService = new JobService(new SilentIntLogger(), new PolarisService(firstHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT), new PhaseTimer(), terminalJobCache);
+        JobService secondJobService = new JobService(new SilentIntLogger(), new PolarisService(secondHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT), new PhaseTimer(), terminalJobCache);
+        firstJobService.getJobByUrl(jobsApi);
+        secondJobService.getJobByUrl(jobsApi);
+
+        assertEquals(2, terminalJobCache.size());
+        Mockito.verify(firstHttpClient, Mockito.times(1)).execute(Mockito.any(Request.class));
+        Mockito.verify(secondHttpClient, Mockito.times(1)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    public void testCachedJobIsCopiedForEachCaller() throws IntegrationException {
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        HttpUrl jobsApi = new HttpUrl("https://polaris.synopsys.example.com/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4");
+        mockClientBehavior(polarisHttpClient, jobsApi, "jobservice_status.json");
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(new Gson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT);
+
+        JobService jobService = new JobService(new SilentIntLogger(), polarisService, new PhaseTimer(), new TerminalJobCache(10));
+        PolarisResource<JobAttributes> fetchedJob = jobService.getJobByUrl(jobsApi);
+        fetchedJob.getAttributes().setStatus(null);
+        PolarisResource<JobAttributes> firstCachedJob = jobService.getJobByUrl(jobsApi);
+        PolarisResource<JobAttributes> secondCachedJob = jobService.getJobByUrl(jobsApi);
+
+        assertNotSame(firstCachedJob, secondCachedJob);
+        assertEquals(JobStatus.StateEnum.COMPLETED, firstCachedJob.getAttributes().getStatus().getState());
+        assertEquals(JobStatus.StateEnum.COMPLETED, secondCachedJob.getAttributes().getStatus().getState());
+        Mockito.verify(polarisHttpClient, Mockito.times(1)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    public void testCancelJobRetries() throws IntegrationException, InterruptedException {
+        PolarisService polarisService = Mockito.mock(PolarisService.class);
+        HttpUrl jobsApi = new HttpUrl("https://polaris.synopsys.example.com/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4");
+        Mockito.doThrow(new IntegrationException("connection reset")).doNothing().when(polarisService).execute(Mockito.any(Request.class));
+        PolarisResource<JobAttributes> cancelledJob = createJobWithState(JobStatus.StateEnum.CANCELLED);
+        Mockito.when(polarisService.get(jobsApi, JobAttributes.class)).thenReturn(cancelledJob);
+
+        JobService jobService = new JobService(new SilentIntLogger(), polarisService, new PhaseTimer(), new TerminalJobCache(10));
+
+        assertTrue(jobService.cancelJob(jobsApi));
+        String cancelUrl = jobsApi.string() + JobService.CANCEL_ACTION_SPEC;
+        Mockito.verify(polarisService, Mockito.times(2)).execute(Mockito.argThat((Request request) -> HttpMethod.POST.equals(request.getMethod()) && cancelUrl.equals(request.getUrl().string())));
+    }
+
+    @Test
+    public void testCancelJobSkipsEndedJobs() throws IntegrationException, InterruptedException {
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        HttpUrl jobsApi = new HttpUrl("https://polaris.synopsys.example.com/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4");
+        mockClientBehavior(polarisHttpClient, jobsApi, "jobservice_status.json");
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(new Gson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT);
+
+        JobService jobService = new JobService(new SilentIntLogger(), polarisService, new PhaseTimer(), new TerminalJobCache(10));
+        jobService.getJobByUrl(jobsApi);
+
+        assertFalse(jobService.cancelJob(jobsApi));
+        Mockito.verify(polarisHttpClient, Mockito.times(1)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    public void testCancelJobIsConfirmed() throws IntegrationException, InterruptedException {
+        PolarisService polarisService = Mockito.mock(PolarisService.class);
+        HttpUrl jobsApi = new HttpUrl("https://polaris.synopsys.example.com/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4");
+        PolarisResource<JobAttributes> runningJob = createJobWithState(JobStatus.StateEnum.RUNNING);
+        Mockito.when(polarisService.get(jobsApi, JobAttributes.class)).thenReturn(runningJob);
+
+        JobService jobService = new JobService(new SilentIntLogger(), polarisService, new PhaseTimer(), new TerminalJobCache(10));
+
+        assertFalse(jobService.cancelJob(jobsApi));
+    }
+
+    @Test
+    public void testOnlyJobsServiceJobsAreCancelled() throws IntegrationException, InterruptedException {
+        PolarisService polarisService = Mockito.mock(PolarisService.class);
+        HttpUrl opsraApi = new HttpUrl("https://polaris.synopsys.example.com/api/tds-sca/v0/bdio/status?scan-id=5ed9ed6e-f9b7-4ea8-8255-ec6104f72437");
+        HttpUrl otherApi = new HttpUrl("https://polaris.synopsys.example.com/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4/runs");
+
+        JobService jobService = new JobService(new SilentIntLogger(), polarisService, new PhaseTimer(), new TerminalJobCache(10));
+
+        assertFalse(jobService.cancelJob(opsraApi));
+        assertFalse(jobService.cancelJob(otherApi));
+        assertTrue(JobService.isJobsServiceJob(new HttpUrl("https://polaris.synopsys.example.com/api/jobs/jobs/p10t3j6grt67pabjgp89djvln4/")));
+        Mockito.verify(polarisService, Mockito.never()).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    public void testRunningJobIsNotCached() throws IntegrationException {
+        AccessTokenPolarisHttpClient polarisHttpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        HttpUrl opsraApi = new HttpUrl("https://polaris.synopsys.example.com/api/tds-sca/v0/bdio/status?scan-id=5ed9ed6e-f9b7-4ea8-8255-ec6104f72437");
+        mockClientBehavior(polarisHttpClient, opsraApi, "osra_status.json");
+
+        PolarisJsonTransformer polarisJsonTransformer = new PolarisJsonTransformer(new Gson(), new PrintStreamIntLogger(System.out, LogLevel.INFO));
+        PolarisService polarisService = new PolarisService(polarisHttpClient, polarisJsonTransformer, PolarisRequestFactory.DEFAULT_LIMIT);
+
+        TerminalJobCache terminalJobCache = new TerminalJobCache(10);
+        JobService jobService = new JobService(new SilentIntLogger(), polarisService, new PhaseTimer(), terminalJobCache);
+        jobService.getJobByUrl(opsraApi);
+        jobService.getJobByUrl(opsraApi);
+
+        assertEquals(0, terminalJobCache.size());
+        Mockito.verify(polarisHttpClient, Mockito.times(2)).execute(Mockito.any(Request.class));
+    }
+
+    private PolarisResource<JobAttributes> createJobWithState(JobStatus.StateEnum state) {
+        JobStatus jobStatus = Mockito.mock(JobStatus.class);
+        Mockito.when(jobStatus.getState()).thenReturn(state);
+        JobAttributes jobAttributes = new JobAttributes();
+        jobAttributes.setStatus(jobStatus);
+        PolarisResource<JobAttributes> jobResource = new PolarisResource<>();
+        jobResource.setAttributes(jobAttributes);
+        return jobResource;
+    }
+
     private void mockClientBehavior(AccessTokenPolarisHttpClient polarisHttpClient, HttpUrl uri, String results) {
         try {
             Response response = Mockito.mock(Response.class);
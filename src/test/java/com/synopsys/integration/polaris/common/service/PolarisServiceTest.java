@@ -2,6 +2,7 @@ package com.synopsys.integration.polaris.common.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
@@ -27,13 +28,16 @@ import com.synopsys.integration.exception.IntegrationException;
 import com.synopsys.integration.log.IntLogger;
 import com.synopsys.integration.log.LogLevel;
 import com.synopsys.integration.log.PrintStreamIntLogger;
+import com.synopsys.integration.log.SilentIntLogger;
 import com.synopsys.integration.polaris.common.api.PolarisPagedResourceResponse;
 import com.synopsys.integration.polaris.common.api.PolarisPaginationMeta;
 import com.synopsys.integration.polaris.common.api.PolarisResource;
+import com.synopsys.integration.polaris.common.api.model.ContextAttributes;
 import com.synopsys.integration.polaris.common.api.model.JobAttributes;
 import com.synopsys.integration.polaris.common.request.PolarisRequestFactory;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClient;
 import com.synopsys.integration.polaris.common.rest.AccessTokenPolarisHttpClientTestIT;
+import com.synopsys.integration.polaris.common.rest.PolarisHttpCache;
 import com.synopsys.integration.rest.HttpUrl;
 import com.synopsys.integration.rest.proxy.ProxyInfo;
 import com.synopsys.integration.rest.request.Request;
@@ -86,6 +90,28 @@ public class PolarisServiceTest {
         assertNotNull(request);
     }
 
+    @Test
+    public void testCachedResponsesAreNotShared() throws Exception {
+        AccessTokenPolarisHttpClient httpClient = Mockito.mock(AccessTokenPolarisHttpClient.class);
+        Mockito.when(httpClient.execute(Mockito.any(Request.class))).thenAnswer(invocation -> {
+            Response response = Mockito.mock(Response.class);
+            Mockito.when(response.getStatusCode()).thenReturn(200);
+            Mockito.when(response.getHeaderValue("Cache-Control")).thenReturn("max-age=60");
+            Mockito.when(response.getContentString()).thenReturn("{\"data\":{\"type\":\"context\",\"id\":\"context-id\",\"attributes\":{\"current\":true}}}");
+            return response;
+        });
+        PolarisService polarisService = new PolarisService(httpClient, new PolarisJsonTransformer(new Gson(), new SilentIntLogger()), 25, new PolarisHttpCache(10, 1024 * 1024, null));
+        HttpUrl contextsUrl = BASE_URL.appendRelativeUrl("/api/auth/contexts/context-id");
+
+        PolarisResource<ContextAttributes> first = polarisService.get(contextsUrl, ContextAttributes.class);
+        first.getAttributes().setCurrent(false);
+        PolarisResource<ContextAttributes> second = polarisService.get(contextsUrl, ContextAttributes.class);
+
+        assertNotSame(first, second);
+        assertEquals(Boolean.TRUE, second.getAttributes().getCurrent());
+        Mockito.verify(httpClient, Mockito.times(1)).execute(Mockito.any(Request.class));
+    }
+
     @Test
     public void executeGetRequestTestIT() throws IntegrationException {
         String testPolarisUrl = System.getenv(AccessTokenPolarisHttpClientTestIT.ENV_POLARIS_URL);
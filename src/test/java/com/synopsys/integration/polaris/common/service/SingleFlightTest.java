@@ -0,0 +1,189 @@
+package com.synopsys.integration.polaris.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.synopsys.integration.exception.IntegrationException;
+import com.synopsys.integration.polaris.common.exception.PolarisIntegrationException;
+
+public class SingleFlightTest {
+    private static final int CALLERS = 16;
+
+    @Test
+    public void testConcurrentCallersShareOneCall() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object sharedResult = new Object();
+
+        List<Future<Object>> results = runCallers(singleFlight, () -> {
+            calls.incrementAndGet();
+            release.await(10, TimeUnit.SECONDS);
+            return sharedResult;
+        }, release);
+
+        for (Future<Object> result : results) {
+            assertSame(sharedResult, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(CALLERS - 1, singleFlight.getCoalescedCallCount());
+        assertEquals(0, singleFlight.getCallsInFlightCount());
+    }
+
+    @Test
+    public void testConcurrentCallersShareFailure() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> results = runCallers(singleFlight, () -> {
+            release.await(10, TimeUnit.SECONDS);
+            throw new IntegrationException("shared failure");
+        }, release);
+
+        for (Future<Object> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertEquals("shared failure", exception.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testFinishedCallsAreNotReused() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("key", calls::incrementAndGet);
+        singleFlight.execute("key", calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+        assertEquals(0, singleFlight.getCoalescedCallCount());
+    }
+
+    @Test
+    public void testWaitingCallersGetTheirOwnCopy() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> sharedResult = new ArrayList<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<String>> leader = executorService.submit(() -> singleFlight.<List<String>>execute("key", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return sharedResult;
+            }, ArrayList::new));
+            started.await(10, TimeUnit.SECONDS);
+            Future<List<String>> follower = executorService.submit(() -> singleFlight.<List<String>>execute("key", ArrayList::new, ArrayList::new));
+            while (singleFlight.getCoalescedCallCount() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertSame(sharedResult, leader.get(10, TimeUnit.SECONDS));
+            assertNotSame(sharedResult, follower.get(10, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testWaitingCallerTakesOverFromInterruptedCaller() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executorService.submit(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                    return "never";
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new PolarisIntegrationException("Interrupted while waiting to send a request to Polaris", e);
+                }
+            }));
+            started.await(10, TimeUnit.SECONDS);
+            Future<Object> follower = executorService.submit(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                return "own result";
+            }));
+            while (singleFlight.getCoalescedCallCount() < 1) {
+                Thread.sleep(5);
+            }
+            leader.cancel(true);
+
+            assertEquals("own result", follower.get(10, TimeUnit.SECONDS));
+            assertEquals(2, calls.get());
+            assertEquals(0, singleFlight.getCallsInFlightCount());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) throws IntegrationException {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IntegrationException(e);
+        }
+    }
+
+    private List<Future<Object>> runCallers(SingleFlight<String> singleFlight, InterruptibleCall call, CountDownLatch release) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch started = new CountDownLatch(CALLERS);
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executorService.submit(() -> {
+                    started.countDown();
+                    return singleFlight.execute("key", () -> {
+                        try {
+                            return call.call();
+                        } catch (InterruptedException e) {
+                            throw new IntegrationException(e);
+                        }
+                    });
+                }));
+            }
+
+            started.await(10, TimeUnit.SECONDS);
+            // Give every caller time to join the call in flight before it is allowed to finish
+            while (singleFlight.getCoalescedCallCount() < CALLERS - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<Object> result : results) {
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException ignored) {
+                    // checked by the individual tests
+                }
+            }
+            return results;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface InterruptibleCall {
+        Object call() throws InterruptedException, IntegrationException;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.synopsys.integration.polaris.common.timing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class PhaseTimerTest {
+    @Test
+    public void testSpansAccumulatePerPhase() {
+        PhaseTimer phaseTimer = new PhaseTimer();
+        try (PhaseSpan ignored = phaseTimer.start(PolarisPhase.JOB_POLLING)) {
+            phaseTimer.record(PolarisPhase.REMOTING, 5);
+        }
+        phaseTimer.record(PolarisPhase.REMOTING, 7);
+
+        Map<String, PhaseTimings.PhaseTiming> timingsByPhase = phaseTimer.getTimings().getTimingsByPhase();
+        assertEquals(1, timingsByPhase.get(PolarisPhase.JOB_POLLING).getCount());
+        assertEquals(2, timingsByPhase.get(PolarisPhase.REMOTING).getCount());
+        assertEquals(12, timingsByPhase.get(PolarisPhase.REMOTING).getTotalMillis());
+        assertEquals(7, timingsByPhase.get(PolarisPhase.REMOTING).getMaximumMillis());
+    }
+
+    @Test
+    public void testClosingSpanTwiceRecordsOnce() {
+        PhaseTimer phaseTimer = new PhaseTimer();
+        PhaseSpan phaseSpan = phaseTimer.start(PolarisPhase.CLI_EXECUTION);
+        phaseSpan.close();
+        phaseSpan.close();
+
+        assertEquals(1, phaseTimer.getTimings().getTimingsByPhase().get(PolarisPhase.CLI_EXECUTION).getCount());
+    }
+
+    @Test
+    public void testMergeAndSummary() {
+        PhaseTimings buildTimings = new PhaseTimings();
+        buildTimings.record(PolarisPhase.CLI_INSTALL, 100);
+
+        PhaseTimer phaseTimer = new PhaseTimer();
+        phaseTimer.record(PolarisPhase.CLI_INSTALL, 50);
+        phaseTimer.record(PolarisPhase.ISSUE_COUNTING, 20);
+        buildTimings.merge(phaseTimer.getTimings());
+
+        assertEquals(150, buildTimings.getTimingsByPhase().get(PolarisPhase.CLI_INSTALL).getTotalMillis());
+
+        List<String> lines = new ArrayList<>();
+        phaseTimer.writeSummary(lines::add);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(2).contains(PolarisPhase.ISSUE_COUNTING));
+    }
+
+}